@@ -4,6 +4,7 @@ package com.puspo.codearena.s3.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 
@@ -20,4 +21,19 @@ public class S3Config {
                 .build();
     }
 
+    /**
+     * Threads that send multipart upload parts, shared by all uploads. Tasks queue instead of
+     * being rejected: each upload already limits its own parts in flight.
+     */
+    @Bean(name = "partUploadExecutor")
+    public ThreadPoolTaskExecutor partUploadExecutor(@Value("${aws.s3.upload.threads:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("part-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
 }
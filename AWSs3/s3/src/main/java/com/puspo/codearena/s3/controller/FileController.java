@@ -1,25 +1,43 @@
 package com.puspo.codearena.s3.controller;
 
+import com.puspo.codearena.s3.dto.FileFilter;
+import com.puspo.codearena.s3.dto.FilePage;
+import com.puspo.codearena.s3.dto.S3ObjectInfo;
 import com.puspo.codearena.s3.entity.FileMetadata;
+import com.puspo.codearena.s3.repository.FileSort;
 import com.puspo.codearena.s3.service.S3Service;
-import org.springframework.core.io.ByteArrayResource;
+import com.puspo.codearena.s3.service.download.DownloadStreamer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/files")
 public class FileController {
 
     private final S3Service s3Service;
+    private final DownloadStreamer downloadStreamer;
 
-    public FileController(S3Service s3Service) {
+    public FileController(S3Service s3Service, DownloadStreamer downloadStreamer) {
         this.s3Service = s3Service;
+        this.downloadStreamer = downloadStreamer;
     }
 
     @PostMapping("/upload")
@@ -30,9 +48,22 @@ public class FileController {
         return ResponseEntity.ok(meta);
     }
 
+    /**
+     * Cursor-paginated catalog; pass the returned nextCursor to get the following page.
+     */
     @GetMapping
-    public ResponseEntity<List<FileMetadata>> list() {
-        return ResponseEntity.ok(s3Service.listAllFiles());
+    public ResponseEntity<FilePage> list(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "NEWEST") FileSort sort,
+            @RequestParam(required = false) String contentType,
+            @RequestParam(required = false) Long minSize,
+            @RequestParam(required = false) Long maxSize,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant uploadedAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant uploadedBefore
+    ) {
+        FileFilter filter = new FileFilter(contentType, minSize, maxSize, uploadedAfter, uploadedBefore);
+        return ResponseEntity.ok(s3Service.listFiles(filter, sort, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -40,18 +71,91 @@ public class FileController {
         return ResponseEntity.ok(s3Service.getMeta(id));
     }
 
+    /**
+     * Streams the object to the client; supports a single byte range and conditional GET.
+     */
     @GetMapping("/download/{s3Key}")
-    public ResponseEntity<ByteArrayResource> download(@PathVariable String s3Key) {
-        byte[] data = s3Service.downloadFile(s3Key);
-        // Get contentType from metadata if you want exact type
-        var headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + s3Key + "\"");
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .contentLength(data.length)
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(new ByteArrayResource(data));
+    public ResponseEntity<StreamingResponseBody> download(
+            @PathVariable String s3Key,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            WebRequest webRequest
+    ) {
+        Optional<S3ObjectInfo> found = s3Service.headFile(s3Key);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        S3ObjectInfo object = found.get();
+        long lastModified = object.lastModified() == null ? -1 : object.lastModified().toEpochMilli();
+
+        // Sets 304 (or 412 for failed If-Match / If-Unmodified-Since) on the response
+        if (webRequest.checkNotModified(object.etag(), lastModified)) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(s3Key, StandardCharsets.UTF_8)
+                .build());
+        headers.setContentType(object.contentType() == null ? MediaType.APPLICATION_OCTET_STREAM
+                : MediaType.parseMediaType(object.contentType()));
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (object.etag() != null) {
+            headers.setETag(object.etag());
+        }
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+
+        long size = object.size();
+        long start = 0;
+        long length = size;
+        HttpStatus status = HttpStatus.OK;
+        if (rangeHeader != null && rangeApplies(webRequest.getHeader(HttpHeaders.IF_RANGE), object)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multi-range responses are not supported; such requests get the whole object
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(size);
+                long end = range.getRangeEnd(size);
+                if (size == 0 || start >= size || start > end) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                            .build();
+                }
+                length = end - start + 1;
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        headers.setContentLength(length);
+
+        long offset = start;
+        Long rangeLength = status == HttpStatus.PARTIAL_CONTENT ? length : null;
+        StreamingResponseBody body = outputStream ->
+                downloadStreamer.copy(s3Key, s3Service.openFile(s3Key, offset, rangeLength), outputStream);
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    // If-Range: serve the range only if the object still matches the client's validator
+    private static boolean rangeApplies(String ifRange, S3ObjectInfo object) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return !ifRange.startsWith("W/") && ifRange.equals(object.etag());
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return object.lastModified() != null && object.lastModified().toEpochMilli() / 1000 <= since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
     }
 
     @DeleteMapping("/{s3Key}")
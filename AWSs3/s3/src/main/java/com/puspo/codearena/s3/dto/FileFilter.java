@@ -0,0 +1,14 @@
+package com.puspo.codearena.s3.dto;
+
+import java.time.Instant;
+
+/**
+ * Optional catalog filters; null fields are not applied.
+ */
+public record FileFilter(String contentType, Long minSize, Long maxSize, Instant uploadedAfter, Instant uploadedBefore) {
+
+    public boolean isEmpty() {
+        return contentType == null && minSize == null && maxSize == null
+                && uploadedAfter == null && uploadedBefore == null;
+    }
+}
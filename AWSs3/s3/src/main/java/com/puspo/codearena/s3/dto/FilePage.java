@@ -0,0 +1,12 @@
+package com.puspo.codearena.s3.dto;
+
+import java.util.List;
+
+/**
+ * One page of the file catalog.
+ *
+ * @param nextCursor    pass as "cursor" to get the next page; null on the last page
+ * @param totalEstimate approximate number of matching files, only returned with the first page
+ */
+public record FilePage(List<FileSummary> items, String nextCursor, Long totalEstimate) {
+}
@@ -0,0 +1,9 @@
+package com.puspo.codearena.s3.dto;
+
+import java.time.Instant;
+
+/**
+ * Catalog row selected straight from the files table, without loading FileMetadata entities.
+ */
+public record FileSummary(Long id, String filename, String s3Key, Long size, String contentType, Instant uploadedAt) {
+}
@@ -0,0 +1,9 @@
+package com.puspo.codearena.s3.dto;
+
+import java.time.Instant;
+
+/**
+ * Object metadata from a HEAD request, used to answer downloads before any content is read.
+ */
+public record S3ObjectInfo(String key, long size, String etag, Instant lastModified, String contentType) {
+}
@@ -6,7 +6,11 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name ="files")
+@Table(name ="files", indexes = {
+        @Index(name = "idx_files_uploaded_at", columnList = "uploadedAt"),
+        @Index(name = "idx_files_content_type_uploaded_at", columnList = "contentType, uploadedAt"),
+        @Index(name = "idx_files_size", columnList = "size")
+})
 @Builder
 @Getter
 @Setter
@@ -0,0 +1,135 @@
+package com.puspo.codearena.s3.repository;
+
+import com.puspo.codearena.s3.dto.FileFilter;
+import com.puspo.codearena.s3.dto.FileSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Catalog queries over the files table. Only the filters that are set end up in the query,
+ * so MySQL can use the matching index.
+ */
+@Repository
+public class FileCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Rows that come after the given position in sort order. Rows without a value in the sort
+     * column come last, ordered by id, so a listing still returns every file.
+     *
+     * @param afterValue sort column value of the last row already returned (Instant or Long), or
+     *                   null when that row had none
+     * @param afterId    id of that row, or null for the first page
+     */
+    public List<FileSummary> findPage(FileFilter filter, FileSort sort, Object afterValue, Long afterId, int limit) {
+        String column = "f." + sort.property();
+        String op = sort.descending() ? "<" : ">";
+        String direction = sort.descending() ? " desc" : " asc";
+        List<FileSummary> rows = new ArrayList<>();
+
+        // Rows with a value: a range read on the sort column's index
+        if (afterId == null || afterValue != null) {
+            StringBuilder jpql = selectPage();
+            Map<String, Object> params = new HashMap<>();
+            appendFilter(jpql, params, filter);
+            jpql.append(" and ").append(column).append(" is not null");
+            if (afterId != null) {
+                jpql.append(" and (").append(column).append(' ').append(op).append(" :afterValue or (")
+                        .append(column).append(" = :afterValue and f.id ").append(op).append(" :afterId))");
+                params.put("afterValue", afterValue);
+                params.put("afterId", afterId);
+            }
+            jpql.append(" order by ").append(column).append(direction).append(", f.id").append(direction);
+            rows.addAll(list(jpql, params, limit));
+        }
+
+        // Then the rows without one, once the others are exhausted
+        if (rows.size() < limit) {
+            StringBuilder jpql = selectPage();
+            Map<String, Object> params = new HashMap<>();
+            appendFilter(jpql, params, filter);
+            jpql.append(" and ").append(column).append(" is null");
+            if (afterId != null && afterValue == null) {
+                jpql.append(" and f.id ").append(op).append(" :afterId");
+                params.put("afterId", afterId);
+            }
+            jpql.append(" order by f.id").append(direction);
+            rows.addAll(list(jpql, params, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    private static StringBuilder selectPage() {
+        return new StringBuilder("select new ")
+                .append(FileSummary.class.getName())
+                .append("(f.id, f.filename, f.s3Key, f.size, f.contentType, f.uploadedAt) from FileMetadata f where 1 = 1");
+    }
+
+    private List<FileSummary> list(StringBuilder jpql, Map<String, Object> params, int limit) {
+        TypedQuery<FileSummary> query = entityManager.createQuery(jpql.toString(), FileSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    public long count(FileFilter filter) {
+        StringBuilder jpql = new StringBuilder("select count(f) from FileMetadata f where 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilter(jpql, params, filter);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    /**
+     * Row count from the table statistics (an InnoDB estimate), read without touching the table.
+     * Empty when the database does not provide it.
+     */
+    public Optional<Long> estimateRowCount() {
+        Query query = entityManager.createNativeQuery(
+                "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'files'");
+        try {
+            List<?> rows = query.getResultList();
+            return rows.isEmpty() || !(rows.get(0) instanceof Number rowCount)
+                    ? Optional.empty()
+                    : Optional.of(rowCount.longValue());
+        } catch (PersistenceException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void appendFilter(StringBuilder jpql, Map<String, Object> params, FileFilter filter) {
+        if (filter.contentType() != null) {
+            jpql.append(" and f.contentType = :contentType");
+            params.put("contentType", filter.contentType());
+        }
+        if (filter.minSize() != null) {
+            jpql.append(" and f.size >= :minSize");
+            params.put("minSize", filter.minSize());
+        }
+        if (filter.maxSize() != null) {
+            jpql.append(" and f.size <= :maxSize");
+            params.put("maxSize", filter.maxSize());
+        }
+        if (filter.uploadedAfter() != null) {
+            jpql.append(" and f.uploadedAt >= :uploadedAfter");
+            params.put("uploadedAfter", filter.uploadedAfter());
+        }
+        if (filter.uploadedBefore() != null) {
+            jpql.append(" and f.uploadedAt < :uploadedBefore");
+            params.put("uploadedBefore", filter.uploadedBefore());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.puspo.codearena.s3.repository;
+
+/**
+ * Catalog orderings. Each sorts on an indexed column with the id as tie-breaker, so a page can
+ * continue from the last row of the previous one (keyset pagination) instead of using OFFSET.
+ */
+public enum FileSort {
+    NEWEST("uploadedAt", true),
+    OLDEST("uploadedAt", false),
+    LARGEST("size", true),
+    SMALLEST("size", false);
+
+    private final String property;
+    private final boolean descending;
+
+    FileSort(String property, boolean descending) {
+        this.property = property;
+        this.descending = descending;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    public boolean bySize() {
+        return "size".equals(property);
+    }
+}
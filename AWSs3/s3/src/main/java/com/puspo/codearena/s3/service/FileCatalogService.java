@@ -0,0 +1,142 @@
+package com.puspo.codearena.s3.service;
+
+import com.puspo.codearena.s3.dto.FileFilter;
+import com.puspo.codearena.s3.dto.FilePage;
+import com.puspo.codearena.s3.dto.FileSummary;
+import com.puspo.codearena.s3.repository.FileCatalogRepository;
+import com.puspo.codearena.s3.repository.FileSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Cursor-paginated file listing.
+ * <p>
+ * The cursor carries the sort value and id of the last row returned, so every page is an index
+ * range read whatever its depth. The total is only computed for the first page: from table
+ * statistics for unfiltered listings of large tables, otherwise with a COUNT that is cached
+ * for catalog.count.ttl-seconds.
+ */
+@Service
+public class FileCatalogService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    private static final int MAX_CACHED_COUNTS = 1000;
+
+    private final FileCatalogRepository catalogRepository;
+    private final long countTtlMs;
+    private final long exactCountBelow;
+    private final Map<FileFilter, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public FileCatalogService(FileCatalogRepository catalogRepository,
+                              @Value("${catalog.count.ttl-seconds:60}") long countTtlSeconds,
+                              @Value("${catalog.count.exact-below:100000}") long exactCountBelow) {
+        this.catalogRepository = catalogRepository;
+        this.countTtlMs = countTtlSeconds * 1000;
+        this.exactCountBelow = exactCountBelow;
+    }
+
+    @Transactional(readOnly = true)
+    public FilePage page(FileFilter filter, FileSort sort, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor, sort, filter);
+
+        // One extra row tells whether there is a next page
+        List<FileSummary> rows = catalogRepository.findPage(filter, sort,
+                after == null ? null : after.value(), after == null ? null : after.id(), pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = Cursor.of(sort, filter, rows.get(pageSize - 1)).encode();
+        }
+        Long totalEstimate = after == null ? estimateTotal(filter) : null;
+        return new FilePage(List.copyOf(rows), nextCursor, totalEstimate);
+    }
+
+    private long estimateTotal(FileFilter filter) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(filter);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+
+        long count = -1;
+        if (filter.isEmpty()) {
+            Optional<Long> estimate = catalogRepository.estimateRowCount();
+            if (estimate.isPresent() && estimate.get() >= exactCountBelow) {
+                count = estimate.get();
+            }
+        }
+        if (count < 0) {
+            count = catalogRepository.count(filter);
+        }
+        if (counts.size() >= MAX_CACHED_COUNTS) {
+            counts.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (counts.size() >= MAX_CACHED_COUNTS) {
+                counts.clear();
+            }
+        }
+        counts.put(filter, new CachedCount(count, now + countTtlMs));
+        return count;
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+
+    /**
+     * Position after a row: "SORT|value|id|filter", base64url-encoded so clients treat it as
+     * opaque. The value is empty for a row without one. The last part fingerprints the filter
+     * the cursor was issued for: the position only means something within that result set, so
+     * a cursor replayed with other filters is rejected instead of silently skipping rows.
+     */
+    private record Cursor(FileSort sort, Object value, long id, String filter) {
+
+        static Cursor of(FileSort sort, FileFilter filter, FileSummary row) {
+            return new Cursor(sort, sort.bySize() ? row.size() : row.uploadedAt(), row.id(), fingerprint(filter));
+        }
+
+        String encode() {
+            String raw = sort.name() + "|" + (value == null ? "" : value) + "|" + id + "|" + filter;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, FileSort sort, FileFilter filter) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 4 || !sort.name().equals(parts[0])) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not belong to sort " + sort);
+                }
+                if (!fingerprint(filter).equals(parts[3])) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not belong to these filters");
+                }
+                Object value = parts[1].isEmpty() ? null
+                        : sort.bySize() ? (Object) Long.valueOf(parts[1]) : Instant.parse(parts[1]);
+                return new Cursor(sort, value, Long.parseLong(parts[2]), parts[3]);
+            } catch (ResponseStatusException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+            }
+        }
+
+        private static String fingerprint(FileFilter filter) {
+            String canonical = filter.contentType() + "|" + filter.minSize() + "|" + filter.maxSize()
+                    + "|" + filter.uploadedAfter() + "|" + filter.uploadedBefore();
+            CRC32 crc = new CRC32();
+            crc.update(canonical.getBytes(StandardCharsets.UTF_8));
+            return Long.toHexString(crc.getValue());
+        }
+    }
+}
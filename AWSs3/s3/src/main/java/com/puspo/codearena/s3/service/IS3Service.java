@@ -1,19 +1,29 @@
 package com.puspo.codearena.s3.service;
 
+import com.puspo.codearena.s3.dto.FileFilter;
+import com.puspo.codearena.s3.dto.FilePage;
+import com.puspo.codearena.s3.dto.S3ObjectInfo;
 import com.puspo.codearena.s3.entity.FileMetadata;
 import com.puspo.codearena.s3.repository.FileMetadataRepository;
+import com.puspo.codearena.s3.repository.FileSort;
+import com.puspo.codearena.s3.service.upload.S3ObjectUploader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,25 +31,26 @@ public class IS3Service implements S3Service {
     private final String bucket;
     private final S3Client s3Client;
     private final FileMetadataRepository fileMetadataRepository;
+    private final S3ObjectUploader s3ObjectUploader;
+    private final FileCatalogService fileCatalogService;
 
-    public IS3Service(@Value("${aws.s3.bucket}") String bucket, S3Client s3Client, FileMetadataRepository fileMetadataRepository) {
+    public IS3Service(@Value("${aws.s3.bucket}") String bucket, S3Client s3Client, FileMetadataRepository fileMetadataRepository,
+                      S3ObjectUploader s3ObjectUploader, FileCatalogService fileCatalogService) {
         this.bucket = bucket;
         this.s3Client = s3Client;
         this.fileMetadataRepository = fileMetadataRepository;
+        this.s3ObjectUploader = s3ObjectUploader;
+        this.fileCatalogService = fileCatalogService;
     }
 
     @Override
     public FileMetadata uploadFile(MultipartFile file) throws IOException {
         String key = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
 
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(bucket)
-                .key(key)
-                .contentType(file.getContentType())
-                .contentLength(file.getSize())
-                .build();
-
-        s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+        // Large files are split into parts uploaded in parallel
+        try (InputStream inputStream = file.getInputStream()) {
+            s3ObjectUploader.upload(key, inputStream, file.getSize(), file.getContentType());
+        }
 
         FileMetadata fileMetadata = FileMetadata.builder()
                 .filename(file.getOriginalFilename())
@@ -53,12 +64,34 @@ public class IS3Service implements S3Service {
     }
 
     @Override
-    public byte[] downloadFile(String s3Key) {
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+    public Optional<S3ObjectInfo> headFile(String s3Key) {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(s3Key)
+                    .build());
+            return Optional.of(new S3ObjectInfo(s3Key, head.contentLength(), head.eTag(), head.lastModified(),
+                    head.contentType()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            // HEAD responses have no body, so a missing key may surface as a plain 404
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> openFile(String s3Key, long offset, Long length) {
+        GetObjectRequest.Builder getObjectRequest = GetObjectRequest.builder()
                 .bucket(bucket)
-                .key(s3Key)
-                .build();
-        return s3Client.getObjectAsBytes(getObjectRequest).asByteArray();
+                .key(s3Key);
+        if (offset > 0 || length != null) {
+            getObjectRequest.range("bytes=" + offset + "-" + (length == null ? "" : offset + length - 1));
+        }
+        return s3Client.getObject(getObjectRequest.build());
     }
 
     @Override
@@ -75,8 +108,8 @@ public class IS3Service implements S3Service {
     }
 
     @Override
-    public List<FileMetadata> listAllFiles() {
-        return fileMetadataRepository.findAll();
+    public FilePage listFiles(FileFilter filter, FileSort sort, String cursor, Integer limit) {
+        return fileCatalogService.page(filter, sort, cursor, limit);
     }
 
     @Override
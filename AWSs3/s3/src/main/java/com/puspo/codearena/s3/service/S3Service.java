@@ -1,19 +1,36 @@
 package com.puspo.codearena.s3.service;
 
+import com.puspo.codearena.s3.dto.FileFilter;
+import com.puspo.codearena.s3.dto.FilePage;
+import com.puspo.codearena.s3.dto.S3ObjectInfo;
 import com.puspo.codearena.s3.entity.FileMetadata;
+import com.puspo.codearena.s3.repository.FileSort;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
 
 public interface S3Service {
     FileMetadata uploadFile(MultipartFile file) throws IOException;
 
-    byte[] downloadFile(String s3Key);
+    /**
+     * Metadata of an object, or empty if it does not exist.
+     */
+    Optional<S3ObjectInfo> headFile(String s3Key);
+
+    /**
+     * Opens the object content for streaming; the caller must close (or abort) the stream.
+     *
+     * @param offset first byte to read
+     * @param length number of bytes to read, or null for the rest of the object
+     */
+    ResponseInputStream<GetObjectResponse> openFile(String s3Key, long offset, Long length);
 
     void deleteFile(String s3Key);
 
-    List<FileMetadata> listAllFiles();
+    FilePage listFiles(FileFilter filter, FileSort sort, String cursor, Integer limit);
 
     FileMetadata getMeta(Long id);
 }
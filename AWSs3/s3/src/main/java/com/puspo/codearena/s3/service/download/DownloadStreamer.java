@@ -0,0 +1,69 @@
+package com.puspo.codearena.s3.service.download;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Copies S3 object streams to the HTTP response through pooled fixed-size buffers, so a
+ * download holds one buffer of heap regardless of the object size.
+ * <p>
+ * When more downloads run than there are pooled buffers, the extra ones allocate their own and
+ * drop it afterwards. A download that stops early (client disconnect) aborts the S3 stream
+ * instead of closing it: closing would read the rest of the object to reuse the connection.
+ */
+@Component
+@Slf4j
+public class DownloadStreamer {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    public DownloadStreamer(@Value("${aws.s3.download.buffer-size-bytes:65536}") int bufferSize,
+                            @Value("${aws.s3.download.pooled-buffers:64}") int pooledBuffers) {
+        this.bufferSize = Math.max(4096, bufferSize);
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, pooledBuffers));
+    }
+
+    /**
+     * Writes the whole stream to out and closes the stream.
+     *
+     * @return bytes written
+     */
+    public long copy(String s3Key, ResponseInputStream<?> in, OutputStream out) throws IOException {
+        byte[] buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new byte[bufferSize];
+        }
+        long start = System.nanoTime();
+        long written = 0;
+        boolean complete = false;
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+            out.flush();
+            complete = true;
+            return written;
+        } finally {
+            if (complete) {
+                in.close();
+            } else {
+                in.abort();
+            }
+            buffers.offer(buffer);
+
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            log.info("Download {} {}: {} bytes in {} s, {} MB/s", s3Key, complete ? "completed" : "aborted",
+                    written, String.format("%.2f", seconds), String.format("%.1f", written / 1048576.0 / seconds));
+        }
+    }
+}
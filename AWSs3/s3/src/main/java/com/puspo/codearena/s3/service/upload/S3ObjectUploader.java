@@ -0,0 +1,116 @@
+package com.puspo.codearena.s3.service.upload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Puts objects into the bucket, using a parallel multipart upload for objects larger than one part.
+ * Every part is sent with its Content-MD5, so S3 rejects a part that arrives corrupted and the
+ * part is retried; a failed upload is aborted so S3 does not keep (and bill) its stored parts.
+ */
+@Component
+@Slf4j
+public class S3ObjectUploader {
+
+    private final S3Client s3Client;
+    private final ParallelPartUploader partUploader;
+    private final String bucket;
+
+    public S3ObjectUploader(S3Client s3Client, ParallelPartUploader partUploader,
+                            @Value("${aws.s3.bucket}") String bucket) {
+        this.s3Client = s3Client;
+        this.partUploader = partUploader;
+        this.bucket = bucket;
+    }
+
+    /**
+     * Uploads exactly size bytes from the stream; the caller closes it.
+     */
+    public void upload(String key, InputStream in, long size, String contentType) throws IOException {
+        long start = System.nanoTime();
+        if (size <= partUploader.partSizeFor(size)) {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(size)
+                    .build();
+            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(in, size));
+            return;
+        }
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+        List<ParallelPartUploader.UploadedPart> parts =
+                partUploader.upload(in, size, new MultipartTarget(key, uploadId));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Uploaded {} ({} MB, {} parts) in {} s, {} MB/s", key, size >> 20, parts.size(),
+                String.format("%.1f", seconds), String.format("%.1f", size / 1048576.0 / seconds));
+    }
+
+    private final class MultipartTarget implements ParallelPartUploader.PartTarget {
+        private final String key;
+        private final String uploadId;
+
+        private MultipartTarget(String key, String uploadId) {
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        @Override
+        public String uploadPart(int partNumber, byte[] data, int length, byte[] md5) {
+            UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) length)
+                    .contentMD5(Base64.getEncoder().encodeToString(md5))
+                    .build();
+            // A ByteArrayInputStream can be reset, so the SDK can retry without copying the part
+            return s3Client.uploadPart(uploadPartRequest,
+                    RequestBody.fromInputStream(new ByteArrayInputStream(data, 0, length), length)).eTag();
+        }
+
+        @Override
+        public void complete(List<ParallelPartUploader.UploadedPart> parts) {
+            List<CompletedPart> completedParts = parts.stream()
+                    .map(part -> CompletedPart.builder().partNumber(part.partNumber()).eTag(part.etag()).build())
+                    .toList();
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        }
+
+        @Override
+        public void abort() {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.puspo.codearena.s3.controller;
+
+import com.puspo.codearena.s3.dto.S3ObjectInfo;
+import com.puspo.codearena.s3.service.S3Service;
+import com.puspo.codearena.s3.service.download.DownloadStreamer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FileControllerTest {
+
+    private static final String NAME = "report.txt";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-05-01T10:00:00Z");
+    private static final String LAST_MODIFIED_HTTP = "Wed, 01 May 2024 10:00:00 GMT";
+
+    private final S3Service storage = mock(S3Service.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(storage, new DownloadStreamer(4096, 1))).build();
+        // S3 returns the ETag already quoted
+        when(storage.headFile(NAME)).thenReturn(Optional.of(
+                new S3ObjectInfo(NAME, CONTENT.length, "\"abc123\"", LAST_MODIFIED, "text/plain")));
+        when(storage.headFile("missing")).thenReturn(Optional.empty());
+        when(storage.openFile(eq(NAME), anyLong(), any())).thenAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(1, Long.class);
+            Long length = invocation.getArgument(2, Long.class);
+            int end = length == null ? CONTENT.length : offset + (int) (long) length;
+            return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, offset, end))));
+        });
+    }
+
+    @Test
+    void download_ShouldStreamWholeObject_WithValidators() throws Exception {
+        streamed(download())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED_HTTP))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void download_ShouldReturnPartialContent_ForSingleRange() throws Exception {
+        streamed(download().header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+        verify(storage).openFile(NAME, 2, 4L);
+    }
+
+    @Test
+    void download_ShouldReturnTail_ForSuffixRange() throws Exception {
+        streamed(download().header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void download_ShouldReturn416_WhenRangeStartsPastTheEnd() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        verify(storage, never()).openFile(any(), anyLong(), any());
+    }
+
+    @Test
+    void download_ShouldServeWholeObject_ForMultipleRanges() throws Exception {
+        streamed(download().header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void download_ShouldHonourRange_WhenIfRangeMatches() throws Exception {
+        streamed(download().header(HttpHeaders.RANGE, "bytes=0-2").header(HttpHeaders.IF_RANGE, "\"abc123\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("012"));
+        streamed(download().header(HttpHeaders.RANGE, "bytes=0-2").header(HttpHeaders.IF_RANGE, LAST_MODIFIED_HTTP))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("012"));
+    }
+
+    @Test
+    void download_ShouldIgnoreRange_WhenIfRangeIsStale() throws Exception {
+        streamed(download().header(HttpHeaders.RANGE, "bytes=0-2").header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+        streamed(download().header(HttpHeaders.RANGE, "bytes=0-2")
+                .header(HttpHeaders.IF_RANGE, "Tue, 30 Apr 2024 10:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+        streamed(download().header(HttpHeaders.RANGE, "bytes=0-2").header(HttpHeaders.IF_RANGE, "W/\"abc123\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void download_ShouldReturn304_WhenETagMatches() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified());
+        verify(storage, never()).openFile(any(), anyLong(), any());
+    }
+
+    @Test
+    void download_ShouldReturn404_WhenObjectIsMissing() throws Exception {
+        mockMvc.perform(get("/api/files/download/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static MockHttpServletRequestBuilder download() {
+        return get("/api/files/download/" + NAME);
+    }
+
+    // The body is a StreamingResponseBody, written after an async dispatch
+    private ResultActions streamed(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
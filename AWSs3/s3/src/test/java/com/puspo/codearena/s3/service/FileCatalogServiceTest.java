@@ -0,0 +1,65 @@
+package com.puspo.codearena.s3.service;
+
+import com.puspo.codearena.s3.dto.FileFilter;
+import com.puspo.codearena.s3.dto.FilePage;
+import com.puspo.codearena.s3.dto.FileSummary;
+import com.puspo.codearena.s3.repository.FileCatalogRepository;
+import com.puspo.codearena.s3.repository.FileSort;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileCatalogServiceTest {
+
+    private static final FileFilter PDF = new FileFilter("application/pdf", null, null, null, null);
+    private static final FileFilter LARGE_PDF = new FileFilter("application/pdf", 1024L, null, null, null);
+
+    private final FileCatalogRepository repository = mock(FileCatalogRepository.class);
+    private final FileCatalogService service = new FileCatalogService(repository, 60, 100_000);
+
+    @Test
+    void page_ShouldContinueIntoRowsWithoutSize_WhenLastRowHasNone() {
+        // Arrange: the first page ends on a file that has no recorded size
+        when(repository.findPage(eq(PDF), eq(FileSort.LARGEST), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(row(9, 500L), row(4, null), row(3, null)));
+        FilePage first = service.page(PDF, FileSort.LARGEST, null, 2);
+
+        // Act
+        service.page(PDF, FileSort.LARGEST, first.nextCursor(), 2);
+
+        // Assert
+        assertThat(first.items()).extracting(FileSummary::id).containsExactly(9L, 4L);
+        verify(repository).findPage(PDF, FileSort.LARGEST, null, 4L, 3);
+    }
+
+    @Test
+    void page_ShouldRejectCursor_WhenFiltersChanged() {
+        // Arrange
+        when(repository.findPage(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(row(9, 500L), row(8, 400L)));
+        String cursor = service.page(PDF, FileSort.LARGEST, null, 1).nextCursor();
+
+        // Act / Assert
+        assertThatThrownBy(() -> service.page(LARGE_PDF, FileSort.LARGEST, cursor, 1))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Cursor does not belong to these filters");
+        service.page(PDF, FileSort.LARGEST, cursor, 1);
+        verify(repository).findPage(PDF, FileSort.LARGEST, 500L, 9L, 2);
+    }
+
+    private static FileSummary row(long id, Long size) {
+        return new FileSummary(id, "file-" + id, "key-" + id, size, "application/pdf", Instant.EPOCH);
+    }
+}
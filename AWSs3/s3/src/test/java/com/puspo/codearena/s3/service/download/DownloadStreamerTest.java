@@ -0,0 +1,100 @@
+package com.puspo.codearena.s3.service.download;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DownloadStreamerTest {
+
+    private final DownloadStreamer streamer = new DownloadStreamer(4096, 1);
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean aborted = new AtomicBoolean();
+
+    @Test
+    void copy_ShouldWriteWholeObject_AndCloseStream() throws IOException {
+        // Arrange: several buffers' worth with a partial last read
+        byte[] content = randomBytes(3 * 4096 + 123);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = streamer.copy("key", stream(content), out);
+
+        // Assert
+        assertThat(written).isEqualTo(content.length);
+        assertThat(out.toByteArray()).isEqualTo(content);
+        assertThat(closed).isTrue();
+        assertThat(aborted).isFalse();
+    }
+
+    @Test
+    void copy_ShouldAbortStream_WhenClientDisconnects() {
+        // Arrange
+        OutputStream disconnected = new OutputStream() {
+            private int writes;
+
+            @Override
+            public void write(int b) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (++writes > 1) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        // Act / Assert
+        assertThatThrownBy(() -> streamer.copy("key", stream(randomBytes(5 * 4096)), disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        // abort() releases the connection instead of draining the rest of the object
+        assertThat(aborted).isTrue();
+    }
+
+    @Test
+    void copy_ShouldReuseReturnedBuffer_ForLaterDownloads() throws IOException {
+        // Arrange: the pool holds one buffer once the first download returns it
+        byte[] first = randomBytes(4096);
+        byte[] second = randomBytes(100);
+        streamer.copy("first", stream(first), new ByteArrayOutputStream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act: a shorter object must not leak bytes from the previous download
+        long written = streamer.copy("second", stream(second), out);
+
+        // Assert
+        assertThat(written).isEqualTo(second.length);
+        assertThat(out.toByteArray()).isEqualTo(second);
+    }
+
+    private ResponseInputStream<GetObjectResponse> stream(byte[] content) {
+        ByteArrayInputStream source = new ByteArrayInputStream(content) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                AbortableInputStream.create(source, () -> aborted.set(true)));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,121 @@
+package com.puspo.codearena.s3.service.upload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ParallelPartUploader itself is tested in kafka-minio-nginx; this covers the S3 requests it drives
+class S3ObjectUploaderTest {
+
+    private static final int PART_SIZE = ParallelPartUploader.MIN_PART_SIZE;
+    private static final int SIZE = 2 * PART_SIZE + 1000;
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private ThreadPoolTaskExecutor executor;
+    private S3ObjectUploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        uploader = new S3ObjectUploader(s3Client, new ParallelPartUploader(executor, PART_SIZE, 2, 2, 1, 256),
+                "bucket");
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void upload_ShouldSendPartsWithTheirMd5AndComplete_WhenLargerThanOnePart() throws Exception {
+        // Arrange
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(invocation -> UploadPartResponse.builder()
+                        .eTag("etag-" + invocation.getArgument(0, UploadPartRequest.class).partNumber())
+                        .build());
+
+        // Act
+        uploader.upload("videos/a.mp4", new ByteArrayInputStream(new byte[SIZE]), SIZE, "video/mp4");
+
+        // Assert
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(parts.capture(), any(RequestBody.class));
+        UploadPartRequest last = parts.getAllValues().stream()
+                .filter(request -> request.partNumber() == 3)
+                .findFirst()
+                .orElseThrow();
+        assertThat(last.uploadId()).isEqualTo("upload-1");
+        assertThat(last.contentLength()).isEqualTo(1000L);
+        assertThat(last.contentMD5()).isEqualTo(
+                Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(new byte[1000])));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber, CompletedPart::eTag)
+                .containsExactly(tuple(1, "etag-1"), tuple(2, "etag-2"), tuple(3, "etag-3"));
+        verify(s3Client, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    void upload_ShouldAbortTheMultipartUpload_WhenAPartKeepsFailing() {
+        // Arrange
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("BadDigest").build());
+
+        // Act / Assert
+        assertThatThrownBy(() -> uploader.upload("videos/a.mp4", new ByteArrayInputStream(new byte[SIZE]), SIZE,
+                "video/mp4"))
+                .isInstanceOf(IOException.class);
+        ArgumentCaptor<AbortMultipartUploadRequest> abort = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3Client).abortMultipartUpload(abort.capture());
+        assertThat(abort.getValue().uploadId()).isEqualTo("upload-1");
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void upload_ShouldUseOnePut_WhenNoLargerThanOnePart() throws Exception {
+        // Act
+        uploader.upload("docs/a.pdf", new ByteArrayInputStream(new byte[1000]), 1000, "application/pdf");
+
+        // Assert
+        ArgumentCaptor<PutObjectRequest> put = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(put.capture(), any(RequestBody.class));
+        assertThat(put.getValue().contentLength()).isEqualTo(1000L);
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+}
@@ -0,0 +1,30 @@
+package com.puspo.codearena.businessanalytics.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    // Bounded pool for dashboard widget queries; keep it below the JDBC pool size so
+    // widget queries can never starve the rest of the application of connections
+    @Bean(name = "dashboardQueryExecutor")
+    public ThreadPoolTaskExecutor dashboardQueryExecutor(
+            @Value("${analytics.dashboard.pool-size:8}") int poolSize,
+            @Value("${analytics.dashboard.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-query-");
+        // When saturated, reject so the widget falls back at once; running the query on the
+        // request thread would block it past the widget timeout
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.puspo.codearena.businessanalytics.dto.orders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Flat projection of an order for the recent-orders feed; built directly by JPQL
+@Getter
+@AllArgsConstructor
+public class RecentOrderDto {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String status;
+    private BigDecimal totalAmount;
+    private String customerName;
+    private String regionName;
+}
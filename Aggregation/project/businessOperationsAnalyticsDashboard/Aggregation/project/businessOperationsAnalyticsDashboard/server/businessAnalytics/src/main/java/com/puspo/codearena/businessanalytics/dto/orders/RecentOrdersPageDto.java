@@ -0,0 +1,23 @@
+package com.puspo.codearena.businessanalytics.dto.orders;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of the recent-orders feed, newest first.
+ * olderCursor is passed back as "before" to scroll to older orders; newerCursor is passed
+ * back as "since" to poll for orders created after this page. An empty page returns the
+ * request's own before/since values (null when not given), so a client keeps polling or
+ * scrolling from the same position.
+ * hasMore means more rows exist in the direction that was requested.
+ */
+@Getter
+@AllArgsConstructor
+public class RecentOrdersPageDto {
+    private List<RecentOrderDto> orders;
+    private String olderCursor;
+    private String newerCursor;
+    private boolean hasMore;
+}
@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -24,4 +25,8 @@ public class DashboardResponseDto {
     private List<RegionConversionDto> regionConversion;
     private List<CategoryRevenueShareDto> categoryRevenueShare;
     private List<CustomerLifetimeValueDto> topCustomers;
+
+    // Widgets that failed or timed out and were replaced by an empty result
+    private List<String> degradedWidgets;
+    private Map<String, Long> widgetLatencyMs;
 }
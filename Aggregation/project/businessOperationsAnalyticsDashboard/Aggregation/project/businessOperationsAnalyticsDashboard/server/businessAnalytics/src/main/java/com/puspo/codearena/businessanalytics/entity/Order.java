@@ -3,12 +3,16 @@ package com.puspo.codearena.businessanalytics.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.puspo.codearena.businessanalytics.service.advanced.DashboardCacheInvalidationListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +20,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "orders")
+@EntityListeners(DashboardCacheInvalidationListener.class)
+// Supports the keyset-paged recent-orders feed (ORDER BY created_at, id in either direction)
+@Table(name = "orders", indexes = @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"))
 @Getter
 @Setter
 public class Order {
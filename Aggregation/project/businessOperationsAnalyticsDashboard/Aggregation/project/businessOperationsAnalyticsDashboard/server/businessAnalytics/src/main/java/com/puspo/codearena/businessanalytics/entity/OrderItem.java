@@ -2,7 +2,10 @@ package com.puspo.codearena.businessanalytics.entity;
 
 import java.math.BigDecimal;
 
+import com.puspo.codearena.businessanalytics.service.advanced.DashboardCacheInvalidationListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,6 +17,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(DashboardCacheInvalidationListener.class)
 @Table(name = "order_items")
 @Getter
 @Setter
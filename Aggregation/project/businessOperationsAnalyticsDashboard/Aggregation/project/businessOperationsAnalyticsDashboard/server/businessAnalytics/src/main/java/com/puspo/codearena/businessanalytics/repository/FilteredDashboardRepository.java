@@ -0,0 +1,36 @@
+package com.puspo.codearena.businessanalytics.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
+
+/**
+ * Filtered variants of the dashboard queries used by the unified dashboard.
+ * <p>
+ * Every filter is optional and a null argument leaves its predicate out of the statement, so
+ * each filter combination gets its own plan instead of one generic plan full of
+ * {@code :p IS NULL OR ...} branches. The category filter restricts item-level queries to that
+ * category and order-level queries to orders that contain at least one item of that category.
+ */
+public interface FilteredDashboardRepository {
+
+    DashboardSummaryDto fetchDashboardSummary(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId);
+
+    List<MonthlyRevenueDto> fetchMonthlyRevenue(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId);
+
+    List<Object[]> fetchCategoryRevenueShare(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId);
+
+    List<Object[]> fetchConversionRateByRegion(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId);
+
+    List<Object[]> fetchRolling7DayRevenue(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId);
+
+    List<Object[]> fetchTopCustomers(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId);
+}
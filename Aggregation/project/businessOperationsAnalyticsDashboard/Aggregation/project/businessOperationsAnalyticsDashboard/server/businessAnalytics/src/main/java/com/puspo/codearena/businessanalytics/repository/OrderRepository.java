@@ -1,14 +1,18 @@
 
 package com.puspo.codearena.businessanalytics.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
 import com.puspo.codearena.businessanalytics.entity.Order;
 
 @Repository
@@ -101,4 +105,51 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             LIMIT 10
             """, nativeQuery = true)
     List<Object[]> fetchTopCustomers();
+
+    // --->Recent-orders feed: keyset (seek) pagination on (createdAt, id), served by
+    // idx_orders_created_at_id. Pass PageRequest.of(0, limit) to bound the page size;
+    // the cursor replaces OFFSET, so every page costs the same however deep it is.
+    // The seek predicates lead with a plain range on createdAt, so the planner turns them into an
+    // index range scan instead of evaluating the OR for every row; rows without createdAt never page.
+    @Query("""
+            SELECT new com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto(
+                        o.id, o.createdAt, o.status, o.totalAmount, c.name, r.name)
+            FROM Order o
+            LEFT JOIN o.customer c
+            LEFT JOIN o.region r
+            WHERE o.createdAt IS NOT NULL
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<RecentOrderDto> findRecentOrders(Pageable pageable);
+
+    @Query("""
+            SELECT new com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto(
+                        o.id, o.createdAt, o.status, o.totalAmount, c.name, r.name)
+            FROM Order o
+            LEFT JOIN o.customer c
+            LEFT JOIN o.region r
+            WHERE o.createdAt IS NOT NULL
+              AND o.createdAt <= :createdAt
+              AND (o.createdAt < :createdAt OR o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<RecentOrderDto> findRecentOrdersBefore(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // Oldest first, so a poll that finds more than one page of new orders can continue from the last row
+    @Query("""
+            SELECT new com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto(
+                        o.id, o.createdAt, o.status, o.totalAmount, c.name, r.name)
+            FROM Order o
+            LEFT JOIN o.customer c
+            LEFT JOIN o.region r
+            WHERE o.createdAt IS NOT NULL
+              AND o.createdAt >= :createdAt
+              AND (o.createdAt > :createdAt OR o.id > :id)
+            ORDER BY o.createdAt ASC, o.id ASC
+            """)
+    List<RecentOrderDto> findOrdersSince(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
 }
@@ -0,0 +1,230 @@
+package com.puspo.codearena.businessanalytics.repository.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
+import com.puspo.codearena.businessanalytics.repository.FilteredDashboardRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+@Repository
+public class FilteredDashboardRepositoryImpl implements FilteredDashboardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Every query here backs a dashboard widget, so it gets the widget budget as its JDBC timeout:
+    // a widget that has already fallen back does not keep its query and connection busy
+    @Value("${analytics.dashboard.widget-timeout-ms:2000}")
+    private int queryTimeoutMs;
+
+    // ------------------ JPQL ----------------
+
+    @Override
+    public DashboardSummaryDto fetchDashboardSummary(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = jpqlOrderFilters(startAt, endBefore, regionId, categoryId);
+        String jpql = """
+                SELECT new com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto(
+                                COUNT(o),
+                                CAST(COALESCE(SUM(CASE WHEN o.status = 'COMPLETED' THEN o.totalAmount ELSE 0 END),0) AS double),
+                                CAST(COALESCE(AVG(o.totalAmount),0) AS double),
+                                SUM(CASE WHEN o.status = 'COMPLETED' THEN 1 ELSE 0 END),
+                                SUM(CASE WHEN o.status = 'CANCELED' THEN 1 ELSE 0 END)
+                            )
+                FROM Order o
+                """ + filters.where();
+        return bind(filters, entityManager.createQuery(jpql, DashboardSummaryDto.class)).getSingleResult();
+    }
+
+    @Override
+    public List<MonthlyRevenueDto> fetchMonthlyRevenue(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = jpqlOrderFilters(startAt, endBefore, regionId, categoryId);
+        filters.add("o.status = 'COMPLETED'");
+        String jpql = """
+                SELECT new com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto(
+                            CAST(FUNCTION('to_char', o.createdAt, 'YYYY-MM') AS String),
+                            SUM(o.totalAmount)
+                )
+                FROM Order o
+                """ + filters.where() + """
+                GROUP BY FUNCTION('to_char', o.createdAt, 'YYYY-MM')
+                ORDER BY FUNCTION('to_char', o.createdAt, 'YYYY-MM')
+                """;
+        return bind(filters, entityManager.createQuery(jpql, MonthlyRevenueDto.class)).getResultList();
+    }
+
+    // ------------------ Native SQL ----------------
+
+    @Override
+    public List<Object[]> fetchCategoryRevenueShare(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        // Item-level: the category filter applies to the item's product, not to the whole order
+        Filters filters = sqlOrderFilters(startAt, endBefore, regionId, null);
+        filters.add("o.status = 'COMPLETED'");
+        filters.add("p.category_id = :categoryId", "categoryId", categoryId);
+        String sql = """
+                SELECT
+                                c.name AS category_name,
+                                SUM(oi.quantity * oi.price) AS total_revenue,
+                                ROUND(
+                                            SUM(oi.quantity * oi.price)*100/
+                                            NULLIF(SUM(SUM(oi.quantity * oi.price)) OVER (),0),2
+                                ) AS revenue_share_percent
+                FROM order_items oi
+                JOIN products p ON oi.product_id = p.id
+                JOIN categories c ON p.category_id = c.id
+                JOIN orders o ON oi.order_id = o.id
+                """ + filters.where() + """
+                GROUP BY c.name
+                """;
+        return resultList(bind(filters, entityManager.createNativeQuery(sql)));
+    }
+
+    @Override
+    public List<Object[]> fetchConversionRateByRegion(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = sqlOrderFilters(startAt, endBefore, regionId, categoryId);
+        String sql = """
+                SELECT
+                                r.name AS region_name,
+                                SUM(CASE WHEN o.status='COMPLETED' THEN 1 ELSE 0 END) AS completed_orders,
+                                SUM(CASE WHEN o.status='CANCELED' THEN 1 ElSE 0 END) AS canceled_orders,
+                ROUND(
+                          SUM(CASE WHEN o.status='COMPLETED' THEN 1 ELSE 0 END)*100.0/
+                          NULLIF(COUNT(o.id),0),2
+                ) AS conversion_rate_percent
+                FROM orders o
+                JOIN regions r ON o.region_id = r.id
+                """ + filters.where() + """
+                GROUP BY r.name
+                ORDER BY conversion_rate_percent DESC
+                """;
+        return resultList(bind(filters, entityManager.createNativeQuery(sql)));
+    }
+
+    @Override
+    public List<Object[]> fetchRolling7DayRevenue(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = sqlOrderFilters(startAt, endBefore, regionId, categoryId);
+        filters.add("o.status = 'COMPLETED'");
+        String sql = """
+                SELECT
+                DATE(o.created_at) AS order_date,
+                SUM(o.total_amount) AS total_revenue,
+                ROUND(
+                       AVG(SUM(o.total_amount)) OVER (
+                                   ORDER BY DATE(o.created_at)
+                                   ROWS BETWEEN 6 PRECEDING AND CURRENT ROW
+                    ), 2
+                ) AS rolling_7_day_avg
+                FROM orders o
+                """ + filters.where() + """
+                GROUP BY DATE(o.created_at)
+                ORDER BY order_date
+                """;
+        return resultList(bind(filters, entityManager.createNativeQuery(sql)));
+    }
+
+    @Override
+    public List<Object[]> fetchTopCustomers(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = sqlOrderFilters(startAt, endBefore, regionId, categoryId);
+        filters.add("o.status = 'COMPLETED'");
+        String sql = """
+                SELECT
+                c.name AS customer_name,
+                SUM(o.total_amount) AS lifetime_revenue,
+                ROW_NUMBER() OVER(ORDER BY SUM(o.total_amount) DESC
+                ) AS rank
+                FROM orders o
+                JOIN customers c ON o.customer_id = c.id
+                """ + filters.where() + """
+                GROUP BY c.name
+                ORDER BY lifetime_revenue DESC
+                LIMIT 10
+                """;
+        return resultList(bind(filters, entityManager.createNativeQuery(sql)));
+    }
+
+    // ------------------ Predicate builders ----------------
+
+    private static Filters jpqlOrderFilters(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = new Filters();
+        filters.add("o.createdAt >= :startAt", "startAt", startAt);
+        filters.add("o.createdAt < :endBefore", "endBefore", endBefore);
+        filters.add("o.region.id = :regionId", "regionId", regionId);
+        filters.add("""
+                EXISTS (SELECT 1 FROM OrderItem oi
+                        WHERE oi.order = o AND oi.product.category.id = :categoryId)""",
+                "categoryId", categoryId);
+        return filters;
+    }
+
+    private static Filters sqlOrderFilters(LocalDateTime startAt, LocalDateTime endBefore,
+            Long regionId, Long categoryId) {
+        Filters filters = new Filters();
+        filters.add("o.created_at >= :startAt", "startAt", startAt);
+        filters.add("o.created_at < :endBefore", "endBefore", endBefore);
+        filters.add("o.region_id = :regionId", "regionId", regionId);
+        filters.add("""
+                EXISTS (SELECT 1 FROM order_items oi
+                        JOIN products p ON oi.product_id = p.id
+                        WHERE oi.order_id = o.id AND p.category_id = :categoryId)""",
+                "categoryId", categoryId);
+        return filters;
+    }
+
+    private <Q extends Query> Q bind(Filters filters, Q query) {
+        filters.bind(query);
+        query.setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, queryTimeoutMs);
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object[]> resultList(Query query) {
+        return query.getResultList();
+    }
+
+    /**
+     * WHERE clause under construction: a predicate with a parameter is only added when the
+     * parameter is set, and only the parameters that appear in the statement are bound.
+     */
+    private static final class Filters {
+        private final List<String> predicates = new ArrayList<>();
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        void add(String predicate) {
+            predicates.add(predicate);
+        }
+
+        void add(String predicate, String name, Object value) {
+            if (value != null) {
+                predicates.add(predicate);
+                parameters.put(name, value);
+            }
+        }
+
+        String where() {
+            return predicates.isEmpty() ? "" : "WHERE " + String.join("\n  AND ", predicates) + "\n";
+        }
+
+        <Q extends Query> Q bind(Q query) {
+            parameters.forEach(query::setParameter);
+            return query;
+        }
+    }
+}
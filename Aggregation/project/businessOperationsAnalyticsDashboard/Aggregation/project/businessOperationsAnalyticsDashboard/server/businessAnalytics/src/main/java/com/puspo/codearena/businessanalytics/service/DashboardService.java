@@ -9,7 +9,8 @@ import com.puspo.codearena.businessanalytics.dto.intermediate.CustomerLifetimeVa
 import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.RegionConversionDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.RollingRevenueDto;
-import com.puspo.codearena.businessanalytics.entity.Order;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrdersPageDto;
 
 public interface DashboardService {
     DashboardSummaryDto getSummary();
@@ -18,7 +19,10 @@ public interface DashboardService {
 
     List<MonthlyRevenueDto> getMonthlyRevenue();
 
-    List<Order> getRecentOrders();
+    List<RecentOrderDto> getRecentOrders();
+
+    // Keyset-paged feed: at most one of before/since may be given; limit null means the default
+    RecentOrdersPageDto getRecentOrdersPage(String before, String since, Integer limit);
 
     // List<Objects[]> getCategoryRevenueShare();
 
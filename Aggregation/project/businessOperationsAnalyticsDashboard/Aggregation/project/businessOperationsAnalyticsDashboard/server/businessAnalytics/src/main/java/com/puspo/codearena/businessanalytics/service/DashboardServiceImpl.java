@@ -2,12 +2,15 @@ package com.puspo.codearena.businessanalytics.service;
 
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.CategoryRevenueShareDto;
@@ -16,13 +19,17 @@ import com.puspo.codearena.businessanalytics.dto.intermediate.CustomerLifetimeVa
 import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.RegionConversionDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.RollingRevenueDto;
-import com.puspo.codearena.businessanalytics.entity.Order;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrdersPageDto;
 import com.puspo.codearena.businessanalytics.repository.OrderAnalyticsRepository;
 import com.puspo.codearena.businessanalytics.repository.OrderRepository;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
+    private static final int DEFAULT_FEED_LIMIT = 20;
+    private static final int MAX_FEED_LIMIT = 100;
+
     private final OrderRepository orderRepository;
     private final OrderAnalyticsRepository orderAnalyticsRepository;
 
@@ -47,15 +54,45 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    public List<Order> getRecentOrders() {
-        return orderRepository
-                .findAll(
-                        Sort.by(
-                                Sort.Direction.DESC,
-                                "createdAt"))
-                .stream()
-                .limit(20)
-                .collect(Collectors.toList());
+    public List<RecentOrderDto> getRecentOrders() {
+        // Reads only the newest page through the index instead of loading every order
+        return orderRepository.findRecentOrders(PageRequest.of(0, DEFAULT_FEED_LIMIT));
+    }
+
+    @Override
+    public RecentOrdersPageDto getRecentOrdersPage(String before, String since, Integer limit) {
+        if (before != null && since != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Use either before or since, not both");
+        }
+        int pageSize = limit == null ? DEFAULT_FEED_LIMIT : Math.max(1, Math.min(limit, MAX_FEED_LIMIT));
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest probe = PageRequest.of(0, pageSize + 1);
+
+        List<RecentOrderDto> rows;
+        if (since != null) {
+            RecentOrderCursor cursor = RecentOrderCursor.decode(since);
+            rows = orderRepository.findOrdersSince(cursor.createdAt(), cursor.id(), probe);
+        } else if (before != null) {
+            RecentOrderCursor cursor = RecentOrderCursor.decode(before);
+            rows = orderRepository.findRecentOrdersBefore(cursor.createdAt(), cursor.id(), probe);
+        } else {
+            rows = orderRepository.findRecentOrders(probe);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<RecentOrderDto> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (since != null) {
+            // "since" reads oldest-first; the feed is always returned newest-first
+            Collections.reverse(page);
+        }
+        if (page.isEmpty()) {
+            // Nothing new: keep polling from the same position
+            return new RecentOrdersPageDto(page, before, since, false);
+        }
+        return new RecentOrdersPageDto(page,
+                RecentOrderCursor.of(page.get(page.size() - 1)).encode(),
+                RecentOrderCursor.of(page.get(0)).encode(),
+                hasMore);
     }
 
     // @Override
@@ -0,0 +1,39 @@
+package com.puspo.codearena.businessanalytics.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
+
+/**
+ * Position in the recent-orders feed: the (createdAt, id) of an order.
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ */
+record RecentOrderCursor(LocalDateTime createdAt, Long id) {
+
+    static RecentOrderCursor of(RecentOrderDto order) {
+        return new RecentOrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    static RecentOrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new RecentOrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid orders cursor", ex);
+        }
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,11 @@
 package com.puspo.codearena.businessanalytics.service.advanced;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.puspo.codearena.businessanalytics.dto.intermediate.CategoryRevenueShareDto;
@@ -16,12 +20,13 @@ import com.puspo.codearena.businessanalytics.entity.Category;
 import com.puspo.codearena.businessanalytics.entity.Order;
 import com.puspo.codearena.businessanalytics.entity.OrderItem;
 import com.puspo.codearena.businessanalytics.entity.Product;
-import com.puspo.codearena.businessanalytics.repository.OrderRepository;
+import com.puspo.codearena.businessanalytics.repository.FilteredDashboardRepository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 
@@ -29,25 +34,37 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
-    private final OrderRepository orderRepository;
+    private final FilteredDashboardRepository dashboardRepository;
     private final EntityManager entityManager;
+    private final DashboardQueryCache queryCache;
+
+    // JDBC timeout of the Criteria widget queries, same budget as FilteredDashboardRepositoryImpl
+    @Value("${analytics.dashboard.widget-timeout-ms:2000}")
+    private int queryTimeoutMs;
+
+    // Every widget is cached per normalized filter set; see DashboardQueryCache for TTLs
 
     public List<MonthlyRevenueDto> getMonthlyRevenue(DashboardFiltersDto filter) {
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
         // Using JPQL
-        return orderRepository.fetchMonthlyRevenue();
+        return queryCache.get("monthlyRevenue", key,
+                () -> List.copyOf(dashboardRepository.fetchMonthlyRevenue(
+                        key.startAt(), key.endBefore(), key.regionId(), key.categoryId())));
     }
 
     public List<CategorySalesDto> getCategorySales(DashboardFiltersDto filter) {
-        return fetchCategorySales(filter);
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
+        return queryCache.get("categorySales", key, () -> fetchCategorySales(key));
     }
 
     public List<TopProductDto> getTopProducts(DashboardFiltersDto filter) {
-        return fetchTopProducts(filter);
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
+        return queryCache.get("topProducts", key, () -> fetchTopProducts(key));
     }
 
     // ---------- Criteria API methods ----------
 
-    private List<CategorySalesDto> fetchCategorySales(DashboardFiltersDto filter) {
+    private List<CategorySalesDto> fetchCategorySales(DashboardFilterKey filter) {
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<CategorySalesDto> cq = cb.createQuery(CategorySalesDto.class);
@@ -62,16 +79,21 @@ public class AnalyticsService {
                 category.get("name"),
                 cb.sum(cb.prod(orderItem.get("quantity"), orderItem.get("price")))));
 
-        java.util.List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
+        List<Predicate> predicates = orderPredicates(cb, order, filter);
         predicates.add(cb.equal(order.get("status"), "COMPLETED"));
+        if (filter.categoryId() != null) {
+            predicates.add(cb.equal(category.get("id"), filter.categoryId()));
+        }
 
-        cq.where(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
+        cq.where(predicates.toArray(new Predicate[0]));
         cq.groupBy(category.get("name"));
 
-        return entityManager.createQuery(cq).getResultList();
+        return List.copyOf(entityManager.createQuery(cq)
+                .setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, queryTimeoutMs)
+                .getResultList());
     }
 
-    private List<TopProductDto> fetchTopProducts(DashboardFiltersDto filter) {
+    private List<TopProductDto> fetchTopProducts(DashboardFilterKey filter) {
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<TopProductDto> cq = cb.createQuery(TopProductDto.class);
@@ -85,53 +107,84 @@ public class AnalyticsService {
                 product.get("name"),
                 cb.sum(orderItem.get("quantity"))));
 
-        cq.where(cb.equal(order.get("status"), "COMPLETED"));
+        List<Predicate> predicates = orderPredicates(cb, order, filter);
+        predicates.add(cb.equal(order.get("status"), "COMPLETED"));
+        if (filter.categoryId() != null) {
+            predicates.add(cb.equal(product.get("category").get("id"), filter.categoryId()));
+        }
+
+        cq.where(predicates.toArray(new Predicate[0]));
         cq.groupBy(product.get("name"));
         cq.orderBy(cb.desc(cb.sum(orderItem.get("quantity"))));
 
-        return entityManager.createQuery(cq)
+        return List.copyOf(entityManager.createQuery(cq)
+                .setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, queryTimeoutMs)
                 .setMaxResults(5)
-                .getResultList();
+                .getResultList());
+    }
+
+    // Date range and region predicates on the order; category is item-level and added by the caller
+    private List<Predicate> orderPredicates(CriteriaBuilder cb, Join<OrderItem, Order> order,
+            DashboardFilterKey filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.startAt() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.<LocalDateTime>get("createdAt"), filter.startAt()));
+        }
+        if (filter.endBefore() != null) {
+            predicates.add(cb.lessThan(order.<LocalDateTime>get("createdAt"), filter.endBefore()));
+        }
+        if (filter.regionId() != null) {
+            predicates.add(cb.equal(order.get("region").get("id"), filter.regionId()));
+        }
+        return predicates;
     }
 
     public List<RollingRevenueDto> getRolling7DayRevenue(DashboardFiltersDto filter) {
-        return orderRepository.fetchRolling7DayRevenue()
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
+        return queryCache.get("rollingRevenue", key, () -> dashboardRepository.fetchRolling7DayRevenue(
+                key.startAt(), key.endBefore(), key.regionId(), key.categoryId())
                 .stream()
                 .map(r -> new RollingRevenueDto(
                         ((java.sql.Date) r[0]).toLocalDate(),
                         (java.math.BigDecimal) r[1],
                         (java.math.BigDecimal) r[2]))
-                .toList();
+                .toList());
     }
 
     public List<RegionConversionDto> getConversionRateByRegion(DashboardFiltersDto filter) {
-        return orderRepository.fetchConversionRateByRegion()
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
+        return queryCache.get("regionConversion", key, () -> dashboardRepository.fetchConversionRateByRegion(
+                key.startAt(), key.endBefore(), key.regionId(), key.categoryId())
                 .stream()
                 .map(r -> new RegionConversionDto(
                         (String) r[0],
                         ((Number) r[1]).longValue(),
                         ((Number) r[2]).longValue(),
                         (java.math.BigDecimal) r[3]))
-                .toList();
+                .toList());
     }
 
     public List<CategoryRevenueShareDto> getCategoryRevenueShare(DashboardFiltersDto filter) {
-        return orderRepository.fetchCategoryRevenueShare()
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
+        return queryCache.get("categoryRevenueShare", key, () -> dashboardRepository.fetchCategoryRevenueShare(
+                key.startAt(), key.endBefore(), key.regionId(), key.categoryId())
                 .stream()
                 .map(o -> new CategoryRevenueShareDto(
                         ((String) o[0]),
                         ((java.math.BigDecimal) o[1]),
                         ((java.math.BigDecimal) o[2])))
-                .toList();
+                .toList());
     }
 
     public List<CustomerLifetimeValueDto> getTopCustomers(DashboardFiltersDto filter) {
-        return orderRepository.fetchTopCustomers()
+        DashboardFilterKey key = DashboardFilterKey.of(filter);
+        return queryCache.get("topCustomers", key, () -> dashboardRepository.fetchTopCustomers(
+                key.startAt(), key.endBefore(), key.regionId(), key.categoryId())
                 .stream()
                 .map(o -> new CustomerLifetimeValueDto(
                         ((String) o[0]),
                         ((Number) o[1]).doubleValue(),
                         ((Number) o[2]).intValue()))
-                .toList();
+                .toList());
     }
 }
@@ -0,0 +1,45 @@
+package com.puspo.codearena.businessanalytics.service.advanced;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener on orders and order items: any write drops cached dashboard results.
+ * The cache is cleared when the change is flushed and again after the transaction
+ * completes, so a query that read the old rows in between is not served afterwards.
+ */
+@Component
+public class DashboardCacheInvalidationListener {
+
+    // Looked up lazily so the listener can be created in slices without the cache (e.g. @DataJpaTest)
+    private final ObjectProvider<DashboardQueryCache> cacheProvider;
+
+    public DashboardCacheInvalidationListener(ObjectProvider<DashboardQueryCache> cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        DashboardQueryCache cache = cacheProvider.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.puspo.codearena.businessanalytics.service.advanced;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.puspo.codearena.businessanalytics.dto.unified.DashboardFiltersDto;
+
+/**
+ * Immutable, normalized form of {@link DashboardFiltersDto}. Two requests that mean the
+ * same thing produce equal keys, so they share query parameters and cache entries.
+ */
+public record DashboardFilterKey(LocalDate startDate, LocalDate endDate, Long regionId, Long categoryId) {
+
+    public static final DashboardFilterKey NONE = new DashboardFilterKey(null, null, null, null);
+
+    public static DashboardFilterKey of(DashboardFiltersDto filters) {
+        if (filters == null) {
+            return NONE;
+        }
+        LocalDate start = filters.getStartDate();
+        LocalDate end = filters.getEndDate();
+        // A reversed range is treated as the same range written the other way round
+        if (start != null && end != null && start.isAfter(end)) {
+            LocalDate swap = start;
+            start = end;
+            end = swap;
+        }
+        return new DashboardFilterKey(start, end, filters.getRegionId(), filters.getCategoryId());
+    }
+
+    /** Inclusive lower bound on created_at, or null when unbounded. */
+    public LocalDateTime startAt() {
+        return startDate == null ? null : startDate.atStartOfDay();
+    }
+
+    /** Exclusive upper bound on created_at (the day after endDate), or null when unbounded. */
+    public LocalDateTime endBefore() {
+        return endDate == null ? null : endDate.plusDays(1).atStartOfDay();
+    }
+}
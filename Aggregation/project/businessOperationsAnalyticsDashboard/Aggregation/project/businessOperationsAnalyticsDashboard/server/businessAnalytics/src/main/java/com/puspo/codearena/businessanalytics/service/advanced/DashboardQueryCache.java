@@ -0,0 +1,208 @@
+package com.puspo.codearena.businessanalytics.service.advanced;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Result cache for dashboard widget queries, keyed by widget name and normalized filters.
+ * <p>
+ * Entries expire after a per-widget TTL ({@code analytics.cache.ttl-ms.<widget>}, falling
+ * back to {@code analytics.cache.ttl-ms.default}). Concurrent misses for the same key are
+ * coalesced: one caller runs the query and the others wait for its result, so a burst of
+ * identical dashboard refreshes hits the database once. A waiting caller gives up after the
+ * widget budget ({@code analytics.dashboard.widget-timeout-ms}) instead of holding its pool
+ * thread for as long as the first query runs. When {@code analytics.cache.max-entries}
+ * is reached, expired entries are dropped first and then the least recently read ones.
+ */
+@Component
+public class DashboardQueryCache {
+
+    private final Environment environment;
+    private final long defaultTtlMs;
+    private final int maxEntries;
+    private final long followerWaitMs;
+
+    private final Map<CacheKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<CacheKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttlByWidget = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; loads started before the bump do not populate the cache
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DashboardQueryCache(Environment environment,
+            @Value("${analytics.cache.ttl-ms.default:30000}") long defaultTtlMs,
+            @Value("${analytics.cache.max-entries:1000}") int maxEntries,
+            @Value("${analytics.dashboard.widget-timeout-ms:2000}") long followerWaitMs) {
+        this.environment = environment;
+        this.defaultTtlMs = defaultTtlMs;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.followerWaitMs = followerWaitMs;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String widget, DashboardFilterKey filters, Supplier<T> loader) {
+        long ttlMs = ttlFor(widget);
+        if (ttlMs <= 0) {
+            misses.increment();
+            return loader.get();
+        }
+
+        CacheKey key = new CacheKey(widget, filters);
+        Entry cached = fresh(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(widget, leader);
+        }
+
+        try {
+            // Another caller may have finished loading between the lookup and putIfAbsent
+            cached = fresh(key);
+            if (cached != null) {
+                hits.increment();
+                mine.complete(cached.value());
+                return (T) cached.value();
+            }
+            misses.increment();
+            long startGeneration = generation.get();
+            T value = loader.get();
+            if (generation.get() == startGeneration) {
+                store(key, value, ttlMs);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Drops every cached result. Loads already running finish for their current callers but
+     * their results are not cached, and new requests start fresh loads.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.clear();
+        inFlight.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), hits.sum(), misses.sum(), coalesced.sum(), invalidations.sum(),
+                evictions.sum());
+    }
+
+    private Entry fresh(CacheKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (entry.expiresAtNanos() - now <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastReadNanos = now;
+        return entry;
+    }
+
+    private void store(CacheKey key, Object value, long ttlMs) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(e -> e.expiresAtNanos() - now <= 0);
+            // Still full of live entries: drop the least recently read ones
+            while (entries.size() >= maxEntries) {
+                Map.Entry<CacheKey, Entry> oldest = null;
+                for (Map.Entry<CacheKey, Entry> candidate : entries.entrySet()) {
+                    if (oldest == null || candidate.getValue().lastReadNanos - oldest.getValue().lastReadNanos < 0) {
+                        oldest = candidate;
+                    }
+                }
+                if (oldest == null) {
+                    break;
+                }
+                if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                    evictions.increment();
+                }
+            }
+        }
+        long now = System.nanoTime();
+        entries.put(key, new Entry(value, now + TimeUnit.MILLISECONDS.toNanos(ttlMs), now));
+    }
+
+    private long ttlFor(String widget) {
+        return ttlByWidget.computeIfAbsent(widget,
+                w -> environment.getProperty("analytics.cache.ttl-ms." + w, Long.class, defaultTtlMs));
+    }
+
+    private Object await(String widget, CompletableFuture<Object> leader) {
+        try {
+            return leader.get(followerWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // The leader keeps running and still caches its result; only this caller gives up
+            throw new IllegalStateException("Timed out after " + followerWaitMs
+                    + " ms waiting for the in-flight " + widget + " query", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the in-flight " + widget + " query", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private record CacheKey(String widget, DashboardFilterKey filters) {
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAtNanos;
+        // Recency for eviction; a racy update only makes the choice of victim slightly off
+        private volatile long lastReadNanos;
+
+        private Entry(Object value, long expiresAtNanos, long lastReadNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+            this.lastReadNanos = lastReadNanos;
+        }
+
+        Object value() {
+            return value;
+        }
+
+        long expiresAtNanos() {
+            return expiresAtNanos;
+        }
+    }
+
+    public record CacheStats(int size, long hits, long misses, long coalesced, long invalidations,
+            long evictions) {
+    }
+}
@@ -3,7 +3,7 @@ package com.puspo.codearena.businessanalytics.service.advanced;
 import org.springframework.stereotype.Service;
 
 import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
-import com.puspo.codearena.businessanalytics.repository.OrderRepository;
+import com.puspo.codearena.businessanalytics.repository.FilteredDashboardRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -11,12 +11,14 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DashboardSummaryService {
 
-    private final OrderRepository orderRepository;
+    private final FilteredDashboardRepository dashboardRepository;
+    private final DashboardQueryCache queryCache;
 
     public DashboardSummaryDto getSummary(
             com.puspo.codearena.businessanalytics.dto.unified.DashboardFiltersDto filters) {
 
-        // For now, we ignore the filter; we’ll apply it later
-        return orderRepository.fetchDashboardSummary();
+        DashboardFilterKey key = DashboardFilterKey.of(filters);
+        return queryCache.get("summary", key, () -> dashboardRepository.fetchDashboardSummary(
+                key.startAt(), key.endBefore(), key.regionId(), key.categoryId()));
     }
 }
@@ -0,0 +1,62 @@
+package com.puspo.codearena.businessanalytics.service.advanced;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-widget latency and outcome counters for the unified dashboard.
+ */
+@Component
+public class DashboardWidgetMetrics {
+
+    private final Map<String, WidgetStats> stats = new ConcurrentHashMap<>();
+
+    public void recordSuccess(String widget, long latencyMs) {
+        WidgetStats s = statsFor(widget);
+        s.calls.increment();
+        s.totalLatencyMs.add(latencyMs);
+        s.maxLatencyMs.accumulate(latencyMs);
+    }
+
+    public void recordFailure(String widget) {
+        statsFor(widget).failures.increment();
+    }
+
+    public void recordTimeout(String widget) {
+        statsFor(widget).timeouts.increment();
+    }
+
+    public Map<String, WidgetSnapshot> snapshot() {
+        Map<String, WidgetSnapshot> result = new TreeMap<>();
+        stats.forEach((widget, s) -> {
+            long calls = s.calls.sum();
+            result.put(widget, new WidgetSnapshot(
+                    calls,
+                    calls == 0 ? 0 : s.totalLatencyMs.sum() / calls,
+                    s.maxLatencyMs.get(),
+                    s.failures.sum(),
+                    s.timeouts.sum()));
+        });
+        return result;
+    }
+
+    private WidgetStats statsFor(String widget) {
+        return stats.computeIfAbsent(widget, w -> new WidgetStats());
+    }
+
+    private static final class WidgetStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private final LongAccumulator maxLatencyMs = new LongAccumulator(Long::max, 0);
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+    }
+
+    public record WidgetSnapshot(long calls, long avgLatencyMs, long maxLatencyMs, long failures, long timeouts) {
+    }
+}
@@ -1,27 +1,166 @@
 package com.puspo.codearena.businessanalytics.service.advanced;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.CategoryRevenueShareDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.CategorySalesDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.CustomerLifetimeValueDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.TopProductDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.RegionConversionDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.RollingRevenueDto;
 import com.puspo.codearena.businessanalytics.dto.unified.DashboardFiltersDto;
 import com.puspo.codearena.businessanalytics.dto.unified.DashboardResponseDto;
 
-import lombok.RequiredArgsConstructor;
-
 @Service
-@RequiredArgsConstructor
 public class UnifiedDashboardService {
     private final DashboardSummaryService summaryService;
     private final AnalyticsService analyticsService;
+    private final DashboardWidgetMetrics widgetMetrics;
+    private final DashboardQueryCache queryCache;
+    private final ThreadPoolTaskExecutor dashboardQueryExecutor;
+    private final long widgetTimeoutMs;
+
+    public UnifiedDashboardService(DashboardSummaryService summaryService,
+            AnalyticsService analyticsService,
+            DashboardWidgetMetrics widgetMetrics,
+            DashboardQueryCache queryCache,
+            @Qualifier("dashboardQueryExecutor") ThreadPoolTaskExecutor dashboardQueryExecutor,
+            @Value("${analytics.dashboard.widget-timeout-ms:2000}") long widgetTimeoutMs) {
+        this.summaryService = summaryService;
+        this.analyticsService = analyticsService;
+        this.widgetMetrics = widgetMetrics;
+        this.queryCache = queryCache;
+        this.dashboardQueryExecutor = dashboardQueryExecutor;
+        this.widgetTimeoutMs = widgetTimeoutMs;
+    }
 
     public DashboardResponseDto getDashboard(DashboardFiltersDto filters) {
+        // All widget queries are independent, so they run at the same time on separate
+        // connections; the response takes as long as the slowest widget, not the sum of all
+        RequestState state = new RequestState();
+
+        CompletableFuture<DashboardSummaryDto> summary = widget(state, "summary",
+                () -> summaryService.getSummary(filters), null);
+        CompletableFuture<List<MonthlyRevenueDto>> monthlyRevenue = widget(state, "monthlyRevenue",
+                () -> analyticsService.getMonthlyRevenue(filters), List.of());
+        CompletableFuture<List<CategorySalesDto>> categorySales = widget(state, "categorySales",
+                () -> analyticsService.getCategorySales(filters), List.of());
+        CompletableFuture<List<TopProductDto>> topProducts = widget(state, "topProducts",
+                () -> analyticsService.getTopProducts(filters), List.of());
+        CompletableFuture<List<RollingRevenueDto>> rollingRevenue = widget(state, "rollingRevenue",
+                () -> analyticsService.getRolling7DayRevenue(filters), List.of());
+        CompletableFuture<List<RegionConversionDto>> regionConversion = widget(state, "regionConversion",
+                () -> analyticsService.getConversionRateByRegion(filters), List.of());
+        CompletableFuture<List<CategoryRevenueShareDto>> categoryRevenueShare = widget(state, "categoryRevenueShare",
+                () -> analyticsService.getCategoryRevenueShare(filters), List.of());
+        CompletableFuture<List<CustomerLifetimeValueDto>> topCustomers = widget(state, "topCustomers",
+                () -> analyticsService.getTopCustomers(filters), List.of());
+
+        CompletableFuture.allOf(summary, monthlyRevenue, categorySales, topProducts,
+                rollingRevenue, regionConversion, categoryRevenueShare, topCustomers).join();
+
         return new DashboardResponseDto(
-                summaryService.getSummary(filters),
-                analyticsService.getMonthlyRevenue(filters),
-                analyticsService.getCategorySales(filters),
-                analyticsService.getTopProducts(filters),
-                analyticsService.getRolling7DayRevenue(filters),
-                analyticsService.getConversionRateByRegion(filters),
-                analyticsService.getCategoryRevenueShare(filters),
-                analyticsService.getTopCustomers(filters));
+                summary.join(),
+                monthlyRevenue.join(),
+                categorySales.join(),
+                topProducts.join(),
+                rollingRevenue.join(),
+                regionConversion.join(),
+                categoryRevenueShare.join(),
+                topCustomers.join(),
+                List.copyOf(state.degradedWidgets),
+                Map.copyOf(state.latenciesMs));
+    }
+
+    public Map<String, DashboardWidgetMetrics.WidgetSnapshot> getWidgetMetrics() {
+        return widgetMetrics.snapshot();
+    }
+
+    public DashboardQueryCache.CacheStats getCacheStats() {
+        return queryCache.stats();
+    }
+
+    /**
+     * Runs one widget query on the dashboard pool. A widget that fails, exceeds the timeout or
+     * finds the pool full is replaced by its fallback and reported in degradedWidgets, so one
+     * slow query never fails or stalls the whole dashboard.
+     */
+    private <T> CompletableFuture<T> widget(RequestState state, String name, Supplier<T> query, T fallback) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // Whichever of query result, query failure or timeout settles first wins
+        AtomicBoolean settled = new AtomicBoolean();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        AtomicReference<Future<?>> task = new AtomicReference<>();
+
+        // Armed before the query is submitted so the timeout holds even if submission blocks
+        CompletableFuture.delayedExecutor(widgetTimeoutMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (settled.compareAndSet(false, true)) {
+                timedOut.set(true);
+                widgetMetrics.recordTimeout(name);
+                state.degradedWidgets.add(name);
+                future.complete(fallback);
+                // Drops the query if it is still queued; a running one is bounded by the same
+                // budget as its JDBC query timeout (hint set on every widget query)
+                Future<?> running = task.get();
+                if (running != null) {
+                    running.cancel(true);
+                }
+            }
+        });
+
+        try {
+            task.set(dashboardQueryExecutor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    T result = query.get();
+                    long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    widgetMetrics.recordSuccess(name, latencyMs);
+                    if (settled.compareAndSet(false, true)) {
+                        state.latenciesMs.put(name, latencyMs);
+                        future.complete(result);
+                    }
+                } catch (RuntimeException ex) {
+                    widgetMetrics.recordFailure(name);
+                    if (settled.compareAndSet(false, true)) {
+                        state.degradedWidgets.add(name);
+                        future.complete(fallback);
+                    }
+                }
+            }));
+        } catch (RejectedExecutionException ex) {
+            // Pool and queue are full: degrade this widget rather than run it on the request thread
+            widgetMetrics.recordFailure(name);
+            if (settled.compareAndSet(false, true)) {
+                state.degradedWidgets.add(name);
+                future.complete(fallback);
+            }
+        }
+        if (timedOut.get() && task.get() != null) {
+            // The timeout fired before the task reference was published
+            task.get().cancel(true);
+        }
+        return future;
+    }
+
+    private static final class RequestState {
+        private final List<String> degradedWidgets = new CopyOnWriteArrayList<>();
+        private final Map<String, Long> latenciesMs = new ConcurrentHashMap<>();
     }
 }
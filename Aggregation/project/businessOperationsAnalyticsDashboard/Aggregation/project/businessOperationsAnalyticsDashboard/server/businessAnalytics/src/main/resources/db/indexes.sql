@@ -0,0 +1,4 @@
+-- Indexes for queries added on top of the base schema; safe to run on every startup.
+
+-- Recent-orders feed: keyset pagination on (created_at, id) in both directions
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
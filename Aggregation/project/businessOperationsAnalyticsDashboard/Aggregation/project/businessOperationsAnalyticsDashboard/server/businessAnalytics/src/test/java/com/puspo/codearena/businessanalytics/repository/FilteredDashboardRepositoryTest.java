@@ -0,0 +1,156 @@
+package com.puspo.codearena.businessanalytics.repository;
+
+import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
+import com.puspo.codearena.businessanalytics.entity.Category;
+import com.puspo.codearena.businessanalytics.entity.Customer;
+import com.puspo.codearena.businessanalytics.entity.Order;
+import com.puspo.codearena.businessanalytics.entity.OrderItem;
+import com.puspo.codearena.businessanalytics.entity.Product;
+import com.puspo.codearena.businessanalytics.entity.Region;
+import com.puspo.codearena.businessanalytics.repository.impl.FilteredDashboardRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(FilteredDashboardRepositoryImpl.class)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:filtereddb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+class FilteredDashboardRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FilteredDashboardRepository dashboardRepository;
+
+    private Region north;
+    private Region south;
+    private Category books;
+    private Category games;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Test Customer");
+        customer.setEmail("test@example.com");
+        entityManager.persist(customer);
+
+        north = persistRegion("North");
+        south = persistRegion("South");
+        books = persistCategory("Books");
+        games = persistCategory("Games");
+        Product book = persistProduct("Book", books);
+        Product game = persistProduct("Game", games);
+
+        persistOrder(customer, north, "COMPLETED", "100.00", LocalDateTime.of(2024, 1, 10, 9, 0), book);
+        persistOrder(customer, north, "CANCELED", "40.00", LocalDateTime.of(2024, 2, 10, 9, 0), game);
+        persistOrder(customer, south, "COMPLETED", "70.00", LocalDateTime.of(2024, 2, 20, 9, 0), game);
+        entityManager.flush();
+    }
+
+    @Test
+    void fetchDashboardSummary_ShouldCountEveryOrder_WhenNoFilterIsSet() {
+        // Act
+        DashboardSummaryDto result = dashboardRepository.fetchDashboardSummary(null, null, null, null);
+
+        // Assert
+        assertThat(result.getTotalOrders()).isEqualTo(3);
+        assertThat(result.getTotalRevenue()).isEqualTo(170.0);
+        assertThat(result.getCanceledOrders()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchDashboardSummary_ShouldApplyOnlyTheFiltersThatAreSet() {
+        // Act
+        DashboardSummaryDto inRange = dashboardRepository.fetchDashboardSummary(
+                LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0), null, null);
+        DashboardSummaryDto inRegion = dashboardRepository.fetchDashboardSummary(null, null, north.getId(), null);
+        DashboardSummaryDto withGames = dashboardRepository.fetchDashboardSummary(null, null, null, games.getId());
+
+        // Assert
+        assertThat(inRange.getTotalOrders()).isEqualTo(2);
+        assertThat(inRegion.getTotalOrders()).isEqualTo(2);
+        assertThat(inRegion.getCompletedOrders()).isEqualTo(1);
+        assertThat(withGames.getTotalOrders()).isEqualTo(2);
+        assertThat(withGames.getTotalRevenue()).isEqualTo(70.0);
+    }
+
+    @Test
+    void fetchConversionRateByRegion_ShouldCombineRegionAndCategoryFilters() {
+        // Act
+        List<Object[]> all = dashboardRepository.fetchConversionRateByRegion(null, null, null, null);
+        List<Object[]> northGames = dashboardRepository.fetchConversionRateByRegion(
+                null, null, north.getId(), games.getId());
+
+        // Assert
+        assertThat(all).hasSize(2);
+        assertThat(northGames).hasSize(1);
+        assertThat(northGames.get(0)[0]).isEqualTo("North");
+        assertThat(((Number) northGames.get(0)[1]).longValue()).isZero();
+        assertThat(((Number) northGames.get(0)[2]).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchCategoryRevenueShare_ShouldRestrictItemsToTheCategory() {
+        // Act
+        List<Object[]> result = dashboardRepository.fetchCategoryRevenueShare(null, null, null, books.getId());
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)[0]).isEqualTo("Books");
+    }
+
+    private Region persistRegion(String name) {
+        Region region = new Region();
+        region.setName(name);
+        return entityManager.persist(region);
+    }
+
+    private Category persistCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return entityManager.persist(category);
+    }
+
+    private Product persistProduct(String name, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setCategory(category);
+        return entityManager.persist(product);
+    }
+
+    private void persistOrder(Customer customer, Region region, String status, String amount,
+            LocalDateTime createdAt, Product product) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setRegion(region);
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal(amount));
+        order.setCreatedAt(createdAt);
+        entityManager.persist(order);
+
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(1);
+        item.setPrice(new BigDecimal(amount));
+        entityManager.persist(item);
+    }
+}
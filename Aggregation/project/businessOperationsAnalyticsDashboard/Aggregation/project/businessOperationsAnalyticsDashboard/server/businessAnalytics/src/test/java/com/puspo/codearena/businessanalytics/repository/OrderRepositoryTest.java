@@ -2,14 +2,16 @@ package com.puspo.codearena.businessanalytics.repository;
 
 import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
 import com.puspo.codearena.businessanalytics.entity.Customer;
 import com.puspo.codearena.businessanalytics.entity.Order;
 import com.puspo.codearena.businessanalytics.entity.Region;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
@@ -17,13 +19,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 @DataJpaTest
 @TestPropertySource(properties = {
         "spring.jpa.hibernate.ddl-auto=create-drop",
         "spring.datasource.url=jdbc:h2:mem:testdb",
         "spring.datasource.driver-class-name=org.h2.Driver",
-        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
 })
 class OrderRepositoryTest {
 
@@ -167,7 +171,7 @@ class OrderRepositoryTest {
 
         // Assert
         assertThat(result.getTotalRevenue()).isEqualTo(250.49);
-        assertThat(result.getAvgOrderValue()).isCloseTo(125.245, 0.01);
+        assertThat(result.getAvgOrderValue()).isCloseTo(125.245, within(0.01));
     }
 
     @Test
@@ -302,6 +306,57 @@ class OrderRepositoryTest {
         assertThat(result.get(0).getRevenue()).isEqualTo(450.0);
     }
 
+    @Test
+    void findRecentOrders_ShouldReturnNewestFirst_WithProjectedFields() {
+        // Arrange
+        Order older = persistOrderAt("COMPLETED", LocalDateTime.of(2024, 1, 1, 10, 0));
+        Order newer = persistOrderAt("PENDING", LocalDateTime.of(2024, 1, 2, 10, 0));
+
+        // Act
+        List<RecentOrderDto> result = orderRepository.findRecentOrders(PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result).extracting(RecentOrderDto::getId).containsExactly(newer.getId(), older.getId());
+        assertThat(result.get(0).getCustomerName()).isEqualTo("Test Customer");
+        assertThat(result.get(0).getRegionName()).isEqualTo("Test Region");
+        assertThat(result.get(0).getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void findRecentOrdersBefore_ShouldContinueAfterCursor_WhenTimestampsTie() {
+        // Arrange - three orders share a timestamp, so the id breaks the tie
+        LocalDateTime sameTime = LocalDateTime.of(2024, 1, 2, 10, 0);
+        Order first = persistOrderAt("COMPLETED", sameTime);
+        Order second = persistOrderAt("COMPLETED", sameTime);
+        Order third = persistOrderAt("COMPLETED", sameTime);
+        Order oldest = persistOrderAt("COMPLETED", LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        // Act
+        List<RecentOrderDto> page1 = orderRepository.findRecentOrders(PageRequest.of(0, 2));
+        RecentOrderDto last = page1.get(page1.size() - 1);
+        List<RecentOrderDto> page2 = orderRepository.findRecentOrdersBefore(
+                last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+
+        // Assert - no row is skipped or repeated across pages
+        assertThat(page1).extracting(RecentOrderDto::getId).containsExactly(third.getId(), second.getId());
+        assertThat(page2).extracting(RecentOrderDto::getId).containsExactly(first.getId(), oldest.getId());
+    }
+
+    @Test
+    void findOrdersSince_ShouldReturnOnlyNewerOrders_OldestFirst() {
+        // Arrange
+        Order seen = persistOrderAt("COMPLETED", LocalDateTime.of(2024, 1, 1, 10, 0));
+        Order new1 = persistOrderAt("COMPLETED", LocalDateTime.of(2024, 1, 2, 10, 0));
+        Order new2 = persistOrderAt("COMPLETED", LocalDateTime.of(2024, 1, 3, 10, 0));
+
+        // Act
+        List<RecentOrderDto> result = orderRepository.findOrdersSince(
+                seen.getCreatedAt(), seen.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result).extracting(RecentOrderDto::getId).containsExactly(new1.getId(), new2.getId());
+    }
+
     private Order createOrder(String status, BigDecimal amount) {
         Order order = new Order();
         order.setCustomer(testCustomer);
@@ -317,4 +372,12 @@ class OrderRepositoryTest {
         entityManager.persist(order);
         entityManager.flush();
     }
+
+    private Order persistOrderAt(String status, LocalDateTime createdAt) {
+        Order order = createOrder(status, new BigDecimal("10.00"));
+        order.setCreatedAt(createdAt);
+        entityManager.persist(order);
+        entityManager.flush();
+        return order;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.puspo.codearena.businessanalytics.service;
 
 import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrdersPageDto;
+import com.puspo.codearena.businessanalytics.repository.OrderAnalyticsRepository;
 import com.puspo.codearena.businessanalytics.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +11,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +29,9 @@ class DashboardServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderAnalyticsRepository orderAnalyticsRepository;
+
     @InjectMocks
     private DashboardServiceImpl dashboardService;
 
@@ -247,7 +260,7 @@ class DashboardServiceImplTest {
     @Test
     void constructor_ShouldInitializeWithOrderRepository() {
         // Arrange & Act
-        DashboardServiceImpl service = new DashboardServiceImpl(orderRepository);
+        DashboardServiceImpl service = new DashboardServiceImpl(orderRepository, orderAnalyticsRepository);
 
         // Assert
         assertThat(service).isNotNull();
@@ -285,4 +298,104 @@ class DashboardServiceImplTest {
         // Assert - Each call should go through repository
         verify(orderRepository, times(2)).fetchDashboardSummary();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRecentOrdersPage_ShouldReturnFirstPageWithCursors_WhenNoCursorGiven() {
+        // Arrange: one row more than the page size means another page exists
+        when(orderRepository.findRecentOrders(PageRequest.of(0, 3)))
+                .thenReturn(List.of(order(5, 50), order(4, 40), order(3, 30)));
+
+        // Act
+        RecentOrdersPageDto result = dashboardService.getRecentOrdersPage(null, null, 2);
+
+        // Assert
+        assertThat(result.getOrders()).extracting(RecentOrderDto::getId).containsExactly(5L, 4L);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(RecentOrderCursor.decode(result.getOlderCursor())).isEqualTo(cursor(4, 40));
+        assertThat(RecentOrderCursor.decode(result.getNewerCursor())).isEqualTo(cursor(5, 50));
+    }
+
+    @Test
+    void getRecentOrdersPage_ShouldSeekPastTheBeforeCursor() {
+        // Arrange
+        String before = cursor(4, 40).encode();
+        when(orderRepository.findRecentOrdersBefore(at(40), 4L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(order(3, 30), order(2, 20)));
+
+        // Act
+        RecentOrdersPageDto result = dashboardService.getRecentOrdersPage(before, null, 2);
+
+        // Assert
+        assertThat(result.getOrders()).extracting(RecentOrderDto::getId).containsExactly(3L, 2L);
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(RecentOrderCursor.decode(result.getOlderCursor())).isEqualTo(cursor(2, 20));
+    }
+
+    @Test
+    void getRecentOrdersPage_ShouldReturnNewOrdersNewestFirst_WhenPollingSince() {
+        // Arrange: the since query reads oldest first
+        String since = cursor(5, 50).encode();
+        when(orderRepository.findOrdersSince(at(50), 5L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(order(6, 60), order(7, 70)));
+
+        // Act
+        RecentOrdersPageDto result = dashboardService.getRecentOrdersPage(null, since, 2);
+
+        // Assert
+        assertThat(result.getOrders()).extracting(RecentOrderDto::getId).containsExactly(7L, 6L);
+        assertThat(RecentOrderCursor.decode(result.getNewerCursor())).isEqualTo(cursor(7, 70));
+        assertThat(RecentOrderCursor.decode(result.getOlderCursor())).isEqualTo(cursor(6, 60));
+    }
+
+    @Test
+    void getRecentOrdersPage_ShouldKeepTheRequestCursors_WhenPageIsEmpty() {
+        // Arrange
+        String since = cursor(5, 50).encode();
+        when(orderRepository.findOrdersSince(at(50), 5L, PageRequest.of(0, 21))).thenReturn(List.of());
+
+        // Act
+        RecentOrdersPageDto result = dashboardService.getRecentOrdersPage(null, since, null);
+
+        // Assert
+        assertThat(result.getOrders()).isEmpty();
+        assertThat(result.getNewerCursor()).isEqualTo(since);
+        assertThat(result.getOlderCursor()).isNull();
+        assertThat(result.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getRecentOrdersPage_ShouldClampThePageSize() {
+        // Arrange
+        when(orderRepository.findRecentOrders(PageRequest.of(0, 101))).thenReturn(List.of());
+        when(orderRepository.findRecentOrders(PageRequest.of(0, 2))).thenReturn(List.of());
+
+        // Act
+        dashboardService.getRecentOrdersPage(null, null, 1_000);
+        dashboardService.getRecentOrdersPage(null, null, 0);
+
+        // Assert
+        verify(orderRepository).findRecentOrders(PageRequest.of(0, 101));
+        verify(orderRepository).findRecentOrders(PageRequest.of(0, 2));
+    }
+
+    @Test
+    void getRecentOrdersPage_ShouldRejectBothCursors() {
+        // Act & Assert
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> dashboardService.getRecentOrdersPage(cursor(1, 10).encode(), cursor(2, 20).encode(), null));
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static LocalDateTime at(int minute) {
+        return LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(minute);
+    }
+
+    private static RecentOrderCursor cursor(long id, int minute) {
+        return new RecentOrderCursor(at(minute), id);
+    }
+
+    private static RecentOrderDto order(long id, int minute) {
+        return new RecentOrderDto(id, at(minute), "COMPLETED", BigDecimal.TEN, "Customer " + id, "Region");
+    }
+}
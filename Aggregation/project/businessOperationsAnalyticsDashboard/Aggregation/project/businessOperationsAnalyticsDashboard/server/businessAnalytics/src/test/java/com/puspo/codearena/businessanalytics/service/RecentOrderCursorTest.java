@@ -0,0 +1,65 @@
+package com.puspo.codearena.businessanalytics.service;
+
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecentOrderCursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip_WithNanosecondTimestamps() {
+        RecentOrderCursor cursor = new RecentOrderCursor(LocalDateTime.of(2024, 3, 9, 23, 59, 59, 123_456_789), 42L);
+
+        assertThat(RecentOrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encode_ShouldRoundTrip_WhenTimestampHasNoSeconds() {
+        // LocalDateTime.toString drops zero seconds ("2024-01-01T00:00")
+        RecentOrderCursor cursor = new RecentOrderCursor(LocalDateTime.of(2024, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertThat(RecentOrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafeWithoutPadding() {
+        String token = new RecentOrderCursor(LocalDateTime.of(2024, 1, 1, 10, 30, 15), 7L).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void of_ShouldTakeThePositionOfTheOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 8, 0);
+        RecentOrderDto order = new RecentOrderDto(9L, createdAt, "COMPLETED", BigDecimal.ONE, "Customer", "Region");
+
+        assertThat(RecentOrderCursor.of(order)).isEqualTo(new RecentOrderCursor(createdAt, 9L));
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedTokens_WithBadRequest() {
+        String notBase64 = "%%%";
+        String noSeparator = encodeRaw("2024-01-01T00:00");
+        String badTimestamp = encodeRaw("yesterday|5");
+        String badId = encodeRaw("2024-01-01T00:00|five");
+
+        for (String token : new String[]{notBase64, noSeparator, badTimestamp, badId}) {
+            ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                    () -> RecentOrderCursor.decode(token), token);
+            assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
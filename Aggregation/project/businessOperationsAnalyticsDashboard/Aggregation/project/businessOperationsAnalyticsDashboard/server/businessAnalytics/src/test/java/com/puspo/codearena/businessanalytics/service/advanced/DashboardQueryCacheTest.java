@@ -0,0 +1,150 @@
+package com.puspo.codearena.businessanalytics.service.advanced;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DashboardQueryCacheTest {
+
+    private static final DashboardFilterKey REGION_1 = new DashboardFilterKey(null, null, 1L, null);
+    private static final DashboardFilterKey REGION_2 = new DashboardFilterKey(null, null, 2L, null);
+    private static final DashboardFilterKey REGION_3 = new DashboardFilterKey(null, null, 3L, null);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_ShouldEvictLeastRecentlyReadEntry_WhenFull() throws InterruptedException {
+        // Arrange
+        DashboardQueryCache cache = new DashboardQueryCache(new MockEnvironment(), 60_000, 2, 2_000);
+        cache.get("summary", REGION_1, this::load);
+        Thread.sleep(1);
+        cache.get("summary", REGION_2, this::load);
+        Thread.sleep(1);
+        cache.get("summary", REGION_1, this::load); // read again: REGION_2 is now the oldest
+
+        // Act
+        cache.get("summary", REGION_3, this::load);
+        int loadsBefore = loads.get();
+        cache.get("summary", REGION_1, this::load);
+        cache.get("summary", REGION_3, this::load);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(loadsBefore);
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        cache.get("summary", REGION_2, this::load);
+        assertThat(loads.get()).isEqualTo(loadsBefore + 1);
+    }
+
+    @Test
+    void get_ShouldDropExpiredEntriesBeforeLiveOnes_WhenFull() throws InterruptedException {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("analytics.cache.ttl-ms.rollingRevenue", "1");
+        DashboardQueryCache cache = new DashboardQueryCache(environment, 60_000, 2, 2_000);
+        cache.get("summary", REGION_1, this::load);
+        cache.get("rollingRevenue", REGION_1, this::load);
+        Thread.sleep(5);
+
+        // Act
+        cache.get("summary", REGION_2, this::load);
+        int loadsBefore = loads.get();
+        cache.get("summary", REGION_1, this::load);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(loadsBefore);
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    @Test
+    void get_ShouldRunTheLoaderOnce_WhenCallersMissConcurrently() throws Exception {
+        // Arrange
+        int callers = 8;
+        DashboardQueryCache cache = new DashboardQueryCache(new MockEnvironment(), 60_000, 10, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            // Act
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("summary", REGION_1, () -> {
+                    awaitQuietly(release);
+                    return load();
+                })));
+            }
+            // Hold the first load until every other caller is waiting on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.stats().coalesced() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(cache.stats().misses()).isEqualTo(1);
+            assertThat(cache.stats().coalesced()).isEqualTo(callers - 1);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ShouldStopWaitingForTheLeader_AfterTheWaitBudget() throws Exception {
+        // Arrange
+        DashboardQueryCache cache = new DashboardQueryCache(new MockEnvironment(), 60_000, 10, 50);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = pool.submit(() -> cache.get("summary", REGION_1, () -> {
+                loading.countDown();
+                awaitQuietly(release);
+                return load();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act & Assert
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> cache.get("summary", REGION_1, this::load))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("summary");
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+
+            // The leader is unaffected and still caches its result
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(cache.get("summary", REGION_1, this::load)).isEqualTo(1);
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Integer load() {
+        return loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,99 @@
+package com.puspo.codearena.businessanalytics.service.advanced;
+
+import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
+import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
+import com.puspo.codearena.businessanalytics.dto.unified.DashboardFiltersDto;
+import com.puspo.codearena.businessanalytics.dto.unified.DashboardResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UnifiedDashboardServiceTest {
+
+    private static final long WIDGET_TIMEOUT_MS = 200;
+
+    private final DashboardSummaryService summaryService = mock(DashboardSummaryService.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private final DashboardWidgetMetrics widgetMetrics = new DashboardWidgetMetrics();
+    // Never released by the test: stands in for a query that runs past the widget budget
+    private final CountDownLatch slowQuery = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor executor;
+    private UnifiedDashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(10);
+        executor.initialize();
+        service = new UnifiedDashboardService(summaryService, analyticsService, widgetMetrics,
+                mock(DashboardQueryCache.class), executor, WIDGET_TIMEOUT_MS);
+
+        when(summaryService.getSummary(any())).thenReturn(new DashboardSummaryDto(3L, 30.0, 10.0, 2L, 1L));
+        when(analyticsService.getMonthlyRevenue(any()))
+                .thenReturn(List.of(new MonthlyRevenueDto("2024-01", BigDecimal.TEN)));
+        when(analyticsService.getCategorySales(any())).thenReturn(List.of());
+        when(analyticsService.getTopProducts(any())).thenReturn(List.of());
+        when(analyticsService.getRolling7DayRevenue(any())).thenReturn(List.of());
+        when(analyticsService.getConversionRateByRegion(any())).thenReturn(List.of());
+        when(analyticsService.getCategoryRevenueShare(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void getDashboard_ShouldReturnTheOtherWidgets_WhenOneWidgetIsSlow() {
+        // Arrange
+        when(analyticsService.getTopCustomers(any())).thenAnswer(invocation -> {
+            slowQuery.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        // Act
+        long start = System.nanoTime();
+        DashboardResponseDto response = service.getDashboard(new DashboardFiltersDto());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertThat(response.getDegradedWidgets()).containsExactly("topCustomers");
+        assertThat(response.getTopCustomers()).isEmpty();
+        assertThat(response.getSummary().getTotalOrders()).isEqualTo(3L);
+        assertThat(response.getMonthlyRevenue()).hasSize(1);
+        assertThat(response.getWidgetLatencyMs()).containsKeys("summary", "monthlyRevenue")
+                .doesNotContainKey("topCustomers");
+        // Answered at the widget budget, not when the slow query finishes
+        assertThat(elapsedMs).isLessThan(5_000);
+        assertThat(widgetMetrics.snapshot().get("topCustomers").timeouts()).isEqualTo(1);
+    }
+
+    @Test
+    void getDashboard_ShouldFallBack_WhenAWidgetQueryFails() {
+        // Arrange
+        when(analyticsService.getTopCustomers(any())).thenThrow(new IllegalStateException("query canceled"));
+
+        // Act
+        DashboardResponseDto response = service.getDashboard(new DashboardFiltersDto());
+
+        // Assert
+        assertThat(response.getDegradedWidgets()).containsExactly("topCustomers");
+        assertThat(response.getTopCustomers()).isEmpty();
+        assertThat(response.getSummary()).isNotNull();
+        assertThat(widgetMetrics.snapshot().get("topCustomers").failures()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.puspo.codearena.project.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Raw additive totals behind DashboardSummary; produced by one aggregate query or kept in memory
+@Getter
+@AllArgsConstructor
+@Builder
+public class ExamSummaryTotals {
+    private long totalStudents;
+    private long totalExams;
+    private long marksSum;
+    private long passedExams;
+    private long failedExams;
+    // Highest exam_results.id included in these totals
+    private long maxResultId;
+
+    public DashboardSummary toDashboardSummary() {
+        double averageMarks = totalExams == 0 ? 0.0 : (double) marksSum / totalExams;
+        double passPercentage = totalExams == 0 ? 0.0
+                : BigDecimal.valueOf(passedExams * 100.0 / totalExams)
+                        .setScale(2, RoundingMode.HALF_UP) // always setScale(2, HALF_UP) for percentages
+                        .doubleValue();
+        return DashboardSummary.builder()
+                .totalStudents(totalStudents)
+                .totalExams(totalExams)
+                .averageMarks(averageMarks)
+                .passPercentage(passPercentage)
+                .totalPassedExams(passedExams)
+                .totalFailedExams(failedExams)
+                .build();
+    }
+}
@@ -1,12 +1,14 @@
 package com.puspo.codearena.project.entity;
 
 import jakarta.persistence.*;
+import com.puspo.codearena.project.service.impl.ExamResultSummaryListener;
 import lombok.*;
 
 import java.sql.Date;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ExamResultSummaryListener.class)
 @Table(name = "exam_results")
 @Getter
 @Setter
@@ -3,6 +3,7 @@ package com.puspo.codearena.project.repository;
 import com.puspo.codearena.project.dto.CategoryWiseStats;
 import com.puspo.codearena.project.dto.DashboardSummary;
 import com.puspo.codearena.project.dto.ExamResultDto;
+import com.puspo.codearena.project.dto.ExamSummaryTotals;
 import com.puspo.codearena.project.dto.MonthlyStats;
 
 import java.util.List;
@@ -10,6 +11,10 @@ import java.util.List;
 public interface ExamResultRepositoryCustom {
     DashboardSummary getDashboardSummary();
 
+    ExamSummaryTotals getSummaryTotals();
+
+    List<Long> getStudentIdsWithResults();
+
     List<CategoryWiseStats> getCategoryWiseStats();
 
     List<MonthlyStats> getMonthlyStats();
@@ -3,21 +3,19 @@ package com.puspo.codearena.project.repository;
 import com.puspo.codearena.project.dto.CategoryWiseStats;
 import com.puspo.codearena.project.dto.DashboardSummary;
 import com.puspo.codearena.project.dto.ExamResultDto;
+import com.puspo.codearena.project.dto.ExamSummaryTotals;
 import com.puspo.codearena.project.dto.MonthlyStats;
 import com.puspo.codearena.project.entity.ExamResult;
 import com.puspo.codearena.project.entity.Status;
 import com.puspo.codearena.project.entity.Student;
 import com.puspo.codearena.project.entity.Subject;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.TypedQuery;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
-
-import java.math.RoundingMode;
 import java.util.List;
 
 @Repository
@@ -28,84 +26,59 @@ public class ExamResultRepositoryImpl implements ExamResultRepositoryCustom {
 
         @Override
         public DashboardSummary getDashboardSummary() {
-                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-                CriteriaQuery<DashboardSummary> query = cb.createQuery(DashboardSummary.class);
-                // Root<ExamResult> root = query.from(ExamResult.class);
-
-                // 👉Subqueries from different matrics
-                // 👉 countDistinct-> How many unique values exists in a column
-                Subquery<Long> uniqueSubquery = query.subquery(Long.class);
-                Root<ExamResult> uniqueSubqueryRoot = uniqueSubquery.from(ExamResult.class);
-                uniqueSubquery.select(cb.countDistinct(uniqueSubqueryRoot.get("student").get("id")));
-
-                // 👉Counts how many exam records exist --> Total exams
-                Subquery<Long> examRecQuery = query.subquery(Long.class);
-                Root<ExamResult> examRecQueryRoot = examRecQuery.from(ExamResult.class);
-                examRecQuery.select(cb.count(examRecQueryRoot.get("id")));
-
-                // The average marks of all exams 👉 Calculates the average of all marksObtained
-                Subquery<Double> avgMarksObQuery = query.subquery(Double.class);
-                Root<ExamResult> avgMarksObQueryRoot = avgMarksObQuery.from(ExamResult.class);
-                avgMarksObQuery.select(cb.avg(avgMarksObQueryRoot.get("marksObtained")));
-
-                // 👉 Counts only exams that are PASSED
-                Subquery<Long> examPassedQuery = query.subquery(Long.class);
-                Root<ExamResult> examPassedQueryRoot = examPassedQuery.from(ExamResult.class);
-                examPassedQuery.select(cb.count(examPassedQueryRoot.get("id")))
-                                .where(
-                                                cb.equal(
-                                                                examPassedQueryRoot.get("status"),
-                                                                Status.PASSED));
-                // 👉 Counts only exams that are FAILED
-                Subquery<Long> examFailedQuery = query.subquery(Long.class);
-                Root<ExamResult> examFailedQueryRoot = examFailedQuery.from(ExamResult.class);
-                examFailedQuery.select(cb.count(examFailedQueryRoot.get("id")))
-                                .where(
-                                                cb.equal(
-                                                                examFailedQueryRoot.get("status"),
-                                                                Status.FAILED));
+                return getSummaryTotals().toDashboardSummary();
+        }
 
-                // Pass percentage = (passed / total) * 100; guarded for total = 0
-                Expression<Long> totalExamsNonZero = cb.nullif(examRecQuery, 0L);
-                Expression<Number> passPercentageExpr = cb.prod(
-                                cb.quot(cb.toDouble(examPassedQuery), cb.toDouble(totalExamsNonZero)),
-                                100d);
+        // 👉 One scan with conditional aggregation instead of five subqueries (one scan each).
+        // The covering index idx_exam_summary_covering lets the database answer it from the index alone.
+        @Override
+        public ExamSummaryTotals getSummaryTotals() {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Tuple> query = cb.createTupleQuery();
+                Root<ExamResult> root = query.from(ExamResult.class);
 
-                // Build the main query now
-                query.select(
-                                cb.construct(
-                                                DashboardSummary.class,
-                                                uniqueSubquery,
-                                                examRecQuery,
-                                                avgMarksObQuery,
-                                                passPercentageExpr,
-                                                examPassedQuery,
-                                                examFailedQuery));
+                // 👉 SUM(CASE WHEN status = ? THEN 1 ELSE 0 END) counts a status in the same pass
+                Expression<Long> passedExams = cb.sum(
+                                cb.<Long>selectCase()
+                                                .when(cb.equal(root.get("status"), Status.PASSED), 1L)
+                                                .otherwise(0L));
+                Expression<Long> failedExams = cb.sum(
+                                cb.<Long>selectCase()
+                                                .when(cb.equal(root.get("status"), Status.FAILED), 1L)
+                                                .otherwise(0L));
 
-                // Execute and process results
-                // TypedQuery -> execute a query and get a type-safe result.
-                TypedQuery<DashboardSummary> typedQuery = entityManager.createQuery(query);
-                DashboardSummary result = typedQuery.getSingleResult();
+                query.multiselect(
+                                cb.countDistinct(root.get("student").get("id")), // FK column, no join
+                                cb.count(root.get("id")),
+                                cb.sumAsLong(root.get("marksObtained")),
+                                passedExams,
+                                failedExams,
+                                cb.max(root.<Long>get("id")));
+
+                Tuple row = entityManager.createQuery(query).getSingleResult();
+
+                // SUM and MAX are NULL on an empty table
+                return ExamSummaryTotals.builder()
+                                .totalStudents(longValue(row.get(0)))
+                                .totalExams(longValue(row.get(1)))
+                                .marksSum(longValue(row.get(2)))
+                                .passedExams(longValue(row.get(3)))
+                                .failedExams(longValue(row.get(4)))
+                                .maxResultId(longValue(row.get(5)))
+                                .build();
+        }
 
-                // Calculate pass percentage
-                Double roundedPassPct = null;
-                if (result.getPassPercentage() != null && !result.getPassPercentage().isNaN()
-                                && !result.getPassPercentage().isInfinite()) {
-                        roundedPassPct = BigDecimal.valueOf(result.getPassPercentage())
-                                        .setScale(2, RoundingMode.HALF_UP) // Rounding BigDecimal → always use
-                                                                           // setScale(2, RoundingMode.HALF_UP) for
-                                                                           // percentages
-                                        .doubleValue();
-                }
+        @Override
+        public List<Long> getStudentIdsWithResults() {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Long> query = cb.createQuery(Long.class);
+                Root<ExamResult> root = query.from(ExamResult.class);
+                query.select(root.get("student").<Long>get("id")).distinct(true);
+                return entityManager.createQuery(query).getResultList();
+        }
 
-                return DashboardSummary.builder()
-                                .totalStudents(result.getTotalStudents())
-                                .totalExams(result.getTotalExams())
-                                .totalFailedExams(result.getTotalFailedExams())
-                                .totalPassedExams(result.getTotalPassedExams())
-                                .averageMarks(result.getAverageMarks() != null ? result.getAverageMarks() : 0.0)
-                                .passPercentage(roundedPassPct != null ? roundedPassPct : 0.0)
-                                .build();
+        private static long longValue(Object value) {
+                return value == null ? 0L : ((Number) value).longValue();
         }
 
         @Override
@@ -0,0 +1,54 @@
+package com.puspo.codearena.project.service.impl;
+
+import com.puspo.codearena.project.entity.ExamResult;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener feeding {@link IncrementalExamSummary}.
+ * Changes are applied only after the transaction commits, so rolled-back inserts are never counted.
+ */
+@Component
+public class ExamResultSummaryListener {
+    // Looked up lazily: Hibernate may create the listener before the summary bean exists
+    private final ObjectProvider<IncrementalExamSummary> summaryProvider;
+
+    public ExamResultSummaryListener(ObjectProvider<IncrementalExamSummary> summaryProvider) {
+        this.summaryProvider = summaryProvider;
+    }
+
+    @PostPersist
+    public void onInsert(ExamResult result) {
+        afterCommit(summary -> summary.recordInserted(result));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUpdateOrDelete(ExamResult result) {
+        afterCommit(IncrementalExamSummary::markStale);
+    }
+
+    private void afterCommit(Consumer<IncrementalExamSummary> action) {
+        IncrementalExamSummary summary = summaryProvider.getIfAvailable();
+        if (summary == null || !summary.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(summary);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.accept(summary);
+            }
+        });
+    }
+}
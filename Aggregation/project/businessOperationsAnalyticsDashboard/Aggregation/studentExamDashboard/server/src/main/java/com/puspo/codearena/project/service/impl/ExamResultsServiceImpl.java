@@ -18,10 +18,14 @@ import java.util.List;
 @Service
 public class ExamResultsServiceImpl implements ExamResultsService {
     private final ExamResultRepository examResultRepository;
+    private final IncrementalExamSummary incrementalExamSummary;
 
     @Override
     public DashboardSummary getDashboardSummary() {
         log.info("Fetching dashboard summary");
+        if (incrementalExamSummary.isEnabled()) {
+            return incrementalExamSummary.getSummary();
+        }
         return examResultRepository.getDashboardSummary();
     }
 
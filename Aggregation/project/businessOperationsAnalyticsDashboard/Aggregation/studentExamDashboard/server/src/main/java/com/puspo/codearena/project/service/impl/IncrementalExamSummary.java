@@ -0,0 +1,139 @@
+package com.puspo.codearena.project.service.impl;
+
+import com.puspo.codearena.project.dto.DashboardSummary;
+import com.puspo.codearena.project.dto.ExamSummaryTotals;
+import com.puspo.codearena.project.entity.ExamResult;
+import com.puspo.codearena.project.entity.Status;
+import com.puspo.codearena.project.repository.ExamResultRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * In-memory dashboard summary kept up to date as exam results are inserted, so reading the
+ * summary costs no query at all (enabled with exam.dashboard.summary.incremental=true).
+ * <p>
+ * The totals are seeded on first use with one aggregate query and the student id query, both in
+ * one read-only transaction so they see the same snapshot. Inserts committed afterwards are
+ * added by {@link ExamResultSummaryListener}; updates and deletes cannot be applied as deltas,
+ * so they mark the summary stale and the next read re-seeds it. Bulk JPQL/SQL writes bypass
+ * entity listeners and are not seen until the next re-seed.
+ * <p>
+ * Ids are assigned at insert but become visible at commit, so a result with an id below the
+ * highest one the seed saw may still have been uncommitted, and therefore not counted, when the
+ * seed ran. Such a result cannot be told apart from one the seed did count, so it marks the
+ * summary stale as well.
+ */
+@Slf4j
+@Component
+public class IncrementalExamSummary {
+    private final ExamResultRepository examResultRepository;
+    private final TransactionTemplate seedTransaction;
+    private final boolean enabled;
+
+    private final Object lock = new Object();
+    private final Set<Long> studentIds = new HashSet<>();
+    private boolean loaded;
+    private long totalExams;
+    private long marksSum;
+    private long passedExams;
+    private long failedExams;
+    // Highest id the seeding query saw; results above it were committed after the seed
+    private long seededMaxResultId;
+    private long maxResultId;
+
+    public IncrementalExamSummary(ExamResultRepository examResultRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${exam.dashboard.summary.incremental:false}") boolean enabled) {
+        this.examResultRepository = examResultRepository;
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setReadOnly(true);
+        // Joins the caller's read-only transaction if there is one
+        this.seedTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public DashboardSummary getSummary() {
+        synchronized (lock) {
+            if (!loaded) {
+                seed();
+            }
+            return ExamSummaryTotals.builder()
+                    .totalStudents(studentIds.size())
+                    .totalExams(totalExams)
+                    .marksSum(marksSum)
+                    .passedExams(passedExams)
+                    .failedExams(failedExams)
+                    .maxResultId(maxResultId)
+                    .build()
+                    .toDashboardSummary();
+        }
+    }
+
+    // Called once the inserting transaction has committed
+    void recordInserted(ExamResult result) {
+        if (!enabled || result.getId() == null) {
+            return;
+        }
+        synchronized (lock) {
+            // Not seeded yet: the seeding query will count it
+            if (!loaded) {
+                return;
+            }
+            // Committed late or already counted by the seed; only a re-seed can tell
+            if (result.getId() <= seededMaxResultId) {
+                loaded = false;
+                studentIds.clear();
+                log.debug("Exam result {} is below the seeded id {}, re-seeding", result.getId(), seededMaxResultId);
+                return;
+            }
+            totalExams++;
+            marksSum += result.getMarksObtained();
+            if (result.getStatus() == Status.PASSED) {
+                passedExams++;
+            } else if (result.getStatus() == Status.FAILED) {
+                failedExams++;
+            }
+            if (result.getStudent() != null) {
+                studentIds.add(result.getStudent().getId());
+            }
+            maxResultId = Math.max(maxResultId, result.getId());
+        }
+    }
+
+    void markStale() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            loaded = false;
+            studentIds.clear();
+        }
+    }
+
+    private void seed() {
+        studentIds.clear();
+        ExamSummaryTotals totals = seedTransaction.execute(status -> {
+            studentIds.addAll(examResultRepository.getStudentIdsWithResults());
+            return examResultRepository.getSummaryTotals();
+        });
+        totalExams = totals.getTotalExams();
+        marksSum = totals.getMarksSum();
+        passedExams = totals.getPassedExams();
+        failedExams = totals.getFailedExams();
+        seededMaxResultId = totals.getMaxResultId();
+        maxResultId = seededMaxResultId;
+        loaded = true;
+        log.info("Seeded incremental exam summary: {} exams, {} students", totalExams, studentIds.size());
+    }
+}
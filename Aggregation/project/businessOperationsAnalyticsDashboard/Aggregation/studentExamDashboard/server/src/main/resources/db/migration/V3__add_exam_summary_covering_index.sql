@@ -0,0 +1,3 @@
+-- Covering index for the dashboard summary: the single-pass aggregate
+-- (COUNT DISTINCT student_id, SUM marks_obtained, pass/fail counts) reads only this index
+CREATE INDEX idx_exam_summary_covering ON exam_results (student_id, status, marks_obtained);
@@ -0,0 +1,147 @@
+package com.puspo.codearena.project.service.impl;
+
+import com.puspo.codearena.project.dto.DashboardSummary;
+import com.puspo.codearena.project.dto.ExamSummaryTotals;
+import com.puspo.codearena.project.entity.ExamResult;
+import com.puspo.codearena.project.entity.Status;
+import com.puspo.codearena.project.entity.Student;
+import com.puspo.codearena.project.repository.ExamResultRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IncrementalExamSummaryTest {
+
+    private ExamResultRepository examResultRepository;
+    private IncrementalExamSummary summary;
+    private ExamResultSummaryListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        examResultRepository = mock(ExamResultRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        summary = new IncrementalExamSummary(examResultRepository, transactionManager, true);
+
+        ObjectProvider<IncrementalExamSummary> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(summary);
+        listener = new ExamResultSummaryListener(provider);
+
+        // Seeded with results 1..10: 10 exams by 2 students, 600 marks, 7 passed
+        when(examResultRepository.getSummaryTotals()).thenReturn(totals(10, 600, 7, 3, 10));
+        when(examResultRepository.getStudentIdsWithResults()).thenReturn(List.of(1L, 2L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void insert_ShouldBeCountedOnlyAfterItsTransactionCommits() {
+        summary.getSummary();
+
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onInsert(result(11L, 3L, 90, Status.PASSED));
+        assertThat(summary.getSummary().getTotalExams()).isEqualTo(10);
+
+        commit();
+
+        DashboardSummary after = summary.getSummary();
+        assertThat(after.getTotalExams()).isEqualTo(11);
+        assertThat(after.getTotalStudents()).isEqualTo(3);
+        assertThat(after.getTotalPassedExams()).isEqualTo(8);
+        verify(examResultRepository, times(1)).getSummaryTotals();
+    }
+
+    @Test
+    void rolledBackInsert_ShouldNotBeCounted() {
+        summary.getSummary();
+
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onInsert(result(11L, 3L, 90, Status.PASSED));
+        rollback();
+
+        assertThat(summary.getSummary().getTotalExams()).isEqualTo(10);
+    }
+
+    @Test
+    void insertCommittedAfterAHigherIdWasSeeded_ShouldTriggerReseed() {
+        summary.getSummary();
+
+        // Result 9 was still uncommitted when the seed saw result 10
+        listener.onInsert(result(9L, 3L, 40, Status.FAILED));
+        when(examResultRepository.getSummaryTotals()).thenReturn(totals(11, 640, 7, 4, 10));
+        when(examResultRepository.getStudentIdsWithResults()).thenReturn(List.of(1L, 2L, 3L));
+
+        DashboardSummary after = summary.getSummary();
+        assertThat(after.getTotalExams()).isEqualTo(11);
+        assertThat(after.getTotalStudents()).isEqualTo(3);
+        assertThat(after.getTotalFailedExams()).isEqualTo(4);
+        verify(examResultRepository, times(2)).getSummaryTotals();
+    }
+
+    @Test
+    void update_ShouldTriggerReseedAfterCommit() {
+        summary.getSummary();
+
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onUpdateOrDelete(result(5L, 1L, 70, Status.PASSED));
+        commit();
+        summary.getSummary();
+
+        verify(examResultRepository, times(2)).getSummaryTotals();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void rollback() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private static ExamSummaryTotals totals(long exams, long marks, long passed, long failed, long maxId) {
+        return ExamSummaryTotals.builder()
+                .totalExams(exams)
+                .marksSum(marks)
+                .passedExams(passed)
+                .failedExams(failed)
+                .maxResultId(maxId)
+                .build();
+    }
+
+    private static ExamResult result(Long id, Long studentId, int marks, Status status) {
+        Student student = new Student();
+        student.setId(studentId);
+        return ExamResult.builder()
+                .id(id)
+                .student(student)
+                .marksObtained(marks)
+                .totalMarks(100)
+                .status(status)
+                .build();
+    }
+}
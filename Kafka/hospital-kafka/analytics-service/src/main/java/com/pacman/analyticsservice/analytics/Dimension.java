@@ -0,0 +1,15 @@
+package com.pacman.analyticsservice.analytics;
+
+import com.pacman.analyticsservice.model.Prescription;
+
+/**
+ * What prescriptions are counted by within a window.
+ */
+public enum Dimension {
+    MEDICINE,
+    PATIENT;
+
+    String keyOf(Prescription prescription) {
+        return this == MEDICINE ? prescription.getMedicine() : prescription.getPatient();
+    }
+}
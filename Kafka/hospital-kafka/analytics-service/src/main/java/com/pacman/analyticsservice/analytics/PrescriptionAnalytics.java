@@ -0,0 +1,196 @@
+package com.pacman.analyticsservice.analytics;
+
+import com.pacman.analyticsservice.model.Prescription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming analytics over the prescriptions topic: a tumbling and a hopping view, each
+ * counting prescriptions per medicine and per patient by Kafka record timestamp.
+ *
+ * Every snapshot also stores the last applied offset of each partition. On restart the state is
+ * restored from the snapshot and the consumer seeks to the next offset, so nothing is replayed
+ * from the beginning and nothing is counted twice.
+ *
+ * hospitalPrescriptionNotifications (the single-app version of this project) carries the same
+ * analytics package; the two apps are built separately, so changes go into both copies.
+ */
+@Service
+public class PrescriptionAnalytics {
+
+    // Rough heap cost of one tracked key (map node, key string, LongAdder), used for the stats
+    private static final long BYTES_PER_KEY_ESTIMATE = 120;
+    // The reported rate covers events applied in this many most recent seconds
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final AnalyticsSnapshotStore snapshotStore;
+    private final Map<String, WindowedCounts> views = new LinkedHashMap<>();
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventsProcessed = new AtomicLong();
+    private final AtomicLong lateDropped = new AtomicLong();
+    private final long startedAtNanos = System.nanoTime();
+    // Events applied per second for the last RATE_WINDOW_SECONDS seconds, indexed by second % size
+    private final long[] eventsPerSecondBuckets = new long[RATE_WINDOW_SECONDS];
+    private final long[] bucketSeconds = new long[RATE_WINDOW_SECONDS];
+    private volatile long lastSnapshotAt;
+
+    public PrescriptionAnalytics(AnalyticsSnapshotStore snapshotStore,
+                                 @Value("${analytics.window.tumbling-size:PT1M}") Duration tumblingSize,
+                                 @Value("${analytics.window.hopping-size:PT5M}") Duration hoppingSize,
+                                 @Value("${analytics.window.hopping-advance:PT1M}") Duration hoppingAdvance,
+                                 @Value("${analytics.window.retained:60}") int retainedWindows,
+                                 @Value("${analytics.window.max-keys:10000}") int maxKeys) {
+        this.snapshotStore = snapshotStore;
+        addView(WindowSpec.tumbling("tumbling", tumblingSize), retainedWindows, maxKeys);
+        addView(new WindowSpec("hopping", hoppingSize, hoppingAdvance), retainedWindows, maxKeys);
+    }
+
+    private void addView(WindowSpec spec, int retainedWindows, int maxKeys) {
+        views.put(spec.name(), new WindowedCounts(spec, retainedWindows, maxKeys));
+    }
+
+    @PostConstruct
+    public void restore() {
+        try {
+            Optional<AnalyticsSnapshotStore.Snapshot> snapshot = snapshotStore.load();
+            snapshot.ifPresent(this::apply);
+        } catch (IOException e) {
+            // A missing or unreadable snapshot only costs a cold start
+            System.out.println("⚠️ Analytics: could not restore snapshot, starting empty: " + e.getMessage());
+        }
+    }
+
+    private synchronized void apply(AnalyticsSnapshotStore.Snapshot snapshot) {
+        offsets.putAll(snapshot.offsets());
+        eventsProcessed.set(snapshot.eventsProcessed());
+        snapshot.views().forEach((name, state) -> {
+            WindowedCounts view = views.get(name);
+            if (view != null) {
+                view.restoreState(state);
+            }
+        });
+        lastSnapshotAt = snapshot.takenAt();
+    }
+
+    /**
+     * Applies one record. Records at or below the last applied offset of their partition are
+     * ignored, which makes redelivery after a rebalance harmless.
+     */
+    public synchronized void record(String topic, int partition, long offset, long timestampMs, Prescription prescription) {
+        String partitionKey = topic + "-" + partition;
+        Long applied = offsets.get(partitionKey);
+        if (applied != null && offset <= applied) {
+            return;
+        }
+        boolean counted = false;
+        for (WindowedCounts view : views.values()) {
+            counted |= view.add(prescription, timestampMs);
+        }
+        if (!counted) {
+            lateDropped.incrementAndGet();
+        }
+        offsets.put(partitionKey, offset);
+        eventsProcessed.incrementAndGet();
+        countForRate(uptimeSeconds());
+    }
+
+    // Callers hold the monitor
+    private void countForRate(long second) {
+        int bucket = (int) (second % RATE_WINDOW_SECONDS);
+        if (bucketSeconds[bucket] != second) {
+            bucketSeconds[bucket] = second;
+            eventsPerSecondBuckets[bucket] = 0;
+        }
+        eventsPerSecondBuckets[bucket]++;
+    }
+
+    private synchronized double recentEventsPerSecond() {
+        long now = uptimeSeconds();
+        long events = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            if (now - bucketSeconds[i] < RATE_WINDOW_SECONDS) {
+                events += eventsPerSecondBuckets[i];
+            }
+        }
+        // A partly filled window right after start is averaged over the time it covers
+        return (double) events / Math.min(RATE_WINDOW_SECONDS, now + 1);
+    }
+
+    private long uptimeSeconds() {
+        return (System.nanoTime() - startedAtNanos) / 1_000_000_000L;
+    }
+
+    /**
+     * Offset the consumer should resume from, or null to use the committed group offset.
+     */
+    public Long resumeOffset(String topic, int partition) {
+        Long applied = offsets.get(topic + "-" + partition);
+        return applied == null ? null : applied + 1;
+    }
+
+    public Optional<WindowedCounts> view(String name) {
+        return Optional.ofNullable(views.get(name));
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.snapshot.interval-ms:30000}")
+    public void snapshot() {
+        AnalyticsSnapshotStore.Snapshot snapshot;
+        // Counts and offsets are captured together so a restore never double counts
+        synchronized (this) {
+            Map<String, List<WindowedCounts.WindowState>> state = new LinkedHashMap<>();
+            views.forEach((name, view) -> state.put(name, view.exportState()));
+            snapshot = new AnalyticsSnapshotStore.Snapshot(System.currentTimeMillis(), eventsProcessed.get(),
+                    new LinkedHashMap<>(offsets), state);
+        }
+        try {
+            snapshotStore.save(snapshot);
+            lastSnapshotAt = snapshot.takenAt();
+        } catch (IOException e) {
+            System.out.println("⚠️ Analytics: snapshot failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    public Stats stats() {
+        long events = eventsProcessed.get();
+        long windows = 0;
+        long keys = 0;
+        for (WindowedCounts view : views.values()) {
+            windows += view.windowCount();
+            keys += view.keyCount();
+        }
+        long stateBytes = keys * BYTES_PER_KEY_ESTIMATE;
+        return new Stats(events, recentEventsPerSecond(), lateDropped.get(), windows, keys,
+                stateBytes, events > 0 ? stateBytes * 1_000_000 / events : 0, lastSnapshotAt);
+    }
+
+    /**
+     * The state sizes are not measured: they are the tracked key count times a fixed per-key
+     * estimate, so they show how state grows with traffic rather than actual heap use.
+     *
+     * @param eventsPerSecond                     events applied per second over the last minute
+     * @param estimatedStateBytes                 tracked keys times the per-key estimate
+     * @param estimatedStateBytesPerMillionEvents that estimate normalised per million events processed
+     */
+    public record Stats(long eventsProcessed, double eventsPerSecond, long lateDropped, long windows,
+                        long trackedKeys, long estimatedStateBytes, long estimatedStateBytesPerMillionEvents,
+                        long lastSnapshotAt) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.pacman.analyticsservice.analytics;
+
+import com.pacman.analyticsservice.model.Prescription;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prescription counts per medicine and per patient for one {@link WindowSpec}.
+ *
+ * State is bounded two ways: only the newest {@code retainedWindows} windows are kept, and each
+ * window tracks at most {@code maxKeys} distinct keys per dimension; further keys are folded
+ * into {@link #OTHER}. Writes come from the consumer thread; reads (queries, snapshots) may run
+ * concurrently and see counts that are at most a few events behind.
+ */
+public class WindowedCounts {
+
+    public static final String OTHER = "(other)";
+
+    private final WindowSpec spec;
+    private final int retainedWindows;
+    private final int maxKeys;
+    private final long sizeMs;
+    private final long advanceMs;
+
+    // Window start (epoch ms) -> window
+    private final NavigableMap<Long, Window> windows = new ConcurrentSkipListMap<>();
+
+    public WindowedCounts(WindowSpec spec, int retainedWindows, int maxKeys) {
+        this.spec = spec;
+        this.retainedWindows = Math.max(1, retainedWindows);
+        this.maxKeys = Math.max(1, maxKeys);
+        this.sizeMs = spec.size().toMillis();
+        this.advanceMs = spec.advance().toMillis();
+    }
+
+    /**
+     * @return false if the event is older than every retained window and was dropped
+     */
+    boolean add(Prescription prescription, long timestampMs) {
+        // Latest window containing the timestamp, then step back while windows still contain it
+        long lastStart = Math.floorDiv(timestampMs, advanceMs) * advanceMs;
+        boolean counted = false;
+        for (long start = lastStart; start > timestampMs - sizeMs; start -= advanceMs) {
+            Window window = windowFor(start);
+            if (window != null) {
+                window.add(prescription);
+                counted = true;
+            }
+        }
+        return counted;
+    }
+
+    private Window windowFor(long start) {
+        Window window = windows.get(start);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= retainedWindows && start < windows.firstKey()) {
+            return null; // Late event for a window that has already been evicted
+        }
+        window = new Window(start, start + sizeMs);
+        windows.put(start, window);
+        while (windows.size() > retainedWindows) {
+            windows.pollFirstEntry();
+        }
+        return windows.get(start);
+    }
+
+    public WindowSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Newest windows first, each with its top {@code limit} keys for the dimension.
+     */
+    public List<WindowView> query(Dimension dimension, int windowLimit, int limit) {
+        List<WindowView> views = new ArrayList<>();
+        for (Window window : windows.descendingMap().values()) {
+            if (views.size() >= windowLimit) {
+                break;
+            }
+            views.add(window.view(dimension, limit));
+        }
+        return views;
+    }
+
+    int windowCount() {
+        return windows.size();
+    }
+
+    long keyCount() {
+        long keys = 0;
+        for (Window window : windows.values()) {
+            for (Map<String, LongAdder> counts : window.counts.values()) {
+                keys += counts.size();
+            }
+        }
+        return keys;
+    }
+
+    List<WindowState> exportState() {
+        List<WindowState> state = new ArrayList<>(windows.size());
+        for (Window window : windows.values()) {
+            Map<Dimension, Map<String, Long>> counts = new EnumMap<>(Dimension.class);
+            window.counts.forEach((dimension, values) -> {
+                Map<String, Long> copy = new LinkedHashMap<>();
+                values.forEach((key, count) -> copy.put(key, count.sum()));
+                counts.put(dimension, copy);
+            });
+            state.add(new WindowState(window.start, window.total.sum(), counts));
+        }
+        return state;
+    }
+
+    void restoreState(List<WindowState> state) {
+        windows.clear();
+        for (WindowState saved : state) {
+            Window window = new Window(saved.start(), saved.start() + sizeMs);
+            window.total.add(saved.total());
+            saved.counts().forEach((dimension, values) -> values.forEach((key, count) -> {
+                LongAdder adder = new LongAdder();
+                adder.add(count);
+                window.counts.get(dimension).put(key, adder);
+            }));
+            windows.put(saved.start(), window);
+        }
+        while (windows.size() > retainedWindows) {
+            windows.pollFirstEntry();
+        }
+    }
+
+    private final class Window {
+        private final long start;
+        private final long end;
+        private final LongAdder total = new LongAdder();
+        private final Map<Dimension, Map<String, LongAdder>> counts = new EnumMap<>(Dimension.class);
+
+        private Window(long start, long end) {
+            this.start = start;
+            this.end = end;
+            for (Dimension dimension : Dimension.values()) {
+                counts.put(dimension, new ConcurrentHashMap<>());
+            }
+        }
+
+        private void add(Prescription prescription) {
+            total.increment();
+            for (Dimension dimension : Dimension.values()) {
+                Map<String, LongAdder> values = counts.get(dimension);
+                String key = dimension.keyOf(prescription);
+                if (key == null) {
+                    key = OTHER;
+                }
+                LongAdder count = values.get(key);
+                if (count == null) {
+                    count = values.size() < maxKeys ? values.computeIfAbsent(key, k -> new LongAdder())
+                            : values.computeIfAbsent(OTHER, k -> new LongAdder());
+                }
+                count.increment();
+            }
+        }
+
+        private WindowView view(Dimension dimension, int limit) {
+            List<KeyCount> top = counts.get(dimension).entrySet().stream()
+                    .map(e -> new KeyCount(e.getKey(), e.getValue().sum()))
+                    .sorted(Comparator.comparingLong(KeyCount::count).reversed().thenComparing(KeyCount::key))
+                    .limit(limit)
+                    .toList();
+            return new WindowView(start, end, total.sum(), counts.get(dimension).size(), top);
+        }
+    }
+
+    public record KeyCount(String key, long count) {
+    }
+
+    public record WindowView(long start, long end, long total, int distinctKeys, List<KeyCount> top) {
+    }
+
+    // Serialized form used by snapshots
+    public record WindowState(long start, long total, Map<Dimension, Map<String, Long>> counts) {
+    }
+}
@@ -1,14 +1,39 @@
 package com.pacman.analyticsservice.kafka;
 
+import com.pacman.analyticsservice.analytics.PrescriptionAnalytics;
 import com.pacman.analyticsservice.model.Prescription;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
-public class AnalyticsConsumer {
+public class AnalyticsConsumer implements ConsumerSeekAware {
+    private final PrescriptionAnalytics analytics;
+
+    public AnalyticsConsumer(PrescriptionAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
     @KafkaListener(topics = "prescriptions", groupId = "analytics-group")
-    public void listen(Prescription prescription){
-        System.out.println("📊 Analytics Service: Logging prescription -> " + prescription.getPatient()
-                + ", Medicine: " + prescription.getMedicine());
+    public void listen(ConsumerRecord<String, Prescription> record) {
+        if (record.value() == null) {
+            return; // Undeserializable record, already reported by ErrorHandlingDeserializer
+        }
+        analytics.record(record.topic(), record.partition(), record.offset(), record.timestamp(), record.value());
+    }
+
+    // Resume right after the restored snapshot instead of the group's committed offset
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long resumeAt = analytics.resumeOffset(partition.topic(), partition.partition());
+            if (resumeAt != null) {
+                callback.seek(partition.topic(), partition.partition(), resumeAt);
+            }
+        });
     }
 }
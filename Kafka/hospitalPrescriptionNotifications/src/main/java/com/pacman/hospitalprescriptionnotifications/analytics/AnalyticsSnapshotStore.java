@@ -0,0 +1,57 @@
+package com.pacman.hospitalprescriptionnotifications.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local file store for analytics snapshots. Writes go to a temp file that is then moved over
+ * the previous snapshot, so a crash mid-write never leaves a truncated snapshot behind.
+ */
+@Component
+public class AnalyticsSnapshotStore {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public AnalyticsSnapshotStore(ObjectMapper objectMapper,
+                                  @Value("${analytics.snapshot.path:data/analytics-snapshot.json}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    public void save(Snapshot snapshot) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<Snapshot> load() throws IOException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(path.toFile(), Snapshot.class));
+    }
+
+    /**
+     * @param offsets last applied offset per "topic-partition"
+     * @param views   window state per window spec name
+     */
+    public record Snapshot(long takenAt, long eventsProcessed, Map<String, Long> offsets,
+                           Map<String, List<WindowedCounts.WindowState>> views) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.pacman.hospitalprescriptionnotifications.analytics;
+
+import com.pacman.hospitalprescriptionnotifications.model.Prescription;
+
+/**
+ * What prescriptions are counted by within a window.
+ */
+public enum Dimension {
+    MEDICINE,
+    PATIENT;
+
+    String keyOf(Prescription prescription) {
+        return this == MEDICINE ? prescription.getMedicine() : prescription.getPatient();
+    }
+}
@@ -0,0 +1,24 @@
+package com.pacman.hospitalprescriptionnotifications.analytics;
+
+import java.time.Duration;
+
+/**
+ * A window definition. Tumbling windows have advance == size; hopping windows advance by less
+ * than their size, so every event falls into size / advance overlapping windows.
+ */
+public record WindowSpec(String name, Duration size, Duration advance) {
+
+    public WindowSpec {
+        if (size.isNegative() || size.isZero() || advance.isNegative() || advance.isZero() || advance.compareTo(size) > 0) {
+            throw new IllegalArgumentException("Window " + name + " needs 0 < advance <= size");
+        }
+    }
+
+    public static WindowSpec tumbling(String name, Duration size) {
+        return new WindowSpec(name, size, size);
+    }
+
+    public boolean isTumbling() {
+        return advance.equals(size);
+    }
+}
@@ -0,0 +1,43 @@
+package com.pacman.hospitalprescriptionnotifications.controller;
+
+import com.pacman.hospitalprescriptionnotifications.analytics.Dimension;
+import com.pacman.hospitalprescriptionnotifications.analytics.PrescriptionAnalytics;
+import com.pacman.hospitalprescriptionnotifications.analytics.WindowedCounts;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+    private static final int MAX_WINDOWS = 100;
+    private static final int MAX_TOP = 1000;
+
+    private final PrescriptionAnalytics analytics;
+
+    public AnalyticsController(PrescriptionAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    // e.g. /api/analytics/windows/hopping?dimension=MEDICINE&windows=5&top=10
+    @GetMapping("/windows/{view}")
+    public List<WindowedCounts.WindowView> windows(@PathVariable String view,
+                                                   @RequestParam(defaultValue = "MEDICINE") Dimension dimension,
+                                                   @RequestParam(defaultValue = "1") int windows,
+                                                   @RequestParam(defaultValue = "10") int top) {
+        WindowedCounts counts = analytics.view(view)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown window view: " + view));
+        return counts.query(dimension, Math.max(1, Math.min(windows, MAX_WINDOWS)), Math.max(1, Math.min(top, MAX_TOP)));
+    }
+
+    @GetMapping("/stats")
+    public PrescriptionAnalytics.Stats stats() {
+        return analytics.stats();
+    }
+}
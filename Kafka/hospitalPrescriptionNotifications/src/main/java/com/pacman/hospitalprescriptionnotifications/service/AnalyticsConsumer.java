@@ -1,29 +1,46 @@
 package com.pacman.hospitalprescriptionnotifications.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pacman.hospitalprescriptionnotifications.analytics.PrescriptionAnalytics;
 import com.pacman.hospitalprescriptionnotifications.model.Prescription;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
-public class AnalyticsConsumer {
+public class AnalyticsConsumer implements ConsumerSeekAware {
     private final ObjectMapper objectMapper;
+    private final PrescriptionAnalytics analytics;
 
-    public AnalyticsConsumer(ObjectMapper objectMapper) {
-        this.objectMapper = new ObjectMapper();
+    public AnalyticsConsumer(ObjectMapper objectMapper, PrescriptionAnalytics analytics) {
+        this.objectMapper = objectMapper;
+        this.analytics = analytics;
     }
 
     //Different consumer group → hospital-analytics-group.
     //Kafka sends all events to each consumer group independently.
     @KafkaListener(topics = "prescriptions", groupId = "hospital-analytics-group")
-    public void handleAnalyticsEvent(String message) {
+    public void handleAnalyticsEvent(ConsumerRecord<String, String> record) {
         try {
-            Prescription prescription = objectMapper.readValue(message, Prescription.class);
-            // Simulate analytics processing
-            System.out.println("📊 Analytics: Processing prescription -> Patient: "
-                    + prescription.getPatient() + ", Medicine: " + prescription.getMedicine());
-        }catch (Exception e) {
+            Prescription prescription = objectMapper.readValue(record.value(), Prescription.class);
+            analytics.record(record.topic(), record.partition(), record.offset(), record.timestamp(), prescription);
+        } catch (Exception e) {
             e.printStackTrace();
         }
     }
+
+    // Resume right after the restored snapshot instead of the group's committed offset
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long resumeAt = analytics.resumeOffset(partition.topic(), partition.partition());
+            if (resumeAt != null) {
+                callback.seek(partition.topic(), partition.partition(), resumeAt);
+            }
+        });
+    }
 }
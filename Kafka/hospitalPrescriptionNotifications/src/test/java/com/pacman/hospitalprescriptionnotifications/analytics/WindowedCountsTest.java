@@ -0,0 +1,120 @@
+package com.pacman.hospitalprescriptionnotifications.analytics;
+
+import com.pacman.hospitalprescriptionnotifications.model.Prescription;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WindowedCountsTest {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final long T0 = Instant.parse("2025-01-01T10:00:00Z").toEpochMilli();
+
+    // Event time is the only clock the windows use; the test moves it by hand
+    private final FakeClock clock = new FakeClock(T0);
+
+    @Test
+    void add_ShouldRollOverToANewTumblingWindow_AtTheWindowBoundary() {
+        // Arrange
+        WindowedCounts counts = new WindowedCounts(WindowSpec.tumbling("tumbling", MINUTE), 3, 100);
+
+        // Act
+        counts.add(prescription("p1", "aspirin"), clock.now());
+        counts.add(prescription("p2", "aspirin"), clock.advance(Duration.ofSeconds(59)));
+        counts.add(prescription("p1", "ibuprofen"), clock.advance(Duration.ofSeconds(1)));
+
+        // Assert: the event at exactly 10:01 opens the next window instead of closing the first
+        List<WindowedCounts.WindowView> views = counts.query(Dimension.MEDICINE, 10, 10);
+        assertThat(views).extracting(WindowedCounts.WindowView::start).containsExactly(T0 + 60_000, T0);
+        assertThat(views.get(0).end()).isEqualTo(T0 + 120_000);
+        assertThat(views.get(0).top()).containsExactly(new WindowedCounts.KeyCount("ibuprofen", 1));
+        assertThat(views.get(1).total()).isEqualTo(2);
+        assertThat(views.get(1).top()).containsExactly(new WindowedCounts.KeyCount("aspirin", 2));
+    }
+
+    @Test
+    void add_ShouldEvictTheOldestWindow_WhenMoreThanRetainedAreOpen() {
+        // Arrange
+        WindowedCounts counts = new WindowedCounts(WindowSpec.tumbling("tumbling", MINUTE), 3, 100);
+
+        // Act: one event in each of four consecutive minutes
+        counts.add(prescription("p1", "aspirin"), clock.now());
+        for (int i = 0; i < 3; i++) {
+            counts.add(prescription("p1", "aspirin"), clock.advance(MINUTE));
+        }
+
+        // Assert
+        assertThat(counts.windowCount()).isEqualTo(3);
+        assertThat(counts.query(Dimension.MEDICINE, 10, 10))
+                .extracting(WindowedCounts.WindowView::start)
+                .containsExactly(T0 + 180_000, T0 + 120_000, T0 + 60_000);
+    }
+
+    @Test
+    void add_ShouldCountLateEventInItsRetainedWindow_AndDropItOnceTheWindowIsEvicted() {
+        // Arrange
+        WindowedCounts counts = new WindowedCounts(WindowSpec.tumbling("tumbling", MINUTE), 3, 100);
+        counts.add(prescription("p1", "aspirin"), clock.now());
+        counts.add(prescription("p1", "aspirin"), clock.advance(MINUTE));
+
+        // Act: arrives while 10:01 is the newest window but belongs to 10:00
+        boolean lateCounted = counts.add(prescription("p2", "insulin"), T0 + 30_000);
+        counts.add(prescription("p1", "aspirin"), clock.advance(MINUTE));
+        counts.add(prescription("p1", "aspirin"), clock.advance(MINUTE));
+        // The 10:00 window is gone now
+        boolean tooLateCounted = counts.add(prescription("p3", "insulin"), T0 + 30_000);
+
+        // Assert
+        assertThat(lateCounted).isTrue();
+        assertThat(tooLateCounted).isFalse();
+        assertThat(counts.windowCount()).isEqualTo(3);
+        assertThat(counts.query(Dimension.MEDICINE, 10, 10))
+                .extracting(WindowedCounts.WindowView::start)
+                .containsExactly(T0 + 180_000, T0 + 120_000, T0 + 60_000);
+        assertThat(counts.query(Dimension.PATIENT, 10, 10))
+                .allSatisfy(view -> assertThat(view.top()).extracting(WindowedCounts.KeyCount::key)
+                        .doesNotContain("p3"));
+    }
+
+    @Test
+    void add_ShouldCountEventInEveryOverlappingHoppingWindow() {
+        // Arrange: five-minute windows every minute
+        WindowedCounts counts = new WindowedCounts(new WindowSpec("hopping", Duration.ofMinutes(5), MINUTE), 10, 100);
+        clock.advance(Duration.ofMinutes(10));
+
+        // Act
+        counts.add(prescription("p1", "aspirin"), clock.advance(Duration.ofSeconds(30)));
+        counts.add(prescription("p1", "aspirin"), clock.advance(MINUTE));
+
+        // Assert: 10:11:30 opens the 10:11 window; the 10:06 one ends before it and holds only 10:10:30
+        List<WindowedCounts.WindowView> views = counts.query(Dimension.MEDICINE, 10, 10);
+        assertThat(views).extracting(WindowedCounts.WindowView::start)
+                .containsExactly(T0 + 660_000, T0 + 600_000, T0 + 540_000, T0 + 480_000, T0 + 420_000, T0 + 360_000);
+        assertThat(views).extracting(WindowedCounts.WindowView::total).containsExactly(1L, 2L, 2L, 2L, 2L, 1L);
+    }
+
+    private static Prescription prescription(String patient, String medicine) {
+        return new Prescription(patient, medicine, "dr-1", null);
+    }
+
+    private static final class FakeClock {
+        private long nowMs;
+
+        private FakeClock(long nowMs) {
+            this.nowMs = nowMs;
+        }
+
+        long now() {
+            return nowMs;
+        }
+
+        long advance(Duration duration) {
+            nowMs += duration.toMillis();
+            return nowMs;
+        }
+    }
+}
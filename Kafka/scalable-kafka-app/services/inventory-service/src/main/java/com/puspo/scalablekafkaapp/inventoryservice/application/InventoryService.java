@@ -1,6 +1,7 @@
 package com.puspo.scalablekafkaapp.inventoryservice.application;
 
 import com.puspo.scalablekafkaapp.inventoryservice.domain.Inventory;
+import com.puspo.scalablekafkaapp.messaging.event.contract.OrderCreated;
 
 import java.util.List;
 
@@ -9,5 +10,8 @@ public interface InventoryService {
 
     Inventory addItem(Inventory inventory);
 
-    void handleOrderCreated(String message);
+    void handleOrderCreated(OrderCreated event);
+
+    // Reserves stock for a batch of order.created payloads; returns how many orders were accepted
+    int handleOrdersCreated(List<OrderCreated> events);
 }
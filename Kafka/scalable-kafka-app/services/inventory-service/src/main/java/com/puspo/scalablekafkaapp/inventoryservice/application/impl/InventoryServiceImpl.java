@@ -2,18 +2,31 @@ package com.puspo.scalablekafkaapp.inventoryservice.application.impl;
 
 import com.puspo.scalablekafkaapp.inventoryservice.application.InventoryService;
 import com.puspo.scalablekafkaapp.inventoryservice.domain.Inventory;
+import com.puspo.scalablekafkaapp.inventoryservice.domain.Reservation;
+import com.puspo.scalablekafkaapp.inventoryservice.infrastructure.messaging.InventoryEventPublisher;
 import com.puspo.scalablekafkaapp.inventoryservice.infrastructure.persistence.InventoryRepository;
+import com.puspo.scalablekafkaapp.inventoryservice.infrastructure.persistence.ReservationRepository;
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import com.puspo.scalablekafkaapp.messaging.event.contract.OrderCreated;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryServiceImpl implements InventoryService {
     private final InventoryRepository inventoryRepository;
+    private final ReservationRepository reservationRepository;
+    private final InventoryEventPublisher eventPublisher;
 
     @Override
     public List<Inventory> getAllItems() {
@@ -26,10 +39,92 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
-    @KafkaListener(topics = "order.created", groupId = "inventory-service-group")
-    public void handleOrderCreated(String message) {
-        System.out.println("Received message from order.created(Inventory Service): " + message);
-        // Logic: e.g., reduce inventory based on order details
+    @Transactional
+    public void handleOrderCreated(OrderCreated event) {
+        handleOrdersCreated(List.of(event));
     }
 
+    /**
+     * Reservation engine for one batch of orders.
+     * Only the SKU rows named in the batch are locked (in SKU order), so batches for different SKUs
+     * run in parallel while updates to the same SKU are serialized. Orders are decided in arrival
+     * order against the locked stock; each order is all-or-nothing. Stock changes are written once
+     * per SKU at flush, and reservations are inserted with one saveAll.
+     */
+    @Override
+    @Transactional
+    public int handleOrdersCreated(List<OrderCreated> events) {
+        List<OrderCreated> orders = new ArrayList<>(events.size());
+        for (OrderCreated event : events) {
+            if (isReservable(event)) {
+                orders.add(event);
+            }
+        }
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        TreeSet<String> skus = new TreeSet<>();
+        orders.forEach(order -> order.items().forEach(item -> skus.add(item.sku())));
+        Map<String, Inventory> stock = inventoryRepository.lockByProductNames(skus).stream()
+                .collect(Collectors.toMap(Inventory::getProductName, Function.identity()));
+
+        List<Reservation> reservations = new ArrayList<>();
+        for (OrderCreated order : orders) {
+            // The same SKU may appear on several lines of one order
+            Map<String, Integer> requested = new LinkedHashMap<>();
+            order.items().forEach(item -> requested.merge(item.sku(), item.quantity(), Integer::sum));
+
+            String rejection = checkAvailability(requested, stock);
+            if (rejection != null) {
+                eventPublisher.publishRejected(
+                        new InventoryRejected(order.orderId(), order.userId(), rejection, order.items()));
+                continue;
+            }
+            requested.forEach((sku, quantity) -> {
+                Inventory item = stock.get(sku);
+                item.setQuantityAvailable(item.getQuantityAvailable() - quantity); // flushed on commit
+                reservations.add(Reservation.builder()
+                        .orderId(order.orderId())
+                        .productName(sku)
+                        .quantity(quantity)
+                        .build());
+            });
+        }
+        reservationRepository.saveAll(reservations);
+
+        long accepted = reservations.stream().map(Reservation::getOrderId).distinct().count();
+        System.out.println("Reserved stock for " + accepted + "/" + orders.size() + " orders (Inventory Service)");
+        return (int) accepted;
+    }
+
+    private static String checkAvailability(Map<String, Integer> requested, Map<String, Inventory> stock) {
+        if (requested.isEmpty()) {
+            return "Order has no line items";
+        }
+        Map<String, Integer> shortages = new HashMap<>();
+        for (Map.Entry<String, Integer> line : requested.entrySet()) {
+            Inventory item = stock.get(line.getKey());
+            if (line.getValue() <= 0) {
+                return "Invalid quantity " + line.getValue() + " for " + line.getKey();
+            }
+            if (item == null) {
+                return "Unknown product " + line.getKey();
+            }
+            if (item.getQuantityAvailable() < line.getValue()) {
+                shortages.put(line.getKey(), item.getQuantityAvailable());
+            }
+        }
+        return shortages.isEmpty() ? null : "Insufficient stock (available: " + shortages + ")";
+    }
+
+    // Orders without an id or with incomplete line items cannot be reserved; they are logged and skipped
+    private static boolean isReservable(OrderCreated event) {
+        if (event.orderId() == null || event.items() == null
+                || event.items().stream().anyMatch(item -> item == null || item.sku() == null)) {
+            System.out.println("Skipping order.created without order id or valid items: " + event);
+            return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,26 @@
+package com.puspo.scalablekafkaapp.inventoryservice.infrastructure.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// The batch listener factory and the idempotent processor come from shared-libs/messaging;
+// scheduling is enabled here for its idempotency marker purge
+@Configuration
+@EnableScheduling
+public class KafkaConsumerConfig {
+
+    // Listener concurrency uses the same property, so there is one consumer thread per partition
+    @Bean
+    public NewTopic orderCreatedTopic(@Value("${app.kafka.topics.order-created.partitions:3}") int partitions) {
+        return TopicBuilder.name("order.created").partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic inventoryRejectedTopic(@Value("${app.kafka.topics.inventory-rejected.partitions:3}") int partitions) {
+        return TopicBuilder.name("inventory.rejected").partitions(partitions).build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.puspo.scalablekafkaapp.inventoryservice.infrastructure.messaging;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import com.puspo.scalablekafkaapp.messaging.outbox.OutboxStore;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryEventPublisher {
+    public static final String INVENTORY_REJECTED_TOPIC = InventoryRejected.CODEC.type();
+
+    private final OutboxStore outboxStore;
+
+    public InventoryEventPublisher(OutboxStore outboxStore) {
+        this.outboxStore = outboxStore;
+    }
+
+    /**
+     * Writes the rejection to the outbox in the current transaction, so it is published (by
+     * OutboxRelay) if and only if the stock decision and the batch's idempotency markers commit.
+     * A rolled-back batch leaves no rejection behind; its redelivery decides again.
+     */
+    public void publishRejected(InventoryRejected event) {
+        outboxStore.append(EventEnvelope.of(InventoryRejected.CODEC, String.valueOf(event.orderId()), event));
+    }
+}
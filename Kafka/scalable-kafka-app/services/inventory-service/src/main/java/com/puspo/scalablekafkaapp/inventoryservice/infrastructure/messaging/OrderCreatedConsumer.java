@@ -0,0 +1,39 @@
+package com.puspo.scalablekafkaapp.inventoryservice.infrastructure.messaging;
+
+import com.puspo.scalablekafkaapp.inventoryservice.application.InventoryService;
+import com.puspo.scalablekafkaapp.messaging.consumer.IdempotentBatchProcessor;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.OrderCreated;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class OrderCreatedConsumer {
+    private static final String GROUP_ID = "inventory-service-group";
+
+    private final InventoryService inventoryService;
+    private final IdempotentBatchProcessor batchProcessor;
+
+    public OrderCreatedConsumer(InventoryService inventoryService, IdempotentBatchProcessor batchProcessor) {
+        this.inventoryService = inventoryService;
+        this.batchProcessor = batchProcessor;
+    }
+
+    @KafkaListener(topics = "order.created", groupId = GROUP_ID,
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.topics.order-created.partitions:3}")
+    public void handleOrdersCreated(List<ConsumerRecord<String, EventEnvelope<?>>> records, Acknowledgment ack) {
+        // The whole batch goes to the reservation engine at once for set-based stock updates
+        int applied = batchProcessor.processBatch(GROUP_ID, records, envelopes ->
+                inventoryService.handleOrdersCreated(envelopes.stream()
+                        .map(envelope -> envelope.payloadAs(OrderCreated.class))
+                        .toList()));
+        System.out.println("Applied " + applied + "/" + records.size() + " order.created events (Inventory Service)");
+        // Offsets are committed only after the batch and its idempotency markers are stored
+        ack.acknowledge();
+    }
+}
@@ -1,12 +1,23 @@
 package com.puspo.scalablekafkaapp.inventoryservice.infrastructure.persistence;
 
 import com.puspo.scalablekafkaapp.inventoryservice.domain.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findByProductName(String productName);
+
+    // Row locks on just these SKUs, always taken in product-name order so concurrent batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productName IN :productNames ORDER BY i.productName")
+    List<Inventory> lockByProductNames(@Param("productNames") Collection<String> productNames);
 }
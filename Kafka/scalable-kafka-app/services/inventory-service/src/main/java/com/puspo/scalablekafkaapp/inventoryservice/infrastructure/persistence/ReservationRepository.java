@@ -0,0 +1,9 @@
+package com.puspo.scalablekafkaapp.inventoryservice.infrastructure.persistence;
+
+import com.puspo.scalablekafkaapp.inventoryservice.domain.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+}
@@ -1,5 +1,7 @@
 package com.puspo.scalablekafkaapp.orderservice.application;
 
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserCreated;
 import com.puspo.scalablekafkaapp.orderservice.domain.Order;
 
 import java.util.List;
@@ -9,6 +11,8 @@ public interface OrderService {
 
         List<Order> getAllOrders();
 
-        void handleNewUser(String message);
+        void handleNewUser(UserCreated event);
+
+        void handleInventoryRejected(InventoryRejected event);
 
 }
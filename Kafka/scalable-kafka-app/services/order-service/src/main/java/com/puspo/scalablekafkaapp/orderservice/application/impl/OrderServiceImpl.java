@@ -1,25 +1,42 @@
 package com.puspo.scalablekafkaapp.orderservice.application.impl;
 
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import com.puspo.scalablekafkaapp.messaging.event.contract.LineItem;
+import com.puspo.scalablekafkaapp.messaging.event.contract.OrderCreated;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserCreated;
+import com.puspo.scalablekafkaapp.messaging.outbox.OutboxStore;
 import com.puspo.scalablekafkaapp.orderservice.application.OrderService;
 import com.puspo.scalablekafkaapp.orderservice.infrastructure.persistence.OrderRepository;
 import com.puspo.scalablekafkaapp.orderservice.domain.Order;
-import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    static final String STATUS_REJECTED = "REJECTED";
+
     private final OrderRepository orderRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxStore outboxStore;
+
+    public OrderServiceImpl(OrderRepository orderRepository, OutboxStore outboxStore) {
+        this.orderRepository = orderRepository;
+        this.outboxStore = outboxStore;
+    }
 
+    // The event is written to the outbox in the same transaction and published by OutboxRelay
     @Override
+    @Transactional
     public Order createOrder(Order order) {
         Order savedOrder = orderRepository.save(order);
-        kafkaTemplate.send("order.created", savedOrder.getId() + ":" + savedOrder.getUserId());
+        // Keyed by SKU so every reservation for one product lands on the same partition, in order,
+        // and inventory-service batches contend for as few stock rows as possible
+        EventEnvelope<OrderCreated> envelope = EventEnvelope.of(OrderCreated.CODEC, savedOrder.getProductName(),
+                new OrderCreated(savedOrder.getId(), savedOrder.getUserId(),
+                        List.of(new LineItem(savedOrder.getProductName(), savedOrder.getQuantity()))));
+        outboxStore.append(envelope);
         return savedOrder;
     }
 
@@ -28,11 +45,23 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findAll();
     }
 
+    // Invoked by OrderConsumer for each new user.created event in a batch
     @Override
-    @KafkaListener(topics = "user.created", groupId = "order-service-group")
-    public void handleNewUser(String message) {
-        System.out.println("Received message from user.created(Order Service): " + message);
+    public void handleNewUser(UserCreated event) {
+        System.out.println("Received user.created(Order Service): userId=" + event.userId());
         // Logic: e.g., create default orders or update cache
     }
-    
+
+    // Invoked by InventoryRejectedConsumer inside the batch transaction
+    @Override
+    @Transactional
+    public void handleInventoryRejected(InventoryRejected event) {
+        if (event.orderId() == null) {
+            return;
+        }
+        orderRepository.findById(event.orderId()).ifPresent(order -> {
+            order.setStatus(STATUS_REJECTED);
+            orderRepository.save(order);
+        });
+    }
 }
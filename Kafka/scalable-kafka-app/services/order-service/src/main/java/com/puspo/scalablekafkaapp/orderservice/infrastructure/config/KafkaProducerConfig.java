@@ -0,0 +1,37 @@
+package com.puspo.scalablekafkaapp.orderservice.infrastructure.config;
+
+import com.puspo.scalablekafkaapp.messaging.producer.ProducerProfileProperties;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ProducerProfileProperties.class)
+public class KafkaProducerConfig {
+    @Bean
+    // Values are outbox payloads, already encoded as EventEnvelopes when the row was written
+    public ProducerFactory<String, byte[]> producerFactory(ProducerProfileProperties producerProfile,
+                                                           @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers) {
+        // Batching, compression, acks and idempotence come from the shared profile (app.kafka.producer.*)
+        Map<String, Object> configProp = producerProfile.toProducerConfig();
+        configProp.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProp.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProp.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        return new DefaultKafkaProducerFactory<>(configProp);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+}
@@ -0,0 +1,34 @@
+package com.puspo.scalablekafkaapp.orderservice.infrastructure.messaging;
+
+import com.puspo.scalablekafkaapp.orderservice.application.OrderService;
+import com.puspo.scalablekafkaapp.messaging.consumer.IdempotentBatchProcessor;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class InventoryRejectedConsumer {
+    private static final String GROUP_ID = "order-service-group";
+
+    private final OrderService orderService;
+    private final IdempotentBatchProcessor batchProcessor;
+
+    public InventoryRejectedConsumer(OrderService orderService, IdempotentBatchProcessor batchProcessor) {
+        this.orderService = orderService;
+        this.batchProcessor = batchProcessor;
+    }
+
+    @KafkaListener(topics = "inventory.rejected", groupId = GROUP_ID,
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.topics.inventory-rejected.partitions:3}")
+    public void handleRejections(List<ConsumerRecord<String, EventEnvelope<?>>> records, Acknowledgment ack) {
+        batchProcessor.process(GROUP_ID, records,
+                envelope -> orderService.handleInventoryRejected(envelope.payloadAs(InventoryRejected.class)));
+        ack.acknowledge();
+    }
+}
@@ -1,13 +1,36 @@
 package com.puspo.scalablekafkaapp.orderservice.infrastructure.messaging;
 
+import com.puspo.scalablekafkaapp.orderservice.application.OrderService;
+import com.puspo.scalablekafkaapp.messaging.consumer.IdempotentBatchProcessor;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserCreated;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class OrderConsumer {
-    @KafkaListener(topics = "user.created", groupId = "order-service-group")
-    public void handleNewUser(ConsumerRecord<String, String> record) {
-        System.out.println("Received message from user.created(Order Service): " + record.value());
+    private static final String GROUP_ID = "order-service-group";
+
+    private final OrderService orderService;
+    private final IdempotentBatchProcessor batchProcessor;
+
+    public OrderConsumer(OrderService orderService, IdempotentBatchProcessor batchProcessor) {
+        this.orderService = orderService;
+        this.batchProcessor = batchProcessor;
+    }
+
+    @KafkaListener(topics = "user.created", groupId = GROUP_ID,
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.topics.user-created.partitions:3}")
+    public void handleNewUsers(List<ConsumerRecord<String, EventEnvelope<?>>> records, Acknowledgment ack) {
+        int applied = batchProcessor.process(GROUP_ID, records,
+                envelope -> orderService.handleNewUser(envelope.payloadAs(UserCreated.class)));
+        System.out.println("Applied " + applied + "/" + records.size() + " user.created events (Order Service)");
+        // Offsets are committed only after the batch and its idempotency markers are stored
+        ack.acknowledge();
     }
 }
@@ -0,0 +1,8 @@
+CREATE TABLE processed_events
+(
+    id           VARCHAR(255) NOT NULL,
+    processed_at datetime     NOT NULL,
+    CONSTRAINT pk_processed_events PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_processed_events_processed_at ON processed_events (processed_at);
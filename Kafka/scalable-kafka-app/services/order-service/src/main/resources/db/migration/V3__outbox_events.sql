@@ -0,0 +1,13 @@
+CREATE TABLE outbox_events
+(
+    id            BIGINT AUTO_INCREMENT NOT NULL,
+    event_id      VARCHAR(36)  NOT NULL,
+    topic         VARCHAR(255) NOT NULL,
+    aggregate_key VARCHAR(255) NOT NULL,
+    payload       MEDIUMBLOB   NOT NULL,
+    created_at    datetime     NOT NULL,
+    published_at  datetime NULL,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_events_published_at_id ON outbox_events (published_at, id);
@@ -1,5 +1,8 @@
 package com.puspo.scalablekafkaapp.userservice.application.impl;
 
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserCreated;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserDeleted;
 import com.puspo.scalablekafkaapp.userservice.application.UserService;
 import com.puspo.scalablekafkaapp.userservice.domain.User;
 import com.puspo.scalablekafkaapp.userservice.infrastructure.persistence.UserRepository;
@@ -10,10 +13,10 @@ import java.util.List;
 
 @Service
 public class UserServiceImpl implements UserService {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, EventEnvelope<?>> kafkaTemplate;
     private final UserRepository userRepository;
 
-    public UserServiceImpl(KafkaTemplate<String, String> kafkaTemplate, UserRepository userRepository) {
+    public UserServiceImpl(KafkaTemplate<String, EventEnvelope<?>> kafkaTemplate, UserRepository userRepository) {
         this.kafkaTemplate = kafkaTemplate;
         this.userRepository = userRepository;
     }
@@ -21,7 +24,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public User createUser(User user) {
         User created = userRepository.save(user);
-        kafkaTemplate.send("user.created", created.getId() + ":" + created.getEmail());
+        // Keyed by user id so every event for one user lands on the same partition, in order
+        send(EventEnvelope.of(UserCreated.CODEC, String.valueOf(created.getId()),
+                new UserCreated(created.getId(), created.getEmail())));
         return created;
     }
 
@@ -38,6 +43,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUserById(Long id) {
         userRepository.deleteById(id);
-        kafkaTemplate.send("user.deleted", id + "");
+        send(EventEnvelope.of(UserDeleted.CODEC, String.valueOf(id), new UserDeleted(id)));
+    }
+
+    // Each event type has its own topic, named after the type
+    private void send(EventEnvelope<?> envelope) {
+        kafkaTemplate.send(envelope.type(), envelope.key(), envelope);
     }
 }
@@ -1,32 +1,38 @@
 package com.puspo.scalablekafkaapp.userservice.infrastructure.config;
 
-import com.puspo.scalablekafkaapp.userservice.domain.User;
+import com.puspo.scalablekafkaapp.messaging.event.EventCodecRegistry;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelopeSerializer;
+import com.puspo.scalablekafkaapp.messaging.producer.ProducerProfileProperties;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties(ProducerProfileProperties.class)
 public class KafkaProducerConfig {
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String,Object> configProp = new HashMap<>();
-        //in it putting all the configs
-        configProp.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
-        configProp.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProp.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    public ProducerFactory<String, EventEnvelope<?>> producerFactory(ProducerProfileProperties producerProfile,
+                                                           EventCodecRegistry eventCodecRegistry,
+                                                           @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers) {
+        // Batching, compression, acks and idempotence come from the shared profile (app.kafka.producer.*)
+        Map<String, Object> configProp = producerProfile.toProducerConfig();
+        configProp.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
 
-        return new DefaultKafkaProducerFactory<>(configProp);
+        return new DefaultKafkaProducerFactory<>(configProp, new StringSerializer(),
+                new EventEnvelopeSerializer(eventCodecRegistry));
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory()); //returning a KafkaTemplate bean with the ProducerFactory bean instance
+    public KafkaTemplate<String, EventEnvelope<?>> kafkaTemplate(ProducerFactory<String, EventEnvelope<?>> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 }
@@ -1,13 +1,36 @@
 package com.puspo.scalablekafkaapp.userservice.infrastructure.messaging;
 
+import com.puspo.scalablekafkaapp.messaging.consumer.IdempotentBatchProcessor;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserUpdated;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class UserConsumer {
-    @KafkaListener(topics = "user.updated", groupId = "user-service-group")
-    public void userUpdatedListener(ConsumerRecord<String, String> record) {
-        System.out.println("Received message from user.updated (User consumer): " + record.value());
+    private static final String GROUP_ID = "user-service-group";
+
+    private final IdempotentBatchProcessor batchProcessor;
+
+    public UserConsumer(IdempotentBatchProcessor batchProcessor) {
+        this.batchProcessor = batchProcessor;
+    }
+
+    @KafkaListener(topics = "user.updated", groupId = GROUP_ID,
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.topics.user-updated.partitions:3}")
+    public void userUpdatedListener(List<ConsumerRecord<String, EventEnvelope<?>>> records, Acknowledgment ack) {
+        batchProcessor.process(GROUP_ID, records,
+                envelope -> handleUserUpdated(envelope.payloadAs(UserUpdated.class)));
+        // Offsets are committed only after the batch and its idempotency markers are stored
+        ack.acknowledge();
+    }
+
+    private void handleUserUpdated(UserUpdated event) {
+        System.out.println("Received user.updated (User consumer): userId=" + event.userId() + ", email=" + event.email());
     }
 }
@@ -0,0 +1,62 @@
+package com.puspo.scalablekafkaapp.messaging.consumer;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+
+/**
+ * Batch consumption shared by the services: the batch listener container factory and the
+ * idempotent processor with its marker table. The marker entity is added to the application's
+ * JPA entity scan, so services only depend on this library. Expired markers are purged on
+ * a schedule, which runs once the service enables scheduling.
+ */
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@AutoConfigurationPackage(basePackageClasses = ProcessedEvent.class)
+public class BatchConsumerAutoConfiguration {
+
+    /**
+     * Batch listener factory: each poll (up to spring.kafka.consumer.max-poll-records) is
+     * delivered as one list, and offsets are committed only when the listener acknowledges.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "batchKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${app.kafka.retry.interval-ms:1000}") long retryIntervalMs,
+            @Value("${app.kafka.retry.max-attempts:3}") long maxAttempts) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        // Retries from the failed record of a batch; after the last attempt the record is logged and skipped
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryIntervalMs, maxAttempts - 1)));
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessedEventStore processedEventStore(EntityManagerFactory entityManagerFactory) {
+        return new ProcessedEventStore(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdempotentBatchProcessor idempotentBatchProcessor(ProcessedEventStore processedEventStore,
+                                                             PlatformTransactionManager transactionManager,
+                                                             @Value("${app.kafka.idempotency.retention:P7D}") Duration retention) {
+        return new IdempotentBatchProcessor(processedEventStore, transactionManager, retention);
+    }
+}
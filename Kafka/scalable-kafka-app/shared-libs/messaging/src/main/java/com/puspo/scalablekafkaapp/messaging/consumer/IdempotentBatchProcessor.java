@@ -0,0 +1,135 @@
+package com.puspo.scalablekafkaapp.messaging.consumer;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Applies a batch of Kafka records exactly once per consumer group.
+ *
+ * The whole batch runs in one transaction: already-processed events are filtered with a single
+ * lookup, the new records are handled, and their idempotency markers are inserted with the
+ * side effects. If the batch fails, it is replayed record by record so the good prefix is kept
+ * and the failing record is reported to the container with its index (BatchListenerFailedException).
+ * The caller acknowledges the offsets only after this method returns.
+ *
+ * Markers are keyed on the event id (see {@link EventHeaders#eventId}), so a copy of an event
+ * published again under a new offset is dropped as well as a redelivered record. Records without
+ * an event id fall back to their topic, partition and offset, which only catches redelivery.
+ */
+public class IdempotentBatchProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentBatchProcessor.class);
+
+    private final ProcessedEventStore processedEventStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    public IdempotentBatchProcessor(ProcessedEventStore processedEventStore,
+                                    PlatformTransactionManager transactionManager,
+                                    Duration retention) {
+        this.processedEventStore = processedEventStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    /**
+     * @return number of records actually applied (duplicates excluded)
+     */
+    public <V> int process(String consumerGroup, List<ConsumerRecord<String, V>> records, Consumer<V> handler) {
+        return processBatch(consumerGroup, records, values -> values.forEach(handler));
+    }
+
+    /**
+     * Same as {@link #process}, but hands all new record values of the batch to the handler at once,
+     * so it can apply them with set-based reads and writes. When replaying after a failure, the
+     * handler is called with one value at a time.
+     */
+    public <V> int processBatch(String consumerGroup, List<ConsumerRecord<String, V>> records,
+                                Consumer<List<V>> handler) {
+        try {
+            Integer applied = transactionTemplate.execute(status -> applyAll(consumerGroup, records, handler));
+            return applied == null ? 0 : applied;
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch of {} records failed, replaying one by one: {}", records.size(), batchFailure.getMessage());
+        }
+
+        int applied = 0;
+        for (int i = 0; i < records.size(); i++) {
+            List<ConsumerRecord<String, V>> single = List.of(records.get(i));
+            try {
+                Integer count = transactionTemplate.execute(status -> applyAll(consumerGroup, single, handler));
+                applied += count == null ? 0 : count;
+            } catch (RuntimeException recordFailure) {
+                // Offsets before this index are committed; the container retries from this record
+                throw new BatchListenerFailedException("Failed to apply record", recordFailure, i);
+            }
+        }
+        return applied;
+    }
+
+    private <V> int applyAll(String consumerGroup, List<ConsumerRecord<String, V>> records,
+                             Consumer<List<V>> handler) {
+        // Keyed by marker id; duplicates inside the batch collapse to the first occurrence
+        Map<String, ConsumerRecord<String, V>> byMarker = new LinkedHashMap<>();
+        for (ConsumerRecord<String, V> record : records) {
+            byMarker.putIfAbsent(markerId(consumerGroup, record), record);
+        }
+
+        Set<String> alreadyProcessed = processedEventStore.findProcessed(byMarker.keySet());
+
+        List<ProcessedEvent> markers = new ArrayList<>(byMarker.size());
+        List<V> values = new ArrayList<>(byMarker.size());
+        for (Map.Entry<String, ConsumerRecord<String, V>> entry : byMarker.entrySet()) {
+            if (alreadyProcessed.contains(entry.getKey())) {
+                continue;
+            }
+            ConsumerRecord<String, V> record = entry.getValue();
+            markers.add(new ProcessedEvent(entry.getKey()));
+            if (record.value() == null) {
+                // A tombstone, or a value the deserializer could not read: nothing to apply
+                log.warn("Skipping record without a readable value at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            values.add(record.value());
+        }
+        if (!values.isEmpty()) {
+            handler.accept(values);
+        }
+        processedEventStore.saveAll(markers);
+        return markers.size();
+    }
+
+    static String markerId(String consumerGroup, ConsumerRecord<String, ?> record) {
+        String eventId = EventHeaders.eventId(record);
+        if (eventId != null) {
+            return consumerGroup + "|" + eventId;
+        }
+        // A redelivered record has the same topic, partition and offset as the original delivery
+        return consumerGroup + "|" + record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    @Scheduled(fixedDelayString = "${app.kafka.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredMarkers() {
+        Integer removed = transactionTemplate.execute(status ->
+                processedEventStore.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} idempotency markers older than {}", removed, retention);
+        }
+    }
+}
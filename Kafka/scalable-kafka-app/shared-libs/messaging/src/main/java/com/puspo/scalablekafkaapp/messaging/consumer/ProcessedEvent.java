@@ -0,0 +1,43 @@
+package com.puspo.scalablekafkaapp.messaging.consumer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency marker: one row per event a consumer group has already applied.
+ * Written in the same transaction as the event's side effects, so a redelivered
+ * event is either fully applied once or not at all.
+ */
+@Entity
+@Table(name = "processed_events", indexes = @Index(name = "idx_processed_events_processed_at", columnList = "processed_at"))
+public class ProcessedEvent {
+
+    // "<consumer group>|<event id>"
+    @Id
+    @Column(name = "id", length = 255)
+    private String id;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    protected ProcessedEvent() {
+    }
+
+    public ProcessedEvent(String id) {
+        this.id = id;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.puspo.scalablekafkaapp.messaging.consumer;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes idempotency markers; every call joins the caller's transaction.
+ *
+ * A plain EntityManager wrapper rather than a Spring Data repository: the library's marker
+ * package is added to each service's entity scan, and a repository interface in it would be
+ * registered twice wherever that package is nested in the application's own.
+ */
+public class ProcessedEventStore {
+
+    private final EntityManager entityManager;
+
+    public ProcessedEventStore(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Set<String> findProcessed(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(entityManager
+                .createQuery("SELECT e.id FROM ProcessedEvent e WHERE e.id IN :ids", String.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    public void saveAll(List<ProcessedEvent> markers) {
+        markers.forEach(entityManager::persist);
+    }
+
+    public int deleteProcessedBefore(LocalDateTime cutoff) {
+        return entityManager.createQuery("DELETE FROM ProcessedEvent e WHERE e.processedAt < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,22 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+/**
+ * Binary form of one event type's payload.
+ *
+ * Writers always produce {@link #schemaVersion()}. Readers receive the version the producer
+ * wrote, so a newer codec can still read older payloads (e.g. default a field added in v2).
+ * Fields are only ever appended; never reorder or remove them within a type.
+ */
+public interface EventCodec<T> {
+
+    String type();
+
+    int schemaVersion();
+
+    // Used by the JSON fallback format
+    Class<T> payloadType();
+
+    void write(T payload, EventWriter out);
+
+    T read(EventReader in, int schemaVersion);
+}
@@ -0,0 +1,31 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event type name to codec lookup shared by the serializer and deserializer.
+ */
+public class EventCodecRegistry {
+
+    private final Map<String, EventCodec<?>> codecs = new ConcurrentHashMap<>();
+
+    public EventCodecRegistry register(EventCodec<?> codec) {
+        EventCodec<?> previous = codecs.putIfAbsent(codec.type(), codec);
+        if (previous != null && previous != codec) {
+            throw new IllegalStateException("Codec already registered for event type " + codec.type());
+        }
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> EventCodec<T> get(String type) {
+        EventCodec<?> codec = type == null ? null : codecs.get(type);
+        if (codec == null) {
+            throw new SerializationException("No codec registered for event type " + type);
+        }
+        return (EventCodec<T>) codec;
+    }
+}
@@ -0,0 +1,41 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import java.util.UUID;
+
+/**
+ * Typed wrapper for every event on the wire.
+ *
+ * @param id            unique event id, for consumer-side deduplication and tracing
+ * @param type          event type name; selects the {@link EventCodec} for the payload
+ * @param schemaVersion payload schema version the producer wrote
+ * @param occurredAt    event time, epoch milliseconds
+ * @param key           aggregate key (also used as the Kafka record key)
+ * @param payload       the event itself
+ */
+public record EventEnvelope<T>(UUID id, String type, int schemaVersion, long occurredAt, String key, T payload) {
+
+    public static <T> EventEnvelope<T> of(EventCodec<T> codec, String key, T payload) {
+        return new EventEnvelope<>(UUID.randomUUID(), codec.type(), codec.schemaVersion(),
+                System.currentTimeMillis(), key, payload);
+    }
+
+    /**
+     * Same as {@link #of(EventCodec, String, Object)} with a given id, for producers that may send
+     * the event again and must reuse its id (e.g. an outbox relay).
+     */
+    public static <T> EventEnvelope<T> of(UUID id, EventCodec<T> codec, String key, T payload) {
+        return new EventEnvelope<>(id, codec.type(), codec.schemaVersion(), System.currentTimeMillis(), key, payload);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not of the expected type, e.g. an
+     * event of another type was published to the topic
+     */
+    public <P> P payloadAs(Class<P> payloadType) {
+        if (!payloadType.isInstance(payload)) {
+            throw new IllegalArgumentException("Expected " + payloadType.getSimpleName() + " payload but event "
+                    + id + " is " + type);
+        }
+        return payloadType.cast(payload);
+    }
+}
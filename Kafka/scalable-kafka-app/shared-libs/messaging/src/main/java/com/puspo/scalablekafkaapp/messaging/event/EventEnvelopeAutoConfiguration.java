@@ -0,0 +1,32 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import com.puspo.scalablekafkaapp.messaging.event.contract.EventContracts;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+/**
+ * Makes every consumer built by Spring Boot read record values as {@link EventEnvelope}s.
+ * A value that cannot be read reaches the listener as null (with the failure in a record
+ * header) instead of failing the whole poll; services build their producers with
+ * {@link EventEnvelopeSerializer} and the same registry.
+ */
+@AutoConfiguration
+public class EventEnvelopeAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventCodecRegistry eventCodecRegistry() {
+        return EventContracts.registry();
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaConsumerFactoryCustomizer eventEnvelopeConsumerCustomizer(EventCodecRegistry registry) {
+        return consumerFactory -> ((DefaultKafkaConsumerFactory<Object, EventEnvelope<?>>) consumerFactory)
+                .setValueDeserializer(new ErrorHandlingDeserializer<>(new EventEnvelopeDeserializer(registry)));
+    }
+}
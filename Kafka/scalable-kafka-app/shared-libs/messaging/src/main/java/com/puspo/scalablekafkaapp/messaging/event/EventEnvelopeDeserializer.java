@@ -0,0 +1,73 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Kafka deserializer for {@link EventEnvelope}s in either wire format (see
+ * {@link EventEnvelopeSerializer}). Null values (tombstones) stay null.
+ */
+public class EventEnvelopeDeserializer implements Deserializer<EventEnvelope<?>> {
+
+    private final EventCodecRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    public EventEnvelopeDeserializer(EventCodecRegistry registry) {
+        this(registry, new ObjectMapper());
+    }
+
+    public EventEnvelopeDeserializer(EventCodecRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        // Newer producers may add payload fields this consumer does not know yet
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public EventEnvelope<?> deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length > 0 && (data[0] & 0xFF) == EventEnvelopeSerializer.MAGIC) {
+            return fromBinary(data);
+        }
+        if (data.length > 0 && data[0] == '{') {
+            return fromJson(data);
+        }
+        throw new SerializationException("Unrecognized event format on topic " + topic);
+    }
+
+    private EventEnvelope<?> fromBinary(byte[] data) {
+        EventReader in = new EventReader(data, 1);
+        int envelopeVersion = in.readByte();
+        if (envelopeVersion != EventEnvelopeSerializer.ENVELOPE_VERSION) {
+            throw new SerializationException("Unsupported envelope version " + envelopeVersion);
+        }
+        String type = in.readString();
+        int schemaVersion = in.readInt();
+        UUID id = new UUID(in.readFixedLong(), in.readFixedLong());
+        long occurredAt = in.readLong();
+        String key = in.readString();
+        EventCodec<Object> codec = registry.get(type);
+        return new EventEnvelope<>(id, type, schemaVersion, occurredAt, key, codec.read(in, schemaVersion));
+    }
+
+    private EventEnvelope<?> fromJson(byte[] data) {
+        try {
+            JsonNode node = objectMapper.readTree(data);
+            String type = node.path("type").asText(null);
+            EventCodec<Object> codec = registry.get(type);
+            Object payload = objectMapper.treeToValue(node.path("payload"), codec.payloadType());
+            return new EventEnvelope<>(UUID.fromString(node.path("id").asText()), type,
+                    node.path("schemaVersion").asInt(), node.path("occurredAt").asLong(),
+                    node.path("key").asText(null), payload);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not read JSON event", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka serializer for {@link EventEnvelope}s.
+ *
+ * Binary layout: magic byte, envelope format version, type, schema version, event id
+ * (two fixed longs), occurredAt, key, then the payload as written by the type's codec.
+ * With {@link EventFormat#JSON} the envelope is written as a JSON object instead; the
+ * deserializer tells the two apart by the first byte, so the format can be switched per
+ * producer without coordinating consumers.
+ */
+public class EventEnvelopeSerializer implements Serializer<EventEnvelope<?>> {
+
+    static final int MAGIC = 0xEB;
+    static final int ENVELOPE_VERSION = 1;
+
+    private final EventCodecRegistry registry;
+    private final EventFormat format;
+    private final ObjectMapper objectMapper;
+
+    public EventEnvelopeSerializer(EventCodecRegistry registry) {
+        this(registry, EventFormat.BINARY, new ObjectMapper());
+    }
+
+    // The mapper is reused for every record; create it once per application, not per call
+    public EventEnvelopeSerializer(EventCodecRegistry registry, EventFormat format, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(String topic, EventEnvelope<?> envelope) {
+        if (envelope == null) {
+            return null;
+        }
+        return format == EventFormat.JSON ? toJson(envelope) : toBinary(envelope);
+    }
+
+    private byte[] toBinary(EventEnvelope<?> envelope) {
+        EventCodec<Object> codec = registry.get(envelope.type());
+        EventWriter out = new EventWriter()
+                .writeByte(MAGIC)
+                .writeByte(ENVELOPE_VERSION)
+                .writeString(envelope.type())
+                .writeInt(codec.schemaVersion())
+                .writeFixedLong(envelope.id().getMostSignificantBits())
+                .writeFixedLong(envelope.id().getLeastSignificantBits())
+                .writeLong(envelope.occurredAt())
+                .writeString(envelope.key());
+        codec.write(envelope.payload(), out);
+        return out.toByteArray();
+    }
+
+    private byte[] toJson(EventEnvelope<?> envelope) {
+        try {
+            return objectMapper.writeValueAsBytes(envelope);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Could not write event " + envelope.type() + " as JSON", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+/**
+ * Wire format written by {@link EventEnvelopeSerializer}. The deserializer accepts both.
+ */
+public enum EventFormat {
+
+    // Compact, codec-defined layout; the default for production traffic
+    BINARY,
+
+    // Human-readable JSON, for debugging with console consumers
+    JSON
+}
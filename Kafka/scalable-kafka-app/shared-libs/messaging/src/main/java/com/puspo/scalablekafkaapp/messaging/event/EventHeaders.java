@@ -0,0 +1,43 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka record headers shared by producers and consumers.
+ */
+public final class EventHeaders {
+
+    /**
+     * Unique id of the event a record carries. A producer that sends the same event again
+     * (e.g. an outbox relay retrying after a lost acknowledgement) must reuse the id, so
+     * consumers can drop the copy even though it has a new offset.
+     */
+    public static final String EVENT_ID = "event-id";
+
+    private EventHeaders() {
+    }
+
+    public static void setEventId(Headers headers, String eventId) {
+        headers.remove(EVENT_ID);
+        headers.add(EVENT_ID, eventId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the event id of the record: the EVENT_ID header, else the id of an
+     * {@link EventEnvelope} value, else null
+     */
+    public static String eventId(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(EVENT_ID);
+        if (header != null && header.value() != null) {
+            return new String(header.value(), StandardCharsets.UTF_8);
+        }
+        if (record.value() instanceof EventEnvelope<?> envelope && envelope.id() != null) {
+            return envelope.id().toString();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads what {@link EventWriter} wrote. Truncated or corrupt input raises
+ * {@link SerializationException}, which the Kafka consumer reports as a poison record.
+ */
+public final class EventReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public EventReader(byte[] buffer) {
+        this(buffer, 0);
+    }
+
+    EventReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public int readInt() {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new SerializationException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readLong() {
+        long raw = readUnsignedVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public Long readNullableLong() {
+        return readBoolean() ? readLong() : null;
+    }
+
+    public long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readFixedLong());
+    }
+
+    public String readString() {
+        long encoded = readUnsignedVarLong();
+        if (encoded == 0) {
+            return null;
+        }
+        int length = checkedLength(encoded - 1);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public byte[] readBytes() {
+        int length = checkedLength(readUnsignedVarLong());
+        byte[] value = new byte[length];
+        System.arraycopy(buffer, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    long readUnsignedVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint at offset " + position);
+    }
+
+    private int checkedLength(long length) {
+        if (length < 0 || length > buffer.length - position) {
+            throw new SerializationException("Length " + length + " exceeds remaining " + (buffer.length - position) + " bytes");
+        }
+        return (int) length;
+    }
+
+    private void require(int bytes) {
+        if (position + bytes > buffer.length) {
+            throw new SerializationException("Unexpected end of event at offset " + position);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only binary buffer used by codecs. Integers are written as varints (signed values
+ * zig-zag encoded), so small ids and counts take one or two bytes instead of four or eight.
+ */
+public final class EventWriter {
+
+    private byte[] buffer;
+    private int size;
+
+    public EventWriter() {
+        this(128);
+    }
+
+    public EventWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public EventWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public EventWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    public EventWriter writeInt(int value) {
+        return writeLong(value);
+    }
+
+    public EventWriter writeLong(long value) {
+        return writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    // Presence flag, then the value
+    public EventWriter writeNullableLong(Long value) {
+        writeBoolean(value != null);
+        return value == null ? this : writeLong(value);
+    }
+
+    public EventWriter writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    public EventWriter writeDouble(double value) {
+        return writeFixedLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Writes a nullable string as (length + 1) followed by UTF-8 bytes; 0 means null.
+     */
+    public EventWriter writeString(String value) {
+        if (value == null) {
+            return writeUnsignedVarLong(0);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong(bytes.length + 1L);
+        return writeRaw(bytes);
+    }
+
+    public EventWriter writeBytes(byte[] value) {
+        writeUnsignedVarLong(value.length);
+        return writeRaw(value);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    EventWriter writeUnsignedVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    private EventWriter writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodecRegistry;
+
+/**
+ * The events exchanged between the services. Producer and consumer share these payload types
+ * and codecs, so a change to an event is made once, with a schema version bump.
+ */
+public final class EventContracts {
+
+    private EventContracts() {
+    }
+
+    public static EventCodecRegistry registry() {
+        return new EventCodecRegistry()
+                .register(OrderCreated.CODEC)
+                .register(InventoryRejected.CODEC)
+                .register(UserCreated.CODEC)
+                .register(UserUpdated.CODEC)
+                .register(UserDeleted.CODEC);
+    }
+}
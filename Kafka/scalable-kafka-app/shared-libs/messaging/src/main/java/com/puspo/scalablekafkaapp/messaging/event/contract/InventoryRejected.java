@@ -0,0 +1,43 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodec;
+import com.puspo.scalablekafkaapp.messaging.event.EventReader;
+import com.puspo.scalablekafkaapp.messaging.event.EventWriter;
+
+import java.util.List;
+
+/**
+ * Payload of inventory.rejected: inventory-service could not reserve stock for the order.
+ * order-service reacts by marking the order as rejected.
+ */
+public record InventoryRejected(Long orderId, Long userId, String reason, List<LineItem> items) {
+
+    public static final EventCodec<InventoryRejected> CODEC = new EventCodec<>() {
+        @Override
+        public String type() {
+            return "inventory.rejected";
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public Class<InventoryRejected> payloadType() {
+            return InventoryRejected.class;
+        }
+
+        @Override
+        public void write(InventoryRejected payload, EventWriter out) {
+            out.writeNullableLong(payload.orderId()).writeNullableLong(payload.userId()).writeString(payload.reason());
+            LineItem.writeAll(payload.items(), out);
+        }
+
+        @Override
+        public InventoryRejected read(EventReader in, int schemaVersion) {
+            return new InventoryRejected(in.readNullableLong(), in.readNullableLong(), in.readString(),
+                    LineItem.readAll(in));
+        }
+    };
+}
@@ -0,0 +1,34 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventReader;
+import com.puspo.scalablekafkaapp.messaging.event.EventWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One order line: a SKU (inventory product name) and the quantity to reserve.
+ */
+public record LineItem(String sku, int quantity) {
+
+    static void writeAll(List<LineItem> items, EventWriter out) {
+        out.writeInt(items == null ? -1 : items.size());
+        if (items != null) {
+            for (LineItem item : items) {
+                out.writeString(item.sku()).writeInt(item.quantity());
+            }
+        }
+    }
+
+    static List<LineItem> readAll(EventReader in) {
+        int count = in.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<LineItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new LineItem(in.readString(), in.readInt()));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,42 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodec;
+import com.puspo.scalablekafkaapp.messaging.event.EventReader;
+import com.puspo.scalablekafkaapp.messaging.event.EventWriter;
+
+import java.util.List;
+
+/**
+ * Payload of order.created, published by order-service. inventory-service reserves stock for
+ * every line item.
+ */
+public record OrderCreated(Long orderId, Long userId, List<LineItem> items) {
+
+    public static final EventCodec<OrderCreated> CODEC = new EventCodec<>() {
+        @Override
+        public String type() {
+            return "order.created";
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public Class<OrderCreated> payloadType() {
+            return OrderCreated.class;
+        }
+
+        @Override
+        public void write(OrderCreated payload, EventWriter out) {
+            out.writeNullableLong(payload.orderId()).writeNullableLong(payload.userId());
+            LineItem.writeAll(payload.items(), out);
+        }
+
+        @Override
+        public OrderCreated read(EventReader in, int schemaVersion) {
+            return new OrderCreated(in.readNullableLong(), in.readNullableLong(), LineItem.readAll(in));
+        }
+    };
+}
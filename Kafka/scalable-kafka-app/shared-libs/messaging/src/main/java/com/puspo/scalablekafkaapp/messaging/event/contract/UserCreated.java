@@ -0,0 +1,38 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodec;
+import com.puspo.scalablekafkaapp.messaging.event.EventReader;
+import com.puspo.scalablekafkaapp.messaging.event.EventWriter;
+
+/**
+ * Payload of user.created, published by user-service when an account is registered.
+ */
+public record UserCreated(Long userId, String email) {
+
+    public static final EventCodec<UserCreated> CODEC = new EventCodec<>() {
+        @Override
+        public String type() {
+            return "user.created";
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public Class<UserCreated> payloadType() {
+            return UserCreated.class;
+        }
+
+        @Override
+        public void write(UserCreated payload, EventWriter out) {
+            out.writeNullableLong(payload.userId()).writeString(payload.email());
+        }
+
+        @Override
+        public UserCreated read(EventReader in, int schemaVersion) {
+            return new UserCreated(in.readNullableLong(), in.readString());
+        }
+    };
+}
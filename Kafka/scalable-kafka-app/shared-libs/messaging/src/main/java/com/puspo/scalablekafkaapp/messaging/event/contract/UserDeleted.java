@@ -0,0 +1,38 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodec;
+import com.puspo.scalablekafkaapp.messaging.event.EventReader;
+import com.puspo.scalablekafkaapp.messaging.event.EventWriter;
+
+/**
+ * Payload of user.deleted.
+ */
+public record UserDeleted(Long userId) {
+
+    public static final EventCodec<UserDeleted> CODEC = new EventCodec<>() {
+        @Override
+        public String type() {
+            return "user.deleted";
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public Class<UserDeleted> payloadType() {
+            return UserDeleted.class;
+        }
+
+        @Override
+        public void write(UserDeleted payload, EventWriter out) {
+            out.writeNullableLong(payload.userId());
+        }
+
+        @Override
+        public UserDeleted read(EventReader in, int schemaVersion) {
+            return new UserDeleted(in.readNullableLong());
+        }
+    };
+}
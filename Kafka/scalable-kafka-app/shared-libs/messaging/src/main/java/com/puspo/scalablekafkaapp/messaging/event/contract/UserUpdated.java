@@ -0,0 +1,38 @@
+package com.puspo.scalablekafkaapp.messaging.event.contract;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodec;
+import com.puspo.scalablekafkaapp.messaging.event.EventReader;
+import com.puspo.scalablekafkaapp.messaging.event.EventWriter;
+
+/**
+ * Payload of user.updated: the account's current email after a change.
+ */
+public record UserUpdated(Long userId, String email) {
+
+    public static final EventCodec<UserUpdated> CODEC = new EventCodec<>() {
+        @Override
+        public String type() {
+            return "user.updated";
+        }
+
+        @Override
+        public int schemaVersion() {
+            return 1;
+        }
+
+        @Override
+        public Class<UserUpdated> payloadType() {
+            return UserUpdated.class;
+        }
+
+        @Override
+        public void write(UserUpdated payload, EventWriter out) {
+            out.writeNullableLong(payload.userId()).writeString(payload.email());
+        }
+
+        @Override
+        public UserUpdated read(EventReader in, int schemaVersion) {
+            return new UserUpdated(in.readNullableLong(), in.readString());
+        }
+    };
+}
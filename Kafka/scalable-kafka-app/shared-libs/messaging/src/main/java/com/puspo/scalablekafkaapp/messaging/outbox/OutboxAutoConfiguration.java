@@ -0,0 +1,52 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodecRegistry;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelopeAutoConfiguration;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelopeSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox shared by the services: the outbox table (added to the application's JPA
+ * entity scan), the store that writes events into it, and the relay that publishes them. The
+ * relay is only created with app.outbox.relay.enabled=true, and needs a
+ * KafkaTemplate&lt;String, byte[]&gt; because rows are stored already encoded. Like the marker
+ * purge, relaying and purging run on a schedule once the service enables scheduling.
+ */
+@AutoConfiguration(after = {HibernateJpaAutoConfiguration.class, EventEnvelopeAutoConfiguration.class})
+@AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxStore outboxStore(EntityManagerFactory entityManagerFactory, EventCodecRegistry eventCodecRegistry) {
+        return new OutboxStore(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                new EventEnvelopeSerializer(eventCodecRegistry));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true")
+    public OutboxRelay outboxRelay(OutboxStore outboxStore,
+                                   KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                                   @Value("${app.outbox.relay.send-timeout-ms:30000}") long sendTimeoutMs,
+                                   @Value("${app.outbox.retention:P1D}") Duration retention) {
+        return new OutboxRelay(outboxStore, outboxKafkaTemplate, transactionManager, meterRegistry,
+                batchSize, sendTimeoutMs, retention);
+    }
+}
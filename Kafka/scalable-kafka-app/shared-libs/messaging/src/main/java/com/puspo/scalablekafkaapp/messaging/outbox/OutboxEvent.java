@@ -0,0 +1,87 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row: an event written in the same transaction as the state change it
+ * describes (see {@link OutboxStore#append}), and published to Kafka later by {@link OutboxRelay}.
+ * Rows are relayed in id order, so events with the same aggregate key reach their partition in
+ * the order they were written.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_published_at_id", columnList = "published_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Sent as the event-id header; stays the same when the relay resends the row, so consumers drop the copy
+    @Column(name = "event_id", nullable = false, updatable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    // Used as the Kafka record key
+    @Column(name = "aggregate_key", nullable = false)
+    private String aggregateKey;
+
+    // The serialized EventEnvelope, sent as the record value unchanged
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the broker has acknowledged the record
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(String eventId, String topic, String aggregateKey, byte[] payload) {
+        this.eventId = eventId;
+        this.topic = topic;
+        this.aggregateKey = aggregateKey;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getAggregateKey() {
+        return aggregateKey;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+}
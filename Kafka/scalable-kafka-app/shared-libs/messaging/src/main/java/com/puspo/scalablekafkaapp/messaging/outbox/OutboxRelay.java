@@ -0,0 +1,191 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes outbox rows to Kafka in the background, so request and listener threads never wait
+ * on the broker. Created by {@link OutboxAutoConfiguration} when app.outbox.relay.enabled=true.
+ *
+ * Each cycle takes the oldest unpublished rows (up to app.outbox.relay.batch-size) and sends them
+ * all back to back, in id order, so the producer can batch and compress them (linger.ms /
+ * batch.size / compression.type). Rows with the same key land on the same partition, where the
+ * idempotent producer keeps them in send order. When a send fails, the later rows with that key
+ * are left unpublished even if the broker acknowledged them, so on retry they go out again after
+ * the failed row and the latest event for a key is still the last one written. The whole batch
+ * shares one send-timeout-ms deadline, and the acknowledged rows are marked published in one
+ * update. Delivery is at least once: a crash between the send and the update resends the batch.
+ * Each record carries the row's event id header, so consumers drop a resent copy even though it
+ * arrives under a new offset.
+ */
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxStore outboxStore;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Duration retention;
+
+    private final Timer relayLag;
+    private final Counter published;
+    private final Counter failed;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    public OutboxRelay(OutboxStore outboxStore,
+                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       int batchSize,
+                       long sendTimeoutMs,
+                       Duration retention) {
+        this.outboxStore = outboxStore;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retention = retention;
+
+        // Time from the outbox insert (request commit) to the broker acknowledgement
+        this.relayLag = Timer.builder("outbox.relay.lag")
+                .description("Delay between writing an outbox event and Kafka acknowledging it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.relay.published").register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay.failed").register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending.oldest.age", oldestPendingAgeMs, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:100}")
+    public void relay() {
+        try {
+            // Keep draining while whole batches go out, e.g. after a broker outage
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+            refreshBacklog();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay cycle failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of rows published in this batch
+     */
+    int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxStore.findUnpublishedIds(batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            // Another relay instance holding these rows makes this one wait, then skip what it published
+            List<OutboxEvent> events = outboxStore.lockUnpublished(ids);
+
+            List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                sends.add(send(event));
+            }
+            // Do not sit out linger.ms for the last records of the batch
+            kafkaTemplate.flush();
+
+            // One deadline for the whole batch, so the row locks are held at most sendTimeoutMs
+            awaitAll(sends);
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> acknowledged = new ArrayList<>(events.size());
+            Set<String> failedKeys = new HashSet<>();
+            for (int i = 0; i < events.size(); i++) {
+                OutboxEvent event = events.get(i);
+                CompletableFuture<SendResult<String, byte[]>> send = sends.get(i);
+                if (send.isDone() && !send.isCompletedExceptionally()
+                        && !failedKeys.contains(event.getAggregateKey())) {
+                    acknowledged.add(event.getId());
+                    relayLag.record(Duration.between(event.getCreatedAt(), now));
+                    continue;
+                }
+                // Unfinished or failed: the row and the later rows of its key are sent again next cycle
+                failedKeys.add(event.getAggregateKey());
+                if (send.isCompletedExceptionally()) {
+                    failed.increment();
+                    send.exceptionally(e -> {
+                        log.warn("Failed to publish outbox event {} to {}: {}",
+                                event.getId(), event.getTopic(), e.getMessage());
+                        return null;
+                    });
+                }
+            }
+            if (!acknowledged.isEmpty()) {
+                outboxStore.markPublished(acknowledged, now);
+                published.increment(acknowledged.size());
+            }
+            return acknowledged.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record =
+                new ProducerRecord<>(event.getTopic(), event.getAggregateKey(), event.getPayload());
+        EventHeaders.setEventId(record.headers(), event.getEventId());
+        return kafkaTemplate.send(record);
+    }
+
+    private void awaitAll(List<CompletableFuture<SendResult<String, byte[]>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed and unfinished sends are sorted out per row by the caller
+        }
+    }
+
+    private void refreshBacklog() {
+        pending.set(outboxStore.countUnpublished());
+        oldestPendingAgeMs.set(outboxStore.findOldestUnpublishedCreatedAt()
+                .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxStore.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} published outbox events older than {}", removed, retention);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelopeSerializer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes outbox rows; every call joins the caller's transaction.
+ *
+ * A plain EntityManager wrapper for the same reason as
+ * {@link com.puspo.scalablekafkaapp.messaging.consumer.ProcessedEventStore}: the entity package
+ * is added to each service's entity scan, and a repository interface in it could be registered twice.
+ */
+public class OutboxStore {
+
+    private final EntityManager entityManager;
+    private final EventEnvelopeSerializer envelopeSerializer;
+
+    public OutboxStore(EntityManager entityManager, EventEnvelopeSerializer envelopeSerializer) {
+        this.entityManager = entityManager;
+        this.envelopeSerializer = envelopeSerializer;
+    }
+
+    /**
+     * Writes the event to the outbox; it is published once the caller's transaction commits, and
+     * never if it rolls back. The envelope type is the topic and its key is the record key.
+     */
+    public OutboxEvent append(EventEnvelope<?> envelope) {
+        // Stored already encoded, so a resend by the relay is byte-for-byte the same event
+        OutboxEvent event = new OutboxEvent(envelope.id().toString(), envelope.type(), envelope.key(),
+                envelopeSerializer.serialize(envelope.type(), envelope));
+        entityManager.persist(event);
+        return event;
+    }
+
+    public List<Long> findUnpublishedIds(int limit) {
+        return entityManager
+                .createQuery("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id", Long.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Row locks by primary key only, so concurrent inserts into the outbox are never blocked
+    public List<OutboxEvent> lockUnpublished(Collection<Long> ids) {
+        return entityManager
+                .createQuery("SELECT e FROM OutboxEvent e WHERE e.id IN :ids AND e.publishedAt IS NULL ORDER BY e.id",
+                        OutboxEvent.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    public int markPublished(Collection<Long> ids, LocalDateTime publishedAt) {
+        return entityManager.createQuery("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+                .setParameter("publishedAt", publishedAt)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    public Optional<LocalDateTime> findOldestUnpublishedCreatedAt() {
+        return entityManager
+                .createQuery("SELECT e.createdAt FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id",
+                        LocalDateTime.class)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public long countUnpublished() {
+        return entityManager.createQuery("SELECT COUNT(e) FROM OutboxEvent e WHERE e.publishedAt IS NULL", Long.class)
+                .getSingleResult();
+    }
+
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return entityManager.createQuery("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,45 @@
+package com.puspo.scalablekafkaapp.messaging.producer;
+
+/**
+ * Named producer tunings. Every preset keeps acks=all with idempotence, so switching presets
+ * trades latency for throughput without giving up durability or per-partition ordering.
+ */
+public enum ProducerPreset {
+
+    // Send as soon as a record arrives: lowest per-record latency, many small requests
+    LATENCY(16_384, 0, "none", 32L * 1024 * 1024),
+
+    // Short linger with cheap compression: good default for request-driven events
+    BALANCED(65_536, 5, "lz4", 32L * 1024 * 1024),
+
+    // Large, compressed batches for relays and bulk publishers; adds up to linger.ms per record
+    THROUGHPUT(262_144, 20, "lz4", 64L * 1024 * 1024);
+
+    private final int batchSize;
+    private final int lingerMs;
+    private final String compressionType;
+    private final long bufferMemory;
+
+    ProducerPreset(int batchSize, int lingerMs, String compressionType, long bufferMemory) {
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.compressionType = compressionType;
+        this.bufferMemory = bufferMemory;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    public String getCompressionType() {
+        return compressionType;
+    }
+
+    public long getBufferMemory() {
+        return bufferMemory;
+    }
+}
@@ -0,0 +1,111 @@
+package com.puspo.scalablekafkaapp.messaging.producer;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared producer profile, bound from app.kafka.producer.*.
+ *
+ * A preset supplies batch.size, linger.ms, compression.type and buffer.memory; any of them, and
+ * acks / idempotence, can be overridden individually. Extra client settings go in
+ * app.kafka.producer.properties.* and win over everything else.
+ */
+@ConfigurationProperties(prefix = "app.kafka.producer")
+public class ProducerProfileProperties {
+
+    private ProducerPreset preset = ProducerPreset.BALANCED;
+    private Integer batchSize;
+    private Integer lingerMs;
+    private String compressionType;
+    private Long bufferMemory;
+    private String acks = "all";
+    private boolean idempotence = true;
+    private Map<String, String> properties = new HashMap<>();
+
+    /**
+     * Producer client settings for this profile, without bootstrap servers or serializers.
+     */
+    public Map<String, Object> toProducerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize != null ? batchSize : preset.getBatchSize());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs != null ? lingerMs : preset.getLingerMs());
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,
+                compressionType != null ? compressionType : preset.getCompressionType());
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory != null ? bufferMemory : preset.getBufferMemory());
+        config.put(ProducerConfig.ACKS_CONFIG, acks);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        if (idempotence) {
+            // Idempotence keeps ordering per partition with up to 5 requests in flight
+            config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        }
+        config.putAll(properties);
+        return config;
+    }
+
+    public ProducerPreset getPreset() {
+        return preset;
+    }
+
+    public void setPreset(ProducerPreset preset) {
+        this.preset = preset;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(Integer lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public String getCompressionType() {
+        return compressionType;
+    }
+
+    public void setCompressionType(String compressionType) {
+        this.compressionType = compressionType;
+    }
+
+    public Long getBufferMemory() {
+        return bufferMemory;
+    }
+
+    public void setBufferMemory(Long bufferMemory) {
+        this.bufferMemory = bufferMemory;
+    }
+
+    public String getAcks() {
+        return acks;
+    }
+
+    public void setAcks(String acks) {
+        this.acks = acks;
+    }
+
+    public boolean isIdempotence() {
+        return idempotence;
+    }
+
+    public void setIdempotence(boolean idempotence) {
+        this.idempotence = idempotence;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Map<String, String> properties) {
+        this.properties = properties;
+    }
+}
@@ -0,0 +1,150 @@
+package com.puspo.scalablekafkaapp.messaging.consumer;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventCodecRegistry;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelopeSerializer;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserCreated;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the batch processor behind a real listener container, so duplicates arrive under new
+ * offsets exactly as they would from a retrying producer.
+ */
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.enable-auto-commit=false",
+        "app.kafka.retry.max-attempts=1"
+})
+@EmbeddedKafka(partitions = 1, topics = IdempotentBatchProcessorKafkaTest.TOPIC)
+class IdempotentBatchProcessorKafkaTest {
+
+    static final String TOPIC = "idempotency.test";
+    private static final String GROUP_ID = "idempotency-test-group";
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private EventCodecRegistry registry;
+
+    @Autowired
+    private AppliedEvents applied;
+
+    private DefaultKafkaProducerFactory<String, EventEnvelope<?>> producerFactory;
+    private KafkaTemplate<String, EventEnvelope<?>> kafkaTemplate;
+
+    @BeforeEach
+    void setUp() {
+        producerFactory = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(broker),
+                new StringSerializer(), new EventEnvelopeSerializer(registry));
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void republishedEventIsAppliedOnce() throws Exception {
+        EventEnvelope<UserCreated> first = EventEnvelope.of(UserCreated.CODEC, "1", new UserCreated(1L, "a@example.com"));
+        // Same payload, but a separate event: must not be mistaken for a copy
+        EventEnvelope<UserCreated> second = EventEnvelope.of(UserCreated.CODEC, "1", new UserCreated(1L, "a@example.com"));
+        EventEnvelope<UserCreated> third = EventEnvelope.of(UserCreated.CODEC, "2", new UserCreated(2L, "b@example.com"));
+
+        send(first);
+        // A producer retry or outbox resend: same event id, new offset
+        send(first);
+        sendUnreadable();
+        send(second);
+        send(third);
+
+        awaitApplied(3);
+        // Give a wrongly applied duplicate time to show up
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        assertThat(applied.eventIds).containsExactly(first.id(), second.id(), third.id());
+    }
+
+    private void send(EventEnvelope<?> envelope) throws Exception {
+        kafkaTemplate.send(TOPIC, envelope.key(), envelope).get(10, TimeUnit.SECONDS);
+    }
+
+    // A record that is not an envelope must be skipped, not block the partition
+    private void sendUnreadable() throws Exception {
+        DefaultKafkaProducerFactory<String, byte[]> rawFactory = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new ByteArraySerializer());
+        try {
+            new KafkaTemplate<>(rawFactory).send(TOPIC, "x", "not an envelope".getBytes(StandardCharsets.UTF_8))
+                    .get(10, TimeUnit.SECONDS);
+        } finally {
+            rawFactory.destroy();
+        }
+    }
+
+    private void awaitApplied(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (applied.eventIds.size() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    static class AppliedEvents {
+        final List<Object> eventIds = new CopyOnWriteArrayList<>();
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        AppliedEvents appliedEvents() {
+            return new AppliedEvents();
+        }
+
+        @Bean
+        TestListener testListener(IdempotentBatchProcessor batchProcessor, AppliedEvents appliedEvents) {
+            return new TestListener(batchProcessor, appliedEvents);
+        }
+    }
+
+    static class TestListener {
+        private final IdempotentBatchProcessor batchProcessor;
+        private final AppliedEvents appliedEvents;
+
+        TestListener(IdempotentBatchProcessor batchProcessor, AppliedEvents appliedEvents) {
+            this.batchProcessor = batchProcessor;
+            this.appliedEvents = appliedEvents;
+        }
+
+        @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = "batchKafkaListenerContainerFactory")
+        void onEvents(List<ConsumerRecord<String, EventEnvelope<?>>> records, Acknowledgment ack) {
+            batchProcessor.process(GROUP_ID, records, envelope -> appliedEvents.eventIds.add(envelope.id()));
+            ack.acknowledge();
+        }
+    }
+}
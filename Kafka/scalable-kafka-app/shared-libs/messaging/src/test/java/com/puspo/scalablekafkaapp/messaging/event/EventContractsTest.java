@@ -0,0 +1,55 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import com.puspo.scalablekafkaapp.messaging.event.contract.EventContracts;
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import com.puspo.scalablekafkaapp.messaging.event.contract.LineItem;
+import com.puspo.scalablekafkaapp.messaging.event.contract.OrderCreated;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserCreated;
+import com.puspo.scalablekafkaapp.messaging.event.contract.UserDeleted;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventContractsTest {
+
+    private final EventCodecRegistry registry = EventContracts.registry();
+    private final EventEnvelopeSerializer serializer = new EventEnvelopeSerializer(registry);
+    private final EventEnvelopeDeserializer deserializer = new EventEnvelopeDeserializer(registry);
+
+    @Test
+    void orderCreatedRoundTrip() {
+        assertRoundTrip(EventEnvelope.of(OrderCreated.CODEC, "sku-1",
+                new OrderCreated(7L, null, List.of(new LineItem("sku-1", 2), new LineItem("sku-2", 1)))));
+    }
+
+    @Test
+    void orderCreatedWithoutItemsRoundTrip() {
+        assertRoundTrip(EventEnvelope.of(OrderCreated.CODEC, "sku-1", new OrderCreated(7L, 3L, null)));
+    }
+
+    @Test
+    void inventoryRejectedRoundTrip() {
+        assertRoundTrip(EventEnvelope.of(InventoryRejected.CODEC, "7",
+                new InventoryRejected(7L, 3L, "Unknown product sku-9", List.of(new LineItem("sku-9", 1)))));
+    }
+
+    @Test
+    void userEventsRoundTrip() {
+        assertRoundTrip(EventEnvelope.of(UserCreated.CODEC, "3", new UserCreated(3L, "user@example.com")));
+        assertRoundTrip(EventEnvelope.of(UserDeleted.CODEC, "3", new UserDeleted(3L)));
+    }
+
+    @Test
+    void payloadAsRejectsAnotherEventType() {
+        EventEnvelope<UserDeleted> envelope = EventEnvelope.of(UserDeleted.CODEC, "3", new UserDeleted(3L));
+
+        assertThrows(IllegalArgumentException.class, () -> envelope.payloadAs(UserCreated.class));
+    }
+
+    private void assertRoundTrip(EventEnvelope<?> envelope) {
+        assertEquals(envelope, deserializer.deserialize(envelope.type(), serializer.serialize(envelope.type(), envelope)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventEnvelopeSerializerTest {
+
+    private final SampleOrderCreated.Codec codec = new SampleOrderCreated.Codec(2);
+    private final EventCodecRegistry registry = new EventCodecRegistry().register(codec);
+    private final EventEnvelopeDeserializer deserializer = new EventEnvelopeDeserializer(registry);
+
+    private final SampleOrderCreated order = new SampleOrderCreated(42L, -7L,
+            List.of(new SampleOrderCreated.Line("sku-1", 3, 9.99), new SampleOrderCreated.Line("skü-2", 1, 0.5)),
+            "gift");
+
+    @Test
+    void binaryRoundTrip() {
+        EventEnvelope<SampleOrderCreated> envelope = EventEnvelope.of(codec, "sku-1", order);
+
+        byte[] bytes = new EventEnvelopeSerializer(registry).serialize("order.created", envelope);
+
+        assertEquals(envelope, deserializer.deserialize("order.created", bytes));
+    }
+
+    @Test
+    void jsonRoundTrip() {
+        EventEnvelope<SampleOrderCreated> envelope = EventEnvelope.of(codec, "sku-1", order);
+
+        byte[] bytes = new EventEnvelopeSerializer(registry, EventFormat.JSON, new ObjectMapper())
+                .serialize("order.created", envelope);
+
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("\"type\":\"order.created\""));
+        assertEquals(envelope, deserializer.deserialize("order.created", bytes));
+    }
+
+    @Test
+    void newerReaderAcceptsOlderSchemaVersion() {
+        SampleOrderCreated.Codec v1 = new SampleOrderCreated.Codec(1);
+        EventCodecRegistry oldRegistry = new EventCodecRegistry().register(v1);
+        byte[] bytes = new EventEnvelopeSerializer(oldRegistry).serialize("order.created",
+                EventEnvelope.of(v1, "sku-1", order));
+
+        EventEnvelope<?> read = deserializer.deserialize("order.created", bytes);
+
+        assertEquals(1, read.schemaVersion());
+        assertNull(((SampleOrderCreated) read.payload()).note());
+        assertEquals(order.items(), ((SampleOrderCreated) read.payload()).items());
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() {
+        EventEnvelope<SampleOrderCreated> envelope = EventEnvelope.of(codec, "sku-1", order);
+
+        byte[] binary = new EventEnvelopeSerializer(registry).serialize("order.created", envelope);
+        byte[] json = new EventEnvelopeSerializer(registry, EventFormat.JSON, new ObjectMapper())
+                .serialize("order.created", envelope);
+
+        assertTrue(binary.length < json.length / 2, binary.length + " vs " + json.length);
+    }
+
+    @Test
+    void tombstonesStayNull() {
+        assertNull(new EventEnvelopeSerializer(registry).serialize("order.created", null));
+        assertNull(deserializer.deserialize("order.created", null));
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownInput() {
+        byte[] bytes = new EventEnvelopeSerializer(registry).serialize("order.created",
+                EventEnvelope.of(codec, "sku-1", order));
+        byte[] truncated = new byte[bytes.length - 3];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("order.created", truncated));
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("order.created", "42:7".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(SerializationException.class,
+                () -> new EventEnvelopeDeserializer(new EventCodecRegistry()).deserialize("order.created", bytes));
+    }
+
+    @Test
+    void varintsRoundTripAtTheEdges() {
+        long[] values = {0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        EventWriter out = new EventWriter(4);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+        out.writeString(null).writeString("").writeBytes(new byte[]{1, 2, 3});
+
+        EventReader in = new EventReader(out.toByteArray());
+        for (long value : values) {
+            assertEquals(value, in.readLong());
+        }
+        assertNull(in.readString());
+        assertEquals("", in.readString());
+        assertArrayEquals(new byte[]{1, 2, 3}, in.readBytes());
+    }
+}
@@ -0,0 +1,99 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Payload size and serialize/deserialize cost of the binary envelope against the JSON paths
+ * in use today (a shared ObjectMapper, and a new ObjectMapper per message as in the hospital
+ * prescription producer/consumer). Excluded from the normal build; run with:
+ * mvn test -Dbenchmark.excludedGroups= -Dgroups=benchmark -Dtest=EventSerializationBenchmark
+ */
+@Tag("benchmark")
+class EventSerializationBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+    private static final int WARMUP_ITERATIONS = 50_000;
+
+    private final SampleOrderCreated.Codec codec = new SampleOrderCreated.Codec(2);
+    private final EventCodecRegistry registry = new EventCodecRegistry().register(codec);
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+
+    // Keeps results reachable so the JIT cannot drop the work
+    private long sink;
+
+    @Test
+    void compareFormats() {
+        List<SampleOrderCreated.Line> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(new SampleOrderCreated.Line("sku-" + i, i + 1, 19.99 * (i + 1)));
+        }
+        EventEnvelope<SampleOrderCreated> envelope = EventEnvelope.of(codec, "sku-0",
+                new SampleOrderCreated(1_234_567L, 89_012L, lines, null));
+
+        EventEnvelopeSerializer binarySerializer = new EventEnvelopeSerializer(registry);
+        EventEnvelopeSerializer jsonSerializer = new EventEnvelopeSerializer(registry, EventFormat.JSON, sharedMapper);
+        EventEnvelopeDeserializer deserializer = new EventEnvelopeDeserializer(registry, sharedMapper);
+
+        System.out.printf("%n%-22s %8s %14s %14s%n", "format", "bytes", "serialize ns", "deserialize ns");
+        report("binary envelope", envelope,
+                e -> binarySerializer.serialize("bench", e), b -> deserializer.deserialize("bench", b));
+        report("json envelope", envelope,
+                e -> jsonSerializer.serialize("bench", e), b -> deserializer.deserialize("bench", b));
+        report("json, shared mapper", envelope.payload(),
+                p -> writeJson(sharedMapper, p), b -> readJson(sharedMapper, b));
+        report("json, mapper per call", envelope.payload(),
+                p -> writeJson(new ObjectMapper(), p), b -> readJson(new ObjectMapper(), b));
+    }
+
+    private <T> void report(String name, T value, Function<T, byte[]> serialize, Function<byte[], Object> deserialize) {
+        byte[] bytes = serialize.apply(value);
+        run(value, serialize, deserialize, bytes, WARMUP_ITERATIONS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serialize.apply(value).length;
+        }
+        long serializeNs = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += deserialize.apply(bytes).hashCode();
+        }
+        long deserializeNs = (System.nanoTime() - start) / ITERATIONS;
+
+        System.out.printf("%-22s %8d %14d %14d%n", name, bytes.length, serializeNs, deserializeNs);
+    }
+
+    private <T> void run(T value, Function<T, byte[]> serialize, Function<byte[], Object> deserialize,
+                         byte[] bytes, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            sink += serialize.apply(value).length;
+            sink += deserialize.apply(bytes).hashCode();
+        }
+    }
+
+    private static byte[] writeJson(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object readJson(ObjectMapper mapper, byte[] bytes) {
+        try {
+            return mapper.readValue(bytes, SampleOrderCreated.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.puspo.scalablekafkaapp.messaging.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test event shaped like order.created, with a v1 -> v2 change (note added in v2).
+ */
+record SampleOrderCreated(long orderId, long userId, List<Line> items, String note) {
+
+    record Line(String sku, int quantity, double price) {
+    }
+
+    static final class Codec implements EventCodec<SampleOrderCreated> {
+
+        private final int schemaVersion;
+
+        Codec(int schemaVersion) {
+            this.schemaVersion = schemaVersion;
+        }
+
+        @Override
+        public String type() {
+            return "order.created";
+        }
+
+        @Override
+        public int schemaVersion() {
+            return schemaVersion;
+        }
+
+        @Override
+        public Class<SampleOrderCreated> payloadType() {
+            return SampleOrderCreated.class;
+        }
+
+        @Override
+        public void write(SampleOrderCreated payload, EventWriter out) {
+            out.writeLong(payload.orderId()).writeLong(payload.userId()).writeInt(payload.items().size());
+            for (Line line : payload.items()) {
+                out.writeString(line.sku()).writeInt(line.quantity()).writeDouble(line.price());
+            }
+            if (schemaVersion >= 2) {
+                out.writeString(payload.note());
+            }
+        }
+
+        @Override
+        public SampleOrderCreated read(EventReader in, int writtenVersion) {
+            long orderId = in.readLong();
+            long userId = in.readLong();
+            int count = in.readInt();
+            List<Line> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(new Line(in.readString(), in.readInt(), in.readDouble()));
+            }
+            String note = writtenVersion >= 2 ? in.readString() : null;
+            return new SampleOrderCreated(orderId, userId, items, note);
+        }
+    }
+}
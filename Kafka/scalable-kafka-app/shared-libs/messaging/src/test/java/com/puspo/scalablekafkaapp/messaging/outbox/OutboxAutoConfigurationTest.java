@@ -0,0 +1,61 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OutboxAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            // Converts app.outbox.retention to a Duration, as in a Spring Boot application
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(OutboxAutoConfiguration.class))
+            .withUserConfiguration(ServiceBeans.class);
+
+    @Test
+    void relay_ShouldNotBeCreated_UnlessEnabled() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(OutboxRelay.class));
+    }
+
+    @Test
+    void relay_ShouldUseTheServicesByteArrayTemplate_WhenEnabled() {
+        contextRunner.withPropertyValues("app.outbox.relay.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(OutboxRelay.class));
+    }
+
+    @Configuration
+    @SuppressWarnings("unchecked")
+    static class ServiceBeans {
+
+        @Bean
+        OutboxStore outboxStore() {
+            return mock(OutboxStore.class);
+        }
+
+        @Bean
+        KafkaTemplate<String, byte[]> kafkaTemplate() {
+            return mock(KafkaTemplate.class);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return mock(PlatformTransactionManager.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
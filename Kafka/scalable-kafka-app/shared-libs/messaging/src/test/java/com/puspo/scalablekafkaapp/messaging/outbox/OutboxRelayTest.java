@@ -0,0 +1,154 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class OutboxRelayTest {
+
+    private OutboxStore store;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(OutboxStore.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        relay = new OutboxRelay(store, kafkaTemplate, transactionManager, new SimpleMeterRegistry(),
+                100, 500, Duration.ofDays(1));
+    }
+
+    @Test
+    void relayBatch_ShouldLeaveLaterRowsOfAKeyPending_WhenAnEarlierSendFails() {
+        OutboxEvent first = event(1L, "order-1", "created");
+        OutboxEvent other = event(2L, "order-2", "created");
+        OutboxEvent second = event(3L, "order-1", "cancelled");
+        givenBatch(first, other, second);
+        when(kafkaTemplate.send(record("order-1", "created")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(record("order-2", "created"))).thenReturn(acknowledged());
+        when(kafkaTemplate.send(record("order-1", "cancelled"))).thenReturn(acknowledged());
+
+        int sent = relay.relayBatch();
+
+        // Acknowledged, but marking it would leave "created" to be resent after "cancelled"
+        assertThat(sent).isEqualTo(1);
+        verify(store).markPublished(eq(List.of(2L)), any());
+    }
+
+    @Test
+    void relayBatch_ShouldSendRowsOfTheSameKeyBackToBack_AndFlushOnce() {
+        OutboxEvent first = event(1L, "order-1", "created");
+        OutboxEvent second = event(2L, "order-1", "cancelled");
+        givenBatch(first, second);
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> secondAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(record("order-1", "created"))).thenReturn(firstAck);
+        when(kafkaTemplate.send(record("order-1", "cancelled"))).thenReturn(secondAck);
+
+        CompletableFuture<Integer> sent = CompletableFuture.supplyAsync(relay::relayBatch);
+        // Both records are handed to the producer before either is acknowledged
+        verify(kafkaTemplate, timeout(5_000)).send(record("order-1", "cancelled"));
+        verify(kafkaTemplate, timeout(5_000)).flush();
+        firstAck.complete(null);
+        secondAck.complete(null);
+
+        assertThat(sent.join()).isEqualTo(2);
+        InOrder order = inOrder(kafkaTemplate);
+        order.verify(kafkaTemplate).send(record("order-1", "created"));
+        order.verify(kafkaTemplate).send(record("order-1", "cancelled"));
+        verify(kafkaTemplate, times(1)).flush();
+        verify(store).markPublished(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void relayBatch_ShouldLeaveUnacknowledgedRowsPending_WhenTheDeadlinePasses() {
+        OutboxEvent slow = event(1L, "order-1", "created");
+        OutboxEvent fast = event(2L, "order-2", "created");
+        givenBatch(slow, fast);
+        when(kafkaTemplate.send(record("order-1", "created"))).thenReturn(new CompletableFuture<>());
+        when(kafkaTemplate.send(record("order-2", "created"))).thenReturn(acknowledged());
+
+        int sent = relay.relayBatch();
+
+        assertThat(sent).isEqualTo(1);
+        verify(store).markPublished(eq(List.of(2L)), any());
+    }
+
+    @Test
+    void relayBatch_ShouldNotMarkAnything_WhenEverySendFails() {
+        givenBatch(event(1L, "order-1", "created"));
+        when(kafkaTemplate.send(record("order-1", "created")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThat(relay.relayBatch()).isZero();
+        verify(store, never()).markPublished(anyCollection(), any());
+    }
+
+    @Test
+    void relayBatch_ShouldSendTheRowsEventId_SoResendsCanBeDeduplicated() {
+        OutboxEvent event = event(1L, "order-1", "created");
+        givenBatch(event);
+        when(kafkaTemplate.send(record("order-1", "created"))).thenReturn(acknowledged());
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate).send(argThat((ProducerRecord<String, byte[]> sent) ->
+                event.getEventId().equals(new String(sent.headers().lastHeader(EventHeaders.EVENT_ID).value(),
+                        StandardCharsets.UTF_8))));
+    }
+
+    private void givenBatch(OutboxEvent... events) {
+        List<Long> ids = Arrays.stream(events).map(OutboxEvent::getId).toList();
+        when(store.findUnpublishedIds(anyInt())).thenReturn(ids);
+        when(store.lockUnpublished(anyList())).thenReturn(List.of(events));
+    }
+
+    private static OutboxEvent event(long id, String key, String payload) {
+        OutboxEvent event = new OutboxEvent(UUID.randomUUID().toString(), "orders", key, payload.getBytes(StandardCharsets.UTF_8));
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    private static ProducerRecord<String, byte[]> record(String key, String value) {
+        return argThat(sent -> sent != null && key.equals(sent.key())
+                && Arrays.equals(value.getBytes(StandardCharsets.UTF_8), sent.value()));
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> acknowledged() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
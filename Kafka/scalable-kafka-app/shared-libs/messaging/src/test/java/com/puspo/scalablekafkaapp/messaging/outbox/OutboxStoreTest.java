@@ -0,0 +1,94 @@
+package com.puspo.scalablekafkaapp.messaging.outbox;
+
+import com.puspo.scalablekafkaapp.messaging.event.EventEnvelope;
+import com.puspo.scalablekafkaapp.messaging.event.contract.InventoryRejected;
+import com.puspo.scalablekafkaapp.messaging.event.contract.LineItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OutboxStoreTest {
+
+    @Autowired
+    private OutboxStore outboxStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Empty the table: publish whatever is left, then purge everything published
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxStore.findUnpublishedIds(Integer.MAX_VALUE);
+            if (!ids.isEmpty()) {
+                outboxStore.markPublished(ids, now);
+            }
+            outboxStore.deletePublishedBefore(now.plusDays(1));
+        });
+    }
+
+    @Test
+    void append_ShouldWriteNothing_WhenTheCallersTransactionRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxStore.append(rejected(1L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(countUnpublished()).isZero();
+    }
+
+    @Test
+    void append_ShouldStoreTheEncodedEnvelopeUnderItsTypeKeyAndId() {
+        EventEnvelope<InventoryRejected> envelope = rejected(2L);
+        transactionTemplate.executeWithoutResult(status -> outboxStore.append(envelope));
+
+        List<OutboxEvent> events = transactionTemplate.execute(status ->
+                outboxStore.lockUnpublished(outboxStore.findUnpublishedIds(10)));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getEventId()).isEqualTo(envelope.id().toString());
+            assertThat(event.getTopic()).isEqualTo("inventory.rejected");
+            assertThat(event.getAggregateKey()).isEqualTo("2");
+            assertThat(event.getPayload()).isNotEmpty();
+        });
+    }
+
+    @Test
+    void markPublished_ShouldTakeRowsOutOfTheBacklog() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxStore.append(rejected(3L));
+            outboxStore.append(rejected(4L));
+        });
+        List<Long> ids = transactionTemplate.execute(status -> outboxStore.findUnpublishedIds(10));
+        assertThat(ids).hasSize(2);
+
+        transactionTemplate.executeWithoutResult(status -> outboxStore.markPublished(ids.subList(0, 1), LocalDateTime.now()));
+
+        List<Long> remaining = transactionTemplate.execute(status -> outboxStore.findUnpublishedIds(10));
+        assertThat(remaining).containsExactly(ids.get(1));
+        assertThat(countUnpublished()).isEqualTo(1);
+    }
+
+    private long countUnpublished() {
+        Long count = transactionTemplate.execute(status -> outboxStore.countUnpublished());
+        return count == null ? 0 : count;
+    }
+
+    private static EventEnvelope<InventoryRejected> rejected(long orderId) {
+        return EventEnvelope.of(InventoryRejected.CODEC, String.valueOf(orderId),
+                new InventoryRejected(orderId, 7L, "Insufficient stock", List.of(new LineItem("sku-1", 2))));
+    }
+}
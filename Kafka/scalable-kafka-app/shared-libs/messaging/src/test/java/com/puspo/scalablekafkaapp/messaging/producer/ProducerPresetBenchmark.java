@@ -0,0 +1,102 @@
+package com.puspo.scalablekafkaapp.messaging.producer;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Producer throughput and send latency per preset, against an embedded broker.
+ * Excluded from the normal build; run with:
+ * mvn test -Dbenchmark.excludedGroups= -Dgroups=benchmark [-Dbenchmark.records=200000 -Dbenchmark.payload-bytes=512]
+ *
+ * Send latency is measured from send() to the acknowledgement callback, so it includes the
+ * time a record waits in the accumulator for linger.ms.
+ */
+@Tag("benchmark")
+@EmbeddedKafka(partitions = 3, topics = ProducerPresetBenchmark.TOPIC)
+class ProducerPresetBenchmark {
+
+    static final String TOPIC = "producer-benchmark";
+
+    private static final int RECORDS = Integer.getInteger("benchmark.records", 200_000);
+    private static final int PAYLOAD_BYTES = Integer.getInteger("benchmark.payload-bytes", 512);
+    private static final int WARMUP_RECORDS = 10_000;
+    private static final int KEYS = 1_000;
+
+    @Test
+    void comparePresets(EmbeddedKafkaBroker broker) {
+        byte[] payload = new byte[PAYLOAD_BYTES];
+        // Half random, half repeated: roughly as compressible as JSON events
+        ThreadLocalRandom.current().nextBytes(payload);
+        Arrays.fill(payload, PAYLOAD_BYTES / 2, PAYLOAD_BYTES, (byte) 'a');
+
+        System.out.printf("%n%-12s %12s %10s %10s %10s%n", "preset", "records/s", "p50 ms", "p99 ms", "max ms");
+        for (ProducerPreset preset : ProducerPreset.values()) {
+            Result result = run(broker.getBrokersAsString(), preset, payload);
+            assertEquals(0, result.errors(), "send failures for " + preset);
+            System.out.printf("%-12s %12.0f %10.2f %10.2f %10.2f%n", preset, result.recordsPerSecond(),
+                    result.p50Ms(), result.p99Ms(), result.maxMs());
+        }
+    }
+
+    private Result run(String bootstrapServers, ProducerPreset preset, byte[] payload) {
+        ProducerProfileProperties profile = new ProducerProfileProperties();
+        profile.setPreset(preset);
+        Map<String, Object> config = profile.toProducerConfig();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(config)) {
+            send(producer, payload, WARMUP_RECORDS, new long[WARMUP_RECORDS], new AtomicLong());
+
+            long[] latencies = new long[RECORDS];
+            AtomicLong errors = new AtomicLong();
+            long start = System.nanoTime();
+            send(producer, payload, RECORDS, latencies, errors);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(RECORDS * 1e9 / elapsed,
+                    percentileMs(latencies, 0.50), percentileMs(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1e6, errors.get());
+        }
+    }
+
+    private static void send(KafkaProducer<String, byte[]> producer, byte[] payload, int count,
+                             long[] latencies, AtomicLong errors) {
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            producer.send(new ProducerRecord<>(TOPIC, "key-" + (i % KEYS), payload), (metadata, exception) -> {
+                latencies[index] = System.nanoTime() - sentAt;
+                if (exception != null) {
+                    errors.incrementAndGet();
+                }
+            });
+        }
+        // Callbacks for every record have run once flush returns
+        producer.flush();
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(double recordsPerSecond, double p50Ms, double p99Ms, double maxMs, long errors) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.puspo.scalablekafkaapp.videoshare.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UploadWorkerConfig {
+
+    /**
+     * Workers that send spooled uploads to Cloudinary. The queue is bounded: when it is full new
+     * async uploads are refused with 503 instead of piling up temp files.
+     */
+    @Bean(name = "uploadExecutor")
+    public ThreadPoolTaskExecutor uploadExecutor(@Value("${upload.async.workers:4}") int workers,
+                                                 @Value("${upload.async.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        // Unfinished jobs keep their spool files and are picked up again on the next start
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
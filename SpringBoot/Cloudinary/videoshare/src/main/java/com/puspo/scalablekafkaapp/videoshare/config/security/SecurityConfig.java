@@ -43,6 +43,8 @@ public class SecurityConfig {
                                 "/api/images/**",
                                 "/api/videos/**")
                         .permitAll()
+                        // Async uploads hold spool disk and worker slots until they finish, so they need a token
+                        .requestMatchers("/api/uploads/**").authenticated()
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
@@ -1,17 +1,21 @@
 package com.puspo.scalablekafkaapp.videoshare.controller.media;
 
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaPage;
 import com.puspo.scalablekafkaapp.videoshare.model.Image;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaSort;
 import com.puspo.scalablekafkaapp.videoshare.service.media.ImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/images")
@@ -43,10 +47,19 @@ public class ImageController {
     // return ResponseEntity.ok(imageService.uploadImage(file));
     // }
 
-    @Operation(summary = "Get all images", description = "Retrieve all uploaded images with URLs from MySQL")
+    @Operation(summary = "List images", description = "Cursor-paginated image catalog from MySQL, with optional filters")
     @GetMapping
-    public ResponseEntity<List<Image>> getAllImages() {
-        return ResponseEntity.ok(imageService.getAllImages());
+    public ResponseEntity<MediaPage> listImages(
+            @Parameter(description = "Cursor from the previous page's nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "NEWEST") MediaSort sort,
+            @Parameter(description = "Exact MIME type, e.g. image/png") @RequestParam(required = false) String contentType,
+            @RequestParam(required = false) Long minSize,
+            @RequestParam(required = false) Long maxSize,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime uploadedAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime uploadedBefore) {
+        MediaFilter filter = new MediaFilter(contentType, minSize, maxSize, uploadedAfter, uploadedBefore);
+        return ResponseEntity.ok(imageService.listImages(filter, sort, cursor, limit));
     }
 
     // single file upload
@@ -0,0 +1,52 @@
+package com.puspo.scalablekafkaapp.videoshare.controller.media;
+
+import com.puspo.scalablekafkaapp.videoshare.dto.UploadJobResponse;
+import com.puspo.scalablekafkaapp.videoshare.model.UploadJob;
+import com.puspo.scalablekafkaapp.videoshare.service.media.UploadJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Async Upload API", description = "Queue image and video uploads and follow their progress")
+public class UploadJobController {
+
+    private final UploadJobService uploadJobService;
+
+    @PostMapping(value = "/images", consumes = "multipart/form-data")
+    @Operation(summary = "Queue image upload", description = "Accepts the file and uploads it to Cloudinary in the background. Returns 202 with the job id")
+    public ResponseEntity<UploadJobResponse> uploadImage(
+            @Parameter(description = "Upload file", required = true) @RequestParam("file") MultipartFile file) {
+        return accepted(uploadJobService.submit(file, UploadJob.MediaType.IMAGE));
+    }
+
+    @PostMapping(value = "/videos", consumes = "multipart/form-data")
+    @Operation(summary = "Queue video upload", description = "Accepts the file and uploads it to Cloudinary in the background. Returns 202 with the job id")
+    public ResponseEntity<UploadJobResponse> uploadVideo(
+            @Parameter(description = "Upload file", required = true) @RequestParam("file") MultipartFile file) {
+        return accepted(uploadJobService.submit(file, UploadJob.MediaType.VIDEO));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get upload job", description = "Status and progress of a queued upload")
+    public ResponseEntity<UploadJobResponse> getJob(
+            @Parameter(description = "Job id returned by the upload", required = true) @PathVariable String jobId) {
+        return uploadJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(UploadJobResponse.from(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<UploadJobResponse> accepted(UploadJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/uploads/" + job.getId()))
+                .body(UploadJobResponse.from(job));
+    }
+}
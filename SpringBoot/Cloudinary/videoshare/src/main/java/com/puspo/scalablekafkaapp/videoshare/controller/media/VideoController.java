@@ -1,6 +1,9 @@
 package com.puspo.scalablekafkaapp.videoshare.controller.media;
 
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaPage;
 import com.puspo.scalablekafkaapp.videoshare.model.Video;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaSort;
 import com.puspo.scalablekafkaapp.videoshare.service.media.VideoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,11 +13,13 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -41,10 +46,19 @@ public class VideoController {
         }
     }
 
-    @Operation(summary = "Get all videos", description = "Retrieve all uploaded videos with URLs from MySQL")
+    @Operation(summary = "List videos", description = "Cursor-paginated video catalog from MySQL, with optional filters")
     @GetMapping
-    public ResponseEntity<Iterable<Video>> getAllVideos() {
-        return ResponseEntity.ok(videoShare.getAllVideos());
+    public ResponseEntity<MediaPage> listVideos(
+            @Parameter(description = "Cursor from the previous page's nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "NEWEST") MediaSort sort,
+            @Parameter(description = "Exact MIME type, e.g. video/mp4") @RequestParam(required = false) String contentType,
+            @RequestParam(required = false) Long minSize,
+            @RequestParam(required = false) Long maxSize,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime uploadedAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime uploadedBefore) {
+        MediaFilter filter = new MediaFilter(contentType, minSize, maxSize, uploadedAfter, uploadedBefore);
+        return ResponseEntity.ok(videoShare.listVideos(filter, sort, cursor, limit));
     }
 
     @Operation(summary = "Delete video", description = "Delete a video from Cloudinary and MySQL database")
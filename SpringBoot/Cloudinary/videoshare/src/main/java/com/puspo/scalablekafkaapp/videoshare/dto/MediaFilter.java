@@ -0,0 +1,19 @@
+package com.puspo.scalablekafkaapp.videoshare.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional catalog filters; null fields are not applied.
+ */
+public record MediaFilter(
+        String contentType,
+        Long minSize,
+        Long maxSize,
+        LocalDateTime uploadedAfter,
+        LocalDateTime uploadedBefore) {
+
+    public boolean isEmpty() {
+        return contentType == null && minSize == null && maxSize == null
+                && uploadedAfter == null && uploadedBefore == null;
+    }
+}
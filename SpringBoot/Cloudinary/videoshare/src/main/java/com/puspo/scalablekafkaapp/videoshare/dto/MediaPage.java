@@ -0,0 +1,12 @@
+package com.puspo.scalablekafkaapp.videoshare.dto;
+
+import java.util.List;
+
+/**
+ * One page of a catalog listing.
+ *
+ * @param nextCursor    pass as "cursor" to get the next page; null on the last page
+ * @param totalEstimate approximate number of matching items, only returned with the first page
+ */
+public record MediaPage(List<MediaSummary> items, String nextCursor, Long totalEstimate) {
+}
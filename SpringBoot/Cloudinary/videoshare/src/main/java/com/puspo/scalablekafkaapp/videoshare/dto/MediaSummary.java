@@ -0,0 +1,17 @@
+package com.puspo.scalablekafkaapp.videoshare.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog row for images and videos: only the columns a listing shows, selected directly
+ * instead of loading full entities (tags, description and counters are left out).
+ */
+public record MediaSummary(
+        Long id,
+        String name,
+        String url,
+        String publicId,
+        String mimeType,
+        Long fileSize,
+        LocalDateTime createdAt) {
+}
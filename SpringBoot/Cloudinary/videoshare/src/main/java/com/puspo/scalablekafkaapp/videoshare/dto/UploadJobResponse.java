@@ -0,0 +1,33 @@
+package com.puspo.scalablekafkaapp.videoshare.dto;
+
+import com.puspo.scalablekafkaapp.videoshare.model.UploadJob;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an async upload, as returned by the 202 response and the job status endpoint.
+ */
+public record UploadJobResponse(
+        String jobId,
+        UploadJob.MediaType mediaType,
+        UploadJob.Status status,
+        String originalName,
+        Long fileSize,
+        Long bytesUploaded,
+        Integer progressPercent,
+        Long mediaId,
+        String url,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static UploadJobResponse from(UploadJob job) {
+        Integer percent = null;
+        if (job.getFileSize() != null && job.getFileSize() > 0 && job.getBytesUploaded() != null) {
+            percent = (int) Math.min(100, job.getBytesUploaded() * 100 / job.getFileSize());
+        }
+        return new UploadJobResponse(job.getId(), job.getMediaType(), job.getStatus(), job.getOriginalName(),
+                job.getFileSize(), job.getBytesUploaded(), percent, job.getMediaId(), job.getUrl(),
+                job.getErrorMessage(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.puspo.scalablekafkaapp.videoshare.exception;
+
+public class UploadQueueFullException extends RuntimeException {
+    public UploadQueueFullException(String message) {
+        super(message);
+    }
+}
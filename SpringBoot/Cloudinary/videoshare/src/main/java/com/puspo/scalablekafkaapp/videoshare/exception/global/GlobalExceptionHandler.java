@@ -2,6 +2,7 @@ package com.puspo.scalablekafkaapp.videoshare.exception.global;
 
 import com.puspo.scalablekafkaapp.videoshare.exception.CloudinaryException;
 import com.puspo.scalablekafkaapp.videoshare.exception.FileValidationException;
+import com.puspo.scalablekafkaapp.videoshare.exception.UploadQueueFullException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -58,6 +59,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(UploadQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleUploadQueueFullException(UploadQueueFullException ex) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Upload Queue Full")
+                .message(ex.getMessage())
+                .path("/api/uploads")
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "30").body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
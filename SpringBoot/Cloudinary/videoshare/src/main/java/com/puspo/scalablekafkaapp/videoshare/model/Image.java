@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 @Table(name = "images", indexes = { // this is the table name and the indexes for the image table
         @Index(name = "idx_public_id", columnList = "publicId"), // this is the index for the publicId column which is unique and used to identify the image
         @Index(name = "idx_upload_date", columnList = "createdAt"), // this is the index for the createdAt column which is used to sort the images by upload date
-        @Index(name = "idx_file_type", columnList = "fileType") // this is the index for the fileType column which is used to sort the images by file type
+        @Index(name = "idx_file_type", columnList = "fileType"), // this is the index for the fileType column which is used to sort the images by file type
+        @Index(name = "idx_mime_type_upload_date", columnList = "mimeType, createdAt"), // catalog filtered by content type, newest first
+        @Index(name = "idx_file_size", columnList = "fileSize") // catalog sorted or filtered by size
 })
 @Data
 @AllArgsConstructor
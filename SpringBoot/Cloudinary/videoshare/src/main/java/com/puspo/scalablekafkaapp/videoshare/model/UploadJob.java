@@ -0,0 +1,82 @@
+package com.puspo.scalablekafkaapp.videoshare.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An upload accepted by the async endpoints: the file is spooled to disk and sent to
+ * Cloudinary by a worker, and this row tracks it until the Image/Video is saved.
+ */
+@Entity
+@Table(name = "upload_jobs", indexes = {
+        @Index(name = "idx_upload_job_status", columnList = "status")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UploadJob {
+
+    public enum MediaType {
+        IMAGE, VIDEO
+    }
+
+    public enum Status {
+        QUEUED, UPLOADING, COMPLETED, FAILED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_type", nullable = false, length = 10)
+    private MediaType mediaType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private Status status;
+
+    @Column(name = "original_name", nullable = false)
+    private String originalName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "bytes_uploaded")
+    @Builder.Default
+    private Long bytesUploaded = 0L;
+
+    @Column(name = "spool_path", length = 1000)
+    private String spoolPath; // temp file holding the upload until a worker has sent it
+
+    @Column(name = "media_id")
+    private Long mediaId; // id of the saved Image or Video
+
+    @Column(name = "public_id")
+    private String publicId;
+
+    @Column(name = "url", length = 500)
+    private String url;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 @Table(name = "videos", indexes = {
         @Index(name = "idx_video_public_id", columnList = "publicId"),
         @Index(name = "idx_video_upload_date", columnList = "createdAt"),
-        @Index(name = "idx_video_file_type", columnList = "fileType")
+        @Index(name = "idx_video_file_type", columnList = "fileType"),
+        @Index(name = "idx_video_mime_type_upload_date", columnList = "mimeType, createdAt"),
+        @Index(name = "idx_video_file_size", columnList = "fileSize")
 })
 @Data
 @AllArgsConstructor
@@ -0,0 +1,143 @@
+package com.puspo.scalablekafkaapp.videoshare.repository;
+
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import jakarta.persistence.Table;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Catalog queries shared by images and videos (both have the MediaSummary columns).
+ * Only the filters that are set end up in the query, so MySQL can use the matching index.
+ */
+@Repository
+public class MediaCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Rows that come after the given position in sort order. Rows without a value in the sort
+     * column (media uploaded before sizes were recorded) come last, ordered by id, so a listing
+     * still returns every item.
+     *
+     * @param afterValue sort column value of the last row already returned (LocalDateTime or
+     *                   Long), or null when that row had none
+     * @param afterId    id of that row, or null for the first page
+     */
+    public List<MediaSummary> findPage(Class<?> entityType, MediaFilter filter, MediaSort sort,
+                                       Object afterValue, Long afterId, int limit) {
+        String column = "m." + sort.property();
+        String op = sort.descending() ? "<" : ">";
+        String direction = sort.descending() ? " desc" : " asc";
+        List<MediaSummary> rows = new ArrayList<>();
+
+        // Rows with a value: a range read on the sort column's index
+        if (afterId == null || afterValue != null) {
+            StringBuilder jpql = selectPage(entityType);
+            Map<String, Object> params = new HashMap<>();
+            appendFilter(jpql, params, filter);
+            jpql.append(" and ").append(column).append(" is not null");
+            if (afterId != null) {
+                jpql.append(" and (").append(column).append(' ').append(op).append(" :afterValue or (")
+                        .append(column).append(" = :afterValue and m.id ").append(op).append(" :afterId))");
+                params.put("afterValue", afterValue);
+                params.put("afterId", afterId);
+            }
+            jpql.append(" order by ").append(column).append(direction).append(", m.id").append(direction);
+            rows.addAll(list(jpql, params, limit));
+        }
+
+        // Then the rows without one, once the others are exhausted
+        if (rows.size() < limit) {
+            StringBuilder jpql = selectPage(entityType);
+            Map<String, Object> params = new HashMap<>();
+            appendFilter(jpql, params, filter);
+            jpql.append(" and ").append(column).append(" is null");
+            if (afterId != null && afterValue == null) {
+                jpql.append(" and m.id ").append(op).append(" :afterId");
+                params.put("afterId", afterId);
+            }
+            jpql.append(" order by m.id").append(direction);
+            rows.addAll(list(jpql, params, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    private static StringBuilder selectPage(Class<?> entityType) {
+        return new StringBuilder("select new ")
+                .append(MediaSummary.class.getName())
+                .append("(m.id, m.name, m.url, m.publicId, m.mimeType, m.fileSize, m.createdAt) from ")
+                .append(entityType.getSimpleName())
+                .append(" m where 1 = 1");
+    }
+
+    private List<MediaSummary> list(StringBuilder jpql, Map<String, Object> params, int limit) {
+        TypedQuery<MediaSummary> query = entityManager.createQuery(jpql.toString(), MediaSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    public long count(Class<?> entityType, MediaFilter filter) {
+        StringBuilder jpql = new StringBuilder("select count(m) from ")
+                .append(entityType.getSimpleName())
+                .append(" m where 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilter(jpql, params, filter);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    /**
+     * Row count from the table statistics (an InnoDB estimate), read without touching the table.
+     * Empty when the database does not provide it.
+     */
+    public Optional<Long> estimateRowCount(Class<?> entityType) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = :table")
+                .setParameter("table", entityType.getAnnotation(Table.class).name());
+        try {
+            List<?> rows = query.getResultList();
+            return rows.isEmpty() || !(rows.get(0) instanceof Number rowCount)
+                    ? Optional.empty()
+                    : Optional.of(rowCount.longValue());
+        } catch (PersistenceException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void appendFilter(StringBuilder jpql, Map<String, Object> params, MediaFilter filter) {
+        if (filter.contentType() != null) {
+            jpql.append(" and m.mimeType = :contentType");
+            params.put("contentType", filter.contentType());
+        }
+        if (filter.minSize() != null) {
+            jpql.append(" and m.fileSize >= :minSize");
+            params.put("minSize", filter.minSize());
+        }
+        if (filter.maxSize() != null) {
+            jpql.append(" and m.fileSize <= :maxSize");
+            params.put("maxSize", filter.maxSize());
+        }
+        if (filter.uploadedAfter() != null) {
+            jpql.append(" and m.createdAt >= :uploadedAfter");
+            params.put("uploadedAfter", filter.uploadedAfter());
+        }
+        if (filter.uploadedBefore() != null) {
+            jpql.append(" and m.createdAt < :uploadedBefore");
+            params.put("uploadedBefore", filter.uploadedBefore());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.puspo.scalablekafkaapp.videoshare.repository;
+
+/**
+ * Catalog orderings. Each sorts on an indexed column with the id as tie-breaker, so a page can
+ * continue from the last row of the previous one (keyset pagination) instead of using OFFSET.
+ */
+public enum MediaSort {
+    NEWEST("createdAt", true),
+    OLDEST("createdAt", false),
+    LARGEST("fileSize", true),
+    SMALLEST("fileSize", false);
+
+    private final String property;
+    private final boolean descending;
+
+    MediaSort(String property, boolean descending) {
+        this.property = property;
+        this.descending = descending;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    public boolean bySize() {
+        return "fileSize".equals(property);
+    }
+}
@@ -0,0 +1,27 @@
+package com.puspo.scalablekafkaapp.videoshare.repository;
+
+import com.puspo.scalablekafkaapp.videoshare.model.UploadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, String> {
+
+    List<UploadJob> findByStatusIn(Collection<UploadJob.Status> statuses);
+
+    // progress updates only touch the counter, not the whole row
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadJob j SET j.bytesUploaded = :bytesUploaded, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int updateProgress(@Param("id") String id,
+                       @Param("bytesUploaded") long bytesUploaded,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+}
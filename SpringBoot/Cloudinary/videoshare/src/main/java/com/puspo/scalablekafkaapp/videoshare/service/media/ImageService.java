@@ -2,16 +2,20 @@ package com.puspo.scalablekafkaapp.videoshare.service.media;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaPage;
 import com.puspo.scalablekafkaapp.videoshare.exception.CloudinaryException;
 import com.puspo.scalablekafkaapp.videoshare.exception.FileValidationException;
 import com.puspo.scalablekafkaapp.videoshare.model.Image;
 import com.puspo.scalablekafkaapp.videoshare.repository.ImageRepository;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaSort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +30,7 @@ public class ImageService {
     private final ImageRepository imageRepository;
     private final FileValidationService fileValidationService;
     private final MetricsService metricsService;
+    private final MediaCatalogService mediaCatalogService;
 
     public Image uploadImage(MultipartFile file) {
         long startTime = System.currentTimeMillis(); // getting the start time of the image upload
@@ -44,29 +49,7 @@ public class ImageService {
             log.info("Image uploaded to Cloudinary successfully: publicId={}",
                     uploadResult.get("public_id"));
 
-            // Extract metadata
-            String publicId = uploadResult.get("public_id").toString();
-            String secureUrl = uploadResult.get("secure_url").toString();
-            Integer width = (Integer) uploadResult.get("width");
-            Integer height = (Integer) uploadResult.get("height");
-            // String format = uploadResult.get("format").toString(); // Not used currently
-
-            // Build image entity
-            Image image = Image.builder()
-                    .name(file.getOriginalFilename())
-                    .url(secureUrl)
-                    .publicId(publicId)
-                    .fileType(fileValidationService.getFileType(file.getContentType()))
-                    .mimeType(file.getContentType())
-                    .fileSize(file.getSize())
-                    .width(width)
-                    .height(height)
-                    .isProcessed(true)
-                    .downloadCount(0L)
-                    .build();
-
-            // Save to database
-            Image savedImage = imageRepository.save(image);
+            Image savedImage = saveImage(uploadResult, file.getOriginalFilename(), file.getContentType(), file.getSize());
 
             // Record metrics
             metricsService.recordImageUpload();
@@ -93,17 +76,55 @@ public class ImageService {
         }
     }
 
+    /**
+     * Sends an already validated image file to Cloudinary and saves it (async uploads).
+     * The SDK streams the file from disk instead of holding it in memory.
+     */
+    public Image storeImage(File file, String originalName, String contentType, long size) throws IOException {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadResult = cloudinary.uploader().upload(file, ObjectUtils.emptyMap());
+        log.info("Image uploaded to Cloudinary successfully: publicId={}", uploadResult.get("public_id"));
+
+        Image savedImage = saveImage(uploadResult, originalName, contentType, size);
+        metricsService.recordImageUpload();
+        return savedImage;
+    }
+
+    private Image saveImage(Map<String, Object> uploadResult, String originalName, String contentType, long size) {
+        // Extract metadata
+        String publicId = uploadResult.get("public_id").toString();
+        String secureUrl = uploadResult.get("secure_url").toString();
+        Integer width = (Integer) uploadResult.get("width");
+        Integer height = (Integer) uploadResult.get("height");
+        // String format = uploadResult.get("format").toString(); // Not used currently
+
+        // Build image entity
+        Image image = Image.builder()
+                .name(originalName)
+                .url(secureUrl)
+                .publicId(publicId)
+                .fileType(fileValidationService.getFileType(contentType))
+                .mimeType(contentType)
+                .fileSize(size)
+                .width(width)
+                .height(height)
+                .isProcessed(true)
+                .downloadCount(0L)
+                .build();
+
+        // Save to database
+        return imageRepository.save(image);
+    }
+
     @Cacheable(value = "images", key = "#id")
     public Optional<Image> getImageById(Long id) {
         log.debug("Fetching image by id: {}", id);
         return imageRepository.findById(id);
     }
 
-    public List<Image> getAllImages() {
-        log.info("Fetching all images");
-        List<Image> images = imageRepository.findAll();
-        log.info("Retrieved {} images", images.size());
-        return images;
+    public MediaPage listImages(MediaFilter filter, MediaSort sort, String cursor, Integer limit) {
+        log.info("Listing images: sort={}, filter={}, limit={}", sort, filter, limit);
+        return mediaCatalogService.page(Image.class, filter, sort, cursor, limit);
     }
 
     public String deleteImage(String publicId) {
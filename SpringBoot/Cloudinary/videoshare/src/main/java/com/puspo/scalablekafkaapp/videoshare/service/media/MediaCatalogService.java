@@ -0,0 +1,132 @@
+package com.puspo.scalablekafkaapp.videoshare.service.media;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaPage;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaSummary;
+import com.puspo.scalablekafkaapp.videoshare.exception.FileValidationException;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaCatalogRepository;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaSort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Cursor-paginated image and video listings.
+ * <p>
+ * The cursor carries the sort value and id of the last row returned, so every page is an index
+ * range read whatever its depth. The total is only computed for the first page: from table
+ * statistics for unfiltered listings of large tables, otherwise with a COUNT that is cached
+ * for catalog.count.ttl-seconds.
+ */
+@Slf4j
+@Service
+public class MediaCatalogService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final MediaCatalogRepository catalogRepository;
+    private final long exactCountBelow;
+    private final Cache<CountKey, Long> counts;
+
+    public MediaCatalogService(MediaCatalogRepository catalogRepository,
+                               @Value("${catalog.count.ttl-seconds:60}") long countTtlSeconds,
+                               @Value("${catalog.count.exact-below:100000}") long exactCountBelow) {
+        this.catalogRepository = catalogRepository;
+        this.exactCountBelow = exactCountBelow;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofSeconds(countTtlSeconds))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public MediaPage page(Class<?> entityType, MediaFilter filter, MediaSort sort, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor, sort, entityType, filter);
+
+        // One extra row tells whether there is a next page
+        List<MediaSummary> rows = catalogRepository.findPage(entityType, filter, sort,
+                after == null ? null : after.value(), after == null ? null : after.id(), pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = Cursor.of(sort, entityType, filter, rows.get(pageSize - 1)).encode();
+        }
+        Long totalEstimate = after == null ? estimateTotal(entityType, filter) : null;
+        log.debug("Catalog page: type={}, sort={}, rows={}", entityType.getSimpleName(), sort, rows.size());
+        return new MediaPage(List.copyOf(rows), nextCursor, totalEstimate);
+    }
+
+    private long estimateTotal(Class<?> entityType, MediaFilter filter) {
+        return counts.get(new CountKey(entityType, filter), key -> {
+            if (filter.isEmpty()) {
+                Optional<Long> estimate = catalogRepository.estimateRowCount(entityType);
+                if (estimate.isPresent() && estimate.get() >= exactCountBelow) {
+                    return estimate.get();
+                }
+            }
+            return catalogRepository.count(entityType, filter);
+        });
+    }
+
+    private record CountKey(Class<?> entityType, MediaFilter filter) {
+    }
+
+    /**
+     * Position after a row: "SORT|value|id|listing", base64url-encoded so clients treat it as
+     * opaque. The value is empty for a row without one. The last part fingerprints the media type
+     * and filters the cursor was issued for: the position only means something within that result
+     * set, so a cursor replayed with other filters is rejected instead of silently skipping rows.
+     */
+    private record Cursor(MediaSort sort, Object value, long id, String listing) {
+
+        static Cursor of(MediaSort sort, Class<?> entityType, MediaFilter filter, MediaSummary row) {
+            return new Cursor(sort, sort.bySize() ? row.fileSize() : row.createdAt(), row.id(),
+                    fingerprint(entityType, filter));
+        }
+
+        String encode() {
+            String raw = sort.name() + "|" + (value == null ? "" : value) + "|" + id + "|" + listing;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, MediaSort sort, Class<?> entityType, MediaFilter filter) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 4 || !sort.name().equals(parts[0])) {
+                    throw new FileValidationException("Cursor does not belong to sort " + sort);
+                }
+                if (!fingerprint(entityType, filter).equals(parts[3])) {
+                    throw new FileValidationException("Cursor does not belong to these filters");
+                }
+                Object value = parts[1].isEmpty() ? null
+                        : sort.bySize() ? (Object) Long.valueOf(parts[1]) : LocalDateTime.parse(parts[1]);
+                return new Cursor(sort, value, Long.parseLong(parts[2]), parts[3]);
+            } catch (FileValidationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new FileValidationException("Invalid cursor", e);
+            }
+        }
+
+        private static String fingerprint(Class<?> entityType, MediaFilter filter) {
+            String canonical = entityType.getSimpleName() + "|" + filter.contentType() + "|" + filter.minSize()
+                    + "|" + filter.maxSize() + "|" + filter.uploadedAfter() + "|" + filter.uploadedBefore();
+            CRC32 crc = new CRC32();
+            crc.update(canonical.getBytes(StandardCharsets.UTF_8));
+            return Long.toHexString(crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.puspo.scalablekafkaapp.videoshare.service.media;
+
+import com.puspo.scalablekafkaapp.videoshare.exception.UploadQueueFullException;
+import com.puspo.scalablekafkaapp.videoshare.model.Image;
+import com.puspo.scalablekafkaapp.videoshare.model.UploadJob;
+import com.puspo.scalablekafkaapp.videoshare.model.Video;
+import com.puspo.scalablekafkaapp.videoshare.repository.UploadJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Async uploads: the request spools the file to disk, saves a QUEUED job and returns; a worker
+ * from the bounded upload pool sends the file to Cloudinary and records the result on the job.
+ * <p>
+ * Files are never read into memory as a whole: images are streamed from the spool file and
+ * videos are sent in chunks with progress stored on the job. Jobs that were still pending when
+ * the application stopped are queued again on startup if their spool file is still there; those
+ * that do not fit in the upload queue stay QUEUED and are handed to the pool as workers free up.
+ */
+@Slf4j
+@Service
+public class UploadJobService {
+
+    private final UploadJobRepository uploadJobRepository;
+    private final FileValidationService fileValidationService;
+    private final ImageService imageService;
+    private final VideoService videoService;
+    private final MetricsService metricsService;
+    private final ThreadPoolTaskExecutor uploadExecutor;
+    private final Path spoolDir;
+    // IDs of resumed jobs that did not fit in the upload queue, in the order they were found
+    private final Deque<String> waiting = new ConcurrentLinkedDeque<>();
+
+    public UploadJobService(UploadJobRepository uploadJobRepository,
+            FileValidationService fileValidationService,
+            ImageService imageService,
+            VideoService videoService,
+            MetricsService metricsService,
+            @Qualifier("uploadExecutor") ThreadPoolTaskExecutor uploadExecutor,
+            @Value("${upload.async.spool-dir:${java.io.tmpdir}/videoshare-uploads}") String spoolDir) throws IOException {
+        this.uploadJobRepository = uploadJobRepository;
+        this.fileValidationService = fileValidationService;
+        this.imageService = imageService;
+        this.videoService = videoService;
+        this.metricsService = metricsService;
+        this.uploadExecutor = uploadExecutor;
+        this.spoolDir = Files.createDirectories(Path.of(spoolDir));
+    }
+
+    public UploadJob submit(MultipartFile file, UploadJob.MediaType mediaType) {
+        if (mediaType == UploadJob.MediaType.IMAGE) {
+            fileValidationService.validateImageFile(file);
+        } else {
+            fileValidationService.validateVideoFile(file);
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        Path spoolFile = spoolDir.resolve(jobId);
+        try {
+            // Moves the container's temp file when possible instead of copying it
+            file.transferTo(spoolFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool upload " + file.getOriginalFilename(), e);
+        }
+
+        UploadJob job = uploadJobRepository.save(UploadJob.builder()
+                .id(jobId)
+                .mediaType(mediaType)
+                .status(UploadJob.Status.QUEUED)
+                .originalName(file.getOriginalFilename())
+                .contentType(file.getContentType())
+                .fileSize(file.getSize())
+                .spoolPath(spoolFile.toString())
+                .build());
+        log.info("Upload job queued: id={}, type={}, filename={}, size={}",
+                jobId, mediaType, file.getOriginalFilename(), file.getSize());
+
+        if (!enqueue(job.getId())) {
+            fail(job, "Upload queue is full");
+            throw new UploadQueueFullException("Too many uploads in progress, please retry later");
+        }
+        return job;
+    }
+
+    public Optional<UploadJob> getJob(String jobId) {
+        return uploadJobRepository.findById(jobId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<UploadJob> pending = uploadJobRepository.findByStatusIn(
+                List.of(UploadJob.Status.QUEUED, UploadJob.Status.UPLOADING));
+        int requeued = 0;
+        for (UploadJob job : pending) {
+            if (job.getSpoolPath() == null || !Files.exists(Path.of(job.getSpoolPath()))) {
+                fail(job, "Upload was interrupted and its file is no longer available");
+                continue;
+            }
+            job.setStatus(UploadJob.Status.QUEUED);
+            job.setBytesUploaded(0L);
+            uploadJobRepository.save(job);
+            requeued++;
+            // These uploads were already accepted, so a full queue only delays them
+            if (!waiting.isEmpty() || !enqueue(job.getId())) {
+                waiting.add(job.getId());
+            }
+        }
+        // Workers that finished while the loop ran found nothing waiting yet; if this still finds
+        // the queue full, the jobs in it pick up the rest when they finish
+        enqueueWaiting();
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} pending upload jobs, {} waiting for a free worker", requeued, waiting.size());
+        }
+    }
+
+    private boolean enqueue(String jobId) {
+        try {
+            uploadExecutor.execute(() -> {
+                try {
+                    process(jobId);
+                } finally {
+                    enqueueWaiting();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // Run by every worker after its job, when the queue has room again, and once after resuming
+    private void enqueueWaiting() {
+        String jobId;
+        while ((jobId = waiting.poll()) != null) {
+            if (!enqueue(jobId)) {
+                // Still full (or shutting down): the next finished job tries again
+                waiting.addFirst(jobId);
+                return;
+            }
+        }
+    }
+
+    void process(String jobId) {
+        UploadJob job = uploadJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != UploadJob.Status.QUEUED) {
+            return;
+        }
+        job.setStatus(UploadJob.Status.UPLOADING);
+        job = uploadJobRepository.save(job);
+
+        Path spoolFile = Path.of(job.getSpoolPath());
+        AtomicLong uploaded = new AtomicLong();
+        long startTime = System.currentTimeMillis();
+        try {
+            if (job.getMediaType() == UploadJob.MediaType.IMAGE) {
+                Image image = imageService.storeImage(spoolFile.toFile(), job.getOriginalName(),
+                        job.getContentType(), job.getFileSize());
+                job.setMediaId(image.getId());
+                job.setPublicId(image.getPublicId());
+                job.setUrl(image.getUrl());
+            } else {
+                Video video = videoService.storeVideo(spoolFile.toFile(), job.getOriginalName(),
+                        job.getContentType(), job.getFileSize(), (bytesUploaded, totalBytes) -> {
+                            uploaded.set(bytesUploaded);
+                            uploadJobRepository.updateProgress(jobId, bytesUploaded, LocalDateTime.now());
+                        });
+                job.setMediaId(video.getId());
+                job.setPublicId(video.getPublicId());
+                job.setUrl(video.getUrl());
+                metricsService.recordVideoUpload();
+            }
+            uploaded.set(job.getFileSize());
+            job.setStatus(UploadJob.Status.COMPLETED);
+
+            long processingTime = System.currentTimeMillis() - startTime;
+            metricsService.recordProcessingTime("async_upload", processingTime);
+            log.info("Upload job completed: id={}, size={}, processingTime={}ms, throughput={} MB/s",
+                    jobId, job.getFileSize(), processingTime,
+                    String.format("%.1f", job.getFileSize() / 1048576.0 / Math.max(1, processingTime) * 1000));
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down: leave the job and its spool file for the next start
+                log.warn("Upload job interrupted: id={}", jobId);
+                job.setStatus(UploadJob.Status.QUEUED);
+            } else {
+                log.error("Upload job failed: id={}, error={}", jobId, e.getMessage(), e);
+                metricsService.recordError("async_upload", "cloudinary_error");
+                job.setStatus(UploadJob.Status.FAILED);
+                job.setErrorMessage(truncate(e.getMessage()));
+            }
+        }
+
+        job.setBytesUploaded(uploaded.get());
+        if (job.getStatus() != UploadJob.Status.QUEUED) {
+            deleteSpoolFile(spoolFile);
+            job.setSpoolPath(null);
+        }
+        uploadJobRepository.save(job);
+    }
+
+    private void fail(UploadJob job, String message) {
+        log.warn("Upload job failed: id={}, reason={}", job.getId(), message);
+        if (job.getSpoolPath() != null) {
+            deleteSpoolFile(Path.of(job.getSpoolPath()));
+        }
+        job.setStatus(UploadJob.Status.FAILED);
+        job.setErrorMessage(message);
+        job.setSpoolPath(null);
+        uploadJobRepository.save(job);
+    }
+
+    private static void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}: {}", spoolFile, e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Upload failed";
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,23 +1,36 @@
 package com.puspo.scalablekafkaapp.videoshare.service.media;
 
 import com.cloudinary.Cloudinary;
+import com.cloudinary.ProgressCallback;
 import com.cloudinary.utils.ObjectUtils;
 
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaPage;
 import com.puspo.scalablekafkaapp.videoshare.model.Video;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaSort;
 import com.puspo.scalablekafkaapp.videoshare.repository.VideoRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class VideoService {
     private final Cloudinary cloudinary;
     private final VideoRepository videoRepository;
+    private final MediaCatalogService mediaCatalogService;
+    private final int chunkSize;
+
+    public VideoService(Cloudinary cloudinary, VideoRepository videoRepository, MediaCatalogService mediaCatalogService,
+            @Value("${cloudinary.upload.chunk-size-bytes:20971520}") int chunkSize) {
+        this.cloudinary = cloudinary;
+        this.videoRepository = videoRepository;
+        this.mediaCatalogService = mediaCatalogService;
+        this.chunkSize = chunkSize;
+    }
 
     public Video uploadVideo(MultipartFile file) throws IOException {
         try {
@@ -50,6 +63,9 @@ public class VideoService {
                     .name(file.getOriginalFilename())
                     .url(uploadResult.get("secure_url").toString())
                     .publicId(uploadResult.get("public_id").toString())
+                    .fileType("video")
+                    .mimeType(contentType)
+                    .fileSize(file.getSize()) // needed for size filters and sorting in the catalog
                     .build();
 
             return videoRepository.save(video);
@@ -58,8 +74,31 @@ public class VideoService {
         }
     }
 
-    public List<Video> getAllVideos() {
-        return videoRepository.findAll();
+    /**
+     * Sends an already validated video file to Cloudinary in chunks and saves it (async uploads).
+     * Only one chunk (cloudinary.upload.chunk-size-bytes) is in memory at a time.
+     */
+    public Video storeVideo(File file, String originalName, String contentType, long size,
+                            ProgressCallback progress) throws IOException {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadResult = cloudinary.uploader().uploadLarge(
+                file,
+                ObjectUtils.asMap("resource_type", "video", "chunk_size", chunkSize),
+                progress);
+
+        Video video = Video.builder()
+                .name(originalName)
+                .url(uploadResult.get("secure_url").toString())
+                .publicId(uploadResult.get("public_id").toString())
+                .fileType("video")
+                .mimeType(contentType)
+                .fileSize(size)
+                .build();
+        return videoRepository.save(video);
+    }
+
+    public MediaPage listVideos(MediaFilter filter, MediaSort sort, String cursor, Integer limit) {
+        return mediaCatalogService.page(Video.class, filter, sort, cursor, limit);
     }
 
     public String deleteVideo(String publicId) throws IOException {
@@ -0,0 +1,73 @@
+package com.puspo.scalablekafkaapp.videoshare.service.media;
+
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaFilter;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaPage;
+import com.puspo.scalablekafkaapp.videoshare.dto.MediaSummary;
+import com.puspo.scalablekafkaapp.videoshare.exception.FileValidationException;
+import com.puspo.scalablekafkaapp.videoshare.model.Image;
+import com.puspo.scalablekafkaapp.videoshare.model.Video;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaCatalogRepository;
+import com.puspo.scalablekafkaapp.videoshare.repository.MediaSort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MediaCatalogServiceTest {
+
+    private static final MediaFilter PNG = new MediaFilter("image/png", null, null, null, null);
+    private static final MediaFilter JPEG = new MediaFilter("image/jpeg", null, null, null, null);
+
+    private final MediaCatalogRepository repository = mock(MediaCatalogRepository.class);
+    private final MediaCatalogService service = new MediaCatalogService(repository, 60, 100_000);
+
+    @Test
+    void page_ShouldContinueIntoRowsWithoutSize_WhenLastRowHasNone() {
+        // Arrange: the first page ends on a row that has no recorded size
+        when(repository.findPage(eq(Image.class), eq(PNG), eq(MediaSort.LARGEST), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(row(9, 500L), row(4, null), row(3, null)));
+        MediaPage first = service.page(Image.class, PNG, MediaSort.LARGEST, null, 2);
+
+        // Act
+        service.page(Image.class, PNG, MediaSort.LARGEST, first.nextCursor(), 2);
+
+        // Assert
+        assertThat(first.items()).extracting(MediaSummary::id).containsExactly(9L, 4L);
+        verify(repository).findPage(Image.class, PNG, MediaSort.LARGEST, null, 4L, 3);
+    }
+
+    @Test
+    void page_ShouldRejectCursor_WhenFiltersOrMediaTypeChanged() {
+        // Arrange
+        when(repository.findPage(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(row(9, 500L), row(8, 400L)));
+        String cursor = service.page(Image.class, PNG, MediaSort.LARGEST, null, 1).nextCursor();
+
+        // Act / Assert
+        assertThatThrownBy(() -> service.page(Image.class, JPEG, MediaSort.LARGEST, cursor, 1))
+                .isInstanceOf(FileValidationException.class)
+                .hasMessage("Cursor does not belong to these filters");
+        assertThatThrownBy(() -> service.page(Video.class, PNG, MediaSort.LARGEST, cursor, 1))
+                .isInstanceOf(FileValidationException.class);
+        assertThatThrownBy(() -> service.page(Image.class, PNG, MediaSort.SMALLEST, cursor, 1))
+                .isInstanceOf(FileValidationException.class)
+                .hasMessage("Cursor does not belong to sort SMALLEST");
+        service.page(Image.class, PNG, MediaSort.LARGEST, cursor, 1);
+        verify(repository).findPage(Image.class, PNG, MediaSort.LARGEST, 500L, 9L, 2);
+    }
+
+    private static MediaSummary row(long id, Long fileSize) {
+        return new MediaSummary(id, "item-" + id, "url", "public-" + id, "image/png", fileSize,
+                LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,281 @@
+package com.puspo.scalablekafkaapp.videoshare.service.media;
+
+import com.cloudinary.ProgressCallback;
+import com.puspo.scalablekafkaapp.videoshare.exception.UploadQueueFullException;
+import com.puspo.scalablekafkaapp.videoshare.model.Image;
+import com.puspo.scalablekafkaapp.videoshare.model.UploadJob;
+import com.puspo.scalablekafkaapp.videoshare.model.Video;
+import com.puspo.scalablekafkaapp.videoshare.repository.UploadJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadJobServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final UploadJobRepository repository = mock(UploadJobRepository.class);
+    private final FileValidationService fileValidationService = mock(FileValidationService.class);
+    private final ImageService imageService = mock(ImageService.class);
+    private final VideoService videoService = mock(VideoService.class);
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+
+    // Status of the job at every save, in order
+    private final List<UploadJob.Status> savedStatuses = new ArrayList<>();
+    private UploadJob lastSaved;
+
+    private UploadJobService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(repository.save(any(UploadJob.class))).thenAnswer(invocation -> {
+            UploadJob job = invocation.getArgument(0);
+            savedStatuses.add(job.getStatus());
+            lastSaved = job;
+            return job;
+        });
+        service = new UploadJobService(repository, fileValidationService, imageService, videoService,
+                metricsService, executor, spoolDir.toString());
+    }
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void process_ShouldCompleteImageJob_AndDeleteSpoolFile() throws IOException {
+        // Arrange
+        UploadJob job = queuedJob(UploadJob.MediaType.IMAGE);
+        when(imageService.storeImage(any(), eq("photo.png"), eq("image/png"), eq(10L)))
+                .thenReturn(Image.builder().id(7L).publicId("img-7").url("https://cdn/img-7").build());
+
+        // Act
+        service.process(job.getId());
+
+        // Assert
+        assertThat(savedStatuses).containsExactly(UploadJob.Status.UPLOADING, UploadJob.Status.COMPLETED);
+        assertThat(job.getMediaId()).isEqualTo(7L);
+        assertThat(job.getUrl()).isEqualTo("https://cdn/img-7");
+        assertThat(job.getBytesUploaded()).isEqualTo(10L);
+        assertThat(job.getSpoolPath()).isNull();
+        assertThat(spoolDir.resolve(job.getId())).doesNotExist();
+    }
+
+    @Test
+    void process_ShouldRecordVideoProgress_WhileUploading() throws IOException {
+        // Arrange
+        UploadJob job = queuedJob(UploadJob.MediaType.VIDEO);
+        when(videoService.storeVideo(any(), anyString(), anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            ProgressCallback progress = invocation.getArgument(4);
+            progress.onProgress(4, 10);
+            return Video.builder().id(3L).publicId("vid-3").url("https://cdn/vid-3").build();
+        });
+
+        // Act
+        service.process(job.getId());
+
+        // Assert
+        verify(repository).updateProgress(eq(job.getId()), eq(4L), any());
+        verify(metricsService).recordVideoUpload();
+        assertThat(savedStatuses).containsExactly(UploadJob.Status.UPLOADING, UploadJob.Status.COMPLETED);
+    }
+
+    @Test
+    void process_ShouldFailJob_AndDeleteSpoolFile_WhenUploadThrows() throws IOException {
+        // Arrange
+        UploadJob job = queuedJob(UploadJob.MediaType.IMAGE);
+        when(imageService.storeImage(any(), anyString(), anyString(), anyLong()))
+                .thenThrow(new IOException("Cloudinary unavailable"));
+
+        // Act
+        service.process(job.getId());
+
+        // Assert
+        assertThat(savedStatuses).containsExactly(UploadJob.Status.UPLOADING, UploadJob.Status.FAILED);
+        assertThat(job.getErrorMessage()).isEqualTo("Cloudinary unavailable");
+        assertThat(job.getSpoolPath()).isNull();
+        assertThat(spoolDir.resolve(job.getId())).doesNotExist();
+        verify(metricsService).recordError("async_upload", "cloudinary_error");
+    }
+
+    @Test
+    void process_ShouldRequeueJob_AndKeepSpoolFile_WhenInterrupted() throws IOException {
+        // Arrange
+        UploadJob job = queuedJob(UploadJob.MediaType.IMAGE);
+        String spoolPath = job.getSpoolPath();
+        when(imageService.storeImage(any(), anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted");
+        });
+
+        // Act
+        service.process(job.getId());
+
+        // Assert
+        assertThat(savedStatuses).containsExactly(UploadJob.Status.UPLOADING, UploadJob.Status.QUEUED);
+        assertThat(job.getSpoolPath()).isEqualTo(spoolPath);
+        assertThat(Path.of(spoolPath)).exists();
+    }
+
+    @Test
+    void process_ShouldIgnoreJob_WhenNotQueued() throws IOException {
+        // Arrange
+        UploadJob job = queuedJob(UploadJob.MediaType.IMAGE);
+        job.setStatus(UploadJob.Status.COMPLETED);
+
+        // Act
+        service.process(job.getId());
+
+        // Assert
+        assertThat(savedStatuses).isEmpty();
+        verify(imageService, never()).storeImage(any(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void submit_ShouldSpoolFileAndRunJob_WhenExecutorAccepts() throws IOException {
+        // Arrange
+        runTasksInline();
+        when(repository.findById(anyString())).thenAnswer(invocation -> Optional.of(lastSaved));
+        when(imageService.storeImage(any(), anyString(), anyString(), anyLong()))
+                .thenReturn(Image.builder().id(1L).build());
+
+        // Act
+        UploadJob job = service.submit(imageFile(), UploadJob.MediaType.IMAGE);
+
+        // Assert
+        verify(fileValidationService).validateImageFile(any());
+        assertThat(savedStatuses).containsExactly(
+                UploadJob.Status.QUEUED, UploadJob.Status.UPLOADING, UploadJob.Status.COMPLETED);
+        assertThat(job.getStatus()).isEqualTo(UploadJob.Status.COMPLETED);
+        assertThat(spoolDir).isEmptyDirectory();
+    }
+
+    @Test
+    void submit_ShouldFailJobAndThrow_WhenQueueIsFull() {
+        // Arrange
+        doThrow(new RejectedExecutionException("full")).when(executor).execute(any(Runnable.class));
+
+        // Act / Assert
+        assertThatThrownBy(() -> service.submit(imageFile(), UploadJob.MediaType.IMAGE))
+                .isInstanceOf(UploadQueueFullException.class);
+        assertThat(savedStatuses).containsExactly(UploadJob.Status.QUEUED, UploadJob.Status.FAILED);
+        assertThat(lastSaved.getErrorMessage()).isEqualTo("Upload queue is full");
+        assertThat(spoolDir).isEmptyDirectory();
+    }
+
+    @Test
+    void resumePendingJobs_ShouldRequeueJobsWithSpoolFile_AndFailTheRest() throws IOException {
+        // Arrange
+        UploadJob interrupted = queuedJob(UploadJob.MediaType.VIDEO);
+        interrupted.setStatus(UploadJob.Status.UPLOADING);
+        interrupted.setBytesUploaded(6L);
+        UploadJob lost = queuedJob(UploadJob.MediaType.IMAGE);
+        Files.delete(Path.of(lost.getSpoolPath()));
+        when(repository.findByStatusIn(any())).thenReturn(List.of(interrupted, lost));
+
+        // Act
+        service.resumePendingJobs();
+
+        // Assert
+        assertThat(interrupted.getStatus()).isEqualTo(UploadJob.Status.QUEUED);
+        assertThat(interrupted.getBytesUploaded()).isZero();
+        assertThat(lost.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+        assertThat(lost.getSpoolPath()).isNull();
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void resumePendingJobs_ShouldKeepJobsQueued_WhenQueueIsFull_AndRunThemAsWorkersFree() throws IOException {
+        // Arrange: the queue holds one task at a time
+        Deque<Runnable> queued = new ArrayDeque<>();
+        doAnswer(invocation -> {
+            if (!queued.isEmpty()) {
+                throw new RejectedExecutionException("full");
+            }
+            queued.add(invocation.getArgument(0));
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        List<UploadJob> jobs = List.of(queuedJob(UploadJob.MediaType.IMAGE), queuedJob(UploadJob.MediaType.IMAGE),
+                queuedJob(UploadJob.MediaType.IMAGE));
+        when(repository.findByStatusIn(any())).thenReturn(jobs);
+        when(imageService.storeImage(any(), anyString(), anyString(), anyLong()))
+                .thenReturn(Image.builder().id(1L).build());
+
+        // Act
+        service.resumePendingJobs();
+
+        // Assert: nothing is failed or deleted while the queue is full
+        assertThat(savedStatuses).doesNotContain(UploadJob.Status.FAILED);
+        assertThat(jobs).allSatisfy(job -> {
+            assertThat(job.getStatus()).isEqualTo(UploadJob.Status.QUEUED);
+            assertThat(Path.of(job.getSpoolPath())).exists();
+        });
+
+        // Each finished job hands the next waiting one to the pool
+        for (int i = 0; i < jobs.size(); i++) {
+            assertThat(queued).hasSize(1);
+            queued.poll().run();
+        }
+        assertThat(queued).isEmpty();
+        assertThat(jobs).extracting(UploadJob::getStatus).containsOnly(UploadJob.Status.COMPLETED);
+        assertThat(spoolDir).isEmptyDirectory();
+    }
+
+    private UploadJob queuedJob(UploadJob.MediaType mediaType) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path spoolFile = Files.write(spoolDir.resolve(id), new byte[10]);
+        boolean image = mediaType == UploadJob.MediaType.IMAGE;
+        UploadJob job = UploadJob.builder()
+                .id(id)
+                .mediaType(mediaType)
+                .status(UploadJob.Status.QUEUED)
+                .originalName(image ? "photo.png" : "clip.mp4")
+                .contentType(image ? "image/png" : "video/mp4")
+                .fileSize(10L)
+                .spoolPath(spoolFile.toString())
+                .build();
+        when(repository.findById(id)).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    private static MockMultipartFile imageFile() {
+        return new MockMultipartFile("file", "photo.png", "image/png", new byte[10]);
+    }
+}
@@ -35,9 +35,12 @@ public class TerminalController implements CommandLineRunner {
     private final UserService userService;
     private final AccountService accountService;
     private final TransactionService transactionService;
+    private final TransferService transferService;
     private final BeneficiaryService beneficiaryService;
     private final AccountStatementService statementService;
     private final InterestCalculationService interestService;
+    private final AccountMetadataCache accountMetadataCache;
+    private final FailedTransactionAuditWriter failedTransactionAuditWriter;
 
     // Scanner for reading user input
     private final Scanner scanner;
@@ -50,14 +53,19 @@ public class TerminalController implements CommandLineRunner {
      */
     @Autowired
     public TerminalController(UserService userService, AccountService accountService,
-            TransactionService transactionService, BeneficiaryService beneficiaryService,
-            AccountStatementService statementService, InterestCalculationService interestService) {
+            TransactionService transactionService, TransferService transferService,
+            BeneficiaryService beneficiaryService,
+            AccountStatementService statementService, InterestCalculationService interestService,
+            AccountMetadataCache accountMetadataCache, FailedTransactionAuditWriter failedTransactionAuditWriter) {
         this.userService = userService;
         this.accountService = accountService;
         this.transactionService = transactionService;
+        this.transferService = transferService;
         this.beneficiaryService = beneficiaryService;
         this.statementService = statementService;
         this.interestService = interestService;
+        this.accountMetadataCache = accountMetadataCache;
+        this.failedTransactionAuditWriter = failedTransactionAuditWriter;
         this.scanner = new Scanner(System.in);
     }
 
@@ -117,6 +125,9 @@ public class TerminalController implements CommandLineRunner {
                     accountManagement();
                     break;
                 case "12":
+                    viewSystemStatistics();
+                    break;
+                case "13":
                     System.out.println("\nThank you for using Enhanced Terminal Banking System. Goodbye!");
                     running = false;
                     break;
@@ -220,7 +231,8 @@ public class TerminalController implements CommandLineRunner {
         System.out.println("9. Calculate Interest");
         System.out.println("10. List My Accounts");
         System.out.println("11. Account Management");
-        System.out.println("12. Exit");
+        System.out.println("12. System Statistics");
+        System.out.println("13. Exit");
         System.out.print("\nEnter your choice: ");
     }
 
@@ -417,7 +429,7 @@ public class TerminalController implements CommandLineRunner {
             System.out.print("Description (optional): ");
             String description = scanner.nextLine().trim();
 
-            Transaction transaction = transactionService.transfer(fromAccount.getAccountNumber(), pin,
+            Transaction transaction = transferService.transfer(fromAccount.getAccountNumber(), pin,
                     toAccountNumber, amount,
                     description.isEmpty() ? null : description);
 
@@ -738,6 +750,16 @@ public class TerminalController implements CommandLineRunner {
         }
     }
 
+    /**
+     * Show runtime statistics of the background components
+     */
+    private void viewSystemStatistics() {
+        System.out.println("\n--- System Statistics ---");
+        System.out.println("Account metadata cache: " + accountMetadataCache.getStats());
+        System.out.println("Failed transaction audit: " + failedTransactionAuditWriter.getStats());
+        System.out.println();
+    }
+
     // Helper methods
 
     private Account selectAccount() {
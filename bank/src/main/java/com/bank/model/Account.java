@@ -155,6 +155,20 @@ public class Account {
     @Column
     private LocalDateTime lastLimitResetDate;
 
+    /**
+     * Last interest period credited by the monthly batch job, formatted as yyyy-MM
+     * Makes the batch job idempotent: an account is never credited twice for one period
+     */
+    @Column(length = 7)
+    private String lastInterestPeriod;
+
+    /**
+     * Optimistic lock version - Incremented by JPA on every update
+     * A concurrent update to the same row fails instead of silently overwriting the balance
+     */
+    @Version
+    private Long version;
+
     /**
      * Default constructor - Required by JPA
      */
@@ -341,6 +355,22 @@ public class Account {
         this.lastLimitResetDate = lastLimitResetDate;
     }
 
+    public String getLastInterestPeriod() {
+        return lastInterestPeriod;
+    }
+
+    public void setLastInterestPeriod(String lastInterestPeriod) {
+        this.lastInterestPeriod = lastInterestPeriod;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Check if account is active and can perform transactions
      * 
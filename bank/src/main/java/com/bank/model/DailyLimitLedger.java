@@ -0,0 +1,190 @@
+package com.bank.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily Limit Ledger Entity - Running totals of money leaving an account on a given day
+ * One row per account per calendar day, updated in the same transaction as the balance change
+ *
+ * Features:
+ * - Total withdrawn today (amount + fee)
+ * - Total transferred today (amount + fee)
+ * - Lets daily limit checks read one row instead of the whole transaction history
+ */
+@Entity
+@Table(name = "daily_limit_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_account_date",
+                columnNames = { "account_id", "ledger_date" }))
+public class DailyLimitLedger {
+
+    /**
+     * Primary key - Auto-generated ledger ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Account these totals belong to
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    /**
+     * Calendar day these totals cover
+     */
+    @Column(name = "ledger_date", nullable = false)
+    @NotNull(message = "Ledger date cannot be null")
+    private LocalDate ledgerDate;
+
+    /**
+     * Total withdrawn on this day including fees
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal withdrawnTotal;
+
+    /**
+     * Total transferred out on this day including fees
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal transferredTotal;
+
+    /**
+     * Timestamp when ledger was last updated
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock version - Incremented by JPA on every update
+     * Two writers that read the same totals cannot both add to them
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Default constructor - Required by JPA
+     */
+    public DailyLimitLedger() {
+        this.withdrawnTotal = BigDecimal.ZERO;
+        this.transferredTotal = BigDecimal.ZERO;
+    }
+
+    /**
+     * Constructor to create a ledger row for an account and day
+     *
+     * @param account          The account
+     * @param ledgerDate       The calendar day
+     * @param withdrawnTotal   Amount already withdrawn on this day
+     * @param transferredTotal Amount already transferred on this day
+     */
+    public DailyLimitLedger(Account account, LocalDate ledgerDate,
+            BigDecimal withdrawnTotal, BigDecimal transferredTotal) {
+        this.account = account;
+        this.ledgerDate = ledgerDate;
+        this.withdrawnTotal = withdrawnTotal;
+        this.transferredTotal = transferredTotal;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Pre-persist and pre-update callback - Keeps updatedAt current
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public void setAccount(Account account) {
+        this.account = account;
+    }
+
+    public LocalDate getLedgerDate() {
+        return ledgerDate;
+    }
+
+    public void setLedgerDate(LocalDate ledgerDate) {
+        this.ledgerDate = ledgerDate;
+    }
+
+    public BigDecimal getWithdrawnTotal() {
+        return withdrawnTotal;
+    }
+
+    public void setWithdrawnTotal(BigDecimal withdrawnTotal) {
+        this.withdrawnTotal = withdrawnTotal;
+    }
+
+    public BigDecimal getTransferredTotal() {
+        return transferredTotal;
+    }
+
+    public void setTransferredTotal(BigDecimal transferredTotal) {
+        this.transferredTotal = transferredTotal;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Add a successful withdrawal to today's total
+     *
+     * @param total Amount plus fee
+     */
+    public void addWithdrawal(BigDecimal total) {
+        this.withdrawnTotal = this.withdrawnTotal.add(total);
+    }
+
+    /**
+     * Add a successful transfer to today's total
+     *
+     * @param total Amount plus fee
+     */
+    public void addTransfer(BigDecimal total) {
+        this.transferredTotal = this.transferredTotal.add(total);
+    }
+
+    @Override
+    public String toString() {
+        return "DailyLimitLedger{" +
+                "id=" + id +
+                ", account=" + (account != null ? account.getAccountNumber() : "N/A") +
+                ", ledgerDate=" + ledgerDate +
+                ", withdrawnTotal=" + withdrawnTotal +
+                ", transferredTotal=" + transferredTotal +
+                '}';
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDateTime;
+
+/**
+ * Interest Run Checkpoint Entity - Progress of the monthly interest batch job
+ * One row per interest period, advanced after every committed wave of chunks
+ *
+ * Features:
+ * - Highest account ID whose chunk has been committed
+ * - Running count of credited accounts
+ * - Completion flag so a finished period is not re-run
+ * - Pass count and failed accounts, so a period whose accounts keep failing is closed after a bounded
+ *   number of full passes
+ */
+@Entity
+@Table(name = "interest_run_checkpoints")
+public class InterestRunCheckpoint {
+
+    /**
+     * Primary key - Auto-generated checkpoint ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Interest period this run covers, formatted as yyyy-MM
+     */
+    @Column(unique = true, nullable = false, length = 7)
+    @NotBlank(message = "Interest period cannot be blank")
+    private String period;
+
+    /**
+     * Highest account ID that has been committed - the run resumes after this ID
+     */
+    @Column(nullable = false)
+    private Long lastAccountId;
+
+    /**
+     * Number of accounts credited so far in this run
+     */
+    @Column(nullable = false)
+    private long accountsCredited;
+
+    /**
+     * Whether every eligible account has been processed for this period
+     */
+    @Column(nullable = false)
+    private boolean completed;
+
+    /**
+     * Number of full passes over the eligible accounts that ended with failed accounts
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int passes;
+
+    /**
+     * Accounts that could not be credited in the last full pass
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long accountsFailed;
+
+    /**
+     * Timestamp when checkpoint was last updated
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Default constructor - Required by JPA
+     */
+    public InterestRunCheckpoint() {
+    }
+
+    /**
+     * Constructor to start a new run for a period
+     *
+     * @param period Interest period (yyyy-MM)
+     */
+    public InterestRunCheckpoint(String period) {
+        this.period = period;
+        this.lastAccountId = 0L;
+        this.accountsCredited = 0;
+        this.completed = false;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Pre-persist and pre-update callback - Keeps updatedAt current
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Long getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public void setLastAccountId(Long lastAccountId) {
+        this.lastAccountId = lastAccountId;
+    }
+
+    public long getAccountsCredited() {
+        return accountsCredited;
+    }
+
+    public void setAccountsCredited(long accountsCredited) {
+        this.accountsCredited = accountsCredited;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public void setPasses(int passes) {
+        this.passes = passes;
+    }
+
+    public long getAccountsFailed() {
+        return accountsFailed;
+    }
+
+    public void setAccountsFailed(long accountsFailed) {
+        this.accountsFailed = accountsFailed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "InterestRunCheckpoint{" +
+                "id=" + id +
+                ", period='" + period + '\'' +
+                ", lastAccountId=" + lastAccountId +
+                ", accountsCredited=" + accountsCredited +
+                ", passes=" + passes +
+                ", accountsFailed=" + accountsFailed +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Money - Immutable amount of money stored as a long number of cents
+ * Used on hot paths (fees, interest, limit and balance checks) where BigDecimal allocation and arithmetic dominate
+ *
+ * Features:
+ * - Exact conversion to and from BigDecimal with scale 2 (the scale of every money column)
+ * - Basis-point percentages with HALF_UP rounding, identical to BigDecimal setScale(2, HALF_UP)
+ * - Values are limited to a range where percentage math cannot overflow; tryOf returns null
+ *   outside that range so callers can fall back to BigDecimal
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * Number of decimal places (cents)
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Largest absolute number of cents accepted, so that cents * 10000 fits in a long
+     */
+    public static final long MAX_MINOR_UNITS = Long.MAX_VALUE / 10_000;
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Any number of cents with at most this many digits is below MAX_MINOR_UNITS
+     */
+    private static final int MAX_EXACT_DIGITS = 14;
+
+    /**
+     * Amount in cents
+     */
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Create money from a number of cents
+     *
+     * @param minorUnits Amount in cents
+     * @return The money value
+     * @throws ArithmeticException if the amount is outside the supported range
+     */
+    public static Money ofMinor(long minorUnits) {
+        if (minorUnits > MAX_MINOR_UNITS || minorUnits < -MAX_MINOR_UNITS) {
+            throw new ArithmeticException("Amount out of range: " + minorUnits + " cents");
+        }
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Convert a BigDecimal exactly
+     *
+     * @param amount The amount
+     * @return The money value, or null if the amount is null, has non-zero digits beyond
+     *         cents, or is outside the supported range
+     */
+    public static Money tryOf(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        int scale = amount.scale();
+        if (scale >= 0 && scale <= SCALE && amount.precision() + SCALE - scale <= MAX_EXACT_DIGITS) {
+            // Common case (every money column has scale 2): whole cents that fit, one small allocation
+            return ofMinor(amount.movePointRight(SCALE).longValue());
+        }
+        BigDecimal cents = amount.movePointRight(SCALE);
+        if (cents.signum() != 0 && cents.stripTrailingZeros().scale() > 0) {
+            return null; // Sub-cent digits cannot be represented exactly
+        }
+        if (cents.abs().compareTo(BigDecimal.valueOf(MAX_MINOR_UNITS)) > 0) {
+            return null;
+        }
+        return ofMinor(cents.longValue());
+    }
+
+    /**
+     * Convert a BigDecimal exactly
+     *
+     * @param amount The amount
+     * @return The money value
+     * @throws ArithmeticException if the amount cannot be represented exactly
+     */
+    public static Money of(BigDecimal amount) {
+        Money money = tryOf(amount);
+        if (money == null) {
+            throw new ArithmeticException("Amount cannot be represented exactly in cents: " + amount);
+        }
+        return money;
+    }
+
+    /**
+     * Divide two longs, rounding half away from zero (BigDecimal HALF_UP)
+     *
+     * @param dividend The dividend
+     * @param divisor  The divisor (must be positive)
+     * @return The rounded quotient
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Convert to a BigDecimal with scale 2 for persistence
+     *
+     * @return The amount as BigDecimal
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money add(Money other) {
+        return ofMinor(minorUnits + other.minorUnits);
+    }
+
+    public Money subtract(Money other) {
+        return ofMinor(minorUnits - other.minorUnits);
+    }
+
+    /**
+     * Calculate a percentage given in basis points (1% = 100 basis points)
+     * Rounded HALF_UP to cents, same as multiplying the BigDecimal and calling setScale(2, HALF_UP)
+     *
+     * @param basisPoints Percentage in basis points (0 to 10000)
+     * @return The rounded percentage of this amount
+     */
+    public Money percentage(long basisPoints) {
+        if (basisPoints < 0 || basisPoints > 10_000) {
+            throw new IllegalArgumentException("Basis points must be between 0 and 10000: " + basisPoints);
+        }
+        return ofMinor(divideHalfUp(minorUnits * basisPoints, 10_000));
+    }
+
+    /**
+     * Limit this amount to a range
+     *
+     * @param min Lower bound (inclusive)
+     * @param max Upper bound (inclusive)
+     * @return min if below the range, max if above it, otherwise this amount
+     */
+    public Money clamp(Money min, Money max) {
+        if (minorUnits < min.minorUnits) {
+            return min;
+        }
+        if (minorUnits > max.minorUnits) {
+            return max;
+        }
+        return this;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        return minorUnits == ((Money) o).minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
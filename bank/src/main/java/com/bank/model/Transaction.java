@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
  * Tracks all deposits, withdrawals, and transfers between accounts
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_from_account_date", columnList = "from_account_id, transaction_date"),
+        @Index(name = "idx_transactions_to_account_date", columnList = "to_account_id, transaction_date")
+})
 public class Transaction {
     /**
      * Transaction types enum - Defines valid transaction operations
@@ -23,10 +26,12 @@ public class Transaction {
     }
 
     /**
-     * Primary key - Auto-generated transaction ID
+     * Primary key - Sequence-generated transaction ID
+     * A pooled sequence (instead of IDENTITY) lets Hibernate batch inserts
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     /**
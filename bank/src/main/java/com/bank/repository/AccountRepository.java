@@ -1,9 +1,17 @@
 package com.bank.repository;
 
 import com.bank.model.Account;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,6 +30,20 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    /**
+     * Find the cacheable fields of an account without loading the entity
+     * Returns a projection, so the caller's persistence context never holds an unlocked copy of the account
+     * (which would hide the state read by a later SELECT ... FOR UPDATE)
+     *
+     * @param accountNumber The unique account number to search for
+     * @return Optional containing the account's metadata if found, empty otherwise
+     */
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.accountType AS accountType, a.status AS status, " +
+            "a.dailyWithdrawalLimit AS dailyWithdrawalLimit, a.dailyTransferLimit AS dailyTransferLimit, " +
+            "u.id AS userId, a.pin AS pin " +
+            "FROM Account a LEFT JOIN a.user u WHERE a.accountNumber = :accountNumber")
+    Optional<AccountMetadataView> findMetadataByAccountNumber(@Param("accountNumber") String accountNumber);
+
     /**
      * Check if an account exists with the given account number
      * Useful for validation before creating new accounts
@@ -30,5 +52,75 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return true if account exists, false otherwise
      */
     boolean existsByAccountNumber(String accountNumber);
-}
 
+    /**
+     * Find an account by its account number and take a row lock on it
+     * The lock is held until the surrounding transaction commits or rolls back
+     * 
+     * @param accountNumber The unique account number to search for
+     * @return Optional containing the locked account if found, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Load a set of accounts by ID and take row locks on them, in ID order
+     * The locks are held until the surrounding transaction commits or rolls back
+     *
+     * @param ids IDs of the accounts to lock
+     * @return The locked accounts that exist, in ascending ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find an account by ID and take a row lock on it
+     *
+     * @param id The account ID
+     * @return Optional containing the locked account if found, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find the next chunk of interest-eligible account IDs using keyset pagination
+     * Only active savings accounts not yet credited for the period or a later one are returned
+     * 
+     * @param lastId   Highest account ID of the previous chunk (0 for the first chunk)
+     * @param period   Interest period being applied (yyyy-MM)
+     * @param pageable Chunk size (page number must be 0)
+     * @return Up to one chunk of account IDs in ascending order
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id > :lastId " +
+            "AND a.accountType = com.bank.model.Account$AccountType.SAVINGS " +
+            "AND a.status = com.bank.model.Account$AccountStatus.ACTIVE " +
+            "AND (a.lastInterestPeriod IS NULL OR a.lastInterestPeriod < :period) " +
+            "ORDER BY a.id")
+    List<Long> findInterestEligibleIdsAfter(@Param("lastId") Long lastId,
+                                            @Param("period") String period,
+                                            Pageable pageable);
+
+    /**
+     * Read-only view of the account fields held by AccountMetadataCache
+     */
+    interface AccountMetadataView {
+        Long getId();
+
+        String getAccountNumber();
+
+        Account.AccountType getAccountType();
+
+        Account.AccountStatus getStatus();
+
+        BigDecimal getDailyWithdrawalLimit();
+
+        BigDecimal getDailyTransferLimit();
+
+        Long getUserId();
+
+        String getPin();
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.repository;
+
+import com.bank.model.Account;
+import com.bank.model.DailyLimitLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Daily Limit Ledger Repository - Data access layer for DailyLimitLedger entities
+ * Looks up the per-account running totals used by daily limit checks
+ */
+@Repository
+public interface DailyLimitLedgerRepository extends JpaRepository<DailyLimitLedger, Long> {
+
+    /**
+     * Find the ledger row for an account on a given day
+     * Backed by the unique (account_id, ledger_date) constraint
+     *
+     * @param account    The account
+     * @param ledgerDate The calendar day
+     * @return Optional containing the ledger row if one exists
+     */
+    Optional<DailyLimitLedger> findByAccountAndLedgerDate(Account account, LocalDate ledgerDate);
+}
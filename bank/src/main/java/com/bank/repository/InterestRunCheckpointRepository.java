@@ -0,0 +1,31 @@
+package com.bank.repository;
+
+import com.bank.model.InterestRunCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interest Run Checkpoint Repository - Data access layer for InterestRunCheckpoint entities
+ * Lets the interest batch job resume from the last committed chunk
+ */
+@Repository
+public interface InterestRunCheckpointRepository extends JpaRepository<InterestRunCheckpoint, Long> {
+
+    /**
+     * Find the checkpoint for an interest period
+     *
+     * @param period Interest period (yyyy-MM)
+     * @return Optional containing the checkpoint if the period has been started
+     */
+    Optional<InterestRunCheckpoint> findByPeriod(String period);
+
+    /**
+     * Find the runs that were started but did not finish, oldest period first
+     *
+     * @return Checkpoints of unfinished runs
+     */
+    List<InterestRunCheckpoint> findByCompletedFalseOrderByPeriodAsc();
+}
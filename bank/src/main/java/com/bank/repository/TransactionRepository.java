@@ -2,12 +2,19 @@ package com.bank.repository;
 
 import com.bank.model.Account;
 import com.bank.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Transaction Repository - Data access layer for Transaction entities
@@ -53,5 +60,106 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) AND t.successful = true ORDER BY t.transactionDate DESC")
     List<Transaction> findSuccessfulTransactionsByAccount(@Param("account") Account account);
-}
 
+    /**
+     * Sum amount plus fee of successful outgoing transactions of one type in a date range
+     * Used to seed the daily limit ledger for a day that has no ledger row yet
+     * 
+     * @param account The source account
+     * @param type    The transaction type (WITHDRAWAL or TRANSFER)
+     * @param start   Start of the range (inclusive)
+     * @param end     End of the range (exclusive)
+     * @return Total amount plus fee, zero if there are no matching transactions
+     */
+    @Query("SELECT COALESCE(SUM(t.amount + COALESCE(t.fee, 0)), 0) FROM Transaction t " +
+            "WHERE t.fromAccount = :account AND t.type = :type AND t.successful = true " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end")
+    BigDecimal sumOutgoingAmountBetween(@Param("account") Account account,
+                                        @Param("type") Transaction.TransactionType type,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
+
+    /**
+     * Find all transactions for an account in a date range
+     * The date predicate is evaluated by the database instead of in memory
+     * 
+     * @param account The account to get transactions for
+     * @param start   Start of the range (inclusive)
+     * @param end     End of the range (exclusive)
+     * @return Transactions in the range, most recent first
+     */
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findByAccountAndDateRange(@Param("account") Account account,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
+
+    /**
+     * Find all transactions of one type for an account
+     * 
+     * @param account The account to get transactions for
+     * @param type    The transaction type
+     * @return Matching transactions, most recent first
+     */
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
+            "AND t.type = :type ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findByAccountAndType(@Param("account") Account account,
+                                           @Param("type") Transaction.TransactionType type);
+
+    /**
+     * Find all transactions for an account within an amount range
+     * 
+     * @param account   The account to get transactions for
+     * @param minAmount Minimum amount (inclusive)
+     * @param maxAmount Maximum amount (inclusive)
+     * @return Matching transactions, most recent first
+     */
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
+            "AND t.amount BETWEEN :minAmount AND :maxAmount ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findByAccountAndAmountRange(@Param("account") Account account,
+                                                  @Param("minAmount") BigDecimal minAmount,
+                                                  @Param("maxAmount") BigDecimal maxAmount);
+
+    /**
+     * Find the next page of a statement using keyset (seek) pagination
+     * Continues strictly after the (transactionDate, id) cursor of the previous page, so
+     * later pages cost the same as the first one
+     * 
+     * @param account    The account to get transactions for
+     * @param start      Start of the range (inclusive)
+     * @param end        End of the range (exclusive)
+     * @param cursorDate Transaction date of the last row of the previous page
+     * @param cursorId   ID of the last row of the previous page
+     * @param pageable   Page size (page number must be 0)
+     * @return Up to one page of transactions, most recent first
+     */
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "AND (t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findStatementPageAfter(@Param("account") Account account,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end,
+                                             @Param("cursorDate") LocalDateTime cursorDate,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    /**
+     * Stream all transactions for an account in a date range
+     * Rows are fetched from a database cursor in chunks; the stream must be consumed and
+     * closed inside a transaction
+     * 
+     * @param account The account to get transactions for
+     * @param start   Start of the range (inclusive)
+     * @param end     End of the range (exclusive)
+     * @return Stream of transactions, most recent first
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
+            "AND t.transactionDate >= :start AND t.transactionDate < :end " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<Transaction> streamByAccountAndDateRange(@Param("account") Account account,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,280 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account Metadata Cache - Read-through LRU cache in front of AccountRepository.findByAccountNumber
+ * <p>
+ * Features: - Caches only metadata that rarely changes (status, type, limits, owner, hashed PIN); the balance is
+ * never cached - Size-bounded with least-recently-used eviction - Entries expire after a TTL - Invalidated on every
+ * status change, again after the changing transaction completes - Loads that overlap an invalidation are not cached -
+ * Hit, miss, eviction and expiry metrics
+ */
+@Component
+public class AccountMetadataCache {
+
+    private final AccountRepository accountRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, AccountMetadata> entries;
+
+    // Bumped by every invalidation; a load only caches its result if no invalidation ran while it was reading
+    private long generation;
+
+    // Metrics
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong discardedLoadCount = new AtomicLong();
+
+    /**
+     * Constructor injection
+     *
+     * @param accountRepository Repository used to load metadata on a miss
+     * @param maxSize           Maximum number of cached accounts (bank.account-cache.max-size)
+     * @param ttl               How long an entry is served before it is reloaded (bank.account-cache.ttl)
+     */
+    @Autowired
+    public AccountMetadataCache(AccountRepository accountRepository,
+                                @Value("${bank.account-cache.max-size:10000}") int maxSize,
+                                @Value("${bank.account-cache.ttl:PT5M}") Duration ttl) {
+        this.accountRepository = accountRepository;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttl.toNanos();
+        // Access-ordered LinkedHashMap gives LRU; removeEldestEntry bounds the size
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AccountMetadata> eldest) {
+                if (size() > AccountMetadataCache.this.maxSize) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get metadata for an account, loading it from the database on a miss
+     * Unknown account numbers are not cached, so newly created accounts are found immediately
+     *
+     * @param accountNumber The account number
+     * @return Optional containing the metadata if the account exists
+     */
+    public Optional<AccountMetadata> get(String accountNumber) {
+        long loadGeneration;
+        synchronized (entries) {
+            AccountMetadata cached = entries.get(accountNumber);
+            if (cached != null) {
+                if (System.nanoTime() - cached.loadedAt < ttlNanos) {
+                    hitCount.incrementAndGet();
+                    return Optional.of(cached);
+                }
+                entries.remove(accountNumber);
+                expiredCount.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+        missCount.incrementAndGet();
+
+        // A projection query on the caller's connection: no second pooled connection is taken while the
+        // caller's transaction is open, and no managed Account is left in its persistence context
+        Optional<AccountMetadata> loaded = accountRepository.findMetadataByAccountNumber(accountNumber)
+                .map(AccountMetadata::new);
+        loaded.ifPresent(metadata -> {
+            synchronized (entries) {
+                // An invalidation since the read started may have committed a change this load did not see
+                if (generation == loadGeneration) {
+                    entries.put(accountNumber, metadata);
+                } else {
+                    discardedLoadCount.incrementAndGet();
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Remove an account from the cache now and again after the current transaction completes
+     * Each removal also stops loads already in flight from caching what they read before the change
+     *
+     * @param accountNumber The account number
+     */
+    public void invalidate(String accountNumber) {
+        evict(accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(accountNumber);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get current cache statistics
+     *
+     * @return Snapshot of size, hits, misses and evictions
+     */
+    public CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        synchronized (entries) {
+            stats.size = entries.size();
+        }
+        stats.maxSize = maxSize;
+        stats.hitCount = hitCount.get();
+        stats.missCount = missCount.get();
+        stats.evictionCount = evictionCount.get();
+        stats.expiredCount = expiredCount.get();
+        stats.discardedLoadCount = discardedLoadCount.get();
+        return stats;
+    }
+
+    private void evict(String accountNumber) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(accountNumber);
+        }
+    }
+
+    /**
+     * Hash a PIN for comparison with cached metadata
+     *
+     * @param pin The PIN
+     * @return Hex-encoded SHA-256 hash, or null if the PIN is null
+     */
+    static String hashPin(String pin) {
+        if (pin == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(pin.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Inner class holding the cached, balance-free view of an account
+     */
+    public static class AccountMetadata {
+        private final Long id;
+        private final String accountNumber;
+        private final Account.AccountType accountType;
+        private final Account.AccountStatus status;
+        private final BigDecimal dailyWithdrawalLimit;
+        private final BigDecimal dailyTransferLimit;
+        private final Long userId;
+        private final String pinHash;
+        private final long loadedAt;
+
+        AccountMetadata(AccountRepository.AccountMetadataView account) {
+            this.id = account.getId();
+            this.accountNumber = account.getAccountNumber();
+            this.accountType = account.getAccountType();
+            this.status = account.getStatus();
+            this.dailyWithdrawalLimit = account.getDailyWithdrawalLimit();
+            this.dailyTransferLimit = account.getDailyTransferLimit();
+            this.userId = account.getUserId();
+            this.pinHash = hashPin(account.getPin());
+            this.loadedAt = System.nanoTime();
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public Account.AccountType getAccountType() {
+            return accountType;
+        }
+
+        public Account.AccountStatus getStatus() {
+            return status;
+        }
+
+        public BigDecimal getDailyWithdrawalLimit() {
+            return dailyWithdrawalLimit;
+        }
+
+        public BigDecimal getDailyTransferLimit() {
+            return dailyTransferLimit;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public boolean isActive() {
+            return status == Account.AccountStatus.ACTIVE;
+        }
+
+        /**
+         * Check a PIN against the cached hash
+         *
+         * @param pin The PIN entered by the user
+         * @return true if the PIN matches
+         */
+        public boolean pinMatches(String pin) {
+            return pinHash != null && pinHash.equals(hashPin(pin));
+        }
+    }
+
+    /**
+     * Inner class to hold cache statistics
+     */
+    public static class CacheStats {
+        public int size;
+        public int maxSize;
+        public long hitCount;
+        public long missCount;
+        public long evictionCount;
+        public long expiredCount;
+        public long discardedLoadCount;
+
+        public double getHitRate() {
+            long total = hitCount + missCount;
+            return total > 0 ? (double) hitCount / total : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{" +
+                    "size=" + size +
+                    ", maxSize=" + maxSize +
+                    ", hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", evictionCount=" + evictionCount +
+                    ", expiredCount=" + expiredCount +
+                    ", discardedLoadCount=" + discardedLoadCount +
+                    ", hitRate=" + String.format("%.2f", getHitRate()) +
+                    '}';
+        }
+    }
+}
@@ -20,15 +20,18 @@ import java.util.Optional;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountMetadataCache accountMetadataCache;
 
     /**
      * Constructor injection - Spring will automatically provide AccountRepository
      *
-     * @param accountRepository The repository for account data access
+     * @param accountRepository    The repository for account data access
+     * @param accountMetadataCache Cache of account metadata, invalidated on status changes
      */
     @Autowired
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, AccountMetadataCache accountMetadataCache) {
         this.accountRepository = accountRepository;
+        this.accountMetadataCache = accountMetadataCache;
     }
 
     /**
@@ -94,7 +97,11 @@ public class AccountService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
         account.setStatus(status);
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+
+        // Status is cached metadata: drop it now and again once this transaction commits
+        accountMetadataCache.invalidate(accountNumber);
+        return saved;
     }
 
     /**
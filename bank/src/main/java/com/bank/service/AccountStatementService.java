@@ -4,7 +4,10 @@ import com.bank.model.Account;
 import com.bank.model.Transaction;
 import com.bank.repository.AccountRepository;
 import com.bank.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,13 +15,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Account Statement Service - Generates account statements with various filters
  * <p>
  * Features: - Generate statements for date ranges - Filter by transaction type - Filter by amount range - Calculate
- * summary statistics - Export formatted statements
+ * summary statistics - Export formatted statements - Page (keyset) or stream long statements in constant memory
  */
 @Service
 @Transactional(readOnly = true)
@@ -27,6 +31,10 @@ public class AccountStatementService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
 
+    // Used to detach streamed rows so long statements run in constant memory
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Constructor injection
      *
@@ -54,21 +62,79 @@ public class AccountStatementService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
-        // Step 2: Get all transactions for the account
-        List<Transaction> allTransactions = transactionRepository.findByAccount(account);
+        // Step 2: Let the database filter by date range (most recent first)
+        return transactionRepository.findByAccountAndDateRange(account,
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
 
-        // Step 3: Filter by date range
+    /**
+     * Generate one page of an account statement for a date range using keyset pagination
+     *
+     * @param accountNumber The account number
+     * @param startDate     Start date (inclusive)
+     * @param endDate       End date (inclusive)
+     * @param cursor        Cursor returned with the previous page, or null for the first page
+     * @param pageSize      Maximum number of transactions in the page
+     * @return The page of transactions and the cursor for the next page
+     * @throws IllegalArgumentException if account not found or page size is not positive
+     */
+    public StatementPage generateStatementPage(String accountNumber, LocalDate startDate, LocalDate endDate,
+                                               StatementCursor cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+
+        // Step 1: Find the account
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
+
+        // Step 2: Seek past the cursor (the first page starts just after the end of the range)
         LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-
-        return allTransactions.stream()
-                .filter(t -> !t.getTransactionDate().isBefore(startDateTime) &&
-                        !t.getTransactionDate().isAfter(endDateTime))
-                .sorted(
-                        (t1, t2) -> t2.getTransactionDate()
-                                .compareTo(t1.getTransactionDate())
-                ) // Most recent first
-                .collect(Collectors.toList());
+        LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+        LocalDateTime cursorDate = cursor != null ? cursor.transactionDate : endDateTime;
+        Long cursorId = cursor != null ? cursor.id : Long.MAX_VALUE;
+
+        List<Transaction> transactions = transactionRepository.findStatementPageAfter(account,
+                startDateTime, endDateTime, cursorDate, cursorId, PageRequest.of(0, pageSize));
+
+        // Step 3: A full page may have more rows after it
+        StatementPage page = new StatementPage();
+        page.transactions = transactions;
+        if (transactions.size() == pageSize) {
+            Transaction last = transactions.get(transactions.size() - 1);
+            page.nextCursor = new StatementCursor(last.getTransactionDate(), last.getId());
+        }
+        return page;
+    }
+
+    /**
+     * Stream an account statement for a date range without holding it in memory Each transaction is passed to the
+     * consumer and then detached, and the summary is computed in the same single pass
+     *
+     * @param accountNumber The account number
+     * @param startDate     Start date (inclusive)
+     * @param endDate       End date (inclusive)
+     * @param consumer      Receives each transaction, most recent first
+     * @return Summary statistics for the streamed transactions
+     * @throws IllegalArgumentException if account not found
+     */
+    public StatementSummary streamStatement(String accountNumber, LocalDate startDate, LocalDate endDate,
+                                            Consumer<Transaction> consumer) {
+        // Step 1: Find the account
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
+
+        // Step 2: Walk the database cursor once, feeding the consumer and the summary together
+        StatementSummary summary = new StatementSummary();
+        try (Stream<Transaction> transactions = transactionRepository.streamByAccountAndDateRange(account,
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+            transactions.forEach(t -> {
+                consumer.accept(t);
+                summary.add(t);
+                entityManager.detach(t); // Keep the persistence context from growing with the statement
+            });
+        }
+        return summary;
     }
 
     /**
@@ -97,14 +163,8 @@ public class AccountStatementService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
-        // Step 2: Get all transactions for the account
-        List<Transaction> allTransactions = transactionRepository.findByAccount(account);
-
-        // Step 3: Filter by transaction type
-        return allTransactions.stream()
-                .filter(t -> t.getType() == transactionType)
-                .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                .collect(Collectors.toList());
+        // Step 2: Let the database filter by transaction type (most recent first)
+        return transactionRepository.findByAccountAndType(account, transactionType);
     }
 
     /**
@@ -122,15 +182,8 @@ public class AccountStatementService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountNumber));
 
-        // Step 2: Get all transactions for the account
-        List<Transaction> allTransactions = transactionRepository.findByAccount(account);
-
-        // Step 3: Filter by amount range
-        return allTransactions.stream()
-                .filter(t -> t.getAmount().compareTo(minAmount) >= 0 &&
-                        t.getAmount().compareTo(maxAmount) <= 0)
-                .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                .collect(Collectors.toList());
+        // Step 2: Let the database filter by amount range (most recent first)
+        return transactionRepository.findByAccountAndAmountRange(account, minAmount, maxAmount);
     }
 
     /**
@@ -140,51 +193,11 @@ public class AccountStatementService {
      * @return StatementSummary containing statistics
      */
     public StatementSummary calculateSummary(List<Transaction> transactions) {
+        // Single pass over the list; StatementSummary.add skips unsuccessful transactions
         StatementSummary summary = new StatementSummary();
-
-        // Step 1: Filter only successful transactions
-        List<Transaction> successfulTransactions = transactions.stream()
-                .filter(Transaction::isSuccessful)
-                .collect(Collectors.toList());
-
-        // Step 2: Calculate totals by type
-        BigDecimal totalDeposits = successfulTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.DEPOSIT)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalWithdrawals = successfulTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.WITHDRAWAL)
-                .map(t -> t.getAmount().add(t.getFee() != null ? t.getFee() : BigDecimal.ZERO))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalTransfersOut = successfulTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.TRANSFER &&
-                        t.getFromAccount() != null)
-                .map(t -> t.getAmount().add(t.getFee() != null ? t.getFee() : BigDecimal.ZERO))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalTransfersIn = successfulTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.TRANSFER &&
-                        t.getToAccount() != null)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalFees = successfulTransactions.stream()
-                .map(t -> t.getFee() != null ? t.getFee() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Step 3: Set summary values
-        summary.totalTransactions = successfulTransactions.size();
-        summary.totalDeposits = totalDeposits;
-        summary.totalWithdrawals = totalWithdrawals;
-        summary.totalTransfersOut = totalTransfersOut;
-        summary.totalTransfersIn = totalTransfersIn;
-        summary.totalFees = totalFees;
-        summary.netAmount = totalDeposits.add(totalTransfersIn)
-                .subtract(totalWithdrawals)
-                .subtract(totalTransfersOut);
-
+        for (Transaction transaction : transactions) {
+            summary.add(transaction);
+        }
         return summary;
     }
 
@@ -200,6 +213,37 @@ public class AccountStatementService {
         public BigDecimal totalFees = BigDecimal.ZERO;
         public BigDecimal netAmount = BigDecimal.ZERO;
 
+        /**
+         * Add one transaction to the running totals Unsuccessful transactions are ignored
+         *
+         * @param t The transaction
+         */
+        public void add(Transaction t) {
+            if (!t.isSuccessful()) {
+                return;
+            }
+            BigDecimal fee = t.getFee() != null ? t.getFee() : BigDecimal.ZERO;
+
+            totalTransactions++;
+            totalFees = totalFees.add(fee);
+            if (t.getType() == Transaction.TransactionType.DEPOSIT) {
+                totalDeposits = totalDeposits.add(t.getAmount());
+                netAmount = netAmount.add(t.getAmount());
+            } else if (t.getType() == Transaction.TransactionType.WITHDRAWAL) {
+                totalWithdrawals = totalWithdrawals.add(t.getAmount()).add(fee);
+                netAmount = netAmount.subtract(t.getAmount()).subtract(fee);
+            } else if (t.getType() == Transaction.TransactionType.TRANSFER) {
+                if (t.getFromAccount() != null) {
+                    totalTransfersOut = totalTransfersOut.add(t.getAmount()).add(fee);
+                    netAmount = netAmount.subtract(t.getAmount()).subtract(fee);
+                }
+                if (t.getToAccount() != null) {
+                    totalTransfersIn = totalTransfersIn.add(t.getAmount());
+                    netAmount = netAmount.add(t.getAmount());
+                }
+            }
+        }
+
         @Override
         public String toString() {
             return "StatementSummary{" +
@@ -213,4 +257,37 @@ public class AccountStatementService {
                     '}';
         }
     }
+
+    /**
+     * Inner class identifying the last row of a statement page
+     */
+    public static class StatementCursor {
+        public final LocalDateTime transactionDate;
+        public final Long id;
+
+        public StatementCursor(LocalDateTime transactionDate, Long id) {
+            this.transactionDate = transactionDate;
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "StatementCursor{" +
+                    "transactionDate=" + transactionDate +
+                    ", id=" + id +
+                    '}';
+        }
+    }
+
+    /**
+     * Inner class to hold one page of a statement
+     */
+    public static class StatementPage {
+        public List<Transaction> transactions;
+        public StatementCursor nextCursor; // null when this is the last page
+
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+    }
 }
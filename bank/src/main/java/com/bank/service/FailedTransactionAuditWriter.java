@@ -0,0 +1,242 @@
+package com.bank.service;
+
+import com.bank.model.Transaction;
+import com.bank.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Failed Transaction Audit Writer - Records rejected transaction attempts off the request path
+ * <p>
+ * Features: - Bounded in-memory queue so a flood of rejections cannot exhaust memory - Dedicated writer thread that
+ * batch-inserts queued records in its own REQUIRES_NEW transaction, so audit rows survive the rollback of the rejected
+ * operation - A batch that fails is retried one record per transaction, so a bad record only loses itself - The
+ * writer does not share the @Scheduled thread, so a long interest run cannot stall it -
+ * Backpressure: callers wait briefly for queue space, then the record is dropped and counted - Metrics: queue depth,
+ * flush latency, written and dropped counts
+ */
+@Service
+public class FailedTransactionAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(FailedTransactionAuditWriter.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate requiresNewTemplate;
+    private final BlockingQueue<Transaction> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long flushIntervalMillis;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    // Metrics
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong lostCount = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile long maxFlushMillis;
+
+    /**
+     * Constructor injection
+     *
+     * @param transactionRepository Repository for transaction data access
+     * @param transactionManager    Transaction manager used to open REQUIRES_NEW transactions
+     * @param queueCapacity         Maximum number of queued audit records (bank.audit.queue-capacity)
+     * @param batchSize             Maximum records inserted per flush transaction (bank.audit.batch-size)
+     * @param offerTimeoutMillis    How long a caller waits for queue space before dropping (bank.audit.offer-timeout-ms)
+     * @param flushIntervalMillis   How long the writer waits for a record before checking for shutdown
+     *                              (bank.audit.flush-interval-ms)
+     */
+    @Autowired
+    public FailedTransactionAuditWriter(TransactionRepository transactionRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${bank.audit.queue-capacity:10000}") int queueCapacity,
+                                        @Value("${bank.audit.batch-size:100}") int batchSize,
+                                        @Value("${bank.audit.offer-timeout-ms:5}") long offerTimeoutMillis,
+                                        @Value("${bank.audit.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.transactionRepository = transactionRepository;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.writerThread = new Thread(this::runWriter, "audit-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Start the writer thread once the bean is ready
+     */
+    @PostConstruct
+    public void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Queue a failed transaction record for asynchronous insertion
+     *
+     * @param failedTransaction The failed transaction record
+     * @return true if queued, false if it was dropped because the queue stayed full
+     */
+    public boolean record(Transaction failedTransaction) {
+        try {
+            if (queue.offer(failedTransaction, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Writer loop: wait for the first record, then write it together with whatever else is queued
+     */
+    private void runWriter() {
+        List<Transaction> batch = new ArrayList<>(batchSize);
+        while (running) {
+            Transaction first;
+            try {
+                first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Drain the queue in batches on the calling thread
+     */
+    public void flush() {
+        List<Transaction> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stop the writer thread and write whatever is still queued before the application shuts down The thread is
+     * not interrupted, so a batch in progress finishes its insert
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Get current audit writer statistics
+     *
+     * @return Snapshot of queue depth, counts and flush latency
+     */
+    public AuditStats getStats() {
+        AuditStats stats = new AuditStats();
+        stats.queueDepth = queue.size();
+        stats.writtenCount = writtenCount.get();
+        stats.droppedCount = droppedCount.get();
+        stats.failedFlushCount = failedFlushCount.get();
+        stats.lostCount = lostCount.get();
+        stats.lastFlushMillis = lastFlushMillis;
+        stats.maxFlushMillis = maxFlushMillis;
+        return stats;
+    }
+
+    /**
+     * Insert one batch in its own transaction. If the batch fails, each record is retried in its own transaction so
+     * only the records that cannot be written are lost; failures are counted and logged, they never reach the caller
+     *
+     * @param batch Records to insert
+     */
+    private void writeBatch(List<Transaction> batch) {
+        long start = System.nanoTime();
+        try {
+            requiresNewTemplate.executeWithoutResult(status -> transactionRepository.saveAll(batch));
+            writtenCount.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failedFlushCount.incrementAndGet();
+            log.warn("Writing {} failed transaction audit records as one batch failed, retrying one by one: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(this::writeOne);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastFlushMillis = elapsedMillis;
+        if (elapsedMillis > maxFlushMillis) {
+            maxFlushMillis = elapsedMillis;
+        }
+    }
+
+    /**
+     * Insert a single record in its own transaction after its batch failed
+     *
+     * @param record Record to insert
+     */
+    private void writeOne(Transaction record) {
+        // The rolled-back batch already assigned a sequence id; without it the record is inserted as new
+        record.setId(null);
+        try {
+            requiresNewTemplate.executeWithoutResult(status -> transactionRepository.save(record));
+            writtenCount.incrementAndGet();
+        } catch (RuntimeException e) {
+            lostCount.incrementAndGet();
+            log.error("Dropping failed {} audit record ({}): {}", record.getType(), record.getErrorMessage(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Inner class to hold audit writer statistics
+     */
+    public static class AuditStats {
+        public int queueDepth;
+        public long writtenCount;
+        public long droppedCount;
+        public long failedFlushCount;
+        public long lostCount;
+        public long lastFlushMillis;
+        public long maxFlushMillis;
+
+        @Override
+        public String toString() {
+            return "AuditStats{" +
+                    "queueDepth=" + queueDepth +
+                    ", writtenCount=" + writtenCount +
+                    ", droppedCount=" + droppedCount +
+                    ", failedFlushCount=" + failedFlushCount +
+                    ", lostCount=" + lostCount +
+                    ", lastFlushMillis=" + lastFlushMillis +
+                    ", maxFlushMillis=" + maxFlushMillis +
+                    '}';
+        }
+    }
+}
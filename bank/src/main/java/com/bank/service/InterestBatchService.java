@@ -0,0 +1,392 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.model.InterestRunCheckpoint;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.InterestRunCheckpointRepository;
+import com.bank.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Interest Batch Service - Applies monthly interest to all eligible accounts in parallel chunks
+ *
+ * Features:
+ * - Keyset-paged reads of eligible account IDs (no findAll)
+ * - Chunks processed by a fixed worker pool, each chunk in its own transaction with its
+ *   account rows locked, so concurrent deposits and withdrawals cannot be overwritten
+ * - A chunk that fails (e.g. a lock timeout against a transfer) is retried account by account,
+ *   each in its own transaction; accounts that still fail are left for the next run instead of
+ *   stopping this one
+ * - Interest transactions inserted with JDBC batching
+ * - Restartable: a checkpoint records the last committed wave of chunks, and accounts
+ *   already credited for the period are skipped, so a re-run never pays interest twice
+ * - Runs left unfinished by a shutdown are resumed in the background on startup
+ * - A pass that ends with failed accounts is repeated from the start, at most maxPasses times; after that the
+ *   period is closed with its failure count recorded, so a permanently failing account cannot keep the run open
+ * - Progress/throughput report for every run
+ */
+@Service
+public class InterestBatchService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final InterestRunCheckpointRepository checkpointRepository;
+    private final InterestCalculationService interestCalculationService;
+    private final TransactionTemplate requiresNewTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final int maxPasses;
+
+    // One run at a time: the startup resume and the monthly schedule may overlap
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Constructor injection
+     * @param accountRepository Repository for account data access
+     * @param transactionRepository Repository for transaction data access
+     * @param checkpointRepository Repository for interest run checkpoints
+     * @param interestCalculationService Service that calculates interest for one account
+     * @param transactionManager Transaction manager used to open one transaction per chunk
+     * @param chunkSize Accounts per chunk (bank.interest.chunk-size)
+     * @param parallelism Number of worker threads (bank.interest.parallelism)
+     * @param maxAttempts Attempts per account when a chunk has to be retried account by account
+     *                    (bank.interest.max-attempts)
+     * @param maxPasses Full passes over the eligible accounts before a period with failed accounts is closed
+     *                  (bank.interest.max-passes)
+     */
+    @Autowired
+    public InterestBatchService(AccountRepository accountRepository,
+                                TransactionRepository transactionRepository,
+                                InterestRunCheckpointRepository checkpointRepository,
+                                InterestCalculationService interestCalculationService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${bank.interest.chunk-size:1000}") int chunkSize,
+                                @Value("${bank.interest.parallelism:4}") int parallelism,
+                                @Value("${bank.interest.max-attempts:3}") int maxAttempts,
+                                @Value("${bank.interest.max-passes:3}") int maxPasses) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.interestCalculationService = interestCalculationService;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxPasses = Math.max(1, maxPasses);
+    }
+
+    /**
+     * Resume unfinished runs in the background once the context is up
+     * Runs on its own thread because the terminal takes over the main thread right after startup
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        Thread resume = new Thread(this::resumeIncompleteRuns, "interest-resume");
+        resume.setDaemon(true);
+        resume.start();
+    }
+
+    /**
+     * Finish every interest run that was started but did not complete, oldest period first
+     *
+     * @return Reports of the resumed runs
+     */
+    public List<InterestRunReport> resumeIncompleteRuns() {
+        List<InterestRunReport> reports = new ArrayList<>();
+        for (InterestRunCheckpoint checkpoint : checkpointRepository.findByCompletedFalseOrderByPeriodAsc()) {
+            System.out.println("Resuming interest run for " + checkpoint.getPeriod() + " after account "
+                    + checkpoint.getLastAccountId());
+            InterestRunReport report = runMonthlyInterest(YearMonth.parse(checkpoint.getPeriod()));
+            System.out.println(report);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    /**
+     * Scheduled method to apply interest monthly
+     * This runs automatically on the first day of each month at midnight
+     */
+    @Scheduled(cron = "0 0 0 1 * ?") // First day of every month at midnight
+    public void scheduledMonthlyInterest() {
+        System.out.println("Running scheduled monthly interest batch...");
+        InterestRunReport report = runMonthlyInterest(YearMonth.now());
+        System.out.println(report);
+    }
+
+    /**
+     * Apply interest for a period to every eligible account
+     * Resumes from the checkpoint if the period was started before and did not finish
+     *
+     * @param period The interest period
+     * @return Report with counts and throughput of this run
+     */
+    public InterestRunReport runMonthlyInterest(YearMonth period) {
+        runLock.lock();
+        try {
+            return runLocked(period);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private InterestRunReport runLocked(YearMonth period) {
+        String periodKey = period.toString();
+        InterestRunReport report = new InterestRunReport();
+        report.period = periodKey;
+        long start = System.nanoTime();
+
+        // Step 1: Load or create the checkpoint for this period
+        InterestRunCheckpoint checkpoint = requiresNewTemplate.execute(status ->
+                checkpointRepository.findByPeriod(periodKey)
+                        .orElseGet(() -> checkpointRepository.save(new InterestRunCheckpoint(periodKey))));
+        if (checkpoint.isCompleted()) {
+            report.completed = true;
+            return report;
+        }
+        report.resumedFromAccountId = checkpoint.getLastAccountId();
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        try {
+            long lastId = checkpoint.getLastAccountId();
+            while (true) {
+                // Step 2: Read the next wave of chunks (one chunk per worker) by keyset
+                List<List<Long>> wave = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    List<Long> ids = accountRepository.findInterestEligibleIdsAfter(
+                            lastId, periodKey, PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    wave.add(ids);
+                    lastId = ids.get(ids.size() - 1);
+                }
+                if (wave.isEmpty()) {
+                    report.completed = true;
+                    break;
+                }
+
+                // Step 3: Process the chunks concurrently, each in its own transaction
+                List<Callable<ChunkResult>> tasks = new ArrayList<>(wave.size());
+                for (List<Long> ids : wave) {
+                    tasks.add(() -> processChunk(ids, periodKey));
+                }
+                int credited = 0;
+                boolean waveFailed = false;
+                for (Future<ChunkResult> result : workers.invokeAll(tasks)) {
+                    try {
+                        ChunkResult chunk = result.get();
+                        credited += chunk.credited;
+                        report.accountsFailed += chunk.failed;
+                        report.chunksCommitted++;
+                    } catch (ExecutionException e) {
+                        report.chunksFailed++;
+                        waveFailed = true;
+                        System.err.println("Error applying interest chunk: " + e.getCause().getMessage());
+                    }
+                }
+                report.accountsCredited += credited;
+                report.accountsScanned += wave.stream().mapToInt(List::size).sum();
+
+                // Step 4: Stop on an unexpected failure; the checkpoint stays at the last fully processed wave
+                if (waveFailed) {
+                    break;
+                }
+                saveCheckpoint(checkpoint, lastId, credited, false);
+            }
+
+            if (report.completed && report.accountsFailed > 0) {
+                checkpoint.setPasses(checkpoint.getPasses() + 1);
+                checkpoint.setAccountsFailed(report.accountsFailed);
+                if (checkpoint.getPasses() < maxPasses) {
+                    // Accounts that failed are still eligible; rewind so the next run scans for them again
+                    report.completed = false;
+                    saveCheckpoint(checkpoint, 0L, 0, false);
+                } else {
+                    System.err.println("Closing interest run for " + periodKey + " after " + checkpoint.getPasses()
+                            + " passes with " + report.accountsFailed + " accounts not credited");
+                    saveCheckpoint(checkpoint, lastId, 0, true);
+                }
+            } else if (report.completed) {
+                saveCheckpoint(checkpoint, lastId, 0, true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdown();
+        }
+
+        report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return report;
+    }
+
+    /**
+     * Apply interest to one chunk of accounts, falling back to one transaction per account if the
+     * chunk cannot be committed as a whole
+     *
+     * @param accountIds IDs of the accounts in this chunk
+     * @param periodKey Interest period (yyyy-MM)
+     * @return Accounts credited and accounts that could not be credited
+     */
+    private ChunkResult processChunk(List<Long> accountIds, String periodKey) {
+        ChunkResult result = new ChunkResult();
+        try {
+            result.credited = applyInterestToChunk(accountIds, periodKey);
+            return result;
+        } catch (RuntimeException e) {
+            System.err.println("Interest chunk of " + accountIds.size() + " accounts failed, retrying one by one: "
+                    + e.getMessage());
+        }
+        for (Long accountId : accountIds) {
+            if (applyInterestToAccount(accountId, periodKey)) {
+                result.credited++;
+            } else {
+                result.failed++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply interest to one chunk of accounts in a new transaction
+     * The rows are locked in ID order before they are read, and interest transactions for the whole
+     * chunk are inserted with a single saveAll (JDBC batched)
+     *
+     * @param accountIds IDs of the accounts in this chunk
+     * @param periodKey Interest period (yyyy-MM)
+     * @return Number of accounts credited
+     */
+    private int applyInterestToChunk(List<Long> accountIds, String periodKey) {
+        Integer credited = requiresNewTemplate.execute(status -> {
+            List<Transaction> interestTransactions = new ArrayList<>(accountIds.size());
+            for (Account account : accountRepository.findAllByIdForUpdate(accountIds)) {
+                // Skips accounts credited by an earlier, interrupted run of this period
+                Transaction interestTransaction = interestCalculationService.creditInterest(account, periodKey);
+                if (interestTransaction != null) {
+                    interestTransactions.add(interestTransaction);
+                }
+            }
+            transactionRepository.saveAll(interestTransactions);
+            return interestTransactions.size();
+        });
+        return credited != null ? credited : 0;
+    }
+
+    /**
+     * Apply interest to a single account in its own transaction, retrying on lock and version conflicts
+     *
+     * @param accountId The account ID
+     * @param periodKey Interest period (yyyy-MM)
+     * @return false if the account could not be credited within maxAttempts
+     */
+    private boolean applyInterestToAccount(Long accountId, String periodKey) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                requiresNewTemplate.executeWithoutResult(status ->
+                        accountRepository.findByIdForUpdate(accountId).ifPresent(account -> {
+                            Transaction interestTransaction =
+                                    interestCalculationService.creditInterest(account, periodKey);
+                            if (interestTransaction != null) {
+                                transactionRepository.save(interestTransaction);
+                            }
+                        }));
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    System.err.println("Giving up on interest for account " + accountId + " after " + attempt
+                            + " attempts: " + e.getMessage());
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Advance the checkpoint in its own transaction
+     *
+     * @param checkpoint The checkpoint for this run
+     * @param lastAccountId Highest account ID committed so far
+     * @param credited Accounts credited since the previous checkpoint
+     * @param completed Whether the run has finished
+     */
+    private void saveCheckpoint(InterestRunCheckpoint checkpoint, long lastAccountId, int credited,
+                                boolean completed) {
+        checkpoint.setLastAccountId(lastAccountId);
+        checkpoint.setAccountsCredited(checkpoint.getAccountsCredited() + credited);
+        checkpoint.setCompleted(completed);
+        InterestRunCheckpoint saved = requiresNewTemplate.execute(status -> checkpointRepository.save(checkpoint));
+        if (saved != null) {
+            checkpoint.setId(saved.getId());
+        }
+    }
+
+    /**
+     * Outcome of one chunk
+     */
+    private static class ChunkResult {
+        int credited;
+        int failed;
+    }
+
+    /**
+     * Inner class to hold the progress/throughput report of an interest run
+     */
+    public static class InterestRunReport {
+        public String period;
+        public long resumedFromAccountId;
+        public long accountsScanned;
+        public long accountsCredited;
+        public long accountsFailed;
+        public int chunksCommitted;
+        public int chunksFailed;
+        public boolean completed;
+        public long elapsedMillis;
+
+        /**
+         * Accounts scanned per second over the whole run
+         *
+         * @return Throughput, or zero if the run took no measurable time
+         */
+        public double getAccountsPerSecond() {
+            return elapsedMillis > 0 ? accountsScanned * 1000.0 / elapsedMillis : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "InterestRunReport{" +
+                    "period='" + period + '\'' +
+                    ", resumedFromAccountId=" + resumedFromAccountId +
+                    ", accountsScanned=" + accountsScanned +
+                    ", accountsCredited=" + accountsCredited +
+                    ", accountsFailed=" + accountsFailed +
+                    ", chunksCommitted=" + chunksCommitted +
+                    ", chunksFailed=" + chunksFailed +
+                    ", completed=" + completed +
+                    ", elapsedMillis=" + elapsedMillis +
+                    ", accountsPerSecond=" + String.format("%.1f", getAccountsPerSecond()) +
+                    '}';
+        }
+    }
+}
@@ -1,18 +1,19 @@
 package com.bank.service;
 
 import com.bank.model.Account;
+import com.bank.model.Money;
 import com.bank.model.Transaction;
 import com.bank.repository.AccountRepository;
 import com.bank.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,7 +22,9 @@ import java.util.List;
  * Features:
  * - Calculates interest based on account balance and interest rate
  * - Applies interest monthly to savings accounts
- * - Can be scheduled to run automatically or called manually
+ * - Called manually; the scheduled monthly run is done by InterestBatchService
+ * - Every credit locks the account row and records the period, so an account is paid at most once per
+ *   month whichever path credits it
  * 
  * Interest Calculation Formula:
  * Monthly Interest = (Principal × Annual Interest Rate) / 12
@@ -30,6 +33,10 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class InterestCalculationService {
 
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+    private static final BigDecimal MONTHS_PER_YEAR = new BigDecimal("12");
+    private static final int PAGE_SIZE = 500;
+
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
 
@@ -72,103 +79,130 @@ public class InterestCalculationService {
             return BigDecimal.ZERO; // No interest if rate is not set or zero
         }
 
-        // Step 5: Calculate monthly interest
+        // Step 5: Fast path - same two roundings as below, done on cents and hundredths of a percent
+        Money exactBalance = Money.tryOf(balance);
+        Money exactRate = Money.tryOf(interestRate);
+        if (exactBalance != null && exactRate != null) {
+            try {
+                // balance(cents) × rate(hundredths of %) is the annual interest in units of 1e-6;
+                // /100 rounds it to 4 decimals, /1200 divides by 12 and rounds to cents
+                long annualInterestScale4 = Money.divideHalfUp(
+                        Math.multiplyExact(exactBalance.getMinorUnits(), exactRate.getMinorUnits()), 100);
+                return Money.ofMinor(Money.divideHalfUp(annualInterestScale4, 1200)).toBigDecimal();
+            } catch (ArithmeticException overflow) {
+                // Very large balances fall through to BigDecimal
+            }
+        }
+
+        // Step 6: Calculate monthly interest
         // Formula: (Balance × Annual Interest Rate) / 12
         // Interest rate is stored as percentage (e.g., 2.5 for 2.5%), so divide by 100
         BigDecimal monthlyInterest = balance
                 .multiply(interestRate)
-                .divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP) // Convert percentage to decimal
-                .divide(new BigDecimal("12"), 2, RoundingMode.HALF_UP); // Divide by 12 for monthly
+                .divide(ONE_HUNDRED, 4, RoundingMode.HALF_UP) // Convert percentage to decimal
+                .divide(MONTHS_PER_YEAR, 2, RoundingMode.HALF_UP); // Divide by 12 for monthly
 
         return monthlyInterest;
     }
 
     /**
-     * Apply interest to a savings account
-     * Creates a deposit transaction for the interest amount
+     * Apply this month's interest to a savings account
+     * The account row is locked and re-read, so the balance the interest is based on is current
      * 
      * @param account The savings account
      * @return The interest transaction created
+     * @throws IllegalArgumentException if the account does not exist, was already credited this month
+     *                                  or would receive no interest
      */
     @Transactional
     public Transaction applyInterest(Account account) {
-        // Step 1: Calculate interest
-        BigDecimal interestAmount = calculateInterest(account);
+        // Step 1: Lock the account row and load its current state
+        Account locked = accountRepository.findByAccountNumberForUpdate(account.getAccountNumber())
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + account.getAccountNumber()));
+
+        // Step 2: Refuse a second payment for this month (or a payment after a later month was credited)
+        String period = YearMonth.now().toString();
+        if (locked.getLastInterestPeriod() != null && locked.getLastInterestPeriod().compareTo(period) >= 0) {
+            throw new IllegalArgumentException("Interest for " + period + " has already been applied");
+        }
 
-        // Step 2: Check if interest amount is greater than zero
-        if (interestAmount.compareTo(BigDecimal.ZERO) <= 0) {
+        // Step 3: Credit the interest and record the period
+        Transaction interestTransaction = creditInterest(locked, period);
+        if (interestTransaction == null) {
             throw new IllegalArgumentException("Cannot apply interest: amount is zero or negative");
         }
 
-        // Step 3: Create interest deposit transaction
-        Transaction interestTransaction = new Transaction(
-            Transaction.TransactionType.DEPOSIT,
-            interestAmount,
-            null, // No source account for interest
-            account,
-            "Monthly Interest Payment - " + interestAmount + " at " + account.getInterestRate() + "%"
-        );
-
-        // Step 4: Update account balance (add interest)
-        BigDecimal newBalance = account.getBalance().add(interestAmount);
-        account.setBalance(newBalance);
-        accountRepository.save(account);
-
-        // Step 5: Mark transaction as successful and save
-        interestTransaction.setSuccessful(true);
+        // Step 4: Save the transaction; the account change is flushed on commit
         return transactionRepository.save(interestTransaction);
     }
 
     /**
-     * Apply interest to all eligible savings accounts
-     * This method processes all active savings accounts and applies interest
+     * Apply this month's interest to all eligible savings accounts
+     * Accounts already credited this month (by the batch or a manual payment) are skipped; this runs in a
+     * single transaction, the scheduled monthly run uses InterestBatchService instead
      * 
      * @return Number of accounts that received interest
      */
     @Transactional
     public int applyInterestToAllAccounts() {
-        // Step 1: Get all accounts
-        List<Account> allAccounts = accountRepository.findAll();
-
-        // Step 2: Counter for accounts that received interest
+        String period = YearMonth.now().toString();
         int count = 0;
 
-        // Step 3: Process each account
-        for (Account account : allAccounts) {
-            // Step 4: Check if account is eligible for interest
-            if (account.isSavingsAccount() && account.isActive()) {
-                BigDecimal interest = calculateInterest(account);
-                
-                // Step 5: Apply interest if amount is greater than zero
-                if (interest.compareTo(BigDecimal.ZERO) > 0) {
-                    try {
-                        applyInterest(account);
-                        count++;
-                    } catch (Exception e) {
-                        // Log error but continue processing other accounts
-                        System.err.println("Error applying interest to account " + 
-                                         account.getAccountNumber() + ": " + e.getMessage());
-                    }
+        // Step 1: Walk the eligible accounts by keyset, one page at a time
+        long lastId = 0;
+        List<Long> ids;
+        while (!(ids = accountRepository.findInterestEligibleIdsAfter(lastId, period, PageRequest.of(0, PAGE_SIZE)))
+                .isEmpty()) {
+            lastId = ids.get(ids.size() - 1);
+
+            // Step 2: Lock the page and credit every account in it
+            List<Transaction> interestTransactions = new ArrayList<>(ids.size());
+            for (Account account : accountRepository.findAllByIdForUpdate(ids)) {
+                Transaction interestTransaction = creditInterest(account, period);
+                if (interestTransaction != null) {
+                    interestTransactions.add(interestTransaction);
                 }
             }
+            transactionRepository.saveAll(interestTransactions);
+            count += interestTransactions.size();
         }
 
-        // Step 6: Return count of accounts that received interest
+        // Step 3: Return count of accounts that received interest
         return count;
     }
 
     /**
-     * Scheduled method to apply interest monthly
-     * This runs automatically on the first day of each month at midnight
-     * 
-     * Note: To enable scheduling, add @EnableScheduling to the main application class
+     * Credit one period of interest to a locked account
+     * Updates the balance and the last credited period; the caller saves the returned transaction
+     *
+     * @param account The account, locked by the current transaction
+     * @param period  Interest period (yyyy-MM)
+     * @return The unsaved interest transaction, or null if the account was already credited for the period (or a
+     *         later one) or earns no interest
      */
-    @Scheduled(cron = "0 0 0 1 * ?") // First day of every month at midnight
-    @Transactional
-    public void scheduledMonthlyInterest() {
-        System.out.println("Running scheduled monthly interest calculation...");
-        int count = applyInterestToAllAccounts();
-        System.out.println("Interest applied to " + count + " accounts.");
+    Transaction creditInterest(Account account, String period) {
+        // yyyy-MM sorts by month; an account already credited for a later month is not paid for an older one
+        if (account.getLastInterestPeriod() != null && account.getLastInterestPeriod().compareTo(period) >= 0) {
+            return null;
+        }
+        BigDecimal interest = calculateInterest(account);
+        if (interest.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+
+        Transaction interestTransaction = new Transaction(
+            Transaction.TransactionType.DEPOSIT,
+            interest,
+            null, // No source account for interest
+            account,
+            "Monthly Interest Payment - " + interest + " at " + account.getInterestRate() + "%"
+        );
+        interestTransaction.setSuccessful(true);
+
+        // Account changes are flushed on commit
+        account.setBalance(account.getBalance().add(interest));
+        account.setLastInterestPeriod(period);
+        return interestTransaction;
     }
 
     /**
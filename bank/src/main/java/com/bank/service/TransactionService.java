@@ -1,10 +1,14 @@
 package com.bank.service;
 
 import com.bank.model.Account;
+import com.bank.model.DailyLimitLedger;
+import com.bank.model.Money;
 import com.bank.model.Transaction;
 import com.bank.repository.AccountRepository;
+import com.bank.repository.DailyLimitLedgerRepository;
 import com.bank.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +16,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -28,21 +33,78 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true) // Default to read-only for better performance
 public class TransactionService {
 
+    // Fee structure: withdrawal 1% (min $1, max $10), transfer 0.5% (min $0.50, max $5)
+    private static final long WITHDRAWAL_FEE_BASIS_POINTS = 100;
+    private static final Money WITHDRAWAL_FEE_MIN = Money.ofMinor(100);
+    private static final Money WITHDRAWAL_FEE_MAX = Money.ofMinor(1000);
+    private static final long TRANSFER_FEE_BASIS_POINTS = 50;
+    private static final Money TRANSFER_FEE_MIN = Money.ofMinor(50);
+    private static final Money TRANSFER_FEE_MAX = Money.ofMinor(500);
+
+    // Same fee structure for the BigDecimal fallback, allocated once
+    private static final BigDecimal WITHDRAWAL_FEE_RATE = new BigDecimal("0.01");
+    private static final BigDecimal WITHDRAWAL_FEE_MIN_AMOUNT = WITHDRAWAL_FEE_MIN.toBigDecimal();
+    private static final BigDecimal WITHDRAWAL_FEE_MAX_AMOUNT = WITHDRAWAL_FEE_MAX.toBigDecimal();
+    private static final BigDecimal TRANSFER_FEE_RATE = new BigDecimal("0.005");
+    private static final BigDecimal TRANSFER_FEE_MIN_AMOUNT = TRANSFER_FEE_MIN.toBigDecimal();
+    private static final BigDecimal TRANSFER_FEE_MAX_AMOUNT = TRANSFER_FEE_MAX.toBigDecimal();
+
+    // Failed-transaction audit rows must pass the Transaction column constraints whatever the request carried
+    private static final BigDecimal AUDIT_MIN_AMOUNT = new BigDecimal("0.01");
+    private static final int AUDIT_MAX_INTEGER_DIGITS = 17; // numeric(19,2)
+    private static final int AUDIT_DESCRIPTION_LENGTH = 500;
+    private static final int AUDIT_ERROR_MESSAGE_LENGTH = 1000;
+
+    /**
+     * Locking Strategy Enum - How concurrent transfers on the same accounts are kept consistent
+     */
+    public enum LockingStrategy {
+        PESSIMISTIC, // Row locks taken in account-number order before balances are read
+        OPTIMISTIC // No row locks; @Version detects conflicts and TransferService retries
+    }
+
     // Inject repositories for database operations
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final DailyLimitLedgerRepository dailyLimitLedgerRepository;
+    private final FailedTransactionAuditWriter failedTransactionAuditWriter;
+    private final AccountMetadataCache accountMetadataCache;
+
+    // Locking strategy for transfers, configured per deployment
+    private final LockingStrategy lockingStrategy;
 
     /**
      * Constructor injection - Spring will automatically provide repositories
      *
-     * @param accountRepository     Repository for account data access
-     * @param transactionRepository Repository for transaction data access
+     * @param accountRepository            Repository for account data access
+     * @param transactionRepository        Repository for transaction data access
+     * @param dailyLimitLedgerRepository   Repository for per-day outgoing totals
+     * @param failedTransactionAuditWriter Asynchronous writer for failed transaction records
+     * @param accountMetadataCache         Read-through cache of account status, limits and PIN hash
+     * @param lockingStrategy              Transfer locking strategy (bank.transfer.locking-strategy)
      */
     @Autowired
     public TransactionService(AccountRepository accountRepository,
-                              TransactionRepository transactionRepository) {
+                              TransactionRepository transactionRepository,
+                              DailyLimitLedgerRepository dailyLimitLedgerRepository,
+                              FailedTransactionAuditWriter failedTransactionAuditWriter,
+                              AccountMetadataCache accountMetadataCache,
+                              @Value("${bank.transfer.locking-strategy:PESSIMISTIC}") LockingStrategy lockingStrategy) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
+        this.dailyLimitLedgerRepository = dailyLimitLedgerRepository;
+        this.failedTransactionAuditWriter = failedTransactionAuditWriter;
+        this.accountMetadataCache = accountMetadataCache;
+        this.lockingStrategy = lockingStrategy;
+    }
+
+    /**
+     * Get the configured transfer locking strategy
+     *
+     * @return The locking strategy in use
+     */
+    public LockingStrategy getLockingStrategy() {
+        return lockingStrategy;
     }
 
     /**
@@ -61,17 +123,23 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.DEPOSIT, amount, null, null,
                     description, "Invalid amount: must be greater than zero");
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Deposit amount must be greater than zero");
         }
 
-        // Step 2: Find and validate the account
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        // Step 1b: Reject unknown or inactive account from the metadata cache
+        rejectFromMetadataCache(Transaction.TransactionType.DEPOSIT, amount, accountNumber, null,
+                description, "Account");
+
+        // Step 2: Find and lock the account; the row lock is held until commit, so concurrent deposits,
+        // withdrawals and transfers cannot overwrite each other's balance (one row cannot deadlock, so this
+        // applies under either locking strategy)
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
                 .orElseThrow(() -> {
                     Transaction failedTransaction = createFailedTransaction(
                             Transaction.TransactionType.DEPOSIT, amount, null, null,
                             description, "Account not found: " + accountNumber);
-                    transactionRepository.save(failedTransaction);
+                    failedTransactionAuditWriter.record(failedTransaction);
                     return new IllegalArgumentException("Account not found: " + accountNumber);
                 });
 
@@ -80,7 +148,7 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.DEPOSIT, amount, null, account,
                     description, "Account is not active. Status: " + account.getStatus());
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Account is not active. Status: " + account.getStatus());
         }
 
@@ -94,7 +162,7 @@ public class TransactionService {
         transaction.setFee(BigDecimal.ZERO); // No fee for deposits
 
         // Step 5: Update account balance (add amount)
-        BigDecimal newBalance = account.getBalance().add(amount);
+        BigDecimal newBalance = credit(account.getBalance(), amount);
         account.setBalance(newBalance);
         accountRepository.save(account);
 
@@ -122,17 +190,22 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.WITHDRAWAL, amount, null, null,
                     description, "Invalid amount: must be greater than zero");
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Withdrawal amount must be greater than zero");
         }
 
-        // Step 2: Find and validate the account
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        // Step 1b: Reject unknown account, wrong PIN or inactive account from the metadata cache
+        rejectFromMetadataCache(Transaction.TransactionType.WITHDRAWAL, amount, accountNumber, pin,
+                description, "Account");
+
+        // Step 2: Find and lock the account (see deposit); the balance and daily limit checks below read the
+        // locked row, so two withdrawals cannot both pass them
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
                 .orElseThrow(() -> {
                     Transaction failedTransaction = createFailedTransaction(
                             Transaction.TransactionType.WITHDRAWAL, amount, null, null,
                             description, "Account not found: " + accountNumber);
-                    transactionRepository.save(failedTransaction);
+                    failedTransactionAuditWriter.record(failedTransaction);
                     return new IllegalArgumentException("Account not found: " + accountNumber);
                 });
 
@@ -141,7 +214,7 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.WITHDRAWAL, amount, account, null,
                     description, "Invalid PIN");
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Invalid PIN");
         }
 
@@ -150,35 +223,37 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.WITHDRAWAL, amount, account, null,
                     description, "Account is not active. Status: " + account.getStatus());
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Account is not active. Status: " + account.getStatus());
         }
 
         // Step 5: Check daily withdrawal limit (Enhanced Rule: Daily limits)
         resetDailyLimitsIfNeeded(account);
-        BigDecimal dailyWithdrawn = getDailyWithdrawalAmount(account);
-        BigDecimal remainingLimit = account.getDailyWithdrawalLimit().subtract(dailyWithdrawn);
-        if (amount.compareTo(remainingLimit) > 0) {
+        DailyLimitLedger ledger = getTodayLedger(account);
+        BigDecimal fee = calculateWithdrawalFee(amount);
+        DebitCheck check = DebitCheck.of(amount, fee, account.getDailyWithdrawalLimit(),
+                getDailyWithdrawalAmount(ledger), account.getBalance());
+        if (!check.withinLimit) {
+            BigDecimal remainingLimit = check.remainingLimit;
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.WITHDRAWAL, amount, account, null,
                     description, "Daily withdrawal limit exceeded. Remaining limit: " + remainingLimit);
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Daily withdrawal limit exceeded. Remaining limit: " + remainingLimit);
         }
 
-        // Step 6: Calculate withdrawal fee (Enhanced: Transaction fees)
-        BigDecimal fee = calculateWithdrawalFee(amount);
-        BigDecimal totalAmount = amount.add(fee);
+        // Step 6: Withdrawal fee (Enhanced: Transaction fees), calculated above with the limit check
+        BigDecimal totalAmount = check.totalAmount;
 
         // Step 7: Check sufficient balance including fee (Enhanced Rule: No negative
         // balance)
         BigDecimal currentBalance = account.getBalance();
-        if (currentBalance.compareTo(totalAmount) < 0) {
+        if (!check.sufficientFunds) {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.WITHDRAWAL, amount, account, null,
                     description,
                     "Insufficient funds. Current balance: " + currentBalance + ", Required: " + totalAmount);
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException(
                     "Insufficient funds. Current balance: " + currentBalance + ", Required (amount + fee): "
                             + totalAmount);
@@ -194,10 +269,13 @@ public class TransactionService {
         transaction.setFee(fee);
 
         // Step 9: Update account balance (subtract amount + fee)
-        BigDecimal newBalance = currentBalance.subtract(totalAmount);
-        account.setBalance(newBalance);
+        account.setBalance(check.newBalance);
         accountRepository.save(account);
 
+        // Record the withdrawal in today's ledger (same transaction as the balance change)
+        ledger.addWithdrawal(totalAmount);
+        dailyLimitLedgerRepository.save(ledger);
+
         // Step 10: Mark transaction as successful and save
         transaction.setSuccessful(true);
         return transactionRepository.save(transaction);
@@ -225,7 +303,7 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, null, null,
                     description, "Invalid amount: must be greater than zero");
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Transfer amount must be greater than zero");
         }
 
@@ -234,17 +312,27 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, null, null,
                     description, "Cannot transfer to the same account");
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
+        // Step 2a: Reject unknown source account, wrong PIN or inactive source from the metadata cache
+        rejectFromMetadataCache(Transaction.TransactionType.TRANSFER, amount, fromAccountNumber, pin,
+                description, "Source account");
+
+        // Step 2b: Lock both accounts in a deterministic order (pessimistic strategy only)
+        // Always locking the lower account number first means two opposite transfers cannot deadlock
+        if (lockingStrategy == LockingStrategy.PESSIMISTIC) {
+            lockAccountsInOrder(fromAccountNumber, toAccountNumber);
+        }
+
         // Step 3: Find source account
         Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
                 .orElseThrow(() -> {
                     Transaction failedTransaction = createFailedTransaction(
                             Transaction.TransactionType.TRANSFER, amount, null, null,
                             description, "Source account not found: " + fromAccountNumber);
-                    transactionRepository.save(failedTransaction);
+                    failedTransactionAuditWriter.record(failedTransaction);
                     return new IllegalArgumentException("Source account not found: " + fromAccountNumber);
                 });
 
@@ -253,7 +341,7 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, fromAccount, null,
                     description, "Invalid PIN");
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Invalid PIN");
         }
 
@@ -262,7 +350,7 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, fromAccount, null,
                     description, "Source account is not active. Status: " + fromAccount.getStatus());
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Source account is not active. Status: " + fromAccount.getStatus());
         }
 
@@ -272,7 +360,7 @@ public class TransactionService {
                     Transaction failedTransaction = createFailedTransaction(
                             Transaction.TransactionType.TRANSFER, amount, fromAccount, null,
                             description, "Destination account not found: " + toAccountNumber);
-                    transactionRepository.save(failedTransaction);
+                    failedTransactionAuditWriter.record(failedTransaction);
                     return new IllegalArgumentException("Destination account not found: " + toAccountNumber);
                 });
 
@@ -282,35 +370,37 @@ public class TransactionService {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, fromAccount, toAccount,
                     description, "Destination account is not active. Status: " + toAccount.getStatus());
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Destination account is not active. Status: " + toAccount.getStatus());
         }
 
         // Step 8: Check daily transfer limit (Enhanced Rule: Daily limits)
         resetDailyLimitsIfNeeded(fromAccount);
-        BigDecimal dailyTransferred = getDailyTransferAmount(fromAccount);
-        BigDecimal remainingLimit = fromAccount.getDailyTransferLimit().subtract(dailyTransferred);
-        if (amount.compareTo(remainingLimit) > 0) {
+        DailyLimitLedger ledger = getTodayLedger(fromAccount);
+        BigDecimal fee = calculateTransferFee(amount);
+        DebitCheck check = DebitCheck.of(amount, fee, fromAccount.getDailyTransferLimit(),
+                getDailyTransferAmount(ledger), fromAccount.getBalance());
+        if (!check.withinLimit) {
+            BigDecimal remainingLimit = check.remainingLimit;
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, fromAccount, toAccount,
                     description, "Daily transfer limit exceeded. Remaining limit: " + remainingLimit);
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException("Daily transfer limit exceeded. Remaining limit: " + remainingLimit);
         }
 
-        // Step 9: Calculate transfer fee (Enhanced: Transaction fees)
-        BigDecimal fee = calculateTransferFee(amount);
-        BigDecimal totalAmount = amount.add(fee);
+        // Step 9: Transfer fee (Enhanced: Transaction fees), calculated above with the limit check
+        BigDecimal totalAmount = check.totalAmount;
 
         // Step 10: Check sufficient balance including fee (Enhanced Rule: No negative
         // balance)
         BigDecimal fromBalance = fromAccount.getBalance();
-        if (fromBalance.compareTo(totalAmount) < 0) {
+        if (!check.sufficientFunds) {
             Transaction failedTransaction = createFailedTransaction(
                     Transaction.TransactionType.TRANSFER, amount, fromAccount, toAccount,
                     description, "Insufficient funds in source account. Current balance: " + fromBalance
                             + ", Required: " + totalAmount);
-            transactionRepository.save(failedTransaction);
+            failedTransactionAuditWriter.record(failedTransaction);
             throw new IllegalArgumentException(
                     "Insufficient funds in source account. Current balance: " + fromBalance
                             + ", Required (amount + fee): " + totalAmount);
@@ -327,14 +417,16 @@ public class TransactionService {
 
         // Step 12: Update both account balances atomically
         // If any step fails, entire transaction rolls back due to @Transactional
-        BigDecimal newFromBalance = fromBalance.subtract(totalAmount); // Subtract amount + fee
-        fromAccount.setBalance(newFromBalance);
+        fromAccount.setBalance(check.newBalance); // Subtract amount + fee
         accountRepository.save(fromAccount);
 
-        BigDecimal newToBalance = toAccount.getBalance().add(amount); // Only add amount (fee stays with source)
-        toAccount.setBalance(newToBalance);
+        toAccount.setBalance(credit(toAccount.getBalance(), amount)); // Only add amount (fee stays with source)
         accountRepository.save(toAccount);
 
+        // Record the transfer in today's ledger (same transaction as the balance change)
+        ledger.addTransfer(totalAmount);
+        dailyLimitLedgerRepository.save(ledger);
+
         // Step 13: Mark transaction as successful and save
         transaction.setSuccessful(true);
         return transactionRepository.save(transaction);
@@ -373,98 +465,252 @@ public class TransactionService {
     }
 
     /**
-     * Calculate withdrawal fee Fee structure: 1% of amount, minimum $1, maximum $10
+     * Reject a request from cached account metadata before any account row is read Cheap rejection of unknown
+     * accounts, wrong PINs and inactive accounts (e.g. brute-force PIN attempts); requests that pass are still checked
+     * against the database row below
+     *
+     * @param type          Transaction type
+     * @param amount        Transaction amount
+     * @param accountNumber The account being debited (or credited, for deposits)
+     * @param pin           PIN to verify, or null to skip the PIN check
+     * @param description   Transaction description
+     * @param label         How the account is named in error messages ("Account" or "Source account")
+     * @throws IllegalArgumentException if the request can be rejected from the cache
+     */
+    private void rejectFromMetadataCache(Transaction.TransactionType type, BigDecimal amount, String accountNumber,
+                                         String pin, String description, String label) {
+        AccountMetadataCache.AccountMetadata metadata = accountMetadataCache.get(accountNumber).orElse(null);
+        if (metadata == null) {
+            failedTransactionAuditWriter.record(createFailedTransaction(
+                    type, amount, null, null, description, label + " not found: " + accountNumber));
+            throw new IllegalArgumentException(label + " not found: " + accountNumber);
+        }
+
+        String errorMessage = null;
+        if (pin != null && !metadata.pinMatches(pin)) {
+            errorMessage = "Invalid PIN";
+        } else if (!metadata.isActive()) {
+            errorMessage = label + " is not active. Status: " + metadata.getStatus();
+        }
+        if (errorMessage == null) {
+            return;
+        }
+
+        // Reference the account by ID without loading it; deposits credit the account, everything else debits it
+        Account account = accountRepository.getReferenceById(metadata.getId());
+        boolean credit = type == Transaction.TransactionType.DEPOSIT;
+        failedTransactionAuditWriter.record(createFailedTransaction(type, amount,
+                credit ? null : account, credit ? account : null, description, errorMessage));
+        throw new IllegalArgumentException(errorMessage);
+    }
+
+    /**
+     * Take row locks on two accounts in account-number order The locked rows are loaded into the persistence context,
+     * so the lookups that follow see the current balances
+     *
+     * @param firstAccountNumber  One account number
+     * @param secondAccountNumber The other account number
+     */
+    private void lockAccountsInOrder(String firstAccountNumber, String secondAccountNumber) {
+        boolean firstIsLower = firstAccountNumber.compareTo(secondAccountNumber) < 0;
+        String lower = firstIsLower ? firstAccountNumber : secondAccountNumber;
+        String higher = firstIsLower ? secondAccountNumber : firstAccountNumber;
+
+        // Missing accounts are reported by the regular lookups below
+        accountRepository.findByAccountNumberForUpdate(lower);
+        accountRepository.findByAccountNumberForUpdate(higher);
+    }
+
+    /**
+     * Calculate withdrawal fee Fee structure: 1% of amount, minimum $1, maximum $10 Uses cent arithmetic on a long when
+     * the amount has no sub-cent digits, otherwise falls back to BigDecimal (both give the same result)
      *
      * @param amount Withdrawal amount
      * @return Calculated fee
      */
-    private BigDecimal calculateWithdrawalFee(BigDecimal amount) {
+    static BigDecimal calculateWithdrawalFee(BigDecimal amount) {
+        // Fast path: fee = clamp(1% of amount) in cents
+        Money exactAmount = Money.tryOf(amount);
+        if (exactAmount != null) {
+            return exactAmount.percentage(WITHDRAWAL_FEE_BASIS_POINTS)
+                    .clamp(WITHDRAWAL_FEE_MIN, WITHDRAWAL_FEE_MAX)
+                    .toBigDecimal();
+        }
+
         // Step 1: Calculate 1% of amount
-        BigDecimal fee = amount.multiply(new BigDecimal("0.01"));
+        BigDecimal fee = amount.multiply(WITHDRAWAL_FEE_RATE);
 
         // Step 2: Apply minimum fee of $1
-        if (fee.compareTo(new BigDecimal("1.00")) < 0) {
-            fee = new BigDecimal("1.00");
+        if (fee.compareTo(WITHDRAWAL_FEE_MIN_AMOUNT) < 0) {
+            fee = WITHDRAWAL_FEE_MIN_AMOUNT;
         }
 
         // Step 3: Apply maximum fee of $10
-        if (fee.compareTo(new BigDecimal("10.00")) > 0) {
-            fee = new BigDecimal("10.00");
+        if (fee.compareTo(WITHDRAWAL_FEE_MAX_AMOUNT) > 0) {
+            fee = WITHDRAWAL_FEE_MAX_AMOUNT;
         }
 
         return fee.setScale(2, java.math.RoundingMode.HALF_UP);
     }
 
     /**
-     * Calculate transfer fee Fee structure: 0.5% of amount, minimum $0.50, maximum $5
+     * Calculate transfer fee Fee structure: 0.5% of amount, minimum $0.50, maximum $5 Uses cent arithmetic on a long
+     * when the amount has no sub-cent digits, otherwise falls back to BigDecimal (both give the same result)
      *
      * @param amount Transfer amount
      * @return Calculated fee
      */
-    private BigDecimal calculateTransferFee(BigDecimal amount) {
+    static BigDecimal calculateTransferFee(BigDecimal amount) {
+        // Fast path: fee = clamp(0.5% of amount) in cents
+        Money exactAmount = Money.tryOf(amount);
+        if (exactAmount != null) {
+            return exactAmount.percentage(TRANSFER_FEE_BASIS_POINTS)
+                    .clamp(TRANSFER_FEE_MIN, TRANSFER_FEE_MAX)
+                    .toBigDecimal();
+        }
+
         // Step 1: Calculate 0.5% of amount
-        BigDecimal fee = amount.multiply(new BigDecimal("0.005"));
+        BigDecimal fee = amount.multiply(TRANSFER_FEE_RATE);
 
         // Step 2: Apply minimum fee of $0.50
-        if (fee.compareTo(new BigDecimal("0.50")) < 0) {
-            fee = new BigDecimal("0.50");
+        if (fee.compareTo(TRANSFER_FEE_MIN_AMOUNT) < 0) {
+            fee = TRANSFER_FEE_MIN_AMOUNT;
         }
 
         // Step 3: Apply maximum fee of $5
-        if (fee.compareTo(new BigDecimal("5.00")) > 0) {
-            fee = new BigDecimal("5.00");
+        if (fee.compareTo(TRANSFER_FEE_MAX_AMOUNT) > 0) {
+            fee = TRANSFER_FEE_MAX_AMOUNT;
         }
 
         return fee.setScale(2, java.math.RoundingMode.HALF_UP);
     }
 
     /**
-     * Get total amount withdrawn today for an account
+     * Add an amount to a balance in cents, falling back to BigDecimal when either value is not a whole number of
+     * cents in Money's range (both give the same result)
      *
-     * @param account The account
+     * @param balance Current balance
+     * @param amount  Amount to add
+     * @return New balance
+     */
+    static BigDecimal credit(BigDecimal balance, BigDecimal amount) {
+        Money exactBalance = Money.tryOf(balance);
+        Money exactAmount = Money.tryOf(amount);
+        if (exactBalance != null && exactAmount != null) {
+            try {
+                return exactBalance.add(exactAmount).toBigDecimal();
+            } catch (ArithmeticException e) {
+                // Sum outside Money's range: use BigDecimal below
+            }
+        }
+        return balance.add(amount);
+    }
+
+    /**
+     * Daily limit and balance checks for one debit (withdrawal or transfer) Works in cents on Money when every operand
+     * is a whole number of cents in range, which holds for every stored value and for amounts without sub-cent digits;
+     * otherwise uses BigDecimal with the same result. BigDecimal values are only created for the results
+     */
+    static final class DebitCheck {
+        final boolean withinLimit;
+        final boolean sufficientFunds;
+        final BigDecimal remainingLimit;
+        final BigDecimal totalAmount;
+        final BigDecimal newBalance;
+
+        private DebitCheck(boolean withinLimit, boolean sufficientFunds, BigDecimal remainingLimit,
+                           BigDecimal totalAmount, BigDecimal newBalance) {
+            this.withinLimit = withinLimit;
+            this.sufficientFunds = sufficientFunds;
+            this.remainingLimit = remainingLimit;
+            this.totalAmount = totalAmount;
+            this.newBalance = newBalance;
+        }
+
+        /**
+         * Check a debit against the remaining daily limit and the balance
+         *
+         * @param amount  Debit amount
+         * @param fee     Fee charged on top of the amount
+         * @param limit   Daily limit for this kind of debit
+         * @param used    Amount already used today (from the ledger)
+         * @param balance Current balance
+         * @return The checks and the resulting totals
+         */
+        static DebitCheck of(BigDecimal amount, BigDecimal fee, BigDecimal limit, BigDecimal used,
+                             BigDecimal balance) {
+            Money exactAmount = Money.tryOf(amount);
+            Money exactFee = Money.tryOf(fee);
+            Money exactLimit = Money.tryOf(limit);
+            Money exactUsed = Money.tryOf(used);
+            Money exactBalance = Money.tryOf(balance);
+            if (exactAmount != null && exactFee != null && exactLimit != null && exactUsed != null
+                    && exactBalance != null) {
+                try {
+                    Money remaining = exactLimit.subtract(exactUsed);
+                    Money total = exactAmount.add(exactFee);
+                    return new DebitCheck(exactAmount.compareTo(remaining) <= 0, exactBalance.compareTo(total) >= 0,
+                            remaining.toBigDecimal(), total.toBigDecimal(), exactBalance.subtract(total).toBigDecimal());
+                } catch (ArithmeticException e) {
+                    // Intermediate result outside Money's range: use BigDecimal below
+                }
+            }
+            BigDecimal remaining = limit.subtract(used);
+            BigDecimal total = amount.add(fee);
+            return new DebitCheck(amount.compareTo(remaining) <= 0, balance.compareTo(total) >= 0,
+                    remaining, total, balance.subtract(total));
+        }
+    }
+
+    /**
+     * Get total amount withdrawn today for an account Reads the daily limit ledger instead of scanning history
+     *
+     * @param ledger Today's ledger row for the account
      * @return Total amount withdrawn today
      */
-    private BigDecimal getDailyWithdrawalAmount(Account account) {
-        LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay();
-        LocalDateTime endOfDay = today.atTime(23, 59, 59);
-
-        List<Transaction> todayWithdrawals = transactionRepository.findByFromAccountOrderByTransactionDateDesc(account)
-                .stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.WITHDRAWAL &&
-                        t.isSuccessful() &&
-                        !t.getTransactionDate().isBefore(startOfDay) &&
-                        !t.getTransactionDate().isAfter(endOfDay))
-                .collect(java.util.stream.Collectors.toList());
-
-        return todayWithdrawals.stream()
-                .map(t -> t.getAmount().add(t.getFee() != null ? t.getFee() : BigDecimal.ZERO))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal getDailyWithdrawalAmount(DailyLimitLedger ledger) {
+        return ledger.getWithdrawnTotal();
     }
 
     /**
-     * Get total amount transferred today from an account
+     * Get total amount transferred today from an account Reads the daily limit ledger instead of scanning history
      *
-     * @param account The account
+     * @param ledger Today's ledger row for the account
      * @return Total amount transferred today
      */
-    private BigDecimal getDailyTransferAmount(Account account) {
+    private BigDecimal getDailyTransferAmount(DailyLimitLedger ledger) {
+        return ledger.getTransferredTotal();
+    }
+
+    /**
+     * Get today's daily limit ledger row for an account, creating it on first use of the day. A new row is seeded from
+     * a date-range aggregate over today's transactions so that totals recorded before the ledger existed still count.
+     * The row is only created under the account row lock (withdrawals and pessimistic transfers already hold it,
+     * optimistic transfers take it here), and the lookup is repeated once the lock is held, so a second writer reads
+     * the first one's row instead of inserting a duplicate. Should a duplicate still reach uk_ledger_account_date, the
+     * transfer attempt fails and TransferService retries it.
+     *
+     * @param account The account
+     * @return Today's ledger row (not yet persisted if newly created)
+     */
+    private DailyLimitLedger getTodayLedger(Account account) {
         LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay();
-        LocalDateTime endOfDay = today.atTime(23, 59, 59);
-
-        //today's transfers finding
-        List<Transaction> todayTransfers = transactionRepository.findByFromAccountOrderByTransactionDateDesc(account)
-                .stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.TRANSFER &&
-                        t.isSuccessful() &&
-                        !t.getTransactionDate().isBefore(startOfDay) &&
-                        !t.getTransactionDate().isAfter(endOfDay))
-                .collect(java.util.stream.Collectors.toList());
-
-        return todayTransfers.stream()
-                .map(t -> t.getAmount().add(t.getFee() != null ? t.getFee() : BigDecimal.ZERO))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Optional<DailyLimitLedger> existing = dailyLimitLedgerRepository.findByAccountAndLedgerDate(account, today);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        // First use today: queue behind any other transaction creating this row, then look again
+        accountRepository.findByIdForUpdate(account.getId());
+        return dailyLimitLedgerRepository.findByAccountAndLedgerDate(account, today)
+                .orElseGet(() -> {
+                    LocalDateTime startOfDay = today.atStartOfDay();
+                    LocalDateTime startOfNextDay = today.plusDays(1).atStartOfDay();
+                    BigDecimal withdrawn = transactionRepository.sumOutgoingAmountBetween(
+                            account, Transaction.TransactionType.WITHDRAWAL, startOfDay, startOfNextDay);
+                    BigDecimal transferred = transactionRepository.sumOutgoingAmountBetween(
+                            account, Transaction.TransactionType.TRANSFER, startOfDay, startOfNextDay);
+                    return new DailyLimitLedger(account, today, withdrawn, transferred);
+                });
     }
 
     /**
@@ -487,7 +733,10 @@ public class TransactionService {
 
     /**
      * Helper method to create a failed transaction record This ensures all transaction attempts are logged for audit
-     * purposes
+     * purposes The record is handed to FailedTransactionAuditWriter, which inserts it outside the rolled-back
+     * transaction. An amount the amount column cannot hold (null, below 0.01 or too large) is recorded in the error
+     * message and the row stores the minimum amount, and long texts are cut to their column length, so the record
+     * can always be inserted
      *
      * @param type         Transaction type
      * @param amount       Transaction amount
@@ -497,16 +746,28 @@ public class TransactionService {
      * @param errorMessage Error message explaining why transaction failed
      * @return Failed transaction record
      */
-    private Transaction createFailedTransaction(Transaction.TransactionType type,
-                                                BigDecimal amount,
-                                                Account fromAccount,
-                                                Account toAccount,
-                                                String description,
-                                                String errorMessage) {
-        Transaction transaction = new Transaction(type, amount, fromAccount, toAccount, description);
+    static Transaction createFailedTransaction(Transaction.TransactionType type,
+                                               BigDecimal amount,
+                                               Account fromAccount,
+                                               Account toAccount,
+                                               String description,
+                                               String errorMessage) {
+        BigDecimal auditAmount = amount;
+        String auditErrorMessage = errorMessage;
+        if (amount == null || amount.compareTo(AUDIT_MIN_AMOUNT) < 0
+                || amount.precision() - amount.scale() > AUDIT_MAX_INTEGER_DIGITS) {
+            auditAmount = AUDIT_MIN_AMOUNT;
+            auditErrorMessage = errorMessage + " (requested amount: " + amount + ")";
+        }
+        Transaction transaction = new Transaction(type, auditAmount, fromAccount, toAccount,
+                truncate(description, AUDIT_DESCRIPTION_LENGTH));
         transaction.setSuccessful(false);
-        transaction.setErrorMessage(errorMessage);
+        transaction.setErrorMessage(truncate(auditErrorMessage, AUDIT_ERROR_MESSAGE_LENGTH));
         transaction.setFee(BigDecimal.ZERO);
         return transaction;
     }
+
+    private static String truncate(String text, int maxLength) {
+        return text != null && text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
 }
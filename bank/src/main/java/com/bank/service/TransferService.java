@@ -0,0 +1,96 @@
+package com.bank.service;
+
+import com.bank.model.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Transfer Service - Entry point for money transfers that is safe under concurrency
+ *
+ * Features:
+ * - PESSIMISTIC strategy: TransactionService locks both accounts in account-number order
+ * - OPTIMISTIC strategy: conflicting updates fail on the account @Version and are retried here, as are lock
+ *   timeouts and deadlocks with row-locking operations
+ * - A lost race to create the source account's first daily limit ledger row of the day is retried the same way
+ * - Each attempt runs in its own transaction (this class is intentionally not @Transactional)
+ */
+@Service
+public class TransferService {
+
+    private final TransactionService transactionService;
+
+    // Unique constraint on one ledger row per account and day (see DailyLimitLedger)
+    private static final String LEDGER_CONSTRAINT = "uk_ledger_account_date";
+
+    // Maximum number of attempts for a transfer that keeps losing optimistic lock races
+    private final int maxAttempts;
+
+    /**
+     * Constructor injection
+     * @param transactionService Service that performs a single transfer attempt
+     * @param maxAttempts Maximum attempts under the optimistic strategy (bank.transfer.max-attempts)
+     */
+    @Autowired
+    public TransferService(TransactionService transactionService,
+                           @Value("${bank.transfer.max-attempts:3}") int maxAttempts) {
+        this.transactionService = transactionService;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Transfer money from one account to another
+     * Under the optimistic strategy a lost race is retried with fresh account state
+     *
+     * @param fromAccountNumber Source account number
+     * @param pin PIN for verification
+     * @param toAccountNumber Destination account number
+     * @param amount Amount to transfer (must be > 0)
+     * @param description Optional description of the transfer
+     * @return The created transaction record
+     * @throws IllegalArgumentException if the transfer is rejected or keeps conflicting after all attempts
+     */
+    public Transaction transfer(String fromAccountNumber, String pin, String toAccountNumber,
+                                BigDecimal amount, String description) {
+        // Step 1: Pessimistic transfers never lose a race, so run them once
+        if (transactionService.getLockingStrategy() == TransactionService.LockingStrategy.PESSIMISTIC) {
+            return transactionService.transfer(fromAccountNumber, pin, toAccountNumber, amount, description);
+        }
+
+        // Step 2: Optimistic transfers are retried while another transfer keeps winning
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionService.transfer(fromAccountNumber, pin, toAccountNumber, amount, description);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new IllegalArgumentException(
+                            "Transfer failed due to concurrent updates, please try again");
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Another transfer inserted today's ledger row first; the next attempt reads it
+                if (!isLedgerInsertRace(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    throw new IllegalArgumentException(
+                            "Transfer failed due to concurrent updates, please try again");
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether a constraint violation came from two transactions creating the same daily ledger row
+     *
+     * @param e The violation
+     * @return true if the ledger's unique constraint was violated
+     */
+    private static boolean isLedgerInsertRace(DataIntegrityViolationException e) {
+        String message = e.getMessage();
+        return message != null && message.toLowerCase().contains(LEDGER_CONSTRAINT);
+    }
+}
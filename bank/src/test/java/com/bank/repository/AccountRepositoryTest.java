@@ -0,0 +1,47 @@
+package com.bank.repository;
+
+import com.bank.model.Account;
+import com.bank.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AccountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void findMetadataByAccountNumber_ShouldReturnTheCachedFieldsWithoutManagingTheAccount() {
+        User user = entityManager.persist(new User("alice", "secret", "Alice Example", "alice@example.com"));
+        Account account = entityManager.persist(new Account("ACC0001", "Alice Example", Account.AccountType.SAVINGS,
+                "1234", new BigDecimal("500.00"), user));
+        entityManager.flush();
+        entityManager.clear();
+
+        AccountRepository.AccountMetadataView view = accountRepository.findMetadataByAccountNumber("ACC0001").orElseThrow();
+
+        assertThat(view.getId()).isEqualTo(account.getId());
+        assertThat(view.getAccountType()).isEqualTo(Account.AccountType.SAVINGS);
+        assertThat(view.getStatus()).isEqualTo(Account.AccountStatus.ACTIVE);
+        assertThat(view.getDailyWithdrawalLimit()).isEqualByComparingTo("5000.00");
+        assertThat(view.getUserId()).isEqualTo(user.getId());
+        assertThat(view.getPin()).isEqualTo("1234");
+        assertThat(entityManager.getEntityManager().contains(entityManager.find(Account.class, account.getId())))
+                .isTrue();
+    }
+
+    @Test
+    void findMetadataByAccountNumber_ShouldReturnEmpty_ForAnUnknownAccount() {
+        assertThat(accountRepository.findMetadataByAccountNumber("MISSING")).isEmpty();
+    }
+}
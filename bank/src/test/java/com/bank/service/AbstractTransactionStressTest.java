@@ -0,0 +1,149 @@
+package com.bank.service;
+
+import com.bank.controller.TerminalController;
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.model.User;
+import com.bank.repository.AccountRepository;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a few hot accounts with concurrent deposits, withdrawals and transfers, then checks
+ * that every account's balance equals its opening balance plus exactly the operations that
+ * reported success. A lost update shows up as a mismatch. Throughput is printed per thread count.
+ * Subclasses pick the transfer locking strategy.
+ */
+abstract class AbstractTransactionStressTest {
+
+    private static final int ACCOUNTS = 4;
+    private static final int OPERATIONS = 640;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100000.00");
+    private static final String PIN = "1234";
+
+    // Keeps the terminal from reading System.in during the test
+    @MockBean
+    private TerminalController terminalController;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = {1, 8, 64})
+    void concurrentOperations_ShouldNotLoseUpdates(int threads) throws Exception {
+        List<String> accounts = createAccounts();
+        // Expected balance change per account, in cents, from the operations that succeeded
+        Map<String, AtomicLong> expectedCents = new ConcurrentHashMap<>();
+        accounts.forEach(number -> expectedCents.put(number, new AtomicLong()));
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int operation = i;
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    runOne(operation, accounts, expectedCents);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Only a transfer that kept losing optimistic races may be turned away
+                    assertThat(e.getMessage()).contains("concurrent updates");
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        pool.shutdown();
+
+        System.out.printf("%s, %d threads: %d ops (%d rejected after retries) in %.2f s, %.0f ops/s%n",
+                transactionService.getLockingStrategy(), threads, OPERATIONS, rejected.get(), seconds,
+                OPERATIONS / seconds);
+
+        for (String number : accounts) {
+            BigDecimal expected = OPENING_BALANCE.add(BigDecimal.valueOf(expectedCents.get(number).get(), 2));
+            Account account = accountRepository.findByAccountNumber(number).orElseThrow();
+            assertThat(account.getBalance()).as("balance of %s", number).isEqualByComparingTo(expected);
+        }
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(OPERATIONS);
+    }
+
+    private void runOne(int operation, List<String> accounts, Map<String, AtomicLong> expectedCents) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String account = accounts.get(random.nextInt(ACCOUNTS));
+        BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(900), 2);
+        switch (operation % 3) {
+            case 0 -> {
+                transactionService.deposit(account, amount, "stress deposit");
+                expectedCents.get(account).addAndGet(cents(amount));
+            }
+            case 1 -> {
+                Transaction withdrawal = transactionService.withdraw(account, PIN, amount, "stress withdrawal");
+                expectedCents.get(account).addAndGet(-cents(amount.add(withdrawal.getFee())));
+            }
+            default -> {
+                String other = accounts.get((accounts.indexOf(account) + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS);
+                Transaction transfer = transferService.transfer(account, PIN, other, amount, "stress transfer");
+                expectedCents.get(account).addAndGet(-cents(amount.add(transfer.getFee())));
+                expectedCents.get(other).addAndGet(cents(amount));
+            }
+        }
+    }
+
+    private List<String> createAccounts() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User user = userService.registerUser("stress" + run, "password1", "Stress Test", run + "@example.com");
+        List<String> numbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String number = "ST" + run + i;
+            accountService.createAccount(number, "Stress Test", Account.AccountType.CHECKING, PIN,
+                    OPENING_BALANCE, user);
+            numbers.add(number);
+        }
+        return numbers;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
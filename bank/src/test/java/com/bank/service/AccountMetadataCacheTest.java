@@ -0,0 +1,101 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountMetadataCacheTest {
+
+    private static final String ACCOUNT = "ACC0001";
+
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+    }
+
+    @Test
+    void get_ShouldServeRepeatedLookupsFromTheCache() {
+        AccountMetadataCache cache = new AccountMetadataCache(accountRepository, 10, Duration.ofMinutes(5));
+        when(accountRepository.findMetadataByAccountNumber(ACCOUNT))
+                .thenReturn(Optional.of(view(Account.AccountStatus.ACTIVE)));
+
+        cache.get(ACCOUNT);
+        cache.get(ACCOUNT);
+
+        verify(accountRepository, times(1)).findMetadataByAccountNumber(ACCOUNT);
+        assertThat(cache.getStats().hitCount).isEqualTo(1);
+        assertThat(cache.getStats().missCount).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldNotCacheALoad_WhenTheAccountIsInvalidatedWhileItIsRead() {
+        AccountMetadataCache cache = new AccountMetadataCache(accountRepository, 10, Duration.ofMinutes(5));
+        // The status change commits (and invalidates) after the loader read the old row
+        when(accountRepository.findMetadataByAccountNumber(ACCOUNT)).thenAnswer(invocation -> {
+            AccountRepository.AccountMetadataView before = view(Account.AccountStatus.ACTIVE);
+            cache.invalidate(ACCOUNT);
+            return Optional.of(before);
+        });
+
+        assertThat(cache.get(ACCOUNT)).map(AccountMetadataCache.AccountMetadata::getStatus)
+                .contains(Account.AccountStatus.ACTIVE);
+
+        when(accountRepository.findMetadataByAccountNumber(ACCOUNT))
+                .thenReturn(Optional.of(view(Account.AccountStatus.SUSPENDED)));
+        assertThat(cache.get(ACCOUNT)).map(AccountMetadataCache.AccountMetadata::getStatus)
+                .contains(Account.AccountStatus.SUSPENDED);
+        assertThat(cache.getStats().discardedLoadCount).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldReload_WhenTheEntryHasExpired() {
+        AccountMetadataCache cache = new AccountMetadataCache(accountRepository, 10, Duration.ZERO);
+        when(accountRepository.findMetadataByAccountNumber(ACCOUNT))
+                .thenReturn(Optional.of(view(Account.AccountStatus.ACTIVE)));
+
+        cache.get(ACCOUNT);
+        cache.get(ACCOUNT);
+
+        verify(accountRepository, times(2)).findMetadataByAccountNumber(ACCOUNT);
+        assertThat(cache.getStats().expiredCount).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldEvictTheLeastRecentlyUsedAccount_WhenFull() {
+        AccountMetadataCache cache = new AccountMetadataCache(accountRepository, 1, Duration.ofMinutes(5));
+        when(accountRepository.findMetadataByAccountNumber(ACCOUNT))
+                .thenReturn(Optional.of(view(Account.AccountStatus.ACTIVE)));
+        when(accountRepository.findMetadataByAccountNumber("ACC0002"))
+                .thenReturn(Optional.of(view(Account.AccountStatus.ACTIVE)));
+
+        cache.get(ACCOUNT);
+        cache.get("ACC0002");
+
+        assertThat(cache.getStats().size).isEqualTo(1);
+        assertThat(cache.getStats().evictionCount).isEqualTo(1);
+    }
+
+    private static AccountRepository.AccountMetadataView view(Account.AccountStatus status) {
+        return new MetadataView(1L, ACCOUNT, Account.AccountType.CHECKING, status,
+                new BigDecimal("1000.00"), new BigDecimal("5000.00"), 7L, "1234");
+    }
+
+    private record MetadataView(Long getId, String getAccountNumber, Account.AccountType getAccountType,
+                                Account.AccountStatus getStatus, BigDecimal getDailyWithdrawalLimit,
+                                BigDecimal getDailyTransferLimit, Long getUserId, String getPin)
+            implements AccountRepository.AccountMetadataView {
+    }
+}
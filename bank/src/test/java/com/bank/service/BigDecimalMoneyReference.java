@@ -0,0 +1,56 @@
+package com.bank.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The BigDecimal formulas TransactionService and InterestCalculationService used before Money, as written
+ * then (constants parsed on every call). MoneyArithmeticPropertyTest checks the Money paths against them
+ * and MoneyArithmeticBenchmark measures both.
+ */
+final class BigDecimalMoneyReference {
+
+    private BigDecimalMoneyReference() {
+    }
+
+    static BigDecimal withdrawalFee(BigDecimal amount) {
+        return fee(amount, "0.01", "1.00", "10.00");
+    }
+
+    static BigDecimal transferFee(BigDecimal amount) {
+        return fee(amount, "0.005", "0.50", "5.00");
+    }
+
+    static BigDecimal fee(BigDecimal amount, String rate, String min, String max) {
+        BigDecimal fee = amount.multiply(new BigDecimal(rate));
+        if (fee.compareTo(new BigDecimal(min)) < 0) {
+            fee = new BigDecimal(min);
+        }
+        if (fee.compareTo(new BigDecimal(max)) > 0) {
+            fee = new BigDecimal(max);
+        }
+        return fee.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal monthlyInterest(BigDecimal balance, BigDecimal annualRatePercent) {
+        return balance.multiply(annualRatePercent)
+                .divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP)
+                .divide(new BigDecimal("12"), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The daily limit and balance checks of withdraw/transfer
+     *
+     * @return remaining limit, total debited and new balance, with the two check results
+     */
+    static Debit debit(BigDecimal amount, BigDecimal fee, BigDecimal limit, BigDecimal used, BigDecimal balance) {
+        BigDecimal remainingLimit = limit.subtract(used);
+        BigDecimal totalAmount = amount.add(fee);
+        return new Debit(amount.compareTo(remainingLimit) <= 0, balance.compareTo(totalAmount) >= 0,
+                remainingLimit, totalAmount, balance.subtract(totalAmount));
+    }
+
+    record Debit(boolean withinLimit, boolean sufficientFunds, BigDecimal remainingLimit, BigDecimal totalAmount,
+                 BigDecimal newBalance) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.bank.service;
+
+import com.bank.controller.TerminalController;
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.model.User;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Latency of the daily-limit check as an account's outgoing history grows: a withdrawal through the
+ * daily_limit_ledger row (first of the day, which seeds the row from the date-range aggregate, and
+ * steady state) against the old check, which loaded every outgoing transaction and summed today's in
+ * Java. Excluded from the normal build; run with:
+ * mvn test -Dbenchmark.excludedGroups= -Dgroups=benchmark -Dtest=DailyLimitBenchmark
+ * History sizes default to 10k, 100k and 1M rows (-Dbenchmark.history-sizes=10000,100000).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:daily-limit-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+class DailyLimitBenchmark {
+
+    private static final String PIN = "1234";
+    private static final int WITHDRAWALS = Integer.getInteger("benchmark.iterations", 200);
+    private static final int LEGACY_ITERATIONS = 3;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    // Keeps the terminal from reading System.in during the benchmark
+    @MockBean
+    private TerminalController terminalController;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void limitCheckLatencyByHistorySize() {
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.history-sizes", "10000,100000,1000000").split(","))
+                .mapToLong(size -> Long.parseLong(size.trim()))
+                .toArray();
+
+        System.out.printf("%n%10s %14s %14s %18s%n", "history", "first of day", "withdraw avg", "old check avg");
+        for (long size : sizes) {
+            Account account = accountWithHistory(size);
+
+            long start = System.nanoTime();
+            withdraw(account);
+            double firstMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            for (int i = 1; i < WITHDRAWALS; i++) {
+                withdraw(account);
+            }
+            double withdrawMillis = (System.nanoTime() - start) / 1e6 / (WITHDRAWALS - 1);
+
+            start = System.nanoTime();
+            for (int i = 0; i < LEGACY_ITERATIONS; i++) {
+                legacyDailyWithdrawalAmount(account);
+            }
+            double legacyMillis = (System.nanoTime() - start) / 1e6 / LEGACY_ITERATIONS;
+
+            System.out.printf("%10d %11.2f ms %11.2f ms %15.2f ms%n", size, firstMillis, withdrawMillis, legacyMillis);
+        }
+    }
+
+    private void withdraw(Account account) {
+        transactionService.withdraw(account.getAccountNumber(), PIN, AMOUNT, "benchmark");
+    }
+
+    /**
+     * The check TransactionService used before the ledger: load the whole outgoing history, keep today's
+     * withdrawals
+     */
+    private BigDecimal legacyDailyWithdrawalAmount(Account account) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            LocalDate today = LocalDate.now();
+            return transactionRepository.findByFromAccountOrderByTransactionDateDesc(account).stream()
+                    .filter(t -> t.getType() == Transaction.TransactionType.WITHDRAWAL)
+                    .filter(Transaction::isSuccessful)
+                    .filter(t -> t.getTransactionDate().toLocalDate().equals(today))
+                    .map(Transaction::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        });
+    }
+
+    /**
+     * A checking account with size successful withdrawals spread over the minutes before today, inserted
+     * in one statement
+     */
+    private Account accountWithHistory(long size) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User user = userService.registerUser("bench" + run, "password1", "Benchmark", run + "@example.com");
+        Account account = accountService.createAccount("BL" + run, "Benchmark", Account.AccountType.CHECKING, PIN,
+                new BigDecimal("1000000.00"), user);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (id, type, amount, from_account_id, description, transaction_date,
+                                          successful, fee)
+                SELECT NEXT VALUE FOR transactions_seq, 'WITHDRAWAL', 10.00, ?, 'history',
+                       DATEADD('MINUTE', -X, CAST(? AS TIMESTAMP)), TRUE, 1.00
+                FROM SYSTEM_RANGE(1, CAST(? AS BIGINT))
+                """, account.getId(), Timestamp.valueOf(LocalDate.now().atStartOfDay()), size);
+        return accountRepository.findById(account.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,133 @@
+package com.bank.service;
+
+import com.bank.controller.TerminalController;
+import com.bank.model.Account;
+import com.bank.model.DailyLimitLedger;
+import com.bank.model.Transaction;
+import com.bank.model.User;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.DailyLimitLedgerRepository;
+import com.bank.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Optimistic transfers do not lock their source account up front, so they race on the first ledger row of the day
+@SpringBootTest(properties = {
+        "bank.transfer.locking-strategy=OPTIMISTIC",
+        "bank.transfer.max-attempts=5",
+        "spring.datasource.url=jdbc:h2:mem:daily-limit-ledger;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.orm.jdbc.batch=off"
+})
+class DailyLimitLedgerTest {
+
+    private static final String PIN = "1234";
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100000.00");
+
+    // Keeps the terminal from reading System.in during the test
+    @MockBean
+    private TerminalController terminalController;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyLimitLedgerRepository dailyLimitLedgerRepository;
+
+    @Test
+    void concurrentFirstTransfersOfTheDay_ShouldShareOneLedgerRow() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User user = userService.registerUser("ledger" + run, "password1", "Ledger Test", run + "@example.com");
+        String source = createAccount("LS" + run, user);
+        String destination = createAccount("LD" + run, user);
+        int transfers = 16;
+        AtomicInteger succeeded = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(transfers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>(transfers);
+        for (int i = 0; i < transfers; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    transferService.transfer(source, PIN, destination, new BigDecimal("100.00"), "first of the day");
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    assertThat(e.getMessage()).contains("concurrent updates");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            // A duplicate ledger insert that escaped the retry would surface here
+            result.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        Account account = accountRepository.findByAccountNumber(source).orElseThrow();
+        DailyLimitLedger ledger = dailyLimitLedgerRepository.findByAccountAndLedgerDate(account, LocalDate.now())
+                .orElseThrow();
+        // Each $100 transfer pays the $0.50 minimum fee
+        BigDecimal transferred = new BigDecimal("100.50").multiply(BigDecimal.valueOf(succeeded.get()));
+        assertThat(succeeded.get()).isPositive();
+        assertThat(ledger.getTransferredTotal()).isEqualByComparingTo(transferred);
+        assertThat(account.getBalance()).isEqualByComparingTo(OPENING_BALANCE.subtract(transferred));
+    }
+
+    @Test
+    void withdraw_ShouldSeedTodaysLedgerFromEarlierTransactions() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User user = userService.registerUser("seed" + run, "password1", "Seed Test", run + "@example.com");
+        String number = createAccount("SE" + run, user);
+        Account account = accountRepository.findByAccountNumber(number).orElseThrow();
+
+        // A withdrawal recorded today before the ledger row existed uses up the whole $10000 checking limit
+        Transaction earlier = new Transaction(Transaction.TransactionType.WITHDRAWAL, new BigDecimal("9990.00"),
+                account, null, "before the ledger");
+        earlier.setFee(new BigDecimal("10.00"));
+        earlier.setSuccessful(true);
+        transactionRepository.save(earlier);
+
+        assertThatThrownBy(() -> transactionService.withdraw(number, PIN, new BigDecimal("5.00"), "over the limit"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Daily withdrawal limit exceeded");
+    }
+
+    private String createAccount(String number, User user) {
+        accountService.createAccount(number, "Ledger Test", Account.AccountType.CHECKING, PIN, OPENING_BALANCE, user);
+        return number;
+    }
+}
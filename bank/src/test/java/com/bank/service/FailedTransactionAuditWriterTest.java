@@ -0,0 +1,133 @@
+package com.bank.service;
+
+import com.bank.model.Transaction;
+import com.bank.repository.TransactionRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FailedTransactionAuditWriterTest {
+
+    private TransactionRepository transactionRepository;
+    private FailedTransactionAuditWriter writer;
+    private final Set<String> writerThreads = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        writer = new FailedTransactionAuditWriter(transactionRepository, transactionManager, 100, 10, 5, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    void record_ShouldBeWrittenByTheDedicatedWriterThread() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(25);
+        doAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            List<?> batch = invocation.getArgument(0);
+            assertThat(batch).hasSizeLessThanOrEqualTo(10);
+            batch.forEach(ignored -> written.countDown());
+            return batch;
+        }).when(transactionRepository).saveAll(anyList());
+        writer.start();
+
+        for (int i = 0; i < 25; i++) {
+            assertThat(writer.record(failedTransaction())).isTrue();
+        }
+
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        // The count is updated after saveAll returns
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getStats().writtenCount < 25 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(writerThreads).containsExactly("audit-writer");
+        assertThat(writer.getStats().writtenCount).isEqualTo(25);
+        assertThat(writer.getStats().queueDepth).isZero();
+    }
+
+    @Test
+    void shutdown_ShouldWriteRecordsStillQueued() {
+        // The writer thread is never started, so only shutdown can write these
+        doAnswer(invocation -> invocation.getArgument(0)).when(transactionRepository).saveAll(anyList());
+        for (int i = 0; i < 3; i++) {
+            writer.record(failedTransaction());
+        }
+
+        writer.shutdown();
+
+        assertThat(writer.getStats().writtenCount).isEqualTo(3);
+        assertThat(writer.getStats().queueDepth).isZero();
+    }
+
+    @Test
+    void flush_ShouldWriteRecordsOneByOne_WhenBatchFails() {
+        // A batch with one unwritable record: only that record is lost
+        Transaction bad = failedTransaction();
+        bad.setDescription("bad");
+        doThrow(new IllegalStateException("constraint violation")).when(transactionRepository).saveAll(anyList());
+        doThrow(new IllegalStateException("constraint violation")).when(transactionRepository)
+                .save(argThat(t -> "bad".equals(t.getDescription())));
+        writer.record(failedTransaction());
+        writer.record(bad);
+        writer.record(failedTransaction());
+
+        writer.flush();
+
+        assertThat(writer.getStats().writtenCount).isEqualTo(2);
+        assertThat(writer.getStats().lostCount).isEqualTo(1);
+        assertThat(writer.getStats().failedFlushCount).isEqualTo(1);
+    }
+
+    @Test
+    void createFailedTransaction_ShouldPassEntityValidation_ForAnyRejectedAmount() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            for (BigDecimal amount : new BigDecimal[]{null, BigDecimal.ZERO, new BigDecimal("-5.00"),
+                    new BigDecimal("0.001"), new BigDecimal("1E+30")}) {
+                Transaction record = TransactionService.createFailedTransaction(Transaction.TransactionType.DEPOSIT,
+                        amount, null, null, "x".repeat(2000), "Invalid amount: must be greater than zero");
+
+                assertThat(validator.validate(record)).as("amount %s", amount).isEmpty();
+                assertThat(record.getAmount()).isEqualByComparingTo("0.01");
+                assertThat(record.getErrorMessage()).endsWith("(requested amount: " + amount + ")");
+                assertThat(record.getDescription()).hasSize(500);
+            }
+        }
+    }
+
+    private static Transaction failedTransaction() {
+        Transaction transaction = new Transaction();
+        transaction.setType(Transaction.TransactionType.WITHDRAWAL);
+        transaction.setAmount(BigDecimal.TEN);
+        transaction.setSuccessful(false);
+        return transaction;
+    }
+}
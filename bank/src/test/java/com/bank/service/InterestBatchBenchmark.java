@@ -0,0 +1,141 @@
+package com.bank.service;
+
+import com.bank.controller.TerminalController;
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.model.User;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.InterestRunCheckpointRepository;
+import com.bank.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Monthly interest over a large number of savings accounts: the loop InterestCalculationService used
+ * before the batch job (findAll, then one account at a time in a single transaction) against
+ * InterestBatchService with one and with several workers. Excluded from the normal build; run with:
+ * mvn test -Dbenchmark.excludedGroups= -Dgroups=benchmark -Dtest=InterestBatchBenchmark
+ * The account count defaults to 100k (-Dbenchmark.accounts=20000).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:interest-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "bank.interest.chunk-size=1000",
+        "bank.interest.parallelism=4"
+})
+class InterestBatchBenchmark {
+
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 100_000);
+
+    // Keeps the terminal from reading System.in during the benchmark
+    @MockBean
+    private TerminalController terminalController;
+
+    @Autowired
+    private InterestBatchService interestBatchService;
+
+    @Autowired
+    private InterestCalculationService interestCalculationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private InterestRunCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareWithTheSingleTransactionLoop() {
+        seedSavingsAccounts(ACCOUNTS);
+        InterestBatchService singleWorker = new InterestBatchService(accountRepository, transactionRepository,
+                checkpointRepository, interestCalculationService, transactionManager, 1000, 1, 3, 3);
+
+        System.out.printf("%n%-28s %10s %12s %14s%n", "run", "credited", "elapsed", "accounts/s");
+
+        long start = System.nanoTime();
+        int credited = legacyApplyInterestToAllAccounts();
+        report("findAll loop, 1 tx", credited, (System.nanoTime() - start) / 1_000_000);
+
+        InterestBatchService.InterestRunReport single = singleWorker.runMonthlyInterest(YearMonth.of(2040, 1));
+        report("batch, 1 worker", single.accountsCredited, single.elapsedMillis);
+
+        InterestBatchService.InterestRunReport parallel = interestBatchService.runMonthlyInterest(YearMonth.of(2040, 2));
+        report("batch, 4 workers", parallel.accountsCredited, parallel.elapsedMillis);
+    }
+
+    /**
+     * The loop InterestCalculationService.applyInterestToAllAccounts ran before the batch job
+     */
+    private int legacyApplyInterestToAllAccounts() {
+        Integer credited = new TransactionTemplate(transactionManager).execute(status -> {
+            int count = 0;
+            for (Account account : accountRepository.findAll()) {
+                if (account.isSavingsAccount() && account.isActive()) {
+                    BigDecimal interest = interestCalculationService.calculateInterest(account);
+                    if (interest.compareTo(BigDecimal.ZERO) > 0) {
+                        Transaction interestTransaction = new Transaction(Transaction.TransactionType.DEPOSIT,
+                                interest, null, account, "Monthly Interest Payment - " + interest);
+                        interestTransaction.setSuccessful(true);
+                        account.setBalance(account.getBalance().add(interest));
+                        accountRepository.save(account);
+                        transactionRepository.save(interestTransaction);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        return credited != null ? credited : 0;
+    }
+
+    /**
+     * Creates one savings account through AccountService and copies its row count - 1 times in one statement
+     */
+    private void seedSavingsAccounts(int count) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User user = userService.registerUser("bench" + run, "password1", "Benchmark", run + "@example.com");
+        Account template = accountService.createAccount("BI" + run, "Benchmark", Account.AccountType.SAVINGS, "1234",
+                new BigDecimal("1200.00"), user);
+        jdbcTemplate.update("""
+                INSERT INTO accounts (account_number, holder_name, account_type, status, pin, balance, interest_rate,
+                                      minimum_balance, daily_withdrawal_limit, daily_transfer_limit, user_id,
+                                      created_at, updated_at, last_limit_reset_date, version)
+                SELECT CONCAT(CAST(? AS VARCHAR), X), holder_name, account_type, status, pin, balance, interest_rate,
+                       minimum_balance, daily_withdrawal_limit, daily_transfer_limit, user_id,
+                       created_at, updated_at, last_limit_reset_date, 0
+                FROM accounts, SYSTEM_RANGE(1, CAST(? AS BIGINT))
+                WHERE id = ?
+                """, "BI" + run.substring(0, 4) + "-", count - 1, template.getId());
+    }
+
+    private static void report(String run, long credited, long elapsedMillis) {
+        System.out.printf("%-28s %10d %9d ms %14.0f%n", run, credited, elapsedMillis,
+                elapsedMillis > 0 ? credited * 1000.0 / elapsedMillis : 0);
+    }
+}
@@ -0,0 +1,175 @@
+package com.bank.service;
+
+import com.bank.controller.TerminalController;
+import com.bank.model.Account;
+import com.bank.model.InterestRunCheckpoint;
+import com.bank.model.User;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.InterestRunCheckpointRepository;
+import com.bank.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class InterestBatchServiceTest {
+
+    // Keeps the terminal from reading System.in during the test
+    @MockBean
+    private TerminalController terminalController;
+
+    @Autowired
+    private InterestBatchService interestBatchService;
+
+    @Autowired
+    private InterestCalculationService interestCalculationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private InterestRunCheckpointRepository checkpointRepository;
+
+    @Test
+    void runMonthlyInterest_ShouldCreditEachAccountOncePerPeriod() {
+        YearMonth period = YearMonth.of(2031, 1);
+        List<Account> accounts = List.of(savingsAccount("1200.00"), savingsAccount("2400.00"));
+
+        InterestBatchService.InterestRunReport first = interestBatchService.runMonthlyInterest(period);
+        InterestBatchService.InterestRunReport second = interestBatchService.runMonthlyInterest(period);
+
+        assertThat(first.completed).isTrue();
+        assertThat(balanceOf(accounts.get(0))).isEqualByComparingTo("1202.50");
+        assertThat(balanceOf(accounts.get(1))).isEqualByComparingTo("2405.00");
+        assertThat(second.accountsCredited).isZero();
+        assertThat(accountRepository.findById(accounts.get(0).getId()).orElseThrow().getLastInterestPeriod())
+                .isEqualTo("2031-01");
+    }
+
+    @Test
+    void applyInterest_ShouldRecordThePeriod_SoNeitherPathPaysTwice() {
+        Account account = savingsAccount("1200.00");
+
+        interestCalculationService.applyInterest(account);
+
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getLastInterestPeriod())
+                .isEqualTo(YearMonth.now().toString());
+        assertThatThrownBy(() -> interestCalculationService.applyInterest(account))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already been applied");
+        interestCalculationService.applyInterestToAllAccounts();
+        interestBatchService.runMonthlyInterest(YearMonth.now());
+        assertThat(balanceOf(account)).isEqualByComparingTo("1202.50");
+    }
+
+    @Test
+    void applyInterest_ShouldUseTheCurrentBalance_NotTheCallersCopy() {
+        Account account = savingsAccount("1200.00");
+        Account stale = accountRepository.findById(account.getId()).orElseThrow();
+        Account current = accountRepository.findById(account.getId()).orElseThrow();
+        current.setBalance(new BigDecimal("2400.00"));
+        accountRepository.save(current);
+
+        interestCalculationService.applyInterest(stale);
+
+        assertThat(balanceOf(account)).isEqualByComparingTo("2405.00");
+    }
+
+    @Test
+    void resumeIncompleteRuns_ShouldFinishARunLeftUnfinished() {
+        YearMonth period = YearMonth.of(2031, 2);
+        Account account = savingsAccount("1200.00");
+        checkpointRepository.save(new InterestRunCheckpoint(period.toString()));
+
+        List<InterestBatchService.InterestRunReport> reports = interestBatchService.resumeIncompleteRuns();
+
+        assertThat(reports).anySatisfy(report -> {
+            assertThat(report.period).isEqualTo(period.toString());
+            assertThat(report.completed).isTrue();
+        });
+        assertThat(checkpointRepository.findByPeriod(period.toString()).orElseThrow().isCompleted()).isTrue();
+        assertThat(balanceOf(account)).isEqualByComparingTo("1202.50");
+    }
+
+    @Test
+    void runMonthlyInterest_ShouldNotPayAnOlderPeriod_ToAccountsCreditedForANewerOne() {
+        Account account = savingsAccount("1200.00");
+        interestBatchService.runMonthlyInterest(YearMonth.of(2031, 5));
+
+        InterestBatchService.InterestRunReport older = interestBatchService.runMonthlyInterest(YearMonth.of(2031, 4));
+
+        assertThat(older.completed).isTrue();
+        assertThat(balanceOf(account)).isEqualByComparingTo("1202.50");
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getLastInterestPeriod())
+                .isEqualTo("2031-05");
+    }
+
+    @Test
+    void runMonthlyInterest_ShouldCloseThePeriod_AfterMaxPassesWithFailedAccounts() {
+        // An account whose row can never be locked fails every pass
+        AccountRepository accounts = mock(AccountRepository.class);
+        InterestRunCheckpointRepository checkpoints = mock(InterestRunCheckpointRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        InterestRunCheckpoint checkpoint = new InterestRunCheckpoint("2031-06");
+        when(checkpoints.findByPeriod("2031-06")).thenReturn(Optional.of(checkpoint));
+        when(checkpoints.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accounts.findInterestEligibleIdsAfter(eq(0L), eq("2031-06"), any())).thenReturn(List.of(7L));
+        when(accounts.findInterestEligibleIdsAfter(eq(7L), eq("2031-06"), any())).thenReturn(List.of());
+        when(accounts.findAllByIdForUpdate(anyList())).thenThrow(new IllegalStateException("lock timeout"));
+        when(accounts.findByIdForUpdate(anyLong())).thenThrow(new IllegalStateException("lock timeout"));
+        InterestBatchService service = new InterestBatchService(accounts, mock(TransactionRepository.class),
+                checkpoints, interestCalculationService, transactionManager, 10, 1, 1, 2);
+
+        InterestBatchService.InterestRunReport first = service.runMonthlyInterest(YearMonth.of(2031, 6));
+        InterestBatchService.InterestRunReport second = service.runMonthlyInterest(YearMonth.of(2031, 6));
+        InterestBatchService.InterestRunReport third = service.runMonthlyInterest(YearMonth.of(2031, 6));
+
+        assertThat(first.completed).isFalse();
+        assertThat(second.completed).isTrue();
+        assertThat(second.accountsFailed).isEqualTo(1);
+        assertThat(third.accountsScanned).isZero();
+        assertThat(checkpoint.isCompleted()).isTrue();
+        assertThat(checkpoint.getPasses()).isEqualTo(2);
+        assertThat(checkpoint.getAccountsFailed()).isEqualTo(1);
+        verify(accounts, times(2)).findAllByIdForUpdate(anyList());
+    }
+
+    private Account savingsAccount(String balance) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userService.registerUser("user" + suffix, "password1", "Test User", suffix + "@example.com");
+        String accountNumber = "SAV" + suffix;
+        return accountService.createAccount(accountNumber, "Test User", Account.AccountType.SAVINGS, "1234",
+                new BigDecimal(balance), user);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
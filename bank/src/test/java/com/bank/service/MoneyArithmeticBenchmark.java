@@ -0,0 +1,135 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the Money paths against the BigDecimal code they replaced: withdrawal and transfer
+ * fees, monthly interest, and the daily limit and balance checks of a withdrawal. Reports ns/op and,
+ * through the GC profiler, bytes allocated per op (gc.alloc.rate.norm). Excluded from the normal build;
+ * run with:
+ * mvn test -Dbenchmark.excludedGroups= -Dgroups=benchmark -Dtest=MoneyArithmeticBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final int VALUES = 1024;
+
+    private final InterestCalculationService interestService = new InterestCalculationService(null, null);
+
+    private BigDecimal[] amounts;
+    private BigDecimal[] balances;
+    private Account[] accounts;
+    private BigDecimal limit;
+    private BigDecimal used;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Cent amounts as they arrive from requests and scale-2 columns
+        Random random = new Random(42);
+        amounts = new BigDecimal[VALUES];
+        balances = new BigDecimal[VALUES];
+        accounts = new Account[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(500_000), 2);
+            balances[i] = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+            Account account = new Account();
+            account.setAccountType(Account.AccountType.SAVINGS);
+            account.setStatus(Account.AccountStatus.ACTIVE);
+            account.setBalance(balances[i]);
+            account.setInterestRate(new BigDecimal("2.50"));
+            accounts[i] = account;
+        }
+        limit = new BigDecimal("5000.00");
+        used = new BigDecimal("1234.56");
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (VALUES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public BigDecimal withdrawalFeeBigDecimal() {
+        return BigDecimalMoneyReference.withdrawalFee(amounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public BigDecimal withdrawalFeeMoney() {
+        return TransactionService.calculateWithdrawalFee(amounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public BigDecimal transferFeeBigDecimal() {
+        return BigDecimalMoneyReference.transferFee(amounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public BigDecimal transferFeeMoney() {
+        return TransactionService.calculateTransferFee(amounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public BigDecimal interestBigDecimal() {
+        Account account = accounts[nextIndex()];
+        return BigDecimalMoneyReference.monthlyInterest(account.getBalance(), account.getInterestRate());
+    }
+
+    @Benchmark
+    public BigDecimal interestMoney() {
+        return interestService.calculateInterest(accounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public void withdrawalChecksBigDecimal(Blackhole blackhole) {
+        int i = nextIndex();
+        BigDecimal amount = amounts[i];
+        blackhole.consume(BigDecimalMoneyReference.debit(amount, BigDecimalMoneyReference.withdrawalFee(amount),
+                limit, used, balances[i]));
+    }
+
+    @Benchmark
+    public void withdrawalChecksMoney(Blackhole blackhole) {
+        int i = nextIndex();
+        BigDecimal amount = amounts[i];
+        blackhole.consume(TransactionService.DebitCheck.of(amount, TransactionService.calculateWithdrawalFee(amount),
+                limit, used, balances[i]));
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                // Surefire's manifest-only jar hides the test classpath from the forked JVM
+                .jvmArgsAppend("-cp", System.getProperty("java.class.path"))
+                .build()).run();
+    }
+}
@@ -0,0 +1,170 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property test: the long-backed Money fast paths for fees, interest, daily limit and balance checks give
+ * exactly the result of the original BigDecimal formulas, for random amounts, balances and rates of every magnitude
+ * (including sub-cent inputs and values that overflow into the BigDecimal fallback).
+ */
+class MoneyArithmeticPropertyTest {
+
+    private static final int SAMPLES = 200_000;
+    private static final long SEED = 20240607L;
+
+    private final InterestCalculationService interestService = new InterestCalculationService(null, null);
+
+    @Test
+    void withdrawalFee_ShouldMatchBigDecimalFormula() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal amount = randomAmount(random);
+            assertThat(TransactionService.calculateWithdrawalFee(amount))
+                    .as("withdrawal fee of %s (seed %d, sample %d)", amount, SEED, i)
+                    .isEqualTo(BigDecimalMoneyReference.withdrawalFee(amount));
+        }
+    }
+
+    @Test
+    void transferFee_ShouldMatchBigDecimalFormula() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal amount = randomAmount(random);
+            assertThat(TransactionService.calculateTransferFee(amount))
+                    .as("transfer fee of %s (seed %d, sample %d)", amount, SEED + 1, i)
+                    .isEqualTo(BigDecimalMoneyReference.transferFee(amount));
+        }
+    }
+
+    @Test
+    void monthlyInterest_ShouldMatchBigDecimalFormula() {
+        Random random = new Random(SEED + 2);
+        Account account = new Account();
+        account.setAccountType(Account.AccountType.SAVINGS);
+        account.setStatus(Account.AccountStatus.ACTIVE);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal balance = randomAmount(random);
+            BigDecimal rate = randomRate(random);
+            account.setBalance(balance);
+            account.setInterestRate(rate);
+            assertThat(interestService.calculateInterest(account))
+                    .as("interest on %s at %s%% (seed %d, sample %d)", balance, rate, SEED + 2, i)
+                    .isEqualTo(BigDecimalMoneyReference.monthlyInterest(balance, rate));
+        }
+    }
+
+    @Test
+    void percentage_ShouldRoundHalfUpLikeBigDecimal_AtEveryHalfCent() {
+        // Amounts whose 1% or 0.5% lands exactly on half a cent
+        for (long cents = 0; cents <= 100_000; cents += 25) {
+            BigDecimal amount = BigDecimal.valueOf(cents, 2);
+            for (long basisPoints : new long[]{50, 100, 250, 10_000}) {
+                BigDecimal expected = amount.multiply(BigDecimal.valueOf(basisPoints, 4))
+                        .setScale(2, RoundingMode.HALF_UP);
+                assertThat(Money.of(amount).percentage(basisPoints).toBigDecimal())
+                        .as("%d bp of %s", basisPoints, amount)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void debitCheck_ShouldMatchBigDecimalFormula() {
+        Random random = new Random(SEED + 3);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal amount = randomAmount(random);
+            BigDecimal fee = TransactionService.calculateWithdrawalFee(amount);
+            BigDecimal limit = randomAmount(random);
+            BigDecimal used = randomAmount(random);
+            BigDecimal balance = randomAmount(random);
+
+            TransactionService.DebitCheck check = TransactionService.DebitCheck.of(amount, fee, limit, used, balance);
+            BigDecimalMoneyReference.Debit expected = BigDecimalMoneyReference.debit(amount, fee, limit, used, balance);
+
+            String context = String.format("debit %s + %s, limit %s used %s, balance %s (seed %d, sample %d)",
+                    amount, fee, limit, used, balance, SEED + 3, i);
+            assertThat(check.withinLimit).as(context).isEqualTo(expected.withinLimit());
+            assertThat(check.sufficientFunds).as(context).isEqualTo(expected.sufficientFunds());
+            assertThat(check.remainingLimit).as(context).isEqualByComparingTo(expected.remainingLimit());
+            assertThat(check.totalAmount).as(context).isEqualByComparingTo(expected.totalAmount());
+            assertThat(check.newBalance).as(context).isEqualByComparingTo(expected.newBalance());
+        }
+    }
+
+    @Test
+    void credit_ShouldMatchBigDecimalAdd() {
+        Random random = new Random(SEED + 4);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal balance = randomAmount(random);
+            BigDecimal amount = randomAmount(random);
+            assertThat(TransactionService.credit(balance, amount))
+                    .as("%s + %s (seed %d, sample %d)", balance, amount, SEED + 4, i)
+                    .isEqualByComparingTo(balance.add(amount));
+        }
+    }
+
+    @Test
+    void tryOf_ShouldAcceptExactlyTheWholeCentAmountsInRange() {
+        Random random = new Random(SEED + 5);
+        BigDecimal max = BigDecimal.valueOf(Money.MAX_MINOR_UNITS, Money.SCALE);
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal amount = randomAmount(random);
+            if (random.nextBoolean()) {
+                amount = amount.negate();
+            }
+            boolean wholeCents = amount.movePointRight(Money.SCALE).stripTrailingZeros().scale() <= 0;
+            boolean representable = wholeCents && amount.abs().compareTo(max) <= 0;
+
+            Money money = Money.tryOf(amount);
+
+            if (representable) {
+                assertThat(money).as("%s (sample %d)", amount, i).isNotNull();
+                assertThat(money.toBigDecimal()).as("%s (sample %d)", amount, i).isEqualByComparingTo(amount);
+            } else {
+                assertThat(money).as("%s (sample %d)", amount, i).isNull();
+            }
+        }
+    }
+
+    /**
+     * Mostly cent amounts from a cent up to 10^16 (beyond Money's range), some with sub-cent
+     * digits or trailing zeros that Money must handle exactly.
+     */
+    private static BigDecimal randomAmount(Random random) {
+        int digits = 1 + random.nextInt(18);
+        long unscaled = Math.floorMod(random.nextLong(), pow10(digits));
+        int scale = switch (random.nextInt(10)) {
+            case 0 -> 3 + random.nextInt(2); // sub-cent: BigDecimal fallback
+            case 1 -> random.nextInt(2);     // whole or tenths
+            default -> 2;
+        };
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Annual rates in percent: mostly 0.01 to 99.99, some with more decimals or out of range.
+     */
+    private static BigDecimal randomRate(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> BigDecimal.valueOf(1 + random.nextInt(1_000_000), 4);
+            case 1 -> BigDecimal.valueOf(1 + Math.floorMod(random.nextLong(), pow10(12)), 2);
+            default -> BigDecimal.valueOf(1 + random.nextInt(9_999), 2);
+        };
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "bank.transfer.locking-strategy=OPTIMISTIC",
+        "spring.datasource.url=jdbc:h2:mem:stress-optimistic;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        // Expected version conflicts are retried; their batch errors are just noise here
+        "logging.level.org.hibernate.orm.jdbc.batch=off"
+})
+class OptimisticTransactionStressTest extends AbstractTransactionStressTest {
+}
@@ -0,0 +1,11 @@
+package com.bank.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "bank.transfer.locking-strategy=PESSIMISTIC",
+        "spring.datasource.url=jdbc:h2:mem:stress-pessimistic;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false"
+})
+class PessimisticTransactionStressTest extends AbstractTransactionStressTest {
+}
@@ -0,0 +1,25 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UploadConfig {
+
+    /**
+     * Threads that send multipart upload parts, shared by all uploads. Tasks queue instead of
+     * being rejected: each upload already limits its own parts in flight.
+     */
+    @Bean(name = "partUploadExecutor")
+    public ThreadPoolTaskExecutor partUploadExecutor(@Value("${storage.upload.threads:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("part-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
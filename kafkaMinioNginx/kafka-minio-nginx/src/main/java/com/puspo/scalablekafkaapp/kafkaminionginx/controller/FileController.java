@@ -1,16 +1,29 @@
 package com.puspo.scalablekafkaapp.kafkaminionginx.controller;
 
 import com.puspo.scalablekafkaapp.kafkaminionginx.storage.ObjectStorageService;
+import com.puspo.scalablekafkaapp.kafkaminionginx.storage.StoredObject;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -29,27 +42,117 @@ public class FileController {
         return "Uploaded file successfully! -> filename =" + filename;
     }
 
+    /**
+     * Streams the object straight from MinIO to the client, so heap use does not grow with file
+     * size. Supports a single byte range (206 / 416, honouring If-Range) and conditional GETs
+     * on ETag / Last-Modified (304).
+     */
     @Operation(summary = "Download a file by simple or full filename")
     @GetMapping("/download/{filename}")
-    public ResponseEntity<byte[]> download(@PathVariable String filename) throws Exception {
+    public ResponseEntity<StreamingResponseBody> download(
+            @PathVariable String filename,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            WebRequest webRequest
+    ) throws Exception {
         //try direct match first
-        byte[] data;
-        try {
-            data = objectStorageService.download(filename);
-        } catch (Exception e) {
+        Optional<StoredObject> found = objectStorageService.stat(filename);
+        if (found.isEmpty()) {
             //try fuzzy search if not found
             Optional<String> foundName = objectStorageService.findFileByBaseName(filename);
-            if (foundName.isEmpty()) {
-                return ResponseEntity.notFound().build();
+            if (foundName.isPresent()) {
+                found = objectStorageService.stat(foundName.get()); //download file by base name
             }
-            data = objectStorageService.download(foundName.get()); //download file by base name
-            filename = foundName.get(); //update filename if found
         }
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        StoredObject object = found.get();
+        long lastModified = object.lastModified() == null ? -1 : object.lastModified().toEpochMilli();
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(data);
+        // Sets 304 (or 412 for failed If-Match / If-Unmodified-Since) on the response
+        if (webRequest.checkNotModified(object.etag(), lastModified)) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(object.name(), StandardCharsets.UTF_8)
+                .build());
+        headers.setContentType(object.contentType() == null ? MediaType.APPLICATION_OCTET_STREAM
+                : MediaType.parseMediaType(object.contentType()));
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (object.etag() != null) {
+            headers.setETag(quoted(object.etag()));
+        }
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+
+        long size = object.size();
+        long start = 0;
+        long length = size;
+        HttpStatus status = HttpStatus.OK;
+        if (rangeHeader != null && rangeApplies(webRequest.getHeader(HttpHeaders.IF_RANGE), object)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multi-range responses are not supported; such requests get the whole object
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(size);
+                long end = range.getRangeEnd(size);
+                if (size == 0 || start >= size || start > end) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                            .build();
+                }
+                length = end - start + 1;
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        headers.setContentLength(length);
+
+        String objectName = object.name();
+        long offset = start;
+        Long rangeLength = status == HttpStatus.PARTIAL_CONTENT ? length : null;
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream inputStream = objectStorageService.openStream(objectName, offset, rangeLength)) {
+                inputStream.transferTo(outputStream);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Failed to stream " + objectName, e);
+            }
+        };
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    // If-Range: serve the range only if the client's copy is still current
+    private static boolean rangeApplies(String ifRange, StoredObject object) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return !ifRange.startsWith("W/") && ifRange.equals(quoted(object.etag()));
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return object.lastModified() != null && object.lastModified().toEpochMilli() / 1000 <= since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String quoted(String etag) {
+        if (etag == null || etag.startsWith("\"")) {
+            return etag;
+        }
+        return "\"" + etag + "\"";
     }
 
     /**
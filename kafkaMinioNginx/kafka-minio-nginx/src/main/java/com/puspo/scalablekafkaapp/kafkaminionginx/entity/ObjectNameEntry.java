@@ -0,0 +1,51 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One row per "<millis>-<original name>" object in the bucket, indexed by lowercased base name
+ * and upload time so "latest object for a base name" is a single index seek.
+ */
+@Entity
+@Table(name = "object_name_index",
+        indexes = @Index(name = "idx_object_name_index_base_uploaded", columnList = "base_name, uploaded_at_ms"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ObjectNameEntry implements Persistable<String> {
+    @Id
+    @Column(name = "object_name", length = 512)
+    private String objectName;
+
+    @Column(name = "base_name", length = 512, nullable = false)
+    private String baseName;
+
+    @Column(name = "uploaded_at_ms", nullable = false)
+    private long uploadedAtMs;
+
+    // Entries are only ever inserted or deleted, so skip the select-before-insert of merge()
+    @Transient
+    private boolean isNew = true;
+
+    public ObjectNameEntry(String objectName, String baseName, long uploadedAtMs) {
+        this(objectName, baseName, uploadedAtMs, true);
+    }
+
+    @Override
+    public String getId() {
+        return objectName;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.repository;
+
+import com.puspo.scalablekafkaapp.kafkaminionginx.entity.ObjectNameEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ObjectNameEntryRepository extends JpaRepository<ObjectNameEntry, String> {
+
+    Optional<ObjectNameEntry> findFirstByBaseNameOrderByUploadedAtMsDesc(String baseName);
+
+    // Object names start with the upload millis, so the greatest name is the newest indexed object
+    Optional<ObjectNameEntry> findFirstByOrderByObjectNameDesc();
+}
@@ -3,9 +3,11 @@ package com.puspo.scalablekafkaapp.kafkaminionginx.service;
 import com.puspo.scalablekafkaapp.kafkaminionginx.entity.FileMetadata;
 import com.puspo.scalablekafkaapp.kafkaminionginx.kafka.service.UploadEventPublisher;
 import com.puspo.scalablekafkaapp.kafkaminionginx.repository.FileMetadataRepository;
+import com.puspo.scalablekafkaapp.kafkaminionginx.storage.upload.MinioObjectUploader;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
 import io.minio.http.Method;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,7 @@ public class FileService {
     private final MinioClient minioClient;
     private final FileMetadataRepository fileMetadataRepository;
     private final UploadEventPublisher uploadEventPublisher;
+    private final MinioObjectUploader objectUploader;
 
     @Value("${minio.bucket-name}")
     private String bucketName;
@@ -75,24 +78,19 @@ public class FileService {
     public FileMetadata directUpload(MultipartFile file) throws Exception {
         String originalName = file.getOriginalFilename();
         String contentType = file.getContentType();
-        String storageName = java.util.UUID.randomUUID() + "_" + originalName;
+        String storageName = UUID.randomUUID() + "_" + originalName;
 
-        // Upload to MinIO (replace with your MinIO logic)
-        minioClient.putObject(
-            io.minio.PutObjectArgs.builder()
-                .bucket(bucketName)
-                .object(storageName)
-                .stream(file.getInputStream(), file.getSize(), -1)
-                .contentType(contentType)
-                .build()
-        );
+        // Large files are split into parts uploaded in parallel
+        try (InputStream inputStream = file.getInputStream()) {
+            objectUploader.upload(storageName, inputStream, file.getSize(), contentType);
+        }
 
         FileMetadata metadata = FileMetadata.builder()
             .storageName(storageName)
             .originalName(originalName)
             .contentType(contentType)
             .size(file.getSize())
-            .uploadedAt(java.time.LocalDateTime.now())
+            .uploadedAt(LocalDateTime.now())
             .status(FileMetadata.Status.UPLOADED)
             .build();
 
@@ -2,12 +2,24 @@ package com.puspo.scalablekafkaapp.kafkaminionginx.storage;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.Optional;
 
 public interface ObjectStorageService {
     String upload(MultipartFile file) throws Exception;
 
-    byte[] download(String filename) throws Exception;
+    /**
+     * Metadata of an object, or empty if it does not exist.
+     */
+    Optional<StoredObject> stat(String filename) throws Exception;
+
+    /**
+     * Opens the object content for streaming; the caller must close the stream.
+     *
+     * @param offset first byte to read
+     * @param length number of bytes to read, or null for the rest of the object
+     */
+    InputStream openStream(String filename, long offset, Long length) throws Exception;
 
     /**
      * Returns a presigned GET URL (expirySeconds seconds).
@@ -0,0 +1,9 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.storage;
+
+import java.time.Instant;
+
+/**
+ * Object metadata read without fetching the content.
+ */
+public record StoredObject(String name, long size, String etag, Instant lastModified, String contentType) {
+}
@@ -1,27 +1,88 @@
 package com.puspo.scalablekafkaapp.kafkaminionginx.storage.impl;
 
+import com.puspo.scalablekafkaapp.kafkaminionginx.entity.ObjectNameEntry;
 import com.puspo.scalablekafkaapp.kafkaminionginx.storage.ObjectStorageService;
+import com.puspo.scalablekafkaapp.kafkaminionginx.storage.StoredObject;
+import com.puspo.scalablekafkaapp.kafkaminionginx.storage.index.ObjectNameIndex;
+import com.puspo.scalablekafkaapp.kafkaminionginx.storage.upload.MinioObjectUploader;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
 import io.minio.messages.Item;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
+@Slf4j
 public class MinioStorageService implements ObjectStorageService {
+    private static final int INDEX_BATCH_SIZE = 1000;
+    private static final int MAX_STALE_RETRIES = 3;
+
     private final MinioClient minioClient;
     private final String bucketName;
+    private final ObjectNameIndex objectNameIndex;
+    private final MinioObjectUploader objectUploader;
+    private final boolean fullIndexRebuild;
+
+    // False until the index has caught up with the bucket; lookups scan the bucket until then
+    private volatile boolean indexReady;
 
-    public MinioStorageService(MinioClient minioClient, @Value("${minio.bucket-name}") String bucketName) {
+    public MinioStorageService(MinioClient minioClient, @Value("${minio.bucket-name}") String bucketName,
+                               ObjectNameIndex objectNameIndex, MinioObjectUploader objectUploader,
+                               @Value("${storage.index.full-rebuild-on-startup:false}") boolean fullIndexRebuild) {
         this.minioClient = minioClient;
         this.bucketName = bucketName;
+        this.objectNameIndex = objectNameIndex;
+        this.objectUploader = objectUploader;
+        this.fullIndexRebuild = fullIndexRebuild;
         verifyBucketExist();
     }
 
+    /**
+     * Adds objects uploaded since the newest indexed name (names start with the upload millis,
+     * so a listing after the watermark returns only newer objects). Runs in the background so
+     * startup is not delayed by large buckets.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpIndex() {
+        Thread indexer = new Thread(() -> {
+            try {
+                String startAfter = fullIndexRebuild ? null : objectNameIndex.watermark().orElse(null);
+                ListObjectsArgs.Builder listing = ListObjectsArgs.builder().bucket(bucketName);
+                if (startAfter != null) {
+                    listing.startAfter(startAfter);
+                }
+                List<String> batch = new ArrayList<>(INDEX_BATCH_SIZE);
+                int added = 0;
+                for (Result<Item> result : minioClient.listObjects(listing.build())) {
+                    batch.add(result.get().objectName());
+                    if (batch.size() == INDEX_BATCH_SIZE) {
+                        added += objectNameIndex.addAll(batch);
+                        batch.clear();
+                    }
+                }
+                added += objectNameIndex.addAll(batch);
+                objectNameIndex.clearNegativeCache();
+                indexReady = true;
+                log.info("Object name index caught up: {} new entries after {}", added, startAfter);
+            } catch (Exception e) {
+                log.error("Object name index catch-up failed; base-name lookups keep scanning the bucket", e);
+            }
+        }, "object-name-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
     //verify bucket exist
     private void verifyBucketExist() {
         try {
@@ -43,27 +104,42 @@ public class MinioStorageService implements ObjectStorageService {
         String filename = System.currentTimeMillis() + "-" + file.getOriginalFilename();
 
         try (InputStream inputStream = file.getInputStream()) {
-            PutObjectArgs putObjectArgs = PutObjectArgs.builder()
+            objectUploader.upload(filename, inputStream, file.getSize(), file.getContentType());
+        }
+        objectNameIndex.add(filename);
+        return filename;
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String filename) throws Exception {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
                     .bucket(bucketName)
                     .object(filename)
-                    .stream(inputStream, file.getSize(), -1) //this gives progress
-                    .contentType(file.getContentType())
-                    .build();
-
-            minioClient.putObject(putObjectArgs);
+                    .build());
+            return Optional.of(new StoredObject(stat.object(), stat.size(), stat.etag(),
+                    stat.lastModified() == null ? null : stat.lastModified().toInstant(), stat.contentType()));
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            throw e;
         }
-        return filename;
     }
 
     @Override
-    public byte[] download(String filename) throws Exception {
-        GetObjectArgs getObjectArgs = GetObjectArgs.builder()
+    public InputStream openStream(String filename, long offset, Long length) throws Exception {
+        // Only the requested byte range is fetched from MinIO; nothing is buffered here
+        GetObjectArgs.Builder getObjectArgs = GetObjectArgs.builder()
                 .bucket(bucketName)
-                .object(filename)
-                .build();
-        try (InputStream inputStream = minioClient.getObject(getObjectArgs)) {
-            return inputStream.readAllBytes();
+                .object(filename);
+        if (offset > 0) {
+            getObjectArgs.offset(offset);
+        }
+        if (length != null) {
+            getObjectArgs.length(length);
         }
+        return minioClient.getObject(getObjectArgs.build());
     }
 
     @Override
@@ -84,37 +160,46 @@ public class MinioStorageService implements ObjectStorageService {
                 .object(filename)
                 .build();
         minioClient.removeObject(removeObjectArgs);
+        objectNameIndex.remove(filename);
     }
 
+    /**
+     * Latest "<millis>-<baseName>" object, matched case-insensitively on the exact base name.
+     * Served from the index; an entry whose object was removed outside this service is dropped
+     * and the next newest is tried.
+     */
     @Override
     public Optional<String> findFileByBaseName(String baseName) throws Exception {
+        if (!indexReady) {
+            return scanForBaseName(baseName);
+        }
+        for (int attempt = 0; attempt < MAX_STALE_RETRIES; attempt++) {
+            Optional<String> candidate = objectNameIndex.findLatest(baseName);
+            if (candidate.isEmpty() || stat(candidate.get()).isPresent()) {
+                return candidate;
+            }
+            objectNameIndex.remove(candidate.get());
+        }
+        return Optional.empty();
+    }
+
+    // Full bucket listing; only used while the index is still catching up after startup
+    private Optional<String> scanForBaseName(String baseName) throws Exception {
         Iterable<Result<Item>> results = minioClient.listObjects(
                 ListObjectsArgs.builder()
                         .bucket(bucketName)
                         .build()
         );
-        String lowerbase = baseName.toLowerCase();
+        // Same exact, case-insensitive base-name match as the index, so results do not change once it is ready
+        String lowerbase = baseName.toLowerCase(Locale.ROOT);
         String latestMatch = null;
         long latestTimestamp = -1;
         for (Result<Item> result : results) {
-            Item item = result.get();
-            String objectName = item.objectName();
-
-            // Example: 1759696929167-diabetes.csv
-            String lowerName = objectName.toLowerCase();
-
-            // Check if name contains "diabetes" after the '-'
-            if (lowerName.contains("-" + lowerbase)) {
-                try {
-                    //parse the timestamp(before) from the filename
-                    String prefix = objectName.split("-", 2)[0];
-                    long timestamp = Long.parseLong(prefix); //pasing to long
-                    if (timestamp > latestTimestamp) {
-                        latestTimestamp = timestamp;
-                        latestMatch = objectName;
-                    }
-                } catch (NumberFormatException ignored) {
-                }
+            Optional<ObjectNameEntry> entry = ObjectNameIndex.parse(result.get().objectName());
+            if (entry.isPresent() && entry.get().getBaseName().equals(lowerbase)
+                    && entry.get().getUploadedAtMs() > latestTimestamp) {
+                latestTimestamp = entry.get().getUploadedAtMs();
+                latestMatch = entry.get().getObjectName();
             }
         }
         return Optional.ofNullable(latestMatch);
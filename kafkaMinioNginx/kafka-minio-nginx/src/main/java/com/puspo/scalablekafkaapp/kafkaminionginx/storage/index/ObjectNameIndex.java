@@ -0,0 +1,181 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.storage.index;
+
+import com.puspo.scalablekafkaapp.kafkaminionginx.entity.ObjectNameEntry;
+import com.puspo.scalablekafkaapp.kafkaminionginx.repository.ObjectNameEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Persistent base-name index over "<millis>-<original name>" objects.
+ * <p>
+ * Lookups are one seek on (base_name, uploaded_at_ms). Base names that are not in the index are
+ * remembered for a short time (negative cache), so repeated downloads of a missing file do not
+ * hit the database each time; adding an object for that base name clears the entry. A miss read
+ * while an object with that base name was being added is not remembered.
+ */
+@Component
+public class ObjectNameIndex {
+
+    private final ObjectNameEntryRepository repository;
+    private final long negativeTtlMs;
+    private final int negativeMaxEntries;
+
+    // Lowercased base name -> expiry (System.currentTimeMillis)
+    private final Map<String, Long> knownMisses = new ConcurrentHashMap<>();
+    // Bumped after every write, per stripe of base names; a lookup that spans a write of its stripe
+    // may have read the index before that write
+    private final AtomicLongArray writeGenerations = new AtomicLongArray(64);
+
+    public ObjectNameIndex(ObjectNameEntryRepository repository,
+                           @Value("${storage.index.negative-ttl-ms:60000}") long negativeTtlMs,
+                           @Value("${storage.index.negative-max-entries:10000}") int negativeMaxEntries) {
+        this.repository = repository;
+        this.negativeTtlMs = negativeTtlMs;
+        this.negativeMaxEntries = Math.max(1, negativeMaxEntries);
+    }
+
+    /**
+     * Width of the millis prefix uploads are named with (System.currentTimeMillis() has 13
+     * digits from 2001 until 2286). Only names with exactly this prefix are indexed: at a fixed
+     * width the greatest name is the newest upload, which {@link #watermark()} relies on. A name
+     * such as "2024-report.csv" would otherwise sort after every upload and stall the catch-up.
+     */
+    static final int MILLIS_DIGITS = 13;
+
+    /**
+     * Parses "1759696929167-diabetes.csv" into an entry; empty for names without a millis prefix.
+     */
+    public static Optional<ObjectNameEntry> parse(String objectName) {
+        if (objectName.length() <= MILLIS_DIGITS + 1 || objectName.charAt(MILLIS_DIGITS) != '-') {
+            return Optional.empty();
+        }
+        for (int i = 0; i < MILLIS_DIGITS; i++) {
+            char c = objectName.charAt(i);
+            if (c < '0' || c > '9') {
+                return Optional.empty();
+            }
+        }
+        long uploadedAtMs = Long.parseLong(objectName, 0, MILLIS_DIGITS, 10);
+        return Optional.of(new ObjectNameEntry(objectName, normalize(objectName.substring(MILLIS_DIGITS + 1)), uploadedAtMs));
+    }
+
+    public Optional<String> findLatest(String baseName) {
+        String key = normalize(baseName);
+        Long missUntil = knownMisses.get(key);
+        if (missUntil != null) {
+            if (missUntil > System.currentTimeMillis()) {
+                return Optional.empty();
+            }
+            knownMisses.remove(key, missUntil);
+        }
+        int stripe = stripe(key);
+        long generation = writeGenerations.get(stripe);
+        Optional<String> latest = repository.findFirstByBaseNameOrderByUploadedAtMsDesc(key)
+                .map(ObjectNameEntry::getObjectName);
+        if (latest.isEmpty()) {
+            Long expiry = rememberMiss(key);
+            // Checked after the put: an add that clears the key before it is missed here
+            if (writeGenerations.get(stripe) != generation) {
+                knownMisses.remove(key, expiry);
+            }
+        }
+        return latest;
+    }
+
+    public void add(String objectName) {
+        parse(objectName).ifPresent(entry -> {
+            // Re-uploading the same name overwrites the object; the entry is already there
+            if (!repository.existsById(entry.getObjectName())) {
+                repository.save(entry);
+            }
+            forgetMiss(entry.getBaseName());
+        });
+    }
+
+    /**
+     * Inserts a batch of listed objects, skipping ones already indexed.
+     *
+     * @return number of new entries
+     */
+    @Transactional
+    public int addAll(Collection<String> objectNames) {
+        List<ObjectNameEntry> entries = new ArrayList<>(objectNames.size());
+        for (String objectName : objectNames) {
+            parse(objectName).ifPresent(entries::add);
+        }
+        List<String> ids = entries.stream().map(ObjectNameEntry::getObjectName).toList();
+        Set<String> existing = new HashSet<>();
+        repository.findAllById(ids).forEach(e -> existing.add(e.getObjectName()));
+        List<ObjectNameEntry> fresh = entries.stream().filter(e -> !existing.contains(e.getObjectName())).toList();
+        repository.saveAll(fresh);
+        // A lookup before the commit still misses, so the misses are cleared once the rows are visible
+        Runnable forgetMisses = () -> fresh.forEach(e -> forgetMiss(e.getBaseName()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forgetMisses.run();
+                }
+            });
+        } else {
+            forgetMisses.run();
+        }
+        return fresh.size();
+    }
+
+    public void remove(String objectName) {
+        repository.deleteById(objectName);
+    }
+
+    /**
+     * Name of the newest indexed object; a bucket listing that starts after it finds everything
+     * uploaded since the index was last updated.
+     */
+    public Optional<String> watermark() {
+        return repository.findFirstByOrderByObjectNameDesc().map(ObjectNameEntry::getObjectName);
+    }
+
+    public void clearNegativeCache() {
+        knownMisses.clear();
+    }
+
+    private Long rememberMiss(String key) {
+        if (knownMisses.size() >= negativeMaxEntries) {
+            long now = System.currentTimeMillis();
+            knownMisses.values().removeIf(expiry -> expiry <= now);
+            if (knownMisses.size() >= negativeMaxEntries) {
+                knownMisses.clear();
+            }
+        }
+        Long expiry = System.currentTimeMillis() + negativeTtlMs;
+        knownMisses.put(key, expiry);
+        return expiry;
+    }
+
+    private void forgetMiss(String key) {
+        writeGenerations.incrementAndGet(stripe(key));
+        knownMisses.remove(key);
+    }
+
+    private int stripe(String key) {
+        return Math.floorMod(key.hashCode(), writeGenerations.length());
+    }
+
+    private static String normalize(String baseName) {
+        return baseName.toLowerCase(Locale.ROOT);
+    }
+}
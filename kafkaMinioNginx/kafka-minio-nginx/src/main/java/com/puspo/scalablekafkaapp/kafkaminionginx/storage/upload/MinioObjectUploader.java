@@ -0,0 +1,156 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.storage.upload;
+
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts objects into the bucket, splitting large ones into parts uploaded in parallel.
+ * <p>
+ * The MinIO client only exposes multipart uploads through putObject, which sends the parts one
+ * after another. Large objects are therefore uploaded as temporary part objects under
+ * ".uploads/&lt;id&gt;/" and joined server-side with composeObject; the part objects are removed
+ * afterwards, and also when the upload fails. Parts left behind by a crash can be expired with a
+ * bucket lifecycle rule on that prefix.
+ */
+@Component
+@Slf4j
+public class MinioObjectUploader {
+
+    private static final String PART_PREFIX = ".uploads/";
+
+    private final MinioClient minioClient;
+    private final ParallelPartUploader partUploader;
+    private final String bucketName;
+    private final boolean verifyEtag;
+
+    public MinioObjectUploader(MinioClient minioClient, ParallelPartUploader partUploader,
+                               @Value("${minio.bucket-name}") String bucketName,
+                               @Value("${storage.upload.verify-etag:true}") boolean verifyEtag) {
+        this.minioClient = minioClient;
+        this.partUploader = partUploader;
+        this.bucketName = bucketName;
+        this.verifyEtag = verifyEtag;
+    }
+
+    /**
+     * Uploads exactly size bytes from the stream; the caller closes it.
+     */
+    public void upload(String objectName, InputStream in, long size, String contentType) throws Exception {
+        long start = System.nanoTime();
+        if (size <= partUploader.partSizeFor(size)) {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .stream(in, size, -1)
+                    .contentType(contentType)
+                    .build());
+            return;
+        }
+
+        List<ParallelPartUploader.UploadedPart> parts =
+                partUploader.upload(in, size, new ComposeTarget(objectName, contentType));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Uploaded {} ({} MB, {} parts) in {} s, {} MB/s", objectName, size >> 20, parts.size(),
+                String.format("%.1f", seconds), String.format("%.1f", size / 1048576.0 / seconds));
+    }
+
+    private final class ComposeTarget implements ParallelPartUploader.PartTarget {
+        private final String objectName;
+        private final String contentType;
+        private final String partPrefix = PART_PREFIX + UUID.randomUUID() + "/";
+        private final Set<String> storedParts = ConcurrentHashMap.newKeySet();
+
+        private ComposeTarget(String objectName, String contentType) {
+            this.objectName = objectName;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String uploadPart(int partNumber, byte[] data, int length, byte[] md5) throws Exception {
+            String partName = partPrefix + String.format("%05d", partNumber);
+            ObjectWriteResponse response = minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(partName)
+                    .stream(new ByteArrayInputStream(data, 0, length), length, -1)
+                    .build());
+            storedParts.add(partName);
+
+            // For unencrypted single-request uploads the ETag is the MD5 of the content
+            String etag = unquote(response.etag());
+            if (verifyEtag && !HexFormat.of().formatHex(md5).equalsIgnoreCase(etag)) {
+                throw new IOException("Checksum mismatch for part " + partNumber + " of " + objectName);
+            }
+            return etag;
+        }
+
+        @Override
+        public void complete(List<ParallelPartUploader.UploadedPart> parts) throws Exception {
+            // matchETag makes the compose fail if a part was replaced after it was verified
+            List<ComposeSource> sources = parts.stream()
+                    .map(part -> ComposeSource.builder()
+                            .bucket(bucketName)
+                            .object(partPrefix + String.format("%05d", part.partNumber()))
+                            .matchETag(part.etag())
+                            .build())
+                    .toList();
+            ComposeObjectArgs.Builder compose = ComposeObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .sources(sources);
+            if (contentType != null) {
+                compose.headers(Map.of("Content-Type", contentType));
+            }
+            minioClient.composeObject(compose.build());
+
+            try {
+                removeParts();
+            } catch (Exception e) {
+                log.warn("Uploaded {} but could not remove its parts under {}", objectName, partPrefix, e);
+            }
+        }
+
+        @Override
+        public void abort() throws Exception {
+            removeParts();
+        }
+
+        private void removeParts() throws Exception {
+            if (storedParts.isEmpty()) {
+                return;
+            }
+            List<DeleteObject> objects = storedParts.stream().map(DeleteObject::new).toList();
+            // removeObjects is lazy: the deletes run while the results are iterated
+            for (Result<DeleteError> result : minioClient.removeObjects(RemoveObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .objects(objects)
+                    .build())) {
+                DeleteError error = result.get();
+                log.warn("Could not remove upload part {}: {}", error.objectName(), error.message());
+            }
+        }
+    }
+
+    private static String unquote(String etag) {
+        return etag != null && etag.length() > 1 && etag.startsWith("\"") ? etag.substring(1, etag.length() - 1) : etag;
+    }
+}
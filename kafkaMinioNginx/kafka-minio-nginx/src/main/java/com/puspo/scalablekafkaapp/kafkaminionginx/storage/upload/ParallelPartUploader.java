@@ -0,0 +1,223 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.storage.upload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads a stream as parts in parallel.
+ * <p>
+ * The calling thread reads the stream into part buffers and the upload pool sends them. An upload
+ * uses at most storage.upload.max-parts-in-flight buffers, and all uploads together hold at most
+ * storage.upload.memory-budget-mb of them. An upload waits for its first buffer; further buffers are
+ * only allocated while the budget has room, otherwise the upload reuses the ones it has. So
+ * concurrent uploads slow down instead of exhausting the heap, and none of them can starve the
+ * others while holding part of the budget. A failed part is retried with a growing delay; when it
+ * runs out of attempts the parts not yet sent are skipped and the target is aborted once the
+ * running ones have finished.
+ * <p>
+ * AWSs3/s3 has an identical copy (com.puspo.codearena.s3.service.upload) with the aws.s3.upload
+ * property prefix; the tests for both live here.
+ */
+@Component
+@Slf4j
+public class ParallelPartUploader {
+
+    // S3 and MinIO reject parts under 5 MiB (except the last one) and uploads of more than 10000 parts
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    static final int MAX_PARTS = 10_000;
+
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    /**
+     * Where the parts go. uploadPart is called concurrently from the upload pool.
+     */
+    public interface PartTarget {
+        /**
+         * @param md5 digest of data[0..length), for the target to send or verify
+         * @return the ETag of the stored part
+         */
+        String uploadPart(int partNumber, byte[] data, int length, byte[] md5) throws Exception;
+
+        void complete(List<UploadedPart> parts) throws Exception;
+
+        void abort() throws Exception;
+    }
+
+    public record UploadedPart(int partNumber, String etag, int size) {
+    }
+
+    private final ThreadPoolTaskExecutor executor;
+    private final int partSize;
+    private final int maxPartsInFlight;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final int budgetPermits;
+    // Part buffer memory of all uploads, in KiB
+    private final Semaphore memoryBudget;
+
+    public ParallelPartUploader(@Qualifier("partUploadExecutor") ThreadPoolTaskExecutor executor,
+                                @Value("${storage.upload.part-size-bytes:16777216}") int partSize,
+                                @Value("${storage.upload.max-parts-in-flight:4}") int maxPartsInFlight,
+                                @Value("${storage.upload.max-attempts:3}") int maxAttempts,
+                                @Value("${storage.upload.retry-backoff-ms:500}") long retryBackoffMs,
+                                @Value("${storage.upload.memory-budget-mb:256}") int memoryBudgetMb) {
+        this.executor = executor;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+        this.maxPartsInFlight = Math.max(1, maxPartsInFlight);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.budgetPermits = Math.max(1, memoryBudgetMb) * (1024 * 1024 / BYTES_PER_PERMIT);
+        this.memoryBudget = new Semaphore(budgetPermits, true);
+    }
+
+    /**
+     * Part size for an object of the given size: the configured one, raised if the object would
+     * otherwise need more than 10000 parts. Objects no larger than this go up in one request.
+     */
+    public int partSizeFor(long size) {
+        long forMaxParts = (size + MAX_PARTS - 1) / MAX_PARTS;
+        return (int) Math.max(partSize, forMaxParts);
+    }
+
+    /**
+     * Reads exactly size bytes from the stream and uploads them. Completes the target when every
+     * part is stored, aborts it otherwise. The stream is not closed.
+     */
+    public List<UploadedPart> upload(InputStream in, long size, PartTarget target) throws IOException {
+        int partSize = partSizeFor(size);
+        int partCount = (int) Math.max(1, (size + partSize - 1) / partSize);
+        int bufferSize = (int) Math.min(partSize, size);
+        // A part larger than the whole budget waits for all of it
+        int bufferPermits = (int) Math.min(budgetPermits, ((long) bufferSize + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT);
+        int maxBuffers = Math.min(maxPartsInFlight, partCount);
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(maxBuffers);
+        int allocated = 0;
+
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        List<CompletableFuture<UploadedPart>> parts = new ArrayList<>(partCount);
+        try {
+            long remaining = size;
+            for (int partNumber = 1; partNumber <= partCount && failure.get() == null; partNumber++) {
+                byte[] buffer = buffers.poll();
+                if (buffer == null) {
+                    if (allocated == 0) {
+                        memoryBudget.acquire(bufferPermits);
+                        allocated++;
+                        buffer = new byte[bufferSize];
+                    } else if (allocated < maxBuffers && memoryBudget.tryAcquire(bufferPermits)) {
+                        allocated++;
+                        buffer = new byte[bufferSize];
+                    } else {
+                        buffer = buffers.take();
+                    }
+                }
+                int length = (int) Math.min(partSize, remaining);
+                int read = in.readNBytes(buffer, 0, length);
+                if (read < length) {
+                    buffers.add(buffer);
+                    throw new EOFException("Stream ended after " + (size - remaining + read) + " of " + size + " bytes");
+                }
+                remaining -= length;
+
+                int number = partNumber;
+                byte[] partBuffer = buffer;
+                parts.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return uploadWithRetry(target, number, partBuffer, length, failure);
+                    } finally {
+                        buffers.add(partBuffer);
+                    }
+                }, executor));
+            }
+            awaitAll(parts);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+
+            List<UploadedPart> uploaded = parts.stream().map(CompletableFuture::join).toList();
+            target.complete(uploaded);
+            return uploaded;
+        } catch (Exception e) {
+            // Parts still running see the failure and skip; wait for them before cleaning up
+            IOException cause = asIOException(e);
+            failure.compareAndSet(null, cause);
+            awaitAll(parts);
+            try {
+                target.abort();
+            } catch (Exception abortFailure) {
+                log.warn("Could not abort failed multipart upload", abortFailure);
+            }
+            throw cause;
+        } finally {
+            // Every part has finished by now, so no buffer is still in use
+            memoryBudget.release(allocated * bufferPermits);
+        }
+    }
+
+    // Returns null when the upload already failed elsewhere or this part ran out of attempts
+    private UploadedPart uploadWithRetry(PartTarget target, int partNumber, byte[] buffer, int length,
+                                         AtomicReference<IOException> failure) {
+        byte[] md5 = md5(buffer, length);
+        for (int attempt = 1; failure.get() == null; attempt++) {
+            try {
+                return new UploadedPart(partNumber, target.uploadPart(partNumber, buffer, length, md5), length);
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    failure.compareAndSet(null,
+                            new IOException("Part " + partNumber + " failed after " + attempt + " attempts", e));
+                    return null;
+                }
+                log.warn("Part {} failed (attempt {} of {}): {}", partNumber, attempt, maxAttempts, e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, new InterruptedIOException("Upload interrupted"));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void awaitAll(List<CompletableFuture<UploadedPart>> parts) {
+        CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).handle((ignored, e) -> null).join();
+    }
+
+    private static IOException asIOException(Exception e) {
+        if (e instanceof IOException io) {
+            return io;
+        }
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            return new InterruptedIOException("Upload interrupted");
+        }
+        return new IOException("Multipart upload failed: " + e.getMessage(), e);
+    }
+
+    private static byte[] md5(byte[] data, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            digest.update(data, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.storage.index;
+
+import com.puspo.scalablekafkaapp.kafkaminionginx.entity.ObjectNameEntry;
+import com.puspo.scalablekafkaapp.kafkaminionginx.repository.ObjectNameEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ObjectNameIndexTest {
+
+    private final ObjectNameEntryRepository repository = mock(ObjectNameEntryRepository.class);
+    private final ObjectNameIndex index = new ObjectNameIndex(repository, 60_000, 100);
+
+    @Test
+    void parse_ShouldSplitMillisPrefixAndLowercaseBaseName() {
+        ObjectNameEntry entry = ObjectNameIndex.parse("1759696929167-Diabetes-2024.CSV").orElseThrow();
+
+        assertThat(entry.getObjectName()).isEqualTo("1759696929167-Diabetes-2024.CSV");
+        assertThat(entry.getBaseName()).isEqualTo("diabetes-2024.csv");
+        assertThat(entry.getUploadedAtMs()).isEqualTo(1759696929167L);
+    }
+
+    @Test
+    void parse_ShouldRejectNamesWithoutThirteenDigitPrefix() {
+        assertThat(ObjectNameIndex.parse("diabetes.csv")).isEmpty();
+        assertThat(ObjectNameIndex.parse("1759696929167-")).isEmpty();
+        assertThat(ObjectNameIndex.parse("1759696929167")).isEmpty();
+        assertThat(ObjectNameIndex.parse("-1759696929167-a.csv")).isEmpty();
+        assertThat(ObjectNameIndex.parse("+759696929167-a.csv")).isEmpty();
+        assertThat(ObjectNameIndex.parse("17596969291x7-a.csv")).isEmpty();
+        // Shorter or longer numeric prefixes would break the name order the watermark relies on
+        assertThat(ObjectNameIndex.parse("2024-report.csv")).isEmpty();
+        assertThat(ObjectNameIndex.parse("17596969291670-a.csv")).isEmpty();
+    }
+
+    @Test
+    void parse_ShouldOrderNamesByUploadTime_SoGreatestNameIsNewest() {
+        Random random = new Random(42);
+        List<ObjectNameEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long millis = 1_000_000_000_000L + Math.floorMod(random.nextLong(), 8_999_999_999_999L);
+            String base = Character.toString('a' + random.nextInt(26)) + random.nextInt(1000) + ".bin";
+            entries.add(ObjectNameIndex.parse(millis + "-" + base).orElseThrow());
+        }
+
+        List<ObjectNameEntry> byName = entries.stream()
+                .sorted(Comparator.comparing(ObjectNameEntry::getObjectName)).toList();
+
+        for (int i = 1; i < byName.size(); i++) {
+            assertThat(byName.get(i).getUploadedAtMs()).isGreaterThanOrEqualTo(byName.get(i - 1).getUploadedAtMs());
+        }
+    }
+
+    @Test
+    void watermark_ShouldBeGreatestIndexedName() {
+        when(repository.findFirstByOrderByObjectNameDesc()).thenReturn(Optional.empty());
+        assertThat(index.watermark()).isEmpty();
+
+        when(repository.findFirstByOrderByObjectNameDesc())
+                .thenReturn(ObjectNameIndex.parse("1759696929167-b.csv"));
+        assertThat(index.watermark()).contains("1759696929167-b.csv");
+    }
+
+    @Test
+    void findLatest_ShouldCacheMisses_UntilObjectWithThatBaseNameIsAdded() {
+        when(repository.findFirstByBaseNameOrderByUploadedAtMsDesc(anyString())).thenReturn(Optional.empty());
+
+        assertThat(index.findLatest("Report.pdf")).isEmpty();
+        assertThat(index.findLatest("report.PDF")).isEmpty();
+        verify(repository, times(1)).findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf");
+
+        index.add("1759696929167-REPORT.pdf");
+        when(repository.findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf"))
+                .thenReturn(ObjectNameIndex.parse("1759696929167-REPORT.pdf"));
+
+        assertThat(index.findLatest("report.pdf")).contains("1759696929167-REPORT.pdf");
+    }
+
+    @Test
+    void findLatest_ShouldNotCacheMiss_WhenObjectIsAddedDuringTheLookup() {
+        // The upload lands between the index read and the miss being recorded
+        when(repository.findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf")).thenAnswer(invocation -> {
+            index.add("1759696929167-report.pdf");
+            return Optional.empty();
+        });
+        assertThat(index.findLatest("report.pdf")).isEmpty();
+
+        doReturn(ObjectNameIndex.parse("1759696929167-report.pdf"))
+                .when(repository).findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf");
+
+        assertThat(index.findLatest("report.pdf")).contains("1759696929167-report.pdf");
+    }
+
+    @Test
+    void addAll_ShouldClearMisses_OnlyAfterCommit() {
+        when(repository.findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf")).thenReturn(Optional.empty());
+        when(repository.findAllById(anyIterable())).thenReturn(List.of());
+        assertThat(index.findLatest("report.pdf")).isEmpty();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.addAll(List.of("1759696929167-report.pdf"));
+            // Not committed yet: a lookup would still miss, so the cached miss stays
+            assertThat(index.findLatest("report.pdf")).isEmpty();
+            verify(repository, times(1)).findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(repository.findFirstByBaseNameOrderByUploadedAtMsDesc("report.pdf"))
+                .thenReturn(ObjectNameIndex.parse("1759696929167-report.pdf"));
+
+        assertThat(index.findLatest("report.pdf")).contains("1759696929167-report.pdf");
+    }
+}
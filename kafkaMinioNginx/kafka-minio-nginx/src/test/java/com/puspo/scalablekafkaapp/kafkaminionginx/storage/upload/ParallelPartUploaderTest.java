@@ -0,0 +1,206 @@
+package com.puspo.scalablekafkaapp.kafkaminionginx.storage.upload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelPartUploaderTest {
+
+    private static final int PART_SIZE = ParallelPartUploader.MIN_PART_SIZE;
+    // Two full parts and a short last one
+    private static final int SIZE = 2 * PART_SIZE + 1000;
+
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+    private ThreadPoolTaskExecutor executor;
+    private ParallelPartUploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        uploader = new ParallelPartUploader(executor, PART_SIZE, 2, 3, 1, 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void upload_ShouldRetryFailedPartAndComplete() throws Exception {
+        // Arrange
+        byte[] data = data(SIZE);
+        FakeTarget target = new FakeTarget(2, 1);
+
+        // Act
+        List<ParallelPartUploader.UploadedPart> parts = uploader.upload(new ByteArrayInputStream(data), SIZE, target);
+
+        // Assert
+        assertThat(parts).extracting(ParallelPartUploader.UploadedPart::partNumber).containsExactly(1, 2, 3);
+        assertThat(parts).extracting(ParallelPartUploader.UploadedPart::size)
+                .containsExactly(PART_SIZE, PART_SIZE, 1000);
+        assertThat(target.attempts.get(2)).isEqualTo(2);
+        assertThat(target.completed).isEqualTo(parts);
+        assertThat(target.aborted).isFalse();
+        assertThat(target.reassemble(parts)).isEqualTo(data);
+    }
+
+    @Test
+    void upload_ShouldAbort_WhenPartRunsOutOfAttempts() {
+        // Arrange
+        FakeTarget target = new FakeTarget(2, Integer.MAX_VALUE);
+
+        // Act / Assert
+        assertThatThrownBy(() -> uploader.upload(new ByteArrayInputStream(data(SIZE)), SIZE, target))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Part 2 failed after 3 attempts");
+        assertThat(target.attempts.get(2)).isEqualTo(3);
+        assertThat(target.aborted).isTrue();
+        assertThat(target.completed).isNull();
+    }
+
+    @Test
+    void upload_ShouldAbort_WhenStreamEndsEarly() {
+        // Arrange
+        FakeTarget target = new FakeTarget(0, 0);
+        byte[] truncated = data(PART_SIZE + 10);
+
+        // Act / Assert
+        assertThatThrownBy(() -> uploader.upload(new ByteArrayInputStream(truncated), SIZE, target))
+                .isInstanceOf(EOFException.class)
+                .hasMessage("Stream ended after " + (PART_SIZE + 10) + " of " + SIZE + " bytes");
+        assertThat(target.aborted).isTrue();
+        assertThat(target.completed).isNull();
+    }
+
+    @Test
+    void upload_ShouldShareTheMemoryBudget_BetweenConcurrentUploads() throws Exception {
+        // Arrange: room for one part buffer in total, though each upload may use two
+        int budgetMb = PART_SIZE / (1024 * 1024);
+        ParallelPartUploader budgeted = new ParallelPartUploader(executor, PART_SIZE, 2, 3, 1, budgetMb);
+        byte[] data = data(SIZE);
+        FakeTarget first = new FakeTarget(0, 0);
+        FakeTarget second = new FakeTarget(0, 0);
+        first.delayMs = 20;
+        second.delayMs = 20;
+
+        // Act
+        CompletableFuture<List<ParallelPartUploader.UploadedPart>> firstUpload = CompletableFuture.supplyAsync(
+                () -> uploadQuietly(budgeted, data, first));
+        CompletableFuture<List<ParallelPartUploader.UploadedPart>> secondUpload = CompletableFuture.supplyAsync(
+                () -> uploadQuietly(budgeted, data, second));
+
+        // Assert: both finish, one part at a time, and the budget is returned for the next upload
+        assertThat(first.reassemble(firstUpload.get(10, TimeUnit.SECONDS))).isEqualTo(data);
+        assertThat(second.reassemble(secondUpload.get(10, TimeUnit.SECONDS))).isEqualTo(data);
+        assertThat(maxPartsInFlight.get()).isEqualTo(1);
+        FakeTarget third = new FakeTarget(0, 0);
+        assertThat(third.reassemble(budgeted.upload(new ByteArrayInputStream(data), SIZE, third))).isEqualTo(data);
+    }
+
+    @Test
+    void partSizeFor_ShouldGrow_WhenObjectNeedsMoreThanMaxParts() {
+        long huge = (long) PART_SIZE * ParallelPartUploader.MAX_PARTS + 1;
+
+        assertThat(uploader.partSizeFor(SIZE)).isEqualTo(PART_SIZE);
+        assertThat((long) uploader.partSizeFor(huge) * ParallelPartUploader.MAX_PARTS).isGreaterThanOrEqualTo(huge);
+    }
+
+    private static List<ParallelPartUploader.UploadedPart> uploadQuietly(ParallelPartUploader uploader, byte[] data,
+                                                                   FakeTarget target) {
+        try {
+            return uploader.upload(new ByteArrayInputStream(data), data.length, target);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+
+    /**
+     * Stores parts in memory and fails the first failures attempts of one part. Tracks how many
+     * parts of all targets are being sent at once.
+     */
+    private final class FakeTarget implements ParallelPartUploader.PartTarget {
+        private final int failingPart;
+        private final int failures;
+        private final Map<Integer, AtomicInteger> attemptCounters = new ConcurrentHashMap<>();
+        private final Map<Integer, Integer> attempts = new ConcurrentHashMap<>();
+        private final Map<Integer, byte[]> stored = new ConcurrentHashMap<>();
+        private volatile List<ParallelPartUploader.UploadedPart> completed;
+        private volatile boolean aborted;
+        private volatile long delayMs;
+
+        private FakeTarget(int failingPart, int failures) {
+            this.failingPart = failingPart;
+            this.failures = failures;
+        }
+
+        @Override
+        public String uploadPart(int partNumber, byte[] data, int length, byte[] md5) throws Exception {
+            maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+            try {
+                int attempt = attemptCounters.computeIfAbsent(partNumber, n -> new AtomicInteger()).incrementAndGet();
+                attempts.put(partNumber, attempt);
+                if (partNumber == failingPart && attempt <= failures) {
+                    throw new IOException("Simulated failure of part " + partNumber);
+                }
+                Thread.sleep(delayMs);
+                byte[] copy = Arrays.copyOf(data, length);
+                assertThat(md5).isEqualTo(MessageDigest.getInstance("MD5").digest(copy));
+                stored.put(partNumber, copy);
+                return "etag-" + partNumber;
+            } finally {
+                partsInFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void complete(List<ParallelPartUploader.UploadedPart> parts) {
+            completed = new ArrayList<>(parts);
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+        }
+
+        byte[] reassemble(List<ParallelPartUploader.UploadedPart> parts) {
+            byte[] all = new byte[parts.stream().mapToInt(ParallelPartUploader.UploadedPart::size).sum()];
+            int offset = 0;
+            for (ParallelPartUploader.UploadedPart part : parts) {
+                byte[] bytes = stored.get(part.partNumber());
+                System.arraycopy(bytes, 0, all, offset, bytes.length);
+                offset += bytes.length;
+            }
+            return all;
+        }
+    }
+}
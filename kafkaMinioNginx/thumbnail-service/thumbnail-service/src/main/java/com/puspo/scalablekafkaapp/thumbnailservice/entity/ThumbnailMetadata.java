@@ -18,4 +18,5 @@ public class ThumbnailMetadata {
     private String originalFileName;
     private String thumbnailFileName;
     private String status; // e.g. SUCCESS, FAILED
+    private String variants; // e.g. default=thumbnails/a.jpg,medium=thumbnails/medium/a.jpg
 }
@@ -5,6 +5,7 @@ import com.puspo.scalablekafkaapp.thumbnailservice.service.ThumbnailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,12 +18,10 @@ public class ThumbnailKafkaConsumer {
     private final ThumbnailService thumbnailService;
 
     @KafkaListener(topics = "upload-event", containerFactory = "kafkaListenerContainerFactory")
-    public void consume(UploadEvent event) {
+    public void consume(UploadEvent event, Acknowledgment acknowledgment) {
         log.info("Message received -> metadataId={}, storageName={}", event.getMetadataId(), event.getStorageName());
-        try {
-            thumbnailService.processThumbnail(event);
-        } catch (Exception e) {
-            log.error("Error generating thumbnail for event {}", event, e);
-        }
+        // Decoding and resizing run on the thumbnail worker pool, not on the listener thread;
+        // the offset is committed only after the worker has finished with the event
+        thumbnailService.submit(event, acknowledgment::acknowledge);
     }
 }
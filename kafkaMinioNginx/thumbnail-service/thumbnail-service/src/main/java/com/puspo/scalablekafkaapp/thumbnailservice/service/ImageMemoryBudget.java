@@ -0,0 +1,54 @@
+package com.puspo.scalablekafkaapp.thumbnailservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the image memory held by all thumbnail workers together.
+ * A worker reserves the estimated working set of its render before decoding; if the budget is
+ * used up it waits until other workers release theirs. An image larger than the whole budget
+ * waits for the full budget and then runs alone.
+ */
+@Component
+public class ImageMemoryBudget {
+
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    private final int totalPermits;
+    private final Semaphore permits;
+
+    public ImageMemoryBudget(@Value("${thumbnail.memory-budget-mb:256}") int budgetMb, MeterRegistry meterRegistry) {
+        this.totalPermits = Math.max(1, budgetMb) * (1024 * 1024 / BYTES_PER_PERMIT);
+        this.permits = new Semaphore(totalPermits, true);
+        Gauge.builder("thumbnail.memory.budget.available", permits, p -> (double) p.availablePermits() * BYTES_PER_PERMIT)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Lease acquire(long bytes) throws InterruptedException {
+        int needed = (int) Math.min(totalPermits, Math.max(1, (bytes + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT));
+        permits.acquire(needed);
+        return new Lease(needed);
+    }
+
+    public final class Lease implements AutoCloseable {
+        private final int held;
+        private boolean released;
+
+        private Lease(int held) {
+            this.held = held;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                permits.release(held);
+            }
+        }
+    }
+}
@@ -3,111 +3,260 @@ package com.puspo.scalablekafkaapp.thumbnailservice.service;
 import com.puspo.scalablekafkaapp.thumbnailservice.dto.UploadEvent;
 import com.puspo.scalablekafkaapp.thumbnailservice.entity.ThumbnailMetadata;
 import com.puspo.scalablekafkaapp.thumbnailservice.repository.ThumbnailMetadataRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
-import io.minio.errors.*;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ThumbnailService {
         private final ThumbnailMetadataRepository thumbnailMetadataRepository;
-        // //✅ Convert between Java objects and JSON (both directions).
-        // //🧱 Serialization -> Converts a Java object → JSON string
-        // //🔄 Deserialization -> Converts a JSON string → Java object
-        // ObjectMapper objectMapper = new ObjectMapper();
         private final MinioClient minioClient;
+        private final RestTemplate restTemplate;
+        private final ImageMemoryBudget memoryBudget;
+        private final ThreadPoolTaskExecutor thumbnailExecutor;
+        private final MeterRegistry meterRegistry;
 
-        @Value("${minio.bucket-name}")
-        private String bucketName;
-        @Value("${thumbnail.width}")
-        private int width;
-        @Value("${thumbnail.height}")
-        private int height;
-        @Value("${callback.file-service-url}")
-        private String fileServiceCallback;
-
-        public void processThumbnail(UploadEvent event) throws IOException, ServerException, InsufficientDataException,
-                        ErrorResponseException, NoSuchAlgorithmException, InvalidKeyException, InvalidResponseException,
-                        XmlParserException, InternalException {
+        private final String bucketName;
+        private final String fileServiceCallback;
+        // Largest first; each size is resized from the one before it
+        private final List<ThumbnailSize> sizes;
+
+        public ThumbnailService(ThumbnailMetadataRepository thumbnailMetadataRepository,
+                        MinioClient minioClient,
+                        RestTemplate restTemplate,
+                        ImageMemoryBudget memoryBudget,
+                        @Qualifier("thumbnailExecutor") ThreadPoolTaskExecutor thumbnailExecutor,
+                        MeterRegistry meterRegistry,
+                        @Value("${minio.bucket-name}") String bucketName,
+                        @Value("${thumbnail.width}") int width,
+                        @Value("${thumbnail.height}") int height,
+                        @Value("${thumbnail.extra-sizes:}") String extraSizes,
+                        @Value("${callback.file-service-url}") String fileServiceCallback) {
+                this.thumbnailMetadataRepository = thumbnailMetadataRepository;
+                this.minioClient = minioClient;
+                this.restTemplate = restTemplate;
+                this.memoryBudget = memoryBudget;
+                this.thumbnailExecutor = thumbnailExecutor;
+                this.meterRegistry = meterRegistry;
+                this.bucketName = bucketName;
+                this.fileServiceCallback = fileServiceCallback;
+                this.sizes = ThumbnailSize.parse(width, height, extraSizes);
+
+                Gauge.builder("thumbnail.queue.size", thumbnailExecutor,
+                                e -> e.getThreadPoolExecutor().getQueue().size())
+                                .register(meterRegistry);
+        }
+
+        /**
+         * Hands the event to the worker pool. Blocks the caller (the Kafka listener) only when
+         * the pool and its queue are full. onDone runs once the event has been handled, including
+         * when it failed and was marked FAILED, but not when the worker was interrupted by a
+         * shutdown, so that event is delivered again.
+         */
+        public void submit(UploadEvent event, Runnable onDone) {
+                thumbnailExecutor.execute(() -> {
+                        if (processThumbnail(event)) {
+                                onDone.run();
+                        }
+                });
+        }
+
+        /**
+         * @return false if the worker was interrupted before the event was handled
+         */
+        public boolean processThumbnail(UploadEvent event) {
                 String fileName = event.getStorageName();
 
                 // thumbnail metadata set
                 ThumbnailMetadata thumbnailMetadata = ThumbnailMetadata.builder()
                                 .originalFileName(fileName)
-                                .thumbnailFileName("thumbnails/" + fileName)
+                                .thumbnailFileName(sizes.stream()
+                                                .filter(s -> ThumbnailSize.DEFAULT.equals(s.name()))
+                                                .findFirst().orElseThrow().objectName(fileName))
                                 .status("PROCESSING")
                                 .build();
 
                 // save into thumbnail repo
                 thumbnailMetadataRepository.save(thumbnailMetadata);
 
+                Timer.Sample total = Timer.start(meterRegistry);
+                String outcome = "failed";
                 try {
-                        // Download the file from the bucket
-                        InputStream inputStream = minioClient.getObject(
-                                        GetObjectArgs.builder()
-                                                        .bucket(bucketName)
-                                                        .object(fileName) // The path or name of the file inside that
-                                                                          // bucket
-                                                        .build());
-                        // If the inputStream is a JPEG file:
-                        // Java decodes that JPEG bytes → pixel matrix → BufferedImage instance.
-                        // ✅ After this line, original = full-size image loaded in memory.
-
-                        BufferedImage original = ImageIO.read(inputStream);
-                        BufferedImage thumbnail = Scalr.resize(original, width, height); // Resize the image
-
-                        // Setting the thumbnail name
-                        String thumbnailName = "thumbnails/" + fileName;
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(); //
-                        ImageIO.write(thumbnail, "jpg", outputStream);
-                        InputStream thumbnailStream = new ByteArrayInputStream(outputStream.toByteArray());
-
-                        // Upload the thumbnail back to the bucket
-                        minioClient.putObject(
-                                        PutObjectArgs.builder()
-                                                        .bucket(bucketName)
-                                                        .object(thumbnailName)
-                                                        .stream(thumbnailStream, thumbnailStream.available(), -1)
-                                                        .contentType("image/jpeg")
-                                                        .build());
+                        renderAll(fileName);
 
                         // setting thumbnail metadata
-                        thumbnailMetadata.setThumbnailFileName(thumbnailName);
+                        thumbnailMetadata.setVariants(sizes.stream()
+                                        .map(s -> s.name() + "=" + s.objectName(fileName))
+                                        .collect(Collectors.joining(",")));
                         thumbnailMetadata.setStatus("SUCCESS");
 
                         // save into thumbnail repo
                         thumbnailMetadataRepository.save(thumbnailMetadata);
 
                         // Notify file-service via REST callback
-                        RestTemplate restTemplate = new RestTemplate();
                         ResponseEntity<String> responseEntity = restTemplate.postForEntity(fileServiceCallback,
                                         thumbnailMetadata,
                                         String.class);
+                        outcome = "success";
 
-                        log.info("✅ Thumbnail created and callback sent: {} | Response: {}",
-                                        thumbnailName, responseEntity.getStatusCode());
+                        log.info("✅ Thumbnails created and callback sent: {} | Response: {}",
+                                        thumbnailMetadata.getThumbnailFileName(), responseEntity.getStatusCode());
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        markFailed(thumbnailMetadata);
+                        log.warn("Thumbnail creation interrupted for {}", fileName);
+                        return false;
                 } catch (Exception e) {
-                        thumbnailMetadata.setStatus("FAILED");
-                        thumbnailMetadataRepository.save(thumbnailMetadata);
+                        markFailed(thumbnailMetadata);
                         log.error("❌ Thumbnail creation failed for {}", fileName, e);
+                } finally {
+                        total.stop(meterRegistry.timer("thumbnail.process", "outcome", outcome));
+                }
+                return true;
+        }
+
+        /**
+         * Decodes the original once and writes every configured size.
+         * Only the image header is read before reserving memory; big images are decoded with
+         * source subsampling so the decoded raster stays close to the largest thumbnail.
+         */
+        private void renderAll(String fileName) throws Exception {
+                try (InputStream inputStream = minioClient.getObject(
+                                GetObjectArgs.builder()
+                                                .bucket(bucketName)
+                                                .object(fileName) // The path or name of the file inside that bucket
+                                                .build());
+                                ImageInputStream imageStream = ImageIO.createImageInputStream(inputStream)) {
+                        Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
+                        if (!readers.hasNext()) {
+                                throw new IOException("Unsupported image format: " + fileName);
+                        }
+                        ImageReader reader = readers.next();
+                        try {
+                                reader.setInput(imageStream, true, true);
+                                int sourceWidth = reader.getWidth(0);
+                                int sourceHeight = reader.getHeight(0);
+                                int subsampling = subsamplingFactor(sourceWidth, sourceHeight, sizes.get(0));
+
+                                long workingSet = workingSetBytes(sourceWidth, sourceHeight, subsampling, sizes);
+                                try (ImageMemoryBudget.Lease ignored = memoryBudget.acquire(workingSet)) {
+                                        ImageReadParam param = reader.getDefaultReadParam();
+                                        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                                        BufferedImage source = reader.read(0, param);
+                                        if (subsampling > 1) {
+                                                meterRegistry.counter("thumbnail.decode.subsampled").increment();
+                                        }
+
+                                        for (ThumbnailSize size : sizes) {
+                                                long start = System.nanoTime();
+                                                BufferedImage resized = Scalr.resize(source, size.width(), size.height());
+                                                upload(resized, size.objectName(fileName));
+                                                meterRegistry.timer("thumbnail.size", "size", size.name())
+                                                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                                source.flush();
+                                                source = resized;
+                                        }
+                                        source.flush();
+                                }
+                        } finally {
+                                reader.dispose();
+                        }
+                }
+        }
+
+        private void upload(BufferedImage image, String objectName) throws Exception {
+                ExposedByteArrayOutputStream outputStream = new ExposedByteArrayOutputStream();
+                if (!ImageIO.write(toRgb(image), "jpg", outputStream)) {
+                        throw new IOException("No JPEG writer available");
+                }
+                // Upload the thumbnail back to the bucket, streaming the encoded bytes without a copy
+                minioClient.putObject(
+                                PutObjectArgs.builder()
+                                                .bucket(bucketName)
+                                                .object(objectName)
+                                                .stream(outputStream.toInputStream(), outputStream.size(), -1)
+                                                .contentType("image/jpeg")
+                                                .build());
+        }
+
+        private void markFailed(ThumbnailMetadata thumbnailMetadata) {
+                thumbnailMetadata.setStatus("FAILED");
+                thumbnailMetadataRepository.save(thumbnailMetadata);
+        }
+
+        /**
+         * Memory one render can hold at its peak: the decoded source, every resized size (each is
+         * kept until the next one is made from it), and while a size is uploaded its RGB copy and
+         * the encoded JPEG buffer. Sizes are uploaded one at a time, so the last two are counted
+         * once for the largest size; the JPEG buffer is bounded by the raw pixels, which also
+         * covers the array growing past the encoded length.
+         */
+        static long workingSetBytes(int sourceWidth, int sourceHeight, int subsampling, List<ThumbnailSize> sizes) {
+                long decodedBytes = (long) ceilDiv(sourceWidth, subsampling) * ceilDiv(sourceHeight, subsampling) * 4;
+                long thumbnailBytes = sizes.stream().mapToLong(ThumbnailSize::pixelBytes).sum();
+                long largest = sizes.get(0).pixelBytes();
+                long rgbCopyBytes = largest;
+                long jpegBufferBytes = largest;
+                return decodedBytes + thumbnailBytes + rgbCopyBytes + jpegBufferBytes;
+        }
+
+        // Keep about twice the largest thumbnail's resolution so the final resize still looks sharp
+        static int subsamplingFactor(int sourceWidth, int sourceHeight, ThumbnailSize largest) {
+                int byWidth = sourceWidth / (largest.width() * 2);
+                int byHeight = sourceHeight / (largest.height() * 2);
+                return Math.max(1, Math.min(byWidth, byHeight));
+        }
+
+        private static int ceilDiv(int value, int divisor) {
+                return (value + divisor - 1) / divisor;
+        }
+
+        // The JPEG writer rejects images with an alpha channel (e.g. PNG sources)
+        private static BufferedImage toRgb(BufferedImage image) {
+                if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+                        return image;
+                }
+                BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = rgb.createGraphics();
+                try {
+                        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+                } finally {
+                        graphics.dispose();
+                }
+                return rgb;
+        }
+
+        private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+                private InputStream toInputStream() {
+                        return new ByteArrayInputStream(buf, 0, count);
                 }
         }
-}
\ No newline at end of file
+}
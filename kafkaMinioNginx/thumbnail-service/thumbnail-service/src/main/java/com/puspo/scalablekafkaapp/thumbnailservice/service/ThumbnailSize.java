@@ -0,0 +1,43 @@
+package com.puspo.scalablekafkaapp.thumbnailservice.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One thumbnail variant. The default size keeps the original "thumbnails/<name>" object path;
+ * extra sizes go to "thumbnails/<size>/<name>".
+ */
+public record ThumbnailSize(String name, int width, int height) {
+
+    public static final String DEFAULT = "default";
+
+    public String objectName(String fileName) {
+        return DEFAULT.equals(name) ? "thumbnails/" + fileName : "thumbnails/" + name + "/" + fileName;
+    }
+
+    long pixelBytes() {
+        return (long) width * height * 4;
+    }
+
+    /**
+     * Parses "medium:480x480,large:1024x1024" and adds the default size; largest first, so each
+     * size can be resized from the previous one.
+     */
+    static List<ThumbnailSize> parse(int defaultWidth, int defaultHeight, String extraSizes) {
+        List<ThumbnailSize> sizes = new ArrayList<>();
+        sizes.add(new ThumbnailSize(DEFAULT, defaultWidth, defaultHeight));
+        if (extraSizes != null && !extraSizes.isBlank()) {
+            for (String spec : extraSizes.split(",")) {
+                String[] nameAndBox = spec.trim().split(":");
+                String[] box = nameAndBox.length == 2 ? nameAndBox[1].split("x") : new String[0];
+                if (box.length != 2) {
+                    throw new IllegalArgumentException("Invalid thumbnail size '" + spec + "', expected name:WIDTHxHEIGHT");
+                }
+                sizes.add(new ThumbnailSize(nameAndBox[0].trim(), Integer.parseInt(box[0].trim()), Integer.parseInt(box[1].trim())));
+            }
+        }
+        sizes.sort(Comparator.comparingLong(ThumbnailSize::pixelBytes).reversed());
+        return List.copyOf(sizes);
+    }
+}
@@ -0,0 +1,99 @@
+package com.puspo.scalablekafkaapp.thumbnailservice.service;
+
+import com.puspo.scalablekafkaapp.thumbnailservice.dto.UploadEvent;
+import com.puspo.scalablekafkaapp.thumbnailservice.entity.ThumbnailMetadata;
+import com.puspo.scalablekafkaapp.thumbnailservice.repository.ThumbnailMetadataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ThumbnailServiceTest {
+
+    private MinioClient minioClient;
+    private ThumbnailMetadataRepository repository;
+    private ThumbnailService service;
+    private final AtomicReference<ThumbnailMetadata> lastSaved = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        minioClient = mock(MinioClient.class);
+        repository = mock(ThumbnailMetadataRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            lastSaved.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        // Runs tasks on the calling thread
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        when(executor.getThreadPoolExecutor()).thenReturn(mock(ThreadPoolExecutor.class));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new ThumbnailService(repository, minioClient, mock(RestTemplate.class),
+                new ImageMemoryBudget(16, meterRegistry), executor, meterRegistry,
+                "bucket", 200, 200, "medium:480x480", "http://localhost/callback");
+    }
+
+    @Test
+    void submit_ShouldAcknowledgeOnlyAfterTheEventWasHandled() throws Exception {
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenThrow(new IOException("missing object"));
+        AtomicInteger acknowledged = new AtomicInteger();
+
+        service.submit(event("photo.png"), () -> {
+            // The FAILED status is saved before the offset may be committed
+            assertThat(lastSaved.get().getStatus()).isEqualTo("FAILED");
+            acknowledged.incrementAndGet();
+        });
+
+        assertThat(acknowledged).hasValue(1);
+    }
+
+    @Test
+    void submit_ShouldNotAcknowledgeWhenTheWorkerIsInterrupted() throws Exception {
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> {
+            throw new InterruptedException("shutting down");
+        });
+        AtomicInteger acknowledged = new AtomicInteger();
+
+        service.submit(event("photo.png"), acknowledged::incrementAndGet);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(acknowledged).hasValue(0);
+    }
+
+    @Test
+    void workingSetBytes_ShouldCountTheRgbCopyAndJpegBufferOfTheLargestSize() {
+        List<ThumbnailSize> sizes = ThumbnailSize.parse(200, 200, "medium:480x480");
+        long largest = 480L * 480 * 4;
+        long decoded = 1000L * 500 * 4;
+
+        long workingSet = ThumbnailService.workingSetBytes(2000, 1000, 2, sizes);
+
+        assertThat(workingSet).isEqualTo(decoded + largest + 200L * 200 * 4 + largest + largest);
+    }
+
+    private static UploadEvent event(String storageName) {
+        UploadEvent event = new UploadEvent();
+        event.setStorageName(storageName);
+        return event;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.puspo.codearena.businessanalytics.dto.DashboardSummaryDto;
@@ -12,7 +13,8 @@ import com.puspo.codearena.businessanalytics.dto.intermediate.CategorySalesDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.CustomerLifetimeValueDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.MonthlyRevenueDto;
 import com.puspo.codearena.businessanalytics.dto.intermediate.Advanced.DashboardAdvanceDto;
-import com.puspo.codearena.businessanalytics.entity.Order;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrderDto;
+import com.puspo.codearena.businessanalytics.dto.orders.RecentOrdersPageDto;
 import com.puspo.codearena.businessanalytics.service.DashboardService;
 
 import lombok.RequiredArgsConstructor;
@@ -39,10 +41,19 @@ public class DashboardController {
     }
 
     @GetMapping("/orders")
-    public List<Order> getRecentOrders() {
+    public List<RecentOrderDto> getRecentOrders() {
         return dashboardService.getRecentOrders();
     }
 
+    // Cursor-paged feed: "before" scrolls to older orders, "since" polls for newer ones
+    @GetMapping("/orders/feed")
+    public RecentOrdersPageDto getRecentOrdersFeed(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return dashboardService.getRecentOrdersPage(before, since, limit);
+    }
+
     // @GetMapping("/category-revenue-share")
     // public List<Objects[]> getCategoryRevenueShare() {
     // return dashboardService.getCategoryRevenueShare();
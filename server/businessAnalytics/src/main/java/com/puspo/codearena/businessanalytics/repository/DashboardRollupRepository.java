@@ -0,0 +1,36 @@
+package com.puspo.codearena.businessanalytics.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface DashboardRollupRepository {
+    // ---> maintenance
+
+    Optional<LocalDateTime> findWatermark();
+
+    Optional<LocalDateTime> findMaxOrderCreatedAtAfter(LocalDateTime after);
+
+    void rebuildFrom(LocalDate fromDay);
+
+    void discardDirtyDays();
+
+    int rebuildDirtyDays();
+
+    void saveWatermark(LocalDateTime lastCreatedAt);
+
+    // ---> dashboard reads
+
+    Object[] fetchSummary();
+
+    List<Object[]> fetchMonthlyRevenue();
+
+    List<Object[]> fetchRolling7DayRevenue();
+
+    List<Object[]> fetchConversionRateByRegion();
+
+    List<Object[]> fetchTopCustomers();
+
+    List<Object[]> fetchCategoryRevenueShare();
+}
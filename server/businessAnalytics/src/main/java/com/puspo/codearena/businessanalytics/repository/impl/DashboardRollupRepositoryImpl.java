@@ -0,0 +1,287 @@
+package com.puspo.codearena.businessanalytics.repository.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.puspo.codearena.businessanalytics.repository.DashboardRollupRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+public class DashboardRollupRepositoryImpl implements DashboardRollupRepository {
+        private static final String WATERMARK_NAME = "orders";
+
+        @PersistenceContext
+        public EntityManager entityManager;
+
+        // ------------------ Maintenance ----------------
+
+        @Override
+        public Optional<LocalDateTime> findWatermark() {
+                List<?> rows = entityManager.createNativeQuery("""
+                                SELECT last_created_at FROM rollup_watermark WHERE name = :name
+                                """)
+                                .setParameter("name", WATERMARK_NAME)
+                                .getResultList();
+                return rows.stream().findFirst().map(DashboardRollupRepositoryImpl::toLocalDateTime);
+        }
+
+        @Override
+        public Optional<LocalDateTime> findMaxOrderCreatedAtAfter(LocalDateTime after) {
+                // Range scan on idx_orders_created_at, only touches orders newer than the watermark
+                Object max = entityManager.createNativeQuery("""
+                                SELECT MAX(created_at) FROM orders WHERE created_at > :after
+                                """)
+                                .setParameter("after", after)
+                                .getSingleResult();
+                return Optional.ofNullable(max).map(DashboardRollupRepositoryImpl::toLocalDateTime);
+        }
+
+        @Override
+        public void rebuildFrom(LocalDate fromDay) {
+                // Whole days are deleted and re-aggregated, so re-running a refresh is idempotent
+                entityManager.createNativeQuery("DELETE FROM order_daily_rollup WHERE day >= :fromDay")
+                                .setParameter("fromDay", fromDay)
+                                .executeUpdate();
+                entityManager.createNativeQuery("""
+                                INSERT INTO order_daily_rollup (day, region_id, status, order_count, total_amount)
+                                SELECT DATE(o.created_at), o.region_id, o.status, COUNT(*), COALESCE(SUM(o.total_amount), 0)
+                                FROM orders o
+                                WHERE o.created_at >= :fromDay
+                                GROUP BY DATE(o.created_at), o.region_id, o.status
+                                """)
+                                .setParameter("fromDay", fromDay.atStartOfDay())
+                                .executeUpdate();
+
+                entityManager.createNativeQuery("DELETE FROM customer_daily_revenue_rollup WHERE day >= :fromDay")
+                                .setParameter("fromDay", fromDay)
+                                .executeUpdate();
+                entityManager.createNativeQuery("""
+                                INSERT INTO customer_daily_revenue_rollup (day, customer_id, revenue)
+                                SELECT DATE(o.created_at), o.customer_id, SUM(o.total_amount)
+                                FROM orders o
+                                WHERE o.created_at >= :fromDay
+                                AND o.status = 'COMPLETED'
+                                AND o.customer_id IS NOT NULL
+                                GROUP BY DATE(o.created_at), o.customer_id
+                                """)
+                                .setParameter("fromDay", fromDay.atStartOfDay())
+                                .executeUpdate();
+
+                entityManager.createNativeQuery("DELETE FROM category_daily_revenue_rollup WHERE day >= :fromDay")
+                                .setParameter("fromDay", fromDay)
+                                .executeUpdate();
+                entityManager.createNativeQuery("""
+                                INSERT INTO category_daily_revenue_rollup (day, category_id, revenue)
+                                SELECT DATE(o.created_at), p.category_id, SUM(oi.quantity * oi.price)
+                                FROM order_items oi
+                                JOIN orders o ON oi.order_id = o.id
+                                JOIN products p ON oi.product_id = p.id
+                                WHERE o.created_at >= :fromDay
+                                AND o.status = 'COMPLETED'
+                                AND p.category_id IS NOT NULL
+                                GROUP BY DATE(o.created_at), p.category_id
+                                """)
+                                .setParameter("fromDay", fromDay.atStartOfDay())
+                                .executeUpdate();
+        }
+
+        @Override
+        public void discardDirtyDays() {
+                // Only committed marks are visible; the writes behind them are seen by the rebuild that follows
+                entityManager.createNativeQuery("DELETE FROM rollup_dirty_day").executeUpdate();
+        }
+
+        @Override
+        public int rebuildDirtyDays() {
+                // Claim the committed marks first: a write that commits later keeps its mark for the next
+                // refresh, and a write that committed before the claim is seen by the statements below
+                entityManager.createNativeQuery(
+                                "CREATE TEMPORARY TABLE rollup_refresh_day (day DATE PRIMARY KEY) ON COMMIT DROP")
+                                .executeUpdate();
+                int days = entityManager.createNativeQuery("""
+                                WITH claimed AS (DELETE FROM rollup_dirty_day RETURNING day)
+                                INSERT INTO rollup_refresh_day (day)
+                                SELECT DISTINCT day FROM claimed
+                                """)
+                                .executeUpdate();
+                if (days == 0) {
+                        return 0;
+                }
+
+                // Each claimed day is deleted and re-aggregated whole; the joins range-scan idx_orders_created_at per day
+                entityManager.createNativeQuery("""
+                                DELETE FROM order_daily_rollup r USING rollup_refresh_day d WHERE r.day = d.day
+                                """)
+                                .executeUpdate();
+                entityManager.createNativeQuery("""
+                                INSERT INTO order_daily_rollup (day, region_id, status, order_count, total_amount)
+                                SELECT d.day, o.region_id, o.status, COUNT(*), COALESCE(SUM(o.total_amount), 0)
+                                FROM rollup_refresh_day d
+                                JOIN orders o ON o.created_at >= d.day AND o.created_at < d.day + 1
+                                GROUP BY d.day, o.region_id, o.status
+                                """)
+                                .executeUpdate();
+
+                entityManager.createNativeQuery("""
+                                DELETE FROM customer_daily_revenue_rollup r USING rollup_refresh_day d WHERE r.day = d.day
+                                """)
+                                .executeUpdate();
+                entityManager.createNativeQuery("""
+                                INSERT INTO customer_daily_revenue_rollup (day, customer_id, revenue)
+                                SELECT d.day, o.customer_id, SUM(o.total_amount)
+                                FROM rollup_refresh_day d
+                                JOIN orders o ON o.created_at >= d.day AND o.created_at < d.day + 1
+                                WHERE o.status = 'COMPLETED'
+                                AND o.customer_id IS NOT NULL
+                                GROUP BY d.day, o.customer_id
+                                """)
+                                .executeUpdate();
+
+                entityManager.createNativeQuery("""
+                                DELETE FROM category_daily_revenue_rollup r USING rollup_refresh_day d WHERE r.day = d.day
+                                """)
+                                .executeUpdate();
+                entityManager.createNativeQuery("""
+                                INSERT INTO category_daily_revenue_rollup (day, category_id, revenue)
+                                SELECT d.day, p.category_id, SUM(oi.quantity * oi.price)
+                                FROM rollup_refresh_day d
+                                JOIN orders o ON o.created_at >= d.day AND o.created_at < d.day + 1
+                                JOIN order_items oi ON oi.order_id = o.id
+                                JOIN products p ON oi.product_id = p.id
+                                WHERE o.status = 'COMPLETED'
+                                AND p.category_id IS NOT NULL
+                                GROUP BY d.day, p.category_id
+                                """)
+                                .executeUpdate();
+                return days;
+        }
+
+        @Override
+        public void saveWatermark(LocalDateTime lastCreatedAt) {
+                entityManager.createNativeQuery("""
+                                INSERT INTO rollup_watermark (name, last_created_at)
+                                VALUES (:name, :lastCreatedAt)
+                                ON CONFLICT (name) DO UPDATE SET last_created_at = EXCLUDED.last_created_at
+                                """)
+                                .setParameter("name", WATERMARK_NAME)
+                                .setParameter("lastCreatedAt", lastCreatedAt)
+                                .executeUpdate();
+        }
+
+        // ------------------ Dashboard reads ----------------
+
+        @Override
+        public Object[] fetchSummary() {
+                return (Object[]) entityManager.createNativeQuery("""
+                                SELECT
+                                COALESCE(SUM(order_count), 0) AS total_orders,
+                                COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN total_amount ELSE 0 END), 0) AS total_revenue,
+                                COALESCE(SUM(total_amount) / NULLIF(SUM(order_count), 0), 0) AS avg_order_value,
+                                COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN order_count ELSE 0 END), 0) AS completed_orders,
+                                COALESCE(SUM(CASE WHEN status = 'CANCELED' THEN order_count ELSE 0 END), 0) AS canceled_orders
+                                FROM order_daily_rollup
+                                """)
+                                .getSingleResult();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Object[]> fetchMonthlyRevenue() {
+                return entityManager.createNativeQuery("""
+                                SELECT
+                                to_char(day, 'YYYY-MM') AS month,
+                                SUM(total_amount) AS revenue
+                                FROM order_daily_rollup
+                                WHERE status = 'COMPLETED'
+                                GROUP BY to_char(day, 'YYYY-MM')
+                                ORDER BY month
+                                """)
+                                .getResultList();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Object[]> fetchRolling7DayRevenue() {
+                return entityManager.createNativeQuery("""
+                                SELECT
+                                day AS order_date,
+                                SUM(total_amount) AS total_revenue,
+                                ROUND(
+                                AVG(SUM(total_amount)) OVER (ORDER BY day ROWS BETWEEN 6 PRECEDING AND CURRENT ROW), 2
+                                ) AS rolling_7_day_avg
+                                FROM order_daily_rollup
+                                WHERE status = 'COMPLETED'
+                                GROUP BY day
+                                ORDER BY order_date
+                                """)
+                                .getResultList();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Object[]> fetchConversionRateByRegion() {
+                return entityManager.createNativeQuery("""
+                                SELECT
+                                r.name AS region_name,
+                                SUM(CASE WHEN d.status = 'COMPLETED' THEN d.order_count ELSE 0 END) AS completed_orders,
+                                SUM(CASE WHEN d.status = 'CANCELED' THEN d.order_count ELSE 0 END) AS canceled_orders,
+                                ROUND(
+                                SUM(CASE WHEN d.status = 'COMPLETED' THEN d.order_count ELSE 0 END) * 100.0 /
+                                NULLIF(SUM(d.order_count), 0), 2) AS conversion_rate_percent
+                                FROM order_daily_rollup d
+                                JOIN regions r ON d.region_id = r.id
+                                GROUP BY r.name
+                                ORDER BY conversion_rate_percent DESC
+                                """)
+                                .getResultList();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Object[]> fetchTopCustomers() {
+                return entityManager.createNativeQuery("""
+                                SELECT
+                                c.name AS customer_name,
+                                SUM(d.revenue) AS lifetime_revenue,
+                                ROW_NUMBER() OVER (ORDER BY SUM(d.revenue) DESC) AS rank
+                                FROM customer_daily_revenue_rollup d
+                                JOIN customers c ON d.customer_id = c.id
+                                GROUP BY c.name
+                                ORDER BY lifetime_revenue DESC
+                                LIMIT 10
+                                """)
+                                .getResultList();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Object[]> fetchCategoryRevenueShare() {
+                return entityManager.createNativeQuery("""
+                                SELECT
+                                c.name AS category_name,
+                                SUM(d.revenue) AS total_revenue,
+                                ROUND(
+                                SUM(d.revenue) * 100 /
+                                NULLIF(SUM(SUM(d.revenue)) OVER (), 0), 2
+                                ) AS revenue_share_percent
+                                FROM category_daily_revenue_rollup d
+                                JOIN categories c ON d.category_id = c.id
+                                GROUP BY c.name
+                                """)
+                                .getResultList();
+        }
+
+        private static LocalDateTime toLocalDateTime(Object value) {
+                if (value instanceof Timestamp timestamp) {
+                        return timestamp.toLocalDateTime();
+                }
+                return (LocalDateTime) value;
+        }
+}
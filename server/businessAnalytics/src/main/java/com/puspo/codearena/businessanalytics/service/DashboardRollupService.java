@@ -0,0 +1,48 @@
+package com.puspo.codearena.businessanalytics.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.puspo.codearena.businessanalytics.repository.DashboardRollupRepository;
+
+/**
+ * Keeps the daily dashboard rollups in step with the orders table.
+ * The first refresh builds every day. After that, triggers on orders and order_items record the
+ * day of every row they write (see db/rollup-schema.sql), and each refresh rebuilds exactly those
+ * days, so a status change on an old order is picked up as well as a new order, and the cost
+ * follows the number of days written rather than the total number of orders.
+ */
+@Service
+public class DashboardRollupService {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DashboardRollupRepository rollupRepository;
+
+    public DashboardRollupService(DashboardRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.refresh-interval-ms:60000}", initialDelay = 0)
+    @Transactional
+    public void refresh() {
+        Optional<LocalDateTime> watermark = rollupRepository.findWatermark();
+        if (watermark.isEmpty()) {
+            Optional<LocalDateTime> newest = rollupRepository.findMaxOrderCreatedAtAfter(EPOCH);
+            if (newest.isEmpty()) {
+                return; // no orders yet
+            }
+            // Days marked before the first build are covered by it
+            rollupRepository.discardDirtyDays();
+            rollupRepository.rebuildFrom(EPOCH.toLocalDate());
+            rollupRepository.saveWatermark(newest.get());
+            return;
+        }
+
+        rollupRepository.rebuildDirtyDays();
+        rollupRepository.findMaxOrderCreatedAtAfter(watermark.get()).ifPresent(rollupRepository::saveWatermark);
+    }
+}
@@ -0,0 +1,82 @@
+-- Daily rollups maintained by DashboardRollupService (orders/order_items themselves are managed outside the app)
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+-- Recent-orders feed: keyset pagination on (created_at, id) in both directions
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
+
+-- One row per day, region and status
+CREATE TABLE IF NOT EXISTS order_daily_rollup (
+    day          DATE           NOT NULL,
+    region_id    BIGINT,
+    status       VARCHAR(32)    NOT NULL,
+    order_count  BIGINT         NOT NULL,
+    total_amount NUMERIC(19, 2) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_order_daily_rollup_day ON order_daily_rollup (day);
+
+-- Completed revenue per day and customer
+CREATE TABLE IF NOT EXISTS customer_daily_revenue_rollup (
+    day         DATE           NOT NULL,
+    customer_id BIGINT         NOT NULL,
+    revenue     NUMERIC(19, 2) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_customer_daily_revenue_rollup_day ON customer_daily_revenue_rollup (day);
+
+-- Completed revenue per day and category
+CREATE TABLE IF NOT EXISTS category_daily_revenue_rollup (
+    day         DATE           NOT NULL,
+    category_id BIGINT         NOT NULL,
+    revenue     NUMERIC(19, 2) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_category_daily_revenue_rollup_day ON category_daily_revenue_rollup (day);
+
+-- Highest orders.created_at already folded into the rollups; its presence means the initial full build is done
+CREATE TABLE IF NOT EXISTS rollup_watermark (
+    name            VARCHAR(64) PRIMARY KEY,
+    last_created_at TIMESTAMP   NOT NULL
+);
+
+-- Days whose rollups must be rebuilt: one row per write to orders or order_items, appended by the
+-- triggers below and claimed (deleted) by the next refresh. Rows are never updated, so concurrent
+-- order writes on the same day do not contend on them.
+CREATE TABLE IF NOT EXISTS rollup_dirty_day (
+    day DATE NOT NULL
+);
+
+-- Function bodies are single-quoted (not $$) so the script splitter keeps them in one statement
+CREATE OR REPLACE FUNCTION mark_order_rollup_day_dirty() RETURNS trigger AS '
+BEGIN
+    IF TG_OP <> ''INSERT'' AND OLD.created_at IS NOT NULL THEN
+        INSERT INTO rollup_dirty_day (day) VALUES (DATE(OLD.created_at));
+    END IF;
+    IF TG_OP <> ''DELETE'' AND NEW.created_at IS NOT NULL THEN
+        INSERT INTO rollup_dirty_day (day) VALUES (DATE(NEW.created_at));
+    END IF;
+    RETURN NULL;
+END;
+' LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION mark_order_item_rollup_day_dirty() RETURNS trigger AS '
+BEGIN
+    IF TG_OP <> ''INSERT'' THEN
+        INSERT INTO rollup_dirty_day (day)
+        SELECT DATE(o.created_at) FROM orders o WHERE o.id = OLD.order_id AND o.created_at IS NOT NULL;
+    END IF;
+    IF TG_OP <> ''DELETE'' THEN
+        INSERT INTO rollup_dirty_day (day)
+        SELECT DATE(o.created_at) FROM orders o WHERE o.id = NEW.order_id AND o.created_at IS NOT NULL;
+    END IF;
+    RETURN NULL;
+END;
+' LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS orders_rollup_dirty ON orders;
+CREATE TRIGGER orders_rollup_dirty
+    AFTER INSERT OR UPDATE OR DELETE ON orders
+    FOR EACH ROW EXECUTE FUNCTION mark_order_rollup_day_dirty();
+
+DROP TRIGGER IF EXISTS order_items_rollup_dirty ON order_items;
+CREATE TRIGGER order_items_rollup_dirty
+    AFTER INSERT OR UPDATE OR DELETE ON order_items
+    FOR EACH ROW EXECUTE FUNCTION mark_order_item_rollup_day_dirty();